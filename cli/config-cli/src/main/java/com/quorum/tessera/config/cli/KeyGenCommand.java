@@ -8,6 +8,7 @@ import com.quorum.tessera.config.keys.KeyEncryptor;
 import com.quorum.tessera.config.keys.KeyEncryptorFactory;
 import com.quorum.tessera.config.util.ConfigFileUpdaterWriter;
 import com.quorum.tessera.config.util.PasswordFileUpdaterWriter;
+import com.quorum.tessera.config.util.ValidatorFactoryProvider;
 import com.quorum.tessera.key.generation.KeyGenerator;
 import com.quorum.tessera.key.generation.KeyGeneratorFactory;
 import com.quorum.tessera.key.generation.KeyVaultOptions;
@@ -15,7 +16,6 @@ import picocli.CommandLine;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
-import javax.validation.Validation;
 import javax.validation.Validator;
 import java.io.IOException;
 import java.util.*;
@@ -43,8 +43,7 @@ public class KeyGenCommand implements Callable<CliResult> {
 
     private KeyDataMarshaller keyDataMarshaller = KeyDataMarshaller.create();
 
-    private final Validator validator =
-            Validation.byDefaultProvider().configure().ignoreXmlConfiguration().buildValidatorFactory().getValidator();
+    private final Validator validator = ValidatorFactoryProvider.getValidator();
 
     @CommandLine.Option(
             names = {"--keyout", "-filename"},
@@ -0,0 +1,45 @@
+package com.quorum.tessera.config.cli;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Memoises the reflective lookups behind {@link OverrideUtil}. The config classes never change at runtime, so the
+ * override paths of a type and the field each path token resolves to are computed once and reused by every override
+ * applied afterwards.
+ */
+final class OverridePathTable {
+
+    static final Pattern COLLECTION_TOKEN = Pattern.compile("^(.*)\\[([0-9].*)\\]$");
+
+    private static final Map<Class, Map<String, Class>> PATHS = new ConcurrentHashMap<>();
+
+    private static final Map<Class, Map<String, Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private OverridePathTable() {}
+
+    /**
+     * The override paths of the given type relative to it, mapped to the type each path sets. Nested types are
+     * computed recursively through this table, so a plain get/put is used rather than computeIfAbsent, which does not
+     * allow the map to be updated from inside the mapping function.
+     */
+    static Map<String, Class> paths(Class type, Function<Class, Map<String, Class>> walker) {
+        final Map<String, Class> cached = PATHS.get(type);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final Map<String, Class> computed = Collections.unmodifiableMap(new HashMap<>(walker.apply(type)));
+        final Map<String, Class> existing = PATHS.putIfAbsent(type, computed);
+        return Objects.nonNull(existing) ? existing : computed;
+    }
+
+    static Field field(Class type, String name, Function<String, Field> resolver) {
+        return FIELDS.computeIfAbsent(type, t -> new ConcurrentHashMap<>()).computeIfAbsent(name, resolver);
+    }
+}
@@ -18,7 +18,6 @@ import java.nio.file.Paths;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -91,19 +90,28 @@ public interface OverrideUtil {
 
     static Map<String, Class> fields(String prefix, Class type) {
 
-        String amendedPrefix = Optional.ofNullable(prefix).map(s -> s.concat(".")).orElse("");
+        final String amendedPrefix = Optional.ofNullable(prefix).map(s -> s.concat(".")).orElse("");
+
+        final Map<String, Class> relativePaths = OverridePathTable.paths(type, OverrideUtil::walkFields);
+
+        final Map<String, Class> list = new HashMap<>(relativePaths.size());
+        relativePaths.forEach((path, fieldType) -> list.put(amendedPrefix + path, fieldType));
+        return list;
+    }
+
+    static Map<String, Class> walkFields(Class type) {
 
         Map<String, Class> list = new HashMap<>();
         for (Field field : type.getDeclaredFields()) {
 
             if (isSimple(field)) {
 
-                list.put(amendedPrefix + resolveName(field), field.getType());
+                list.put(resolveName(field), field.getType());
                 continue;
             }
 
             if (field.getType().getPackage().equals(Config.class.getPackage())) {
-                list.putAll(fields(amendedPrefix + resolveName(field), field.getType()));
+                list.putAll(fields(resolveName(field), field.getType()));
             }
 
             if (Collection.class.isAssignableFrom(field.getType())) {
@@ -111,10 +119,10 @@ public interface OverrideUtil {
 
                 if (isSimple(t)) {
                     final Class arrayType = toArrayType(t);
-                    list.put(amendedPrefix + resolveName(field), arrayType);
+                    list.put(resolveName(field), arrayType);
 
                 } else {
-                    list.putAll(fields(amendedPrefix + resolveName(field), t));
+                    list.putAll(fields(resolveName(field), t));
                 }
             }
         }
@@ -147,7 +155,7 @@ public interface OverrideUtil {
         }
 
         if (Map.class.isAssignableFrom(rootType)) {
-            Map.class.cast(root).put(path,value);
+            Map.class.cast(root).put(path, value);
             return;
         }
 
@@ -158,9 +166,7 @@ public interface OverrideUtil {
             final String target;
             final String position;
 
-            final String collectionPattern = "^(.*)\\[([0-9].*)\\]$";
-            final Pattern r = Pattern.compile(collectionPattern);
-            final Matcher m = r.matcher(token);
+            final Matcher m = OverridePathTable.COLLECTION_TOKEN.matcher(token);
 
             if (m.matches()) {
                 target = m.group(1);
@@ -264,6 +270,10 @@ public interface OverrideUtil {
     }
 
     static Field resolveField(Class type, String name) {
+        return OverridePathTable.field(type, name, n -> lookupField(type, n));
+    }
+
+    static Field lookupField(Class type, String name) {
         LOGGER.debug("Resolving {}#{}", type, name);
 
         Predicate<Field> isJaxbElement = f -> f.isAnnotationPresent(XmlElement.class);
@@ -10,6 +10,7 @@ import com.quorum.tessera.cli.parsers.ConfigConverter;
 import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.util.JaxbUtil;
+import com.quorum.tessera.config.util.ValidatorFactoryProvider;
 import com.quorum.tessera.reflect.ReflectException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +18,6 @@ import picocli.CommandLine;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
-import javax.validation.Validation;
 import javax.validation.Validator;
 import java.io.OutputStream;
 import java.lang.management.ManagementFactory;
@@ -33,8 +33,7 @@ public class PicoCliDelegate {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PicoCliDelegate.class);
 
-    private final Validator validator =
-            Validation.byDefaultProvider().configure().ignoreXmlConfiguration().buildValidatorFactory().getValidator();
+    private final Validator validator = ValidatorFactoryProvider.getValidator();
 
     private final KeyPasswordResolver keyPasswordResolver;
 
@@ -64,6 +64,25 @@ public class OverrideUtilTest {
         assertThat(fields).isNotEmpty();
     }
 
+    @Test
+    public void fieldsAreComputedOncePerType() {
+        Map<String, Class> first = OverrideUtil.fields(null, Config.class);
+        Map<String, Class> prefixed = OverrideUtil.fields("nested", Config.class);
+
+        assertThat(prefixed).hasSameSizeAs(first);
+        first.forEach((path, type) -> assertThat(prefixed).containsEntry("nested." + path, type));
+
+        first.clear();
+        assertThat(OverrideUtil.fields(null, Config.class)).hasSameSizeAs(prefixed);
+    }
+
+    @Test
+    public void resolvedFieldIsReused() {
+        Field first = OverrideUtil.resolveField(SomeClass.class, "some_value");
+
+        assertThat(OverrideUtil.resolveField(SomeClass.class, "some_value")).isSameAs(first);
+    }
+
     @Test
     @Ignore
     public void overrideExistingValueKeyDataWithPublicKey() {
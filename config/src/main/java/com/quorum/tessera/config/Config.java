@@ -63,6 +63,8 @@ public class Config extends ConfigItem {
 
     @XmlElement private EncryptorConfig encryptor;
 
+    @Valid @XmlElement private RetentionConfig retention;
+
     @XmlTransient private boolean recoveryMode;
 
     @Deprecated
@@ -206,6 +208,14 @@ public class Config extends ConfigItem {
         this.features = features;
     }
 
+    public RetentionConfig getRetention() {
+        return retention;
+    }
+
+    public void setRetention(final RetentionConfig retention) {
+        this.retention = retention;
+    }
+
     public EncryptorConfig getEncryptor() {
         return encryptor;
     }
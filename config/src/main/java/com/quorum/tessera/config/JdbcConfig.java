@@ -1,9 +1,13 @@
 package com.quorum.tessera.config;
 
+import com.quorum.tessera.config.adapters.PathAdapter;
+
 import javax.validation.constraints.NotNull;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
 
 @XmlAccessorType(XmlAccessType.FIELD)
 public class JdbcConfig extends ConfigItem {
@@ -22,6 +26,26 @@ public class JdbcConfig extends ConfigItem {
 
     @XmlElement private int fetchSize;
 
+    /** Milliseconds for which the outcome of a database upcheck is reused */
+    @XmlElement(defaultValue = "1000")
+    private long upcheckCacheTime = 1000;
+
+    /** Maximum number of incoming transactions stored in one database commit; 0 or 1 stores each on its own */
+    @XmlElement(defaultValue = "0")
+    private int groupCommitSize;
+
+    /** Milliseconds to wait for more transactions to store in the same commit */
+    @XmlElement(defaultValue = "5")
+    private long groupCommitDelay = 5;
+
+    /**
+     * Directory of an embedded append-only log to store transactions in instead of the database. The database is still
+     * used to stage transactions during recovery.
+     */
+    @XmlElement(type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path logStoreDirectory;
+
     public JdbcConfig(String username, String password, String url) {
         this.username = username;
         this.password = password;
@@ -71,4 +95,36 @@ public class JdbcConfig extends ConfigItem {
     public void setFetchSize(int fetchSize) {
         this.fetchSize = fetchSize;
     }
+
+    public long getUpcheckCacheTime() {
+        return upcheckCacheTime;
+    }
+
+    public void setUpcheckCacheTime(long upcheckCacheTime) {
+        this.upcheckCacheTime = upcheckCacheTime;
+    }
+
+    public int getGroupCommitSize() {
+        return groupCommitSize;
+    }
+
+    public void setGroupCommitSize(int groupCommitSize) {
+        this.groupCommitSize = groupCommitSize;
+    }
+
+    public long getGroupCommitDelay() {
+        return groupCommitDelay;
+    }
+
+    public void setGroupCommitDelay(long groupCommitDelay) {
+        this.groupCommitDelay = groupCommitDelay;
+    }
+
+    public Path getLogStoreDirectory() {
+        return logStoreDirectory;
+    }
+
+    public void setLogStoreDirectory(Path logStoreDirectory) {
+        this.logStoreDirectory = logStoreDirectory;
+    }
 }
@@ -40,6 +40,8 @@ public class KeyConfiguration extends ConfigItem {
 
     @Valid @XmlElement private HashicorpKeyVaultConfig hashicorpKeyVaultConfig;
 
+    @Valid @XmlElement private KeyVaultCacheConfig keyVaultCache;
+
     public KeyConfiguration(
             final Path passwordFile,
             final List<String> passwords,
@@ -83,6 +85,10 @@ public class KeyConfiguration extends ConfigItem {
         return hashicorpKeyVaultConfig;
     }
 
+    public KeyVaultCacheConfig getKeyVaultCache() {
+        return keyVaultCache;
+    }
+
     public List<KeyVaultConfig> getKeyVaultConfigs() {
         if (keyVaultConfigs == null) {
             return null;
@@ -122,6 +128,10 @@ public class KeyConfiguration extends ConfigItem {
         this.keyData = keyData;
     }
 
+    public void setKeyVaultCache(KeyVaultCacheConfig keyVaultCache) {
+        this.keyVaultCache = keyVaultCache;
+    }
+
     public void addKeyVaultConfig(KeyVaultConfig keyVaultConfig) {
         if (keyVaultConfigs == null) {
             keyVaultConfigs = new ArrayList<>();
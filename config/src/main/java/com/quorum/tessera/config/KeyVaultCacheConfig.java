@@ -0,0 +1,60 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+
+/**
+ * Keeps a local copy of the keys fetched from key vaults, encrypted with a key derived using Argon2 from the password
+ * in the TESSERA_KEY_VAULT_CACHE_PWD environment variable.
+ *
+ * <p>Keys are read from the cache while it is younger than the time to live, and from it regardless of age if the
+ * vault cannot be reached. All durations are in milliseconds.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class KeyVaultCacheConfig extends ConfigItem {
+
+    @NotNull
+    @XmlElement(type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path path;
+
+    /** How long cached keys are used without contacting the vault, and how often they are refreshed in the background */
+    @Min(1)
+    @XmlElement(defaultValue = "3600000")
+    private long timeToLive = 3600000;
+
+    /** Options used to derive the cache encryption key, the defaults for private key files are used if not set */
+    @Valid @XmlElement private ArgonOptions argonOptions;
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public ArgonOptions getArgonOptions() {
+        return argonOptions;
+    }
+
+    public void setArgonOptions(ArgonOptions argonOptions) {
+        this.argonOptions = argonOptions;
+    }
+}
@@ -0,0 +1,125 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+import com.quorum.tessera.config.constraints.ValidBase64;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controls which stored transactions are purged by the background retention job.
+ *
+ * <p>A transaction is purged if any configured rule matches it. All durations are in milliseconds.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class RetentionConfig extends ConfigItem {
+
+    /** Transactions stored longer ago than this are purged */
+    @Min(1)
+    @XmlElement
+    private Long maxAge;
+
+    /** Raw transactions that have not been sent within this time are purged */
+    @Min(1)
+    @XmlElement
+    private Long rawTransactionMaxAge;
+
+    /**
+     * Raw transactions are deleted in the background once sendsignedtx has stored and published them, instead of
+     * waiting for rawTransactionMaxAge. A raw transaction cannot be read back once it has been sent.
+     */
+    @XmlElement(defaultValue = "false")
+    private boolean deleteSentRawTransactions;
+
+    /** Transactions sent from or to any of these keys are purged, e.g. once a key has been retired */
+    @XmlElement(name = "purgeKey")
+    private List<@ValidBase64 String> purgeKeys = new ArrayList<>();
+
+    @Min(1)
+    @XmlElement(defaultValue = "100")
+    private int batchSize = 100;
+
+    /** Pause between batches, so the purge does not starve other database work */
+    @Min(0)
+    @XmlElement(defaultValue = "100")
+    private long batchDelay = 100;
+
+    @Min(1)
+    @XmlElement(defaultValue = "3600000")
+    private long interval = 3600000;
+
+    /** If set, every purged transaction is first written to a compressed archive file in this directory */
+    @XmlElement(type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path archiveDirectory;
+
+    public Long getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Long maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public Long getRawTransactionMaxAge() {
+        return rawTransactionMaxAge;
+    }
+
+    public void setRawTransactionMaxAge(Long rawTransactionMaxAge) {
+        this.rawTransactionMaxAge = rawTransactionMaxAge;
+    }
+
+    public boolean isDeleteSentRawTransactions() {
+        return deleteSentRawTransactions;
+    }
+
+    public void setDeleteSentRawTransactions(boolean deleteSentRawTransactions) {
+        this.deleteSentRawTransactions = deleteSentRawTransactions;
+    }
+
+    public List<String> getPurgeKeys() {
+        return purgeKeys;
+    }
+
+    public void setPurgeKeys(List<String> purgeKeys) {
+        this.purgeKeys = purgeKeys;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchDelay() {
+        return batchDelay;
+    }
+
+    public void setBatchDelay(long batchDelay) {
+        this.batchDelay = batchDelay;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public void setInterval(long interval) {
+        this.interval = interval;
+    }
+
+    public Path getArchiveDirectory() {
+        return archiveDirectory;
+    }
+
+    public void setArchiveDirectory(Path archiveDirectory) {
+        this.archiveDirectory = archiveDirectory;
+    }
+}
@@ -28,6 +28,8 @@ public final class EnvironmentVariables {
 
     public static final String HASHICORP_CLIENT_TRUSTSTORE_PWD = "HASHICORP_CLIENT_TRUSTSTORE_PWD";
 
+    public static final String KEY_VAULT_CACHE_PWD = "TESSERA_KEY_VAULT_CACHE_PWD";
+
     public static final String CONFIG_SECRET_PATH = "TESSERA_CONFIG_SECRET";
 
     private EnvironmentVariables() {}
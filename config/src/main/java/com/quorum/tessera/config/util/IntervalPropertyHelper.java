@@ -50,4 +50,40 @@ public class IntervalPropertyHelper {
             return "7200000";
         }
     }
+
+    public double accessLogSampleRate() {
+        try {
+            final double rate = Double.parseDouble(properties.getOrDefault("accessLogSampleRate", "1.0"));
+            if (rate < 0 || rate > 1) {
+                LOGGER.warn("Access log sample rate must be between 0 and 1. Will use default value instead");
+                return 1.0;
+            }
+            return rate;
+        } catch (NumberFormatException | NullPointerException ex) {
+            LOGGER.warn("Not able to parse configured property. Will use default value instead");
+            return 1.0;
+        }
+    }
+
+    public int enclaveWorkerThreads() {
+        return positiveInt("enclaveWorkerThreads", Runtime.getRuntime().availableProcessors());
+    }
+
+    public int enclaveWorkerQueueSize() {
+        return positiveInt("enclaveWorkerQueueSize", 256);
+    }
+
+    private int positiveInt(String name, int defaultValue) {
+        try {
+            final int value = Integer.parseInt(properties.getOrDefault(name, Integer.toString(defaultValue)));
+            if (value < 1) {
+                LOGGER.warn("{} must be at least 1. Will use default value instead", name);
+                return defaultValue;
+            }
+            return value;
+        } catch (NumberFormatException ex) {
+            LOGGER.warn("Not able to parse configured property. Will use default value instead");
+            return defaultValue;
+        }
+    }
 }
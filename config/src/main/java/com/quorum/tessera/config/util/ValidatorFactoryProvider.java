@@ -0,0 +1,51 @@
+package com.quorum.tessera.config.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.Validation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Optional;
+
+/**
+ * Provides a process-wide {@link ValidatorFactory}. Bootstrapping the validation provider scans for constraint
+ * definitions and is far more expensive than validating a config, so every caller shares one factory and the
+ * thread-safe {@link Validator} it hands out.
+ */
+public final class ValidatorFactoryProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidatorFactoryProvider.class);
+
+    private ValidatorFactoryProvider() {}
+
+    /** @return the shared factory, or empty if no bean validation provider is on the classpath */
+    public static Optional<ValidatorFactory> findValidatorFactory() {
+        return Holder.VALIDATOR_FACTORY;
+    }
+
+    public static ValidatorFactory getValidatorFactory() {
+        return findValidatorFactory()
+                .orElseThrow(() -> new ValidationException("No bean validation provider could be found"));
+    }
+
+    public static Validator getValidator() {
+        return getValidatorFactory().getValidator();
+    }
+
+    private static final class Holder {
+
+        private static final Optional<ValidatorFactory> VALIDATOR_FACTORY = create();
+
+        private static Optional<ValidatorFactory> create() {
+            try {
+                return Optional.of(
+                        Validation.byDefaultProvider().configure().ignoreXmlConfiguration().buildValidatorFactory());
+            } catch (ValidationException ex) {
+                LOGGER.debug(null, ex);
+                return Optional.empty();
+            }
+        }
+    }
+}
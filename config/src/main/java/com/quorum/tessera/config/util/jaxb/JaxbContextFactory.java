@@ -0,0 +1,25 @@
+package com.quorum.tessera.config.util.jaxb;
+
+import com.quorum.tessera.config.util.JaxbUtil;
+import com.quorum.tessera.jaxb.JaxbCallback;
+
+import javax.xml.bind.JAXBContext;
+
+/**
+ * Holds the single {@link JAXBContext} for the config model. Building a context reflects over every config class, so
+ * it is done once per process and shared; a {@link JAXBContext} is thread safe, unlike the marshallers it creates.
+ */
+public final class JaxbContextFactory {
+
+    private JaxbContextFactory() {}
+
+    public static JAXBContext getContext() {
+        return Holder.CONTEXT;
+    }
+
+    private static final class Holder {
+
+        private static final JAXBContext CONTEXT =
+                JaxbCallback.execute(() -> JAXBContext.newInstance(JaxbUtil.JAXB_CLASSES.clone()));
+    }
+}
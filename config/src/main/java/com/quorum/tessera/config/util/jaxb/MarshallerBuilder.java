@@ -1,10 +1,11 @@
 package com.quorum.tessera.config.util.jaxb;
 
 import com.quorum.tessera.jaxb.JaxbCallback;
-import com.quorum.tessera.config.util.JaxbUtil;
+import com.quorum.tessera.config.util.ValidatorFactoryProvider;
 
-import javax.xml.bind.JAXBContext;
+import javax.validation.ValidatorFactory;
 import javax.xml.bind.Marshaller;
+import java.util.Optional;
 
 public class MarshallerBuilder {
 
@@ -32,10 +33,14 @@ public class MarshallerBuilder {
 
         return JaxbCallback.execute(
                 () -> {
-                    JAXBContext jAXBContext = JAXBContext.newInstance(JaxbUtil.JAXB_CLASSES);
-
-                    Marshaller marshaller = jAXBContext.createMarshaller();
-                    if (!beanvalidation) {
+                    Marshaller marshaller = JaxbContextFactory.getContext().createMarshaller();
+                    if (beanvalidation) {
+                        final Optional<ValidatorFactory> validatorFactory =
+                                ValidatorFactoryProvider.findValidatorFactory();
+                        if (validatorFactory.isPresent()) {
+                            marshaller.setProperty("eclipselink.beanvalidation.factory", validatorFactory.get());
+                        }
+                    } else {
                         Enum enu =
                                 Enum.valueOf(
                                         Class.class.cast(
@@ -1,9 +1,10 @@
 package com.quorum.tessera.config.util.jaxb;
 
 import com.quorum.tessera.jaxb.JaxbCallback;
-import com.quorum.tessera.config.util.JaxbUtil;
-import javax.xml.bind.JAXBContext;
+import com.quorum.tessera.config.util.ValidatorFactoryProvider;
+import javax.validation.ValidatorFactory;
 import javax.xml.bind.Unmarshaller;
+import java.util.Optional;
 
 public class UnmarshallerBuilder {
 
@@ -27,23 +28,30 @@ public class UnmarshallerBuilder {
 
     public Unmarshaller build() {
 
-        return JaxbCallback.execute(() -> {
-            JAXBContext jAXBContext = JAXBContext.newInstance(JaxbUtil.JAXB_CLASSES);
-
-            Unmarshaller unmarshaller = jAXBContext.createUnmarshaller();
-            if (!beanvalidation) {
-                Enum enu = Enum.valueOf(Class.class.cast(unmarshaller
-                        .getProperty("eclipselink.beanvalidation.mode")
-                        .getClass()), "NONE");
-
-                unmarshaller.setProperty("eclipselink.beanvalidation.mode", enu);
-            }
-            unmarshaller.setProperty("eclipselink.media-type", mediaType.getValue());
-
-            if (mediaType == MediaType.JSON) {
-                unmarshaller.setProperty("eclipselink.json.include-root", false);
-            }
-            return unmarshaller;
-        });
+        return JaxbCallback.execute(
+                () -> {
+                    Unmarshaller unmarshaller = JaxbContextFactory.getContext().createUnmarshaller();
+                    if (beanvalidation) {
+                        final Optional<ValidatorFactory> validatorFactory =
+                                ValidatorFactoryProvider.findValidatorFactory();
+                        if (validatorFactory.isPresent()) {
+                            unmarshaller.setProperty("eclipselink.beanvalidation.factory", validatorFactory.get());
+                        }
+                    } else {
+                        Enum enu =
+                                Enum.valueOf(
+                                        Class.class.cast(
+                                                unmarshaller.getProperty("eclipselink.beanvalidation.mode").getClass()),
+                                        "NONE");
+
+                        unmarshaller.setProperty("eclipselink.beanvalidation.mode", enu);
+                    }
+                    unmarshaller.setProperty("eclipselink.media-type", mediaType.getValue());
+
+                    if (mediaType == MediaType.JSON) {
+                        unmarshaller.setProperty("eclipselink.json.include-root", false);
+                    }
+                    return unmarshaller;
+                });
     }
 }
@@ -0,0 +1,101 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.util.JaxbUtil;
+import com.quorum.tessera.config.util.jaxb.JaxbContextFactory;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.bind.JAXBContext;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures loading a large config through {@link ConfigFactory}, which unmarshals the document twice. Before the
+ * shared context each unmarshal also built a new {@link JAXBContext}; that cost is measured separately for comparison.
+ */
+public class ConfigLoadBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigLoadBenchmarkTest.class);
+
+    private static final int KEYS = 200;
+
+    private static final int PEERS = 2000;
+
+    private static final int LOADS = 20;
+
+    @Test
+    public void loadLargeConfig() throws Exception {
+        final byte[] configData = largeConfig().getBytes(StandardCharsets.UTF_8);
+        final ConfigFactory configFactory = ConfigFactory.create();
+
+        long start = System.nanoTime();
+        final Config first = configFactory.create(new ByteArrayInputStream(configData));
+        final long firstLoadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(first.getKeys().getKeyData()).hasSize(KEYS);
+        assertThat(first.getPeers()).hasSize(PEERS);
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOADS; i++) {
+            configFactory.create(new ByteArrayInputStream(configData));
+        }
+        final long loadMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / LOADS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < LOADS; i++) {
+            JAXBContext.newInstance(JaxbUtil.JAXB_CLASSES);
+        }
+        final long contextMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / LOADS;
+
+        LOGGER.info(
+                "Config with {} keys and {} peers: first load {}ms, subsequent loads {}us each; "
+                        + "building a JAXB context costs {}us, previously paid twice per load",
+                KEYS,
+                PEERS,
+                firstLoadMillis,
+                loadMicros,
+                contextMicros);
+
+        assertThat(JaxbContextFactory.getContext()).isSameAs(JaxbContextFactory.getContext());
+    }
+
+    private static String largeConfig() {
+        final Base64.Encoder encoder = Base64.getEncoder();
+
+        final String keys =
+                IntStream.range(0, KEYS)
+                        .mapToObj(
+                                i -> {
+                                    final byte[] key = new byte[32];
+                                    key[0] = (byte) i;
+                                    key[1] = (byte) (i >> 8);
+                                    return String.format(
+                                            "{\"privateKey\":\"%s\",\"publicKey\":\"%s\"}",
+                                            encoder.encodeToString(key), encoder.encodeToString(key));
+                                })
+                        .collect(Collectors.joining(","));
+
+        final String peers =
+                IntStream.range(0, PEERS)
+                        .mapToObj(i -> String.format("{\"url\":\"http://node%d.example.com:9000\"}", i))
+                        .collect(Collectors.joining(","));
+
+        return "{\"useWhiteList\":false,"
+                + "\"jdbc\":{\"username\":\"sa\",\"password\":\"\",\"url\":\"jdbc:h2:mem:tessera\"},"
+                + "\"serverConfigs\":[{\"app\":\"P2P\",\"enabled\":true,"
+                + "\"serverAddress\":\"http://localhost:9001\",\"communicationType\":\"REST\"}],"
+                + "\"peer\":["
+                + peers
+                + "],"
+                + "\"keys\":{\"keyData\":["
+                + keys
+                + "]}}";
+    }
+}
@@ -18,6 +18,9 @@ public class IntervalPropertyHelperTest {
         assertThat(util.enclaveKeySyncInterval()).isEqualTo(2000);
         assertThat(util.syncInterval()).isEqualTo(60000);
         assertThat(util.resendWaitTime()).isEqualTo("7200000");
+        assertThat(util.accessLogSampleRate()).isEqualTo(1.0);
+        assertThat(util.enclaveWorkerThreads()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(util.enclaveWorkerQueueSize()).isEqualTo(256);
     }
 
     @Test
@@ -27,6 +30,9 @@ public class IntervalPropertyHelperTest {
         props.put("enclaveKeySyncInterval", "3000");
         props.put("syncInterval", "4000");
         props.put("resendWaitTime", "4000");
+        props.put("accessLogSampleRate", "0.25");
+        props.put("enclaveWorkerThreads", "3");
+        props.put("enclaveWorkerQueueSize", "10");
 
         final IntervalPropertyHelper util = new IntervalPropertyHelper(props);
 
@@ -34,6 +40,9 @@ public class IntervalPropertyHelperTest {
         assertThat(util.enclaveKeySyncInterval()).isEqualTo(3000);
         assertThat(util.syncInterval()).isEqualTo(4000);
         assertThat(util.resendWaitTime()).isEqualTo("4000");
+        assertThat(util.accessLogSampleRate()).isEqualTo(0.25);
+        assertThat(util.enclaveWorkerThreads()).isEqualTo(3);
+        assertThat(util.enclaveWorkerQueueSize()).isEqualTo(10);
     }
 
     @Test
@@ -51,4 +60,24 @@ public class IntervalPropertyHelperTest {
         assertThat(util.syncInterval()).isEqualTo(60000);
         assertThat(util.resendWaitTime()).isEqualTo("7200000");
     }
+
+    @Test
+    public void accessLogSampleRateOutOfRangeUsesDefault() {
+        final IntervalPropertyHelper util =
+                new IntervalPropertyHelper(Collections.singletonMap("accessLogSampleRate", "1.5"));
+
+        assertThat(util.accessLogSampleRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void enclaveWorkerSettingsBelowOneUseDefault() {
+        final Map<String, String> props = new HashMap<>();
+        props.put("enclaveWorkerThreads", "0");
+        props.put("enclaveWorkerQueueSize", "abc");
+
+        final IntervalPropertyHelper util = new IntervalPropertyHelper(props);
+
+        assertThat(util.enclaveWorkerThreads()).isEqualTo(Runtime.getRuntime().availableProcessors());
+        assertThat(util.enclaveWorkerQueueSize()).isEqualTo(256);
+    }
 }
@@ -47,6 +47,21 @@ public class CmdLineExecutor implements CliAdapter, Callable<CliResult> {
     @Option(names = "-dbpass", description = "Database password to use")
     private String password;
 
+    @Option(
+            names = "-threads",
+            description = "Number of concurrent database writers (always 1 for sqlite), default ${DEFAULT-VALUE}")
+    private int writerCount = ExportOptions.DEFAULT_WRITER_COUNT;
+
+    @Option(
+            names = "-batchsize",
+            description = "Number of rows inserted and committed together, default ${DEFAULT-VALUE}")
+    private int batchSize = ExportOptions.DEFAULT_BATCH_SIZE;
+
+    @Option(
+            names = "-checkpoint",
+            description = "File recording export progress; an interrupted export using the same file resumes from it")
+    private Path checkpointFile;
+
     @Override
     public CliResult call() throws Exception {
         return this.execute();
@@ -63,6 +78,8 @@ public class CmdLineExecutor implements CliAdapter, Callable<CliResult> {
 
         storeLoader.load(inputpath);
 
+        final ExportOptions options = new ExportOptions(writerCount, batchSize, checkpointFile, System.out);
+
         final DataExporter dataExporter;
         if (exportType == ExportType.JDBC) {
             if (dbconfig == null) {
@@ -84,10 +101,10 @@ public class CmdLineExecutor implements CliAdapter, Callable<CliResult> {
                     Objects.requireNonNull(
                             properties.getProperty("jdbcUrl"), "No jdbcUrl value defined in config file. ");
 
-            dataExporter = new JdbcDataExporter(jdbcUrl, insertRow, singletonList(createTable));
+            dataExporter = new JdbcDataExporter(jdbcUrl, insertRow, singletonList(createTable), options);
 
         } else {
-            dataExporter = DataExporterFactory.create(exportType);
+            dataExporter = DataExporterFactory.create(exportType, options);
         }
 
         dataExporter.export(storeLoader, outputFile, username, password);
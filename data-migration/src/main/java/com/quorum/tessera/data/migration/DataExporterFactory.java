@@ -3,13 +3,16 @@ package com.quorum.tessera.data.migration;
 public interface DataExporterFactory {
 
     static DataExporter create(final ExportType exportType) {
+        return create(exportType, ExportOptions.defaults());
+    }
+
+    static DataExporter create(final ExportType exportType, final ExportOptions options) {
         if (exportType == ExportType.H2) {
-            return new H2DataExporter();
+            return new H2DataExporter(options);
         } else if (exportType == ExportType.SQLITE) {
-            return new SqliteDataExporter();
+            return new SqliteDataExporter(options);
         }
 
         throw new UnsupportedOperationException("" + exportType);
     }
-
 }
@@ -0,0 +1,143 @@
+package com.quorum.tessera.data.migration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Records how far through the input store an export has got, so that an interrupted export can be resumed.
+ *
+ * <p>Entries are numbered in the order the {@link StoreLoader} returns them. Since writers commit batches concurrently,
+ * batches may complete out of order; the checkpoint only ever records the length of the unbroken run of committed
+ * entries from the start of the input. On resume, every entry below that mark is skipped. Entries above it may or may
+ * not have been committed already.
+ *
+ * <p>The file is written as soon as the export has created its tables, so an export interrupted before its first commit
+ * is still resumed rather than started again. It also records the database being exported to, so that a checkpoint left
+ * by an export to one database is not used to skip entries in an export to another.
+ */
+public class ExportCheckpoint {
+
+    private final Path file;
+
+    private final String target;
+
+    private final TreeSet<Long> committedAboveMark = new TreeSet<>();
+
+    private final boolean resuming;
+
+    private long mark;
+
+    private ExportCheckpoint(final Path file, final String target, final long mark, final boolean resuming) {
+        this.file = file;
+        this.target = target;
+        this.mark = mark;
+        this.resuming = resuming;
+    }
+
+    /**
+     * Opens the checkpoint for an export, resuming from the file if an earlier run of the same export left one.
+     *
+     * @param file the checkpoint file, which need not exist yet
+     * @param target the database being exported to
+     * @return the checkpoint to record the export's progress in
+     * @throws IllegalArgumentException if the file is not a checkpoint, or is the checkpoint of an export to a different
+     *     database
+     */
+    public static ExportCheckpoint open(final Path file, final String target) throws IOException {
+        if (!Files.exists(file)) {
+            return new ExportCheckpoint(file, target, 0, false);
+        }
+
+        final String contents = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+        final int separator = contents.lastIndexOf('\n');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid checkpoint file " + file);
+        }
+
+        final String checkpointTarget = contents.substring(0, separator).trim();
+        if (!checkpointTarget.equals(target)) {
+            throw new IllegalArgumentException(
+                    "Checkpoint file " + file + " belongs to an export to " + checkpointTarget + ", not " + target);
+        }
+
+        try {
+            return new ExportCheckpoint(file, target, Long.parseLong(contents.substring(separator + 1).trim()), true);
+        } catch (final NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid checkpoint file " + file, ex);
+        }
+    }
+
+    /**
+     * An in-memory checkpoint that is never persisted, for exports that have not asked to be resumable.
+     *
+     * @return a checkpoint starting at the beginning of the input
+     */
+    public static ExportCheckpoint none() {
+        return new ExportCheckpoint(null, null, 0, false);
+    }
+
+    /** @return the number of leading entries that are known to have been committed */
+    public synchronized long getCommittedCount() {
+        return mark;
+    }
+
+    /** @return whether a checkpoint file was left by an earlier run of the export */
+    public boolean isResuming() {
+        return resuming;
+    }
+
+    /** Records that the export has started, so that a rerun resumes it even if nothing has been committed yet. */
+    public synchronized void started() {
+        write();
+    }
+
+    /**
+     * Marks the given entries as committed, moving the checkpoint forward if they fill the gap at the current mark.
+     *
+     * @param sequences the sequence numbers of the entries in a batch that has just been committed
+     */
+    public synchronized void committed(final Collection<Long> sequences) {
+        committedAboveMark.addAll(sequences);
+
+        final long previous = mark;
+        while (!committedAboveMark.isEmpty() && committedAboveMark.first() == mark) {
+            committedAboveMark.pollFirst();
+            mark++;
+        }
+
+        if (mark != previous) {
+            write();
+        }
+    }
+
+    /** Removes the checkpoint once the export has completed, so that a new export does not skip any entries. */
+    public synchronized void complete() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public Optional<Path> getFile() {
+        return Optional.ofNullable(file);
+    }
+
+    private void write() {
+        if (file == null) {
+            return;
+        }
+        try {
+            final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, (target + "\n" + mark).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.quorum.tessera.data.migration;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Tuning options for an export run.
+ *
+ * <p>A single writer with a modest batch size and no checkpoint mirrors the behaviour of the original row by row
+ * export, and is what is used when no options are given.
+ */
+public class ExportOptions {
+
+    public static final int DEFAULT_WRITER_COUNT = 1;
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final int writerCount;
+
+    private final int batchSize;
+
+    private final Path checkpointFile;
+
+    private final PrintStream progressOutput;
+
+    public ExportOptions(
+            final int writerCount, final int batchSize, final Path checkpointFile, final PrintStream progressOutput) {
+        if (writerCount < 1) {
+            throw new IllegalArgumentException("At least one writer is required");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.writerCount = writerCount;
+        this.batchSize = batchSize;
+        this.checkpointFile = checkpointFile;
+        this.progressOutput = progressOutput;
+    }
+
+    public static ExportOptions defaults() {
+        return new ExportOptions(DEFAULT_WRITER_COUNT, DEFAULT_BATCH_SIZE, null, null);
+    }
+
+    public int getWriterCount() {
+        return writerCount;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public Optional<Path> getCheckpointFile() {
+        return Optional.ofNullable(checkpointFile);
+    }
+
+    public Optional<PrintStream> getProgressOutput() {
+        return Optional.ofNullable(progressOutput);
+    }
+
+    /**
+     * Some databases (i.e. SQLite) only allow a single writer at a time, in which case running more writers only adds
+     * lock contention.
+     *
+     * @return a copy of these options that uses exactly one writer
+     */
+    public ExportOptions withSingleWriter() {
+        return new ExportOptions(1, batchSize, checkpointFile, progressOutput);
+    }
+}
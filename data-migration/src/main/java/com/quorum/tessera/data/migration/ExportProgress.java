@@ -0,0 +1,69 @@
+package com.quorum.tessera.data.migration;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/** Prints the number of exported entries and the current throughput at most once per reporting interval. */
+public class ExportProgress {
+
+    private static final long DEFAULT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final PrintStream output;
+
+    private final long intervalNanos;
+
+    private final LongSupplier clock;
+
+    private final AtomicLong exported = new AtomicLong();
+
+    private final long startedAt;
+
+    private final AtomicLong lastReportedAt;
+
+    public ExportProgress(final PrintStream output) {
+        this(output, DEFAULT_INTERVAL_NANOS, System::nanoTime);
+    }
+
+    ExportProgress(final PrintStream output, final long intervalNanos, final LongSupplier clock) {
+        this.output = output;
+        this.intervalNanos = intervalNanos;
+        this.clock = clock;
+        this.startedAt = clock.getAsLong();
+        this.lastReportedAt = new AtomicLong(startedAt);
+    }
+
+    public void exported(final int count) {
+        final long total = exported.addAndGet(count);
+
+        if (output == null) {
+            return;
+        }
+
+        final long now = clock.getAsLong();
+        final long last = lastReportedAt.get();
+        if (now - last >= intervalNanos && lastReportedAt.compareAndSet(last, now)) {
+            output.printf("Exported %d entries (%d entries/s)", total, rate(total, now));
+            output.println();
+        }
+    }
+
+    public void finished() {
+        if (output == null) {
+            return;
+        }
+        final long total = exported.get();
+        output.printf("Exported %d entries in total (%d entries/s)", total, rate(total, clock.getAsLong()));
+        output.println();
+    }
+
+    public long getExportedCount() {
+        return exported.get();
+    }
+
+    private long rate(final long total, final long now) {
+        final long elapsed = Math.max(1, now - startedAt);
+        return total * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+}
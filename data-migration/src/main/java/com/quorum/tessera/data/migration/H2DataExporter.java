@@ -15,6 +15,16 @@ public class H2DataExporter implements DataExporter {
 
     private static final String CREATE_TABLE_RESOURCE = "/ddls/h2-ddl.sql";
 
+    private final ExportOptions options;
+
+    public H2DataExporter() {
+        this(ExportOptions.defaults());
+    }
+
+    public H2DataExporter(final ExportOptions options) {
+        this.options = options;
+    }
+
     @Override
     public void export(final StoreLoader loader,
                        final Path output,
@@ -30,7 +40,7 @@ public class H2DataExporter implements DataExporter {
             .collect(Collectors.toList());
 
         final JdbcDataExporter jdbcDataExporter
-            = new JdbcDataExporter(connectionString, INSERT_ROW, createTableStatements);
+            = new JdbcDataExporter(connectionString, INSERT_ROW, createTableStatements, options);
 
         jdbcDataExporter.export(loader, output, username, password);
     }
@@ -1,51 +1,295 @@
 package com.quorum.tessera.data.migration;
 
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
+/**
+ * Exports the entries of a {@link StoreLoader} into a database.
+ *
+ * <p>The loader is read on the calling thread, which feeds a bounded queue. One or more writer threads, each with its
+ * own connection, take entries off the queue and insert them in JDBC batches, committing after each batch.
+ */
 public class JdbcDataExporter implements DataExporter {
 
+    private static final QueuedEntry END_OF_INPUT = new QueuedEntry(-1, null, null);
+
     private final String jdbcUrl;
 
     private final String insertRow;
 
     private final List<String> createTables;
 
+    private final ExportOptions options;
+
     public JdbcDataExporter(final String jdbcUrl, final String insertRow, final List<String> createTables) {
+        this(jdbcUrl, insertRow, createTables, ExportOptions.defaults());
+    }
+
+    public JdbcDataExporter(
+            final String jdbcUrl,
+            final String insertRow,
+            final List<String> createTables,
+            final ExportOptions options) {
         this.jdbcUrl = jdbcUrl;
         this.insertRow = insertRow;
         this.createTables = createTables;
+        this.options = options;
     }
 
     @Override
-    public void export(final StoreLoader loader,
-                       final Path output,
-                       final String username,
-                       final String password) throws SQLException, IOException {
+    public void export(final StoreLoader loader, final Path output, final String username, final String password)
+            throws SQLException, IOException {
 
-        try (Connection conn = DriverManager.getConnection(jdbcUrl, username, password)) {
+        final ExportCheckpoint checkpoint;
+        if (options.getCheckpointFile().isPresent()) {
+            checkpoint = ExportCheckpoint.open(options.getCheckpointFile().get(), jdbcUrl);
+        } else {
+            checkpoint = ExportCheckpoint.none();
+        }
 
-            try (Statement stmt = conn.createStatement()) {
+        // A resumed export has already created its tables
+        if (!checkpoint.isResuming()) {
+            try (Connection conn = DriverManager.getConnection(jdbcUrl, username, password);
+                    Statement stmt = conn.createStatement()) {
                 for (final String createTable : createTables) {
                     stmt.executeUpdate(createTable);
                 }
             }
+        }
+        checkpoint.started();
+
+        final ExportProgress progress = new ExportProgress(options.getProgressOutput().orElse(null));
+
+        final int writerCount = options.getWriterCount();
+        final BlockingQueue<QueuedEntry> queue = new ArrayBlockingQueue<>(writerCount * options.getBatchSize() * 2);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(writerCount);
+        try {
+            final List<Future<Void>> writers = new ArrayList<>(writerCount);
+            for (int i = 0; i < writerCount; i++) {
+                final BatchWriter writer =
+                        new BatchWriter(queue, username, password, checkpoint, progress, checkpoint.isResuming());
+                writers.add(executorService.submit(writer));
+            }
+
+            final long skip = checkpoint.getCommittedCount();
+            long sequence = 0;
+            DataEntry next;
+            while ((next = loader.nextEntry()) != null) {
+                try (InputStream data = next.getValue()) {
+                    if (sequence >= skip) {
+                        enqueue(queue, new QueuedEntry(sequence, next.getKey(), IOUtils.toByteArray(data)), writers);
+                    }
+                }
+                sequence++;
+            }
+
+            for (int i = 0; i < writerCount; i++) {
+                enqueue(queue, END_OF_INPUT, writers);
+            }
+
+            for (final Future<Void> writer : writers) {
+                awaitWriter(writer);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
 
-            try (PreparedStatement insertStatement = conn.prepareStatement(insertRow)) {
-                DataEntry next;
-                while ((next = loader.nextEntry()) != null) {
-                    try (InputStream data = next.getValue()) {
-                        insertStatement.setBytes(1, next.getKey());
-                        insertStatement.setBinaryStream(2, data);
-                        insertStatement.execute();
+        checkpoint.complete();
+        progress.finished();
+    }
+
+    private static void enqueue(
+            final BlockingQueue<QueuedEntry> queue, final QueuedEntry entry, final List<Future<Void>> writers)
+            throws SQLException, IOException {
+        try {
+            while (!queue.offer(entry, 1, TimeUnit.SECONDS)) {
+                // Writers only finish early if they have failed, in which case nothing will drain the queue
+                for (final Future<Void> writer : writers) {
+                    if (writer.isDone()) {
+                        awaitWriter(writer);
+                        throw new IllegalStateException("Writer finished before the end of the input was reached");
                     }
                 }
             }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new StoreLoaderException(ex);
+        }
+    }
 
+    private static void awaitWriter(final Future<Void> writer) throws SQLException, IOException {
+        try {
+            writer.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new StoreLoaderException(ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new StoreLoaderException(cause);
         }
     }
 
+    private class BatchWriter implements Callable<Void> {
+
+        private final BlockingQueue<QueuedEntry> queue;
+
+        private final String username;
+
+        private final String password;
+
+        private final ExportCheckpoint checkpoint;
+
+        private final ExportProgress progress;
+
+        /*
+         * When resuming, entries past the checkpoint may have been committed before the previous run stopped.
+         * Inserting those again violates the primary key, so such rows are skipped rather than failing the export.
+         */
+        private final boolean skipDuplicates;
+
+        BatchWriter(
+                final BlockingQueue<QueuedEntry> queue,
+                final String username,
+                final String password,
+                final ExportCheckpoint checkpoint,
+                final ExportProgress progress,
+                final boolean skipDuplicates) {
+            this.queue = queue;
+            this.username = username;
+            this.password = password;
+            this.checkpoint = checkpoint;
+            this.progress = progress;
+            this.skipDuplicates = skipDuplicates;
+        }
+
+        @Override
+        public Void call() throws SQLException, InterruptedException {
+            try (Connection conn = DriverManager.getConnection(jdbcUrl, username, password)) {
+                conn.setAutoCommit(false);
+
+                try (PreparedStatement insertStatement = conn.prepareStatement(insertRow)) {
+                    final List<QueuedEntry> batch = new ArrayList<>(options.getBatchSize());
+                    boolean endOfInput = false;
+
+                    while (!endOfInput) {
+                        // block for the first entry, then top the batch up with whatever is already queued
+                        QueuedEntry entry = queue.take();
+                        while (entry != null) {
+                            if (entry == END_OF_INPUT) {
+                                // each writer is sent its own marker
+                                endOfInput = true;
+                                break;
+                            }
+                            batch.add(entry);
+                            entry = batch.size() < options.getBatchSize() ? queue.poll() : null;
+                        }
+
+                        if (!batch.isEmpty()) {
+                            write(conn, insertStatement, batch);
+                            checkpoint.committed(
+                                    batch.stream().map(QueuedEntry::getSequence).collect(Collectors.toList()));
+                            progress.exported(batch.size());
+                            batch.clear();
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void write(
+                final Connection conn, final PreparedStatement insertStatement, final List<QueuedEntry> batch)
+                throws SQLException {
+            try {
+                for (final QueuedEntry entry : batch) {
+                    bind(insertStatement, entry);
+                    insertStatement.addBatch();
+                }
+                insertStatement.executeBatch();
+                conn.commit();
+            } catch (final BatchUpdateException ex) {
+                conn.rollback();
+                insertStatement.clearBatch();
+                if (!skipDuplicates) {
+                    throw ex;
+                }
+                writeIndividually(conn, insertStatement, batch);
+            }
+        }
+
+        private void writeIndividually(
+                final Connection conn, final PreparedStatement insertStatement, final List<QueuedEntry> batch)
+                throws SQLException {
+            for (final QueuedEntry entry : batch) {
+                try {
+                    bind(insertStatement, entry);
+                    insertStatement.executeUpdate();
+                    conn.commit();
+                } catch (final SQLException ex) {
+                    conn.rollback();
+                    if (!isConstraintViolation(ex)) {
+                        throw ex;
+                    }
+                }
+            }
+        }
+
+        private void bind(final PreparedStatement insertStatement, final QueuedEntry entry) throws SQLException {
+            insertStatement.setBytes(1, entry.getKey());
+            insertStatement.setBinaryStream(2, new ByteArrayInputStream(entry.getValue()), entry.getValue().length);
+        }
+    }
+
+    private static boolean isConstraintViolation(final SQLException ex) {
+        // SQL state class 23 is "integrity constraint violation"
+        return ex instanceof SQLIntegrityConstraintViolationException
+                || (ex.getSQLState() != null && ex.getSQLState().startsWith("23"));
+    }
+
+    private static class QueuedEntry {
+
+        private final long sequence;
+
+        private final byte[] key;
+
+        private final byte[] value;
+
+        QueuedEntry(final long sequence, final byte[] key, final byte[] value) {
+            this.sequence = sequence;
+            this.key = key;
+            this.value = value;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        byte[] getKey() {
+            return key;
+        }
+
+        byte[] getValue() {
+            return value;
+        }
+    }
 }
@@ -1,13 +1,10 @@
 package com.quorum.tessera.data.migration;
 
-import org.apache.commons.io.IOUtils;
-
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Path;
-import java.sql.*;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -18,6 +15,17 @@ public class SqliteDataExporter implements DataExporter {
 
     private static final String CREATE_TABLE_RESOURCE = "/ddls/sqlite-ddl.sql";
 
+    private final ExportOptions options;
+
+    public SqliteDataExporter() {
+        this(ExportOptions.defaults());
+    }
+
+    public SqliteDataExporter(final ExportOptions options) {
+        // SQLite only allows one writer at a time
+        this.options = options.withSingleWriter();
+    }
+
     @Override
     public void export(final StoreLoader loader,
                        final Path output,
@@ -32,27 +40,10 @@ public class SqliteDataExporter implements DataExporter {
             .flatMap(BufferedReader::lines)
             .collect(Collectors.toList());
 
-        try (Connection conn = DriverManager.getConnection(connectionString, username, password)) {
-
-            try (Statement stmt = conn.createStatement()) {
-                for (final String createTable : createTableStatements) {
-                    stmt.executeUpdate(createTable);
-                }
-            }
-
-            try (PreparedStatement insertStatement = conn.prepareStatement(INSERT_ROW)) {
-                DataEntry next;
-                while ((next = loader.nextEntry()) != null) {
-                    try (InputStream data = next.getValue()) {
-                        insertStatement.setBytes(1, next.getKey());
-                        insertStatement.setBytes(2, IOUtils.toByteArray(data));
-                        insertStatement.execute();
-                    }
-                }
-            }
-
-        }
+        final JdbcDataExporter jdbcDataExporter
+            = new JdbcDataExporter(connectionString, INSERT_ROW, createTableStatements, options);
 
+        jdbcDataExporter.export(loader, output, username, password);
     }
 
 }
@@ -68,9 +68,10 @@ public class CmdLineExecutorTest {
                 .contains(
                         "Usage:",
                         "Database migration tool from older systems to Tessera",
-                        "<main class> [help] [-dbconfig <dbconfig>] [-dbpass <password>] [-dbuser",
-                        "<username>] -exporttype <exportType> -inputpath <inputpath>",
-                        "-outputfile <outputFile> -storetype <storeType>");
+                        "<main class> [help] [-batchsize <batchSize>] [-checkpoint <checkpointFile>]",
+                        "[-dbconfig <dbconfig>] [-dbpass <password>] [-dbuser <username>]",
+                        "-exporttype <exportType> -inputpath <inputpath> -outputfile",
+                        "<outputFile> -storetype <storeType> [-threads <writerCount>]");
     }
 
     @Test
@@ -156,6 +157,30 @@ public class CmdLineExecutorTest {
         final CliResult result = commandLine.getExecutionResult();
     }
 
+    @Test
+    public void dirStoreTypeWithWritersBatchSizeAndCheckpoint() throws Exception {
+        final Path inputFile = Paths.get(getClass().getResource("/dir/").toURI());
+        final Path checkpointFile = Files.createTempDirectory(testName.getMethodName()).resolve("checkpoint");
+
+        final String[] args =
+                new String[] {
+                    "-storetype", "dir",
+                    "-inputpath", inputFile.toString(),
+                    "-outputfile", outputPath.toString(),
+                    "-exporttype", "h2",
+                    "-threads", "2",
+                    "-batchsize", "1",
+                    "-checkpoint", checkpointFile.toString()
+                };
+
+        commandLine.execute(args);
+        final CliResult result = commandLine.getExecutionResult();
+
+        assertThat(result).isEqualToComparingFieldByField(new CliResult(0, true, null));
+        assertThat(systemOutRule.getLog()).contains("entries in total");
+        assertThat(checkpointFile).doesNotExist();
+    }
+
     @Test()
     public void exportTypeJdbcNoDbConfigProvided() throws Exception {
         final Path inputFile = Paths.get(getClass().getResource("/dir/").toURI());
@@ -0,0 +1,117 @@
+package com.quorum.tessera.data.migration;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ExportCheckpointTest {
+
+    private static final String TARGET = "jdbc:h2:/tmp/export";
+
+    private Path checkpointFile;
+
+    @Before
+    public void onSetUp() throws Exception {
+        this.checkpointFile = Files.createTempDirectory("checkpoint").resolve("export.checkpoint");
+    }
+
+    @Test
+    public void missingFileStartsAtBeginning() throws Exception {
+        final ExportCheckpoint checkpoint = ExportCheckpoint.open(checkpointFile, TARGET);
+
+        assertThat(checkpoint.getCommittedCount()).isZero();
+        assertThat(checkpoint.isResuming()).isFalse();
+        assertThat(checkpoint.getFile()).contains(checkpointFile);
+    }
+
+    @Test
+    public void markOnlyMovesOverUnbrokenRun() throws Exception {
+        final ExportCheckpoint checkpoint = ExportCheckpoint.open(checkpointFile, TARGET);
+
+        checkpoint.committed(List.of(3L, 4L));
+        assertThat(checkpoint.getCommittedCount()).isZero();
+        assertThat(checkpointFile).doesNotExist();
+
+        checkpoint.committed(List.of(0L, 1L));
+        assertThat(checkpoint.getCommittedCount()).isEqualTo(2);
+        assertThat(checkpointFile).hasContent(TARGET + "\n2");
+
+        checkpoint.committed(List.of(2L));
+        assertThat(checkpoint.getCommittedCount()).isEqualTo(5);
+        assertThat(checkpointFile).hasContent(TARGET + "\n5");
+    }
+
+    @Test
+    public void resumesFromPersistedMark() throws Exception {
+        Files.write(checkpointFile, (TARGET + "\n42").getBytes(StandardCharsets.UTF_8));
+
+        final ExportCheckpoint checkpoint = ExportCheckpoint.open(checkpointFile, TARGET);
+
+        assertThat(checkpoint.getCommittedCount()).isEqualTo(42);
+        assertThat(checkpoint.isResuming()).isTrue();
+    }
+
+    @Test
+    public void startedExportIsResumedBeforeAnythingIsCommitted() throws Exception {
+        ExportCheckpoint.open(checkpointFile, TARGET).started();
+        assertThat(checkpointFile).hasContent(TARGET + "\n0");
+
+        final ExportCheckpoint checkpoint = ExportCheckpoint.open(checkpointFile, TARGET);
+
+        assertThat(checkpoint.getCommittedCount()).isZero();
+        assertThat(checkpoint.isResuming()).isTrue();
+    }
+
+    @Test
+    public void completeRemovesFile() throws Exception {
+        final ExportCheckpoint checkpoint = ExportCheckpoint.open(checkpointFile, TARGET);
+        checkpoint.committed(List.of(0L));
+        assertThat(checkpointFile).exists();
+
+        checkpoint.complete();
+
+        assertThat(checkpointFile).doesNotExist();
+    }
+
+    @Test
+    public void invalidFileContents() throws Exception {
+        Files.write(checkpointFile, "not a number".getBytes(StandardCharsets.UTF_8));
+
+        final Throwable throwable = catchThrowable(() -> ExportCheckpoint.open(checkpointFile, TARGET));
+
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(checkpointFile.toString());
+    }
+
+    @Test
+    public void checkpointForAnotherTargetIsRejected() throws Exception {
+        ExportCheckpoint.open(checkpointFile, "jdbc:h2:/tmp/other").started();
+
+        final Throwable throwable = catchThrowable(() -> ExportCheckpoint.open(checkpointFile, TARGET));
+
+        assertThat(throwable)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("jdbc:h2:/tmp/other")
+                .hasMessageContaining(TARGET);
+    }
+
+    @Test
+    public void noneIsNeverPersisted() throws Exception {
+        final ExportCheckpoint checkpoint = ExportCheckpoint.none();
+
+        checkpoint.started();
+        checkpoint.committed(List.of(0L, 1L));
+        checkpoint.complete();
+
+        assertThat(checkpoint.getCommittedCount()).isEqualTo(2);
+        assertThat(checkpoint.getFile()).isEmpty();
+    }
+}
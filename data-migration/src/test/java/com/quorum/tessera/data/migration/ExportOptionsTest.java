@@ -0,0 +1,42 @@
+package com.quorum.tessera.data.migration;
+
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExportOptionsTest {
+
+    @Test
+    public void defaults() {
+        final ExportOptions options = ExportOptions.defaults();
+
+        assertThat(options.getWriterCount()).isEqualTo(1);
+        assertThat(options.getBatchSize()).isEqualTo(100);
+        assertThat(options.getCheckpointFile()).isEmpty();
+        assertThat(options.getProgressOutput()).isEmpty();
+    }
+
+    @Test
+    public void withSingleWriterKeepsOtherOptions() {
+        final ExportOptions options = new ExportOptions(8, 50, Paths.get("checkpoint"), System.out);
+
+        final ExportOptions result = options.withSingleWriter();
+
+        assertThat(result.getWriterCount()).isEqualTo(1);
+        assertThat(result.getBatchSize()).isEqualTo(50);
+        assertThat(result.getCheckpointFile()).contains(Paths.get("checkpoint"));
+        assertThat(result.getProgressOutput()).contains(System.out);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noWriters() {
+        new ExportOptions(0, 1, null, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyBatch() {
+        new ExportOptions(1, 0, null, null);
+    }
+}
@@ -0,0 +1,56 @@
+package com.quorum.tessera.data.migration;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExportProgressTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ExportProgress progress =
+            new ExportProgress(new PrintStream(output), TimeUnit.SECONDS.toNanos(5), clock::get);
+
+    @Test
+    public void reportsOncePerInterval() {
+        clock.set(TimeUnit.SECONDS.toNanos(1));
+        progress.exported(100);
+        assertThat(output.toString()).isEmpty();
+
+        clock.set(TimeUnit.SECONDS.toNanos(10));
+        progress.exported(900);
+        assertThat(output.toString()).contains("Exported 1000 entries (100 entries/s)");
+
+        clock.set(TimeUnit.SECONDS.toNanos(11));
+        progress.exported(100);
+        assertThat(output.toString().lines()).hasSize(1);
+        assertThat(progress.getExportedCount()).isEqualTo(1100);
+    }
+
+    @Test
+    public void finishedPrintsTotal() {
+        progress.exported(50);
+        clock.set(TimeUnit.SECONDS.toNanos(2));
+
+        progress.finished();
+
+        assertThat(output.toString()).contains("Exported 50 entries in total (25 entries/s)");
+    }
+
+    @Test
+    public void noOutputConfigured() {
+        final ExportProgress silent = new ExportProgress(null);
+
+        silent.exported(10);
+        silent.finished();
+
+        assertThat(silent.getExportedCount()).isEqualTo(10);
+    }
+}
@@ -8,7 +8,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.*;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -39,13 +41,13 @@ public class H2DataExporterTest {
         final String connectionString = "jdbc:h2:" + outputPath;
 
         try (Connection conn = DriverManager.getConnection(connectionString);
-             ResultSet rs = conn.prepareStatement(QUERY).executeQuery()) {
+                ResultSet rs = conn.prepareStatement(QUERY).executeQuery()) {
 
             final ResultSetMetaData metaData = rs.getMetaData();
-            final List<String> columnNames = IntStream
-                .range(1, metaData.getColumnCount() + 1)
-                .mapToObj(i -> JdbcCallback.execute(() -> metaData.getColumnName(i)))
-                .collect(Collectors.toList());
+            final List<String> columnNames =
+                    IntStream.range(1, metaData.getColumnCount() + 1)
+                            .mapToObj(i -> JdbcCallback.execute(() -> metaData.getColumnName(i)))
+                            .collect(Collectors.toList());
 
             assertThat(columnNames).containsExactlyInAnyOrder("HASH", "ENCODED_PAYLOAD", "TIMESTAMP");
 
@@ -53,9 +55,7 @@ public class H2DataExporterTest {
                 assertThat(rs.getBytes("HASH")).isEqualTo("HASH".getBytes());
                 assertThat(rs.getBytes("ENCODED_PAYLOAD")).isEqualTo("VALUE".getBytes());
             }
-
         }
-
     }
 
     @Test
@@ -73,13 +73,13 @@ public class H2DataExporterTest {
         final String connectionString = "jdbc:h2:" + outputPath;
 
         try (Connection conn = DriverManager.getConnection(connectionString, username, password);
-             ResultSet rs = conn.prepareStatement(QUERY).executeQuery()) {
+                ResultSet rs = conn.prepareStatement(QUERY).executeQuery()) {
 
             final ResultSetMetaData metaData = rs.getMetaData();
-            final List<String> columnNames = IntStream
-                .range(1, metaData.getColumnCount() + 1)
-                .mapToObj(i -> JdbcCallback.execute(() -> metaData.getColumnName(i)))
-                .collect(Collectors.toList());
+            final List<String> columnNames =
+                    IntStream.range(1, metaData.getColumnCount() + 1)
+                            .mapToObj(i -> JdbcCallback.execute(() -> metaData.getColumnName(i)))
+                            .collect(Collectors.toList());
 
             assertThat(columnNames).containsExactlyInAnyOrder("HASH", "ENCODED_PAYLOAD", "TIMESTAMP");
 
@@ -87,9 +87,7 @@ public class H2DataExporterTest {
                 assertThat(rs.getBytes("HASH")).isEqualTo("HASH".getBytes());
                 assertThat(rs.getBytes("ENCODED_PAYLOAD")).isEqualTo("VALUE".getBytes());
             }
-
         }
-
     }
 
     @Test
@@ -110,4 +108,130 @@ public class H2DataExporterTest {
         assertThat(throwable).isInstanceOf(JdbcSQLInvalidAuthorizationSpecException.class);
     }
 
+    @Test
+    public void exportManyEntriesWithSeveralWriters() throws Exception {
+        final Path outputPath = Files.createTempFile("exportManyEntries", ".db");
+
+        final Map<String, String> data = entries(1000);
+
+        final H2DataExporter parallelExporter = new H2DataExporter(new ExportOptions(4, 17, null, null));
+
+        parallelExporter.export(new MockDataLoader(data), outputPath, null, null);
+
+        assertThat(exportedRows(outputPath)).isEqualTo(data);
+    }
+
+    @Test
+    public void interruptedExportResumesFromCheckpoint() throws Exception {
+        final Path outputPath = Files.createTempFile("resumeExport", ".db");
+        final Path checkpointFile = Files.createTempDirectory("resumeExport").resolve("checkpoint");
+
+        final Map<String, String> data = entries(1000);
+
+        final ExportOptions options = new ExportOptions(3, 10, checkpointFile, null);
+
+        final StoreLoader failingLoader = new FailingLoader(new MockDataLoader(data), 500);
+
+        final Throwable throwable =
+                catchThrowable(() -> new H2DataExporter(options).export(failingLoader, outputPath, null, null));
+        assertThat(throwable).isInstanceOf(IOException.class);
+
+        assertThat(checkpointFile).exists();
+        final long committed = ExportCheckpoint.open(checkpointFile, "jdbc:h2:" + outputPath).getCommittedCount();
+        assertThat(committed).isBetween(0L, 500L);
+
+        new H2DataExporter(options).export(new MockDataLoader(data), outputPath, null, null);
+
+        assertThat(exportedRows(outputPath)).isEqualTo(data);
+        assertThat(checkpointFile).doesNotExist();
+    }
+
+    @Test
+    public void exportInterruptedBeforeFirstCommitIsResumed() throws Exception {
+        final Path outputPath = Files.createTempFile("resumeExport", ".db");
+        final Path checkpointFile = Files.createTempDirectory("resumeExport").resolve("checkpoint");
+
+        final Map<String, String> data = entries(100);
+
+        final ExportOptions options = new ExportOptions(3, 10, checkpointFile, null);
+
+        final StoreLoader failingLoader = new FailingLoader(new MockDataLoader(data), 0);
+
+        final Throwable throwable =
+                catchThrowable(() -> new H2DataExporter(options).export(failingLoader, outputPath, null, null));
+        assertThat(throwable).isInstanceOf(IOException.class);
+
+        assertThat(ExportCheckpoint.open(checkpointFile, "jdbc:h2:" + outputPath).getCommittedCount()).isZero();
+        assertThat(exportedRows(outputPath)).isEmpty();
+
+        new H2DataExporter(options).export(new MockDataLoader(data), outputPath, null, null);
+
+        assertThat(exportedRows(outputPath)).isEqualTo(data);
+        assertThat(checkpointFile).doesNotExist();
+    }
+
+    @Test
+    public void checkpointOfAnExportToAnotherDatabaseIsRejected() throws Exception {
+        final Path checkpointFile = Files.createTempDirectory("resumeExport").resolve("checkpoint");
+        final ExportOptions options = new ExportOptions(3, 10, checkpointFile, null);
+
+        final Path firstOutput = Files.createTempFile("resumeExport", ".db");
+        final StoreLoader failingLoader = new FailingLoader(new MockDataLoader(entries(100)), 50);
+        catchThrowable(() -> new H2DataExporter(options).export(failingLoader, firstOutput, null, null));
+        assertThat(checkpointFile).exists();
+
+        final Path secondOutput = Files.createTempFile("freshExport", ".db");
+        final Throwable throwable =
+                catchThrowable(
+                        () ->
+                                new H2DataExporter(options)
+                                        .export(new MockDataLoader(entries(100)), secondOutput, null, null));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessageContaining(firstOutput.toString());
+        assertThat(checkpointFile).exists();
+    }
+
+    private static Map<String, String> entries(final int count) {
+        final Map<String, String> data = new LinkedHashMap<>();
+        IntStream.range(0, count).forEach(i -> data.put("HASH" + i, "VALUE" + i));
+        return data;
+    }
+
+    private static Map<String, String> exportedRows(final Path outputPath) throws SQLException {
+        final Map<String, String> rows = new LinkedHashMap<>();
+        try (Connection conn = DriverManager.getConnection("jdbc:h2:" + outputPath);
+                ResultSet rs = conn.prepareStatement(QUERY).executeQuery()) {
+            while (rs.next()) {
+                rows.put(new String(rs.getBytes("HASH")), new String(rs.getBytes("ENCODED_PAYLOAD")));
+            }
+        }
+        return rows;
+    }
+
+    private static class FailingLoader implements StoreLoader {
+
+        private final StoreLoader delegate;
+
+        private final int failAfter;
+
+        private int count;
+
+        FailingLoader(final StoreLoader delegate, final int failAfter) {
+            this.delegate = delegate;
+            this.failAfter = failAfter;
+        }
+
+        @Override
+        public void load(final Path input) throws IOException, SQLException {
+            delegate.load(input);
+        }
+
+        @Override
+        public DataEntry nextEntry() throws IOException, SQLException {
+            if (count++ == failAfter) {
+                throw new IOException("Unable to read entry");
+            }
+            return delegate.nextEntry();
+        }
+    }
 }
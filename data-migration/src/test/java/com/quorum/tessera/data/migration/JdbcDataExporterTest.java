@@ -7,7 +7,9 @@ import org.junit.Test;
 
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -21,7 +23,8 @@ public class JdbcDataExporterTest extends BasicJDBCTestCaseAdapter {
         final String createStatement = "CREATE TEST TABLE";
         final String insertStatement = "INSERT INTO TABLE(?, ?)";
 
-        final JdbcDataExporter exporter = new JdbcDataExporter("jdbc:bogus", insertStatement, singletonList(createStatement));
+        final JdbcDataExporter exporter =
+                new JdbcDataExporter("jdbc:bogus", insertStatement, singletonList(createStatement));
 
         final StoreLoader mockLoader = new MockDataLoader(singletonMap("HASH", "VALUE"));
 
@@ -36,7 +39,7 @@ public class JdbcDataExporterTest extends BasicJDBCTestCaseAdapter {
         assertThat(preparedStatements).hasSize(1);
         assertThat(preparedStatements.get(0).getSQL()).isEqualTo("INSERT INTO TABLE(?, ?)");
 
-        final byte[] key = (byte[])super.getPreparedStatementParameter(preparedStatements.get(0), 1);
+        final byte[] key = (byte[]) super.getPreparedStatementParameter(preparedStatements.get(0), 1);
         final InputStream value = (InputStream) super.getPreparedStatementParameter(preparedStatements.get(0), 2);
         assertThat(new String(key)).isEqualTo("HASH");
         assertThat(new String(IOUtils.toByteArray(value))).isEqualTo("VALUE");
@@ -44,4 +47,28 @@ public class JdbcDataExporterTest extends BasicJDBCTestCaseAdapter {
         verifyAllStatementsClosed();
     }
 
+    @Test
+    public void entriesAreInsertedInBatches() throws Exception {
+        final String insertStatement = "INSERT INTO TABLE(?, ?)";
+
+        final JdbcDataExporter exporter =
+                new JdbcDataExporter(
+                        "jdbc:bogus",
+                        insertStatement,
+                        singletonList("CREATE TEST TABLE"),
+                        new ExportOptions(1, 2, null, null));
+
+        final Map<String, String> data = new LinkedHashMap<>();
+        data.put("HASH1", "VALUE1");
+        data.put("HASH2", "VALUE2");
+        data.put("HASH3", "VALUE3");
+
+        exporter.export(new MockDataLoader(data), mock(Path.class), "username", "password");
+
+        assertThat(super.getPreparedStatements()).hasSize(1);
+        assertThat(super.getExecutedSQLStatementParameterSets(insertStatement).getNumberParameterSets()).isEqualTo(3);
+
+        verifyNumberCommits(2);
+        verifyAllStatementsClosed();
+    }
 }
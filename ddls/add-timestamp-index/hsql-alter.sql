@@ -0,0 +1,4 @@
+UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 0 WHERE TIMESTAMP IS NULL;
+UPDATE ENCRYPTED_RAW_TRANSACTION SET TIMESTAMP = 0 WHERE TIMESTAMP IS NULL;
+CREATE INDEX ENCRYPTED_TRANSACTION_TIMESTAMP_IDX ON ENCRYPTED_TRANSACTION (TIMESTAMP, HASH);
+CREATE INDEX ENCRYPTED_RAW_TRANSACTION_TIMESTAMP_IDX ON ENCRYPTED_RAW_TRANSACTION (TIMESTAMP, HASH);
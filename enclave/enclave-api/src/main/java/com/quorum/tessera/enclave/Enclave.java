@@ -5,6 +5,7 @@ import com.quorum.tessera.service.Service;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * An {@link Enclave} provides encryption/decryption functions and keeps hold of all the nodes private keys so the do
@@ -70,6 +71,27 @@ public interface Enclave extends Service {
             List<AffectedTransaction> affectedContractTransactions,
             byte[] execHash);
 
+    /**
+     * Re-encrypts several {@link RawTransaction}s, as {@link #encryptPayload(RawTransaction, List, PrivacyMode, List,
+     * byte[])} does for each. Implementations may share work between the transactions, such as the key agreement for
+     * each sender and recipient pair.
+     *
+     * @param requests the raw transactions and the arguments to encrypt each of them with
+     * @return the encrypted payloads, in the same order as the requests
+     */
+    default List<EncodedPayload> encryptPayloads(List<RawTransactionEncryptRequest> requests) {
+        return requests.stream()
+                .map(
+                        r ->
+                                encryptPayload(
+                                        r.getRawTransaction(),
+                                        r.getRecipients(),
+                                        r.getPrivacyMode(),
+                                        r.getAffectedContractTransactions(),
+                                        r.getExecHash()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Filters the affectedContractTransaction hashes by removing those that do not pass the security hash validation
      *
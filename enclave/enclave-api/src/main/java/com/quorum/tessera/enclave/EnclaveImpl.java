@@ -1,11 +1,9 @@
 package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.encryption.*;
-import org.bouncycastle.jcajce.provider.digest.SHA3;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.ByteBuffer;
 import java.util.*;
 
 import com.quorum.tessera.encryption.Encryptor;
@@ -18,6 +16,7 @@ import com.quorum.tessera.encryption.SharedKey;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 public class EnclaveImpl implements Enclave {
@@ -76,8 +75,9 @@ public class EnclaveImpl implements Enclave {
             Map<TxHash, EncodedPayload> affectedContractTransactions, byte[] cipherText) {
         Map<TxHash, byte[]> affectedContractTransactionHashes = new HashMap<>();
         for (final Map.Entry<TxHash, EncodedPayload> entry : affectedContractTransactions.entrySet()) {
-            // TODO - remove extra logs
-            LOGGER.info("Calculating hash for TxKey {}", entry.getKey().encodeToBase64());
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Calculating hash for TxKey {}", entry.getKey().encodeToBase64());
+            }
             affectedContractTransactionHashes.put(
                     entry.getKey(), computeAffectedContractTransactionHash(cipherText, entry.getValue()));
         }
@@ -90,13 +90,7 @@ public class EnclaveImpl implements Enclave {
     }
 
     private byte[] computeCAHash(byte[] c1, byte[] c2, MasterKey masterKey) {
-        ByteBuffer byteBuffer = ByteBuffer.allocate(c1.length + c2.length + masterKey.getKeyBytes().length);
-        byteBuffer.put(c1);
-        byteBuffer.put(c2);
-        byteBuffer.put(masterKey.getKeyBytes());
-
-        final SHA3.DigestSHA3 digestSHA3 = new SHA3.Digest512();
-        return digestSHA3.digest(byteBuffer.array());
+        return Sha3Digest.digest(c1, c2, masterKey.getKeyBytes());
     }
 
     @Override
@@ -125,16 +119,63 @@ public class EnclaveImpl implements Enclave {
             final PrivacyMode privacyMode,
             List<AffectedTransaction> affectedContractTransactions,
             final byte[] execHash) {
+        return encryptPayload(
+                rawTransaction,
+                recipientPublicKeys,
+                privacyMode,
+                affectedContractTransactions,
+                execHash,
+                this::computeSharedKey);
+    }
+
+    /**
+     * Re-encrypts each raw transaction in turn, computing the shared key for each sender and recipient pair only once
+     * for the whole batch. The computed keys are discarded when the batch completes.
+     */
+    @Override
+    public List<EncodedPayload> encryptPayloads(final List<RawTransactionEncryptRequest> requests) {
+        final Map<PublicKey, Map<PublicKey, SharedKey>> sharedKeys = new HashMap<>();
+        final BiFunction<PublicKey, PublicKey, SharedKey> batchSharedKey =
+                (sender, recipient) ->
+                        sharedKeys
+                                .computeIfAbsent(sender, k -> new HashMap<>())
+                                .computeIfAbsent(recipient, k -> computeSharedKey(sender, recipient));
+
+        return requests.stream()
+                .map(
+                        r ->
+                                encryptPayload(
+                                        r.getRawTransaction(),
+                                        r.getRecipients(),
+                                        r.getPrivacyMode(),
+                                        r.getAffectedContractTransactions(),
+                                        r.getExecHash(),
+                                        batchSharedKey))
+                .collect(Collectors.toList());
+    }
+
+    private EncodedPayload encryptPayload(
+            final RawTransaction rawTransaction,
+            final List<PublicKey> recipientPublicKeys,
+            final PrivacyMode privacyMode,
+            final List<AffectedTransaction> affectedContractTransactions,
+            final byte[] execHash,
+            final BiFunction<PublicKey, PublicKey, SharedKey> sharedKeys) {
 
+        final SharedKey senderSharedKey = sharedKeys.apply(rawTransaction.getFrom(), rawTransaction.getFrom());
         final MasterKey masterKey =
-                this.getMasterKey(
-                        rawTransaction.getFrom(), rawTransaction.getFrom(),
-                        rawTransaction.getNonce(), rawTransaction.getEncryptedKey());
+                MasterKey.from(
+                        encryptor.openAfterPrecomputation(
+                                rawTransaction.getEncryptedKey(), rawTransaction.getNonce(), senderSharedKey));
 
         final Nonce recipientNonce = encryptor.randomNonce();
 
+        final List<SharedKey> recipientSharedKeys =
+                recipientPublicKeys.stream()
+                        .map(recipient -> sharedKeys.apply(rawTransaction.getFrom(), recipient))
+                        .collect(Collectors.toList());
         final List<byte[]> encryptedMasterKeys =
-                buildRecipientMasterKeys(rawTransaction.getFrom(), recipientPublicKeys, recipientNonce, masterKey);
+                encryptor.sealAfterPrecomputation(masterKey.getKeyBytes(), recipientNonce, recipientSharedKeys);
 
         final Map<TxHash, byte[]> affectedContractTransactionHashes =
                 buildAffectedContractTransactionHashes(
@@ -157,14 +198,19 @@ public class EnclaveImpl implements Enclave {
                 .build();
     }
 
+    private SharedKey computeSharedKey(final PublicKey sender, final PublicKey recipient) {
+        return encryptor.computeSharedKey(recipient, keyManager.getPrivateKeyForPublicKey(sender));
+    }
+
     @Override
     public Set<TxHash> findInvalidSecurityHashes(
             EncodedPayload encodedPayload, List<AffectedTransaction> affectedContractTransactions) {
         return encodedPayload.getAffectedContractTransactions().entrySet().stream()
                 .filter(
                         entry -> {
-                            // TODO - remove extra logs
-                            LOGGER.info("Verifying hash for TxKey {}", entry.getKey().encodeToBase64());
+                            if (LOGGER.isTraceEnabled()) {
+                                LOGGER.trace("Verifying hash for TxKey {}", entry.getKey().encodeToBase64());
+                            }
                             TxHash txHash = entry.getKey();
 
                             final Optional<EncodedPayload> affectedTransaction =
@@ -191,10 +237,12 @@ public class EnclaveImpl implements Enclave {
             final MasterKey masterKey) {
         final PrivateKey privateKey = keyManager.getPrivateKeyForPublicKey(senderPublicKey);
 
-        return recipientPublicKeys.stream()
-                .map(publicKey -> encryptor.computeSharedKey(publicKey, privateKey))
-                .map(sharedKey -> encryptor.sealAfterPrecomputation(masterKey.getKeyBytes(), recipientNonce, sharedKey))
-                .collect(Collectors.toList());
+        final List<SharedKey> sharedKeys =
+                recipientPublicKeys.stream()
+                        .map(publicKey -> encryptor.computeSharedKey(publicKey, privateKey))
+                        .collect(Collectors.toList());
+
+        return encryptor.sealAfterPrecomputation(masterKey.getKeyBytes(), recipientNonce, sharedKeys);
     }
 
     @Override
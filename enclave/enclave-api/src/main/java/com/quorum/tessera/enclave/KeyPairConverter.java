@@ -1,6 +1,9 @@
 package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.EncryptorConfig;
+import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.KeyVaultCacheConfig;
 import com.quorum.tessera.config.KeyVaultType;
 import com.quorum.tessera.config.keypairs.AWSKeyPair;
 import com.quorum.tessera.config.keypairs.AzureVaultKeyPair;
@@ -11,16 +14,15 @@ import com.quorum.tessera.config.vault.data.AWSGetSecretData;
 import com.quorum.tessera.config.vault.data.AzureGetSecretData;
 import com.quorum.tessera.config.vault.data.GetSecretData;
 import com.quorum.tessera.config.vault.data.HashicorpGetSecretData;
+import com.quorum.tessera.encryption.EncryptorFactory;
 import com.quorum.tessera.encryption.KeyPair;
 import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.key.vault.KeyVaultService;
 import com.quorum.tessera.key.vault.KeyVaultServiceFactory;
 
-import java.util.Base64;
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class KeyPairConverter {
@@ -34,66 +36,123 @@ public class KeyPairConverter {
         this.envProvider = envProvider;
     }
 
+    /**
+     * Converts the configured key pairs, fetching the keys held in key vaults with one batch request per vault type
+     * (served from the local key vault cache if one is configured)
+     */
     public Collection<KeyPair> convert(Collection<ConfigKeyPair> configKeyPairs) {
-        return configKeyPairs
-            .stream()
-            .map(this::convert)
-            .collect(Collectors.toList());
-    }
+        final List<ConfigKeyPair> keyPairs = new ArrayList<>(configKeyPairs);
+
+        final Map<KeyVaultType, List<GetSecretData>> requests = new EnumMap<>(KeyVaultType.class);
+        keyPairs.forEach(
+                kp ->
+                        secretRequests(kp)
+                                .ifPresent(r -> requests.computeIfAbsent(r.get(0).getType(), t -> new ArrayList<>()).addAll(r)));
+
+        final Map<KeyVaultType, Iterator<String>> secrets = new EnumMap<>(KeyVaultType.class);
+        requests.forEach((type, data) -> secrets.put(type, fetchSecrets(type, data).iterator()));
+
+        final List<KeyPair> result = new ArrayList<>(keyPairs.size());
+        for (ConfigKeyPair configKeyPair : keyPairs) {
+            final Optional<KeyVaultType> vaultType = secretRequests(configKeyPair).map(r -> r.get(0).getType());
+
+            final String base64PublicKey;
+            final String base64PrivateKey;
+            if (vaultType.isPresent()) {
+                final Iterator<String> vaultSecrets = secrets.get(vaultType.get());
+                base64PublicKey = vaultSecrets.next();
+                base64PrivateKey = vaultSecrets.next();
+            } else {
+                base64PublicKey = configKeyPair.getPublicKey();
+                base64PrivateKey = configKeyPair.getPrivateKey();
+            }
+
+            result.add(
+                    new KeyPair(
+                            PublicKey.from(Base64.getDecoder().decode(base64PublicKey.trim())),
+                            PrivateKey.from(Base64.getDecoder().decode(base64PrivateKey.trim()))));
+        }
 
-    private KeyPair convert(ConfigKeyPair configKeyPair) {
-        String base64PublicKey;
-        String base64PrivateKey;
+        return result;
+    }
 
+    /** @return the public and private key secrets of a vault key pair, or empty if the keys are held locally */
+    private static Optional<List<GetSecretData>> secretRequests(ConfigKeyPair configKeyPair) {
         if (configKeyPair instanceof AzureVaultKeyPair) {
-
-            KeyVaultServiceFactory keyVaultServiceFactory = KeyVaultServiceFactory.getInstance(KeyVaultType.AZURE);
-
-            KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
-
             AzureVaultKeyPair akp = (AzureVaultKeyPair) configKeyPair;
 
-            GetSecretData getPublicKeyData = new AzureGetSecretData(akp.getPublicKeyId(), akp.getPublicKeyVersion());
-            GetSecretData getPrivateKeyData = new AzureGetSecretData(akp.getPrivateKeyId(), akp.getPrivateKeyVersion());
-
-            base64PublicKey = keyVaultService.getSecret(getPublicKeyData);
-            base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
+            return Optional.of(
+                    List.of(
+                            new AzureGetSecretData(akp.getPublicKeyId(), akp.getPublicKeyVersion()),
+                            new AzureGetSecretData(akp.getPrivateKeyId(), akp.getPrivateKeyVersion())));
         } else if (configKeyPair instanceof HashicorpVaultKeyPair) {
-
-            KeyVaultServiceFactory keyVaultServiceFactory = KeyVaultServiceFactory.getInstance(KeyVaultType.HASHICORP);
-
-            KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
-
             HashicorpVaultKeyPair hkp = (HashicorpVaultKeyPair) configKeyPair;
 
-            GetSecretData getPublicKeyData = new HashicorpGetSecretData(hkp.getSecretEngineName(), hkp.getSecretName(), hkp.getPublicKeyId(), hkp.getSecretVersion());
-            GetSecretData getPrivateKeyData = new HashicorpGetSecretData(hkp.getSecretEngineName(), hkp.getSecretName(), hkp.getPrivateKeyId(), hkp.getSecretVersion());
-
-            base64PublicKey = keyVaultService.getSecret(getPublicKeyData);
-            base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
+            return Optional.of(
+                    List.of(
+                            new HashicorpGetSecretData(
+                                    hkp.getSecretEngineName(),
+                                    hkp.getSecretName(),
+                                    hkp.getPublicKeyId(),
+                                    hkp.getSecretVersion()),
+                            new HashicorpGetSecretData(
+                                    hkp.getSecretEngineName(),
+                                    hkp.getSecretName(),
+                                    hkp.getPrivateKeyId(),
+                                    hkp.getSecretVersion())));
         } else if (configKeyPair instanceof AWSKeyPair) {
-            KeyVaultServiceFactory keyVaultServiceFactory = KeyVaultServiceFactory.getInstance(KeyVaultType.AWS);
+            AWSKeyPair akp = (AWSKeyPair) configKeyPair;
 
-            KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
+            return Optional.of(
+                    List.of(new AWSGetSecretData(akp.getPublicKeyId()), new AWSGetSecretData(akp.getPrivateKeyId())));
+        }
 
-            AWSKeyPair akp = (AWSKeyPair) configKeyPair;
+        return Optional.empty();
+    }
 
-            GetSecretData getPublicKeyData = new AWSGetSecretData(akp.getPublicKeyId());
-            GetSecretData getPrivateKeyData = new AWSGetSecretData(akp.getPrivateKeyId());
+    private List<String> fetchSecrets(KeyVaultType type, List<GetSecretData> getSecretData) {
+        final Supplier<List<String>> fetch =
+                () -> {
+                    KeyVaultService keyVaultService = KeyVaultServiceFactory.getInstance(type).create(config, envProvider);
+                    return keyVaultService.getSecrets(getSecretData);
+                };
 
-            base64PublicKey = keyVaultService.getSecret(getPublicKeyData);
-            base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
-        } else {
+        final List<String> cacheKeys =
+                getSecretData.stream().map(KeyPairConverter::cacheKey).collect(Collectors.toList());
 
-            base64PublicKey = configKeyPair.getPublicKey();
-            base64PrivateKey = configKeyPair.getPrivateKey();
+        return secretCache().map(cache -> cache.getSecrets(cacheKeys, fetch)).orElseGet(fetch);
+    }
 
-        }
+    private Optional<KeyVaultSecretCache> secretCache() {
+        final KeyVaultCacheConfig cacheConfig =
+                Optional.ofNullable(config.getKeys()).map(KeyConfiguration::getKeyVaultCache).orElse(null);
+
+        return KeyVaultSecretCache.create(
+                cacheConfig,
+                envProvider,
+                () -> {
+                    EncryptorConfig encryptorConfig = config.getEncryptor();
+                    return EncryptorFactory.newFactory(encryptorConfig.getType().name())
+                            .create(encryptorConfig.getProperties());
+                });
+    }
 
-        return new KeyPair(
-            PublicKey.from(Base64.getDecoder().decode(base64PublicKey.trim())),
-            PrivateKey.from(Base64.getDecoder().decode(base64PrivateKey.trim()))
-        );
+    static String cacheKey(GetSecretData getSecretData) {
+        if (getSecretData instanceof AzureGetSecretData) {
+            AzureGetSecretData data = (AzureGetSecretData) getSecretData;
+            return String.join("/", "azure", data.getSecretName(), String.valueOf(data.getSecretVersion()));
+        } else if (getSecretData instanceof HashicorpGetSecretData) {
+            HashicorpGetSecretData data = (HashicorpGetSecretData) getSecretData;
+            return String.join(
+                    "/",
+                    "hashicorp",
+                    data.getSecretEngineName(),
+                    data.getSecretName(),
+                    String.valueOf(data.getSecretVersion()),
+                    data.getValueId());
+        }
+        AWSGetSecretData data = (AWSGetSecretData) getSecretData;
+        return String.join("/", "aws", data.getSecretName());
     }
 
     public List<PublicKey> convert(List<String> values) {
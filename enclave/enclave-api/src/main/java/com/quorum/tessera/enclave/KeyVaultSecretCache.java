@@ -0,0 +1,339 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.argon2.Argon2;
+import com.quorum.tessera.argon2.ArgonOptions;
+import com.quorum.tessera.argon2.ArgonResult;
+import com.quorum.tessera.config.KeyVaultCacheConfig;
+import com.quorum.tessera.config.keys.KeyEncryptor;
+import com.quorum.tessera.config.util.EnvironmentVariableProvider;
+import com.quorum.tessera.config.util.EnvironmentVariables;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.SharedKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A local, encrypted copy of secrets fetched from a key vault, so that a node can start without waiting on (or being
+ * able to reach) the vault.
+ *
+ * <p>The cache file holds the secrets sealed with a key derived from a password using Argon2. Cached secrets are used
+ * without contacting the vault while they are younger than the time to live, and are then refreshed in the background
+ * on the same period, logging a warning if a secret has been rotated in the vault since it was loaded.
+ */
+public class KeyVaultSecretCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyVaultSecretCache.class);
+
+    private static final String FETCHED_AT = "fetchedAt";
+
+    private static final String SECRET_PREFIX = "secret.";
+
+    /* Only one background refresh per cache file, however many times keys are loaded from it */
+    private static final Set<Path> REFRESHING = ConcurrentHashMap.newKeySet();
+
+    private final Path path;
+
+    private final char[] password;
+
+    private final long timeToLive;
+
+    private final Argon2 argon2;
+
+    private final ArgonOptions argonOptions;
+
+    private final Encryptor encryptor;
+
+    private final Clock clock;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /* Argon2 is deliberately expensive, so derive the key once per salt */
+    private ArgonResult derivedKey;
+
+    KeyVaultSecretCache(
+            final Path path,
+            final char[] password,
+            final long timeToLive,
+            final Argon2 argon2,
+            final ArgonOptions argonOptions,
+            final Encryptor encryptor,
+            final Clock clock) {
+        this.path = Objects.requireNonNull(path);
+        this.password = Objects.requireNonNull(password);
+        this.timeToLive = timeToLive;
+        this.argon2 = Objects.requireNonNull(argon2);
+        this.argonOptions = argonOptions;
+        this.encryptor = Objects.requireNonNull(encryptor);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Creates a cache if one is configured and its password is available
+     *
+     * @return the cache, or empty if keys should always be fetched from the vault
+     */
+    static Optional<KeyVaultSecretCache> create(
+            final KeyVaultCacheConfig cacheConfig,
+            final EnvironmentVariableProvider envProvider,
+            final Supplier<Encryptor> encryptor) {
+        if (cacheConfig == null) {
+            return Optional.empty();
+        }
+
+        if (!envProvider.hasEnv(EnvironmentVariables.KEY_VAULT_CACHE_PWD)) {
+            LOGGER.warn(
+                    "Key vault cache configured but {} is not set, keys will not be cached",
+                    EnvironmentVariables.KEY_VAULT_CACHE_PWD);
+            return Optional.empty();
+        }
+
+        final ArgonOptions argonOptions =
+                Optional.ofNullable(cacheConfig.getArgonOptions())
+                        .map(
+                                o ->
+                                        new ArgonOptions(
+                                                o.getAlgorithm(),
+                                                o.getIterations(),
+                                                o.getMemory(),
+                                                o.getParallelism()))
+                        .orElse(null);
+
+        return Optional.of(
+                new KeyVaultSecretCache(
+                        cacheConfig.getPath(),
+                        envProvider.getEnvAsCharArray(EnvironmentVariables.KEY_VAULT_CACHE_PWD),
+                        cacheConfig.getTimeToLive(),
+                        Argon2.create(),
+                        argonOptions,
+                        encryptor.get(),
+                        Clock.systemUTC()));
+    }
+
+    /**
+     * Returns the secrets with the given cache keys, from the cache if they are all present and fresh, otherwise from
+     * the vault. If the vault cannot be reached, secrets are served from the cache regardless of their age.
+     *
+     * @param cacheKeys identifiers of the secrets in the vault
+     * @param fetch fetches the secrets from the vault, in the same order as the keys
+     * @return the secrets, in the same order as the keys
+     */
+    public synchronized List<String> getSecrets(final List<String> cacheKeys, final Supplier<List<String>> fetch) {
+        final Optional<Snapshot> cached = load();
+
+        final Optional<List<String>> cachedSecrets = cached.flatMap(s -> s.get(cacheKeys));
+
+        if (cachedSecrets.isPresent() && isFresh(cached.get())) {
+            LOGGER.info("Loaded {} secrets from key vault cache {}", cacheKeys.size(), path);
+            scheduleRefresh(cacheKeys, fetch);
+            return cachedSecrets.get();
+        }
+
+        final List<String> secrets;
+        try {
+            secrets = fetch.get();
+        } catch (RuntimeException ex) {
+            if (cachedSecrets.isPresent()) {
+                LOGGER.warn(
+                        "Unable to fetch secrets from key vault, using cached copies from {}: {}",
+                        path,
+                        ex.getMessage());
+                LOGGER.debug(null, ex);
+                scheduleRefresh(cacheKeys, fetch);
+                return cachedSecrets.get();
+            }
+            throw ex;
+        }
+
+        update(cached, cacheKeys, secrets);
+        scheduleRefresh(cacheKeys, fetch);
+        return secrets;
+    }
+
+    /** Fetches the secrets from the vault and updates the cache, reporting any that have been rotated */
+    synchronized void refresh(final List<String> cacheKeys, final Supplier<List<String>> fetch) {
+        update(load(), cacheKeys, fetch.get());
+    }
+
+    private void update(final Optional<Snapshot> cached, final List<String> cacheKeys, final List<String> secrets) {
+        final Map<String, String> entries = cached.map(s -> s.secrets).orElseGet(HashMap::new);
+
+        for (int i = 0; i < cacheKeys.size(); i++) {
+            final String previous = entries.put(cacheKeys.get(i), secrets.get(i));
+            if (previous != null && !previous.equals(secrets.get(i))) {
+                LOGGER.warn(
+                        "Secret {} has been rotated in the key vault, restart the node to use the new key",
+                        cacheKeys.get(i));
+            }
+        }
+
+        store(new Snapshot(clock.millis(), entries));
+    }
+
+    private boolean isFresh(final Snapshot snapshot) {
+        return clock.millis() - snapshot.fetchedAt < timeToLive;
+    }
+
+    private void scheduleRefresh(final List<String> cacheKeys, final Supplier<List<String>> fetch) {
+        if (!REFRESHING.add(path.toAbsolutePath())) {
+            return;
+        }
+
+        final ScheduledExecutorService executorService =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            final Thread thread = new Thread(r, "key-vault-cache-refresh");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+
+        executorService.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        refresh(cacheKeys, fetch);
+                    } catch (RuntimeException ex) {
+                        LOGGER.warn("Unable to refresh key vault cache {}: {}", path, ex.getMessage());
+                        LOGGER.debug(null, ex);
+                    }
+                },
+                timeToLive,
+                timeToLive,
+                TimeUnit.MILLISECONDS);
+    }
+
+    Optional<Snapshot> load() {
+        if (Files.notExists(path)) {
+            return Optional.empty();
+        }
+
+        try {
+            final Properties file = new Properties();
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                file.load(reader);
+            }
+
+            final Base64.Decoder decoder = Base64.getDecoder();
+            final ArgonOptions storedOptions =
+                    new ArgonOptions(
+                            file.getProperty("algorithm"),
+                            Integer.parseInt(file.getProperty("iterations")),
+                            Integer.parseInt(file.getProperty("memory")),
+                            Integer.parseInt(file.getProperty("parallelism")));
+            final SharedKey key = deriveKey(storedOptions, decoder.decode(file.getProperty("salt")));
+
+            final byte[] plain =
+                    encryptor.openAfterPrecomputation(
+                            decoder.decode(file.getProperty("box")),
+                            new Nonce(decoder.decode(file.getProperty("nonce"))),
+                            key);
+
+            final Properties contents = new Properties();
+            contents.load(new StringReader(new String(plain, StandardCharsets.UTF_8)));
+
+            final Map<String, String> secrets = new HashMap<>();
+            contents.stringPropertyNames().stream()
+                    .filter(name -> name.startsWith(SECRET_PREFIX))
+                    .forEach(name -> secrets.put(name.substring(SECRET_PREFIX.length()), contents.getProperty(name)));
+
+            return Optional.of(new Snapshot(Long.parseLong(contents.getProperty(FETCHED_AT)), secrets));
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Unable to read key vault cache {}, ignoring it: {}", path, ex.getMessage());
+            LOGGER.debug(null, ex);
+            return Optional.empty();
+        }
+    }
+
+    private void store(final Snapshot snapshot) {
+        final Properties contents = new Properties();
+        contents.setProperty(FETCHED_AT, Long.toString(snapshot.fetchedAt));
+        snapshot.secrets.forEach((k, v) -> contents.setProperty(SECRET_PREFIX + k, v));
+
+        try {
+            final StringWriter plain = new StringWriter();
+            contents.store(plain, null);
+
+            final ArgonResult key = currentKey();
+            final Nonce nonce = encryptor.randomNonce();
+            final byte[] box =
+                    encryptor.sealAfterPrecomputation(
+                            plain.toString().getBytes(StandardCharsets.UTF_8), nonce, SharedKey.from(key.getHash()));
+
+            final Base64.Encoder encoder = Base64.getEncoder();
+            final Properties file = new Properties();
+            file.setProperty("algorithm", key.getOptions().getAlgorithm());
+            file.setProperty("iterations", Integer.toString(key.getOptions().getIterations()));
+            file.setProperty("memory", Integer.toString(key.getOptions().getMemory()));
+            file.setProperty("parallelism", Integer.toString(key.getOptions().getParallelism()));
+            file.setProperty("salt", encoder.encodeToString(key.getSalt()));
+            file.setProperty("nonce", encoder.encodeToString(nonce.getNonceBytes()));
+            file.setProperty("box", encoder.encodeToString(box));
+
+            final Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), ".keyvaultcache", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                file.store(writer, "Tessera key vault cache");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private SharedKey deriveKey(final ArgonOptions options, final byte[] salt) {
+        if (derivedKey == null || !Arrays.equals(derivedKey.getSalt(), salt)) {
+            derivedKey = argon2.hash(options, password, salt);
+        }
+        return SharedKey.from(derivedKey.getHash());
+    }
+
+    private ArgonResult currentKey() {
+        if (derivedKey == null) {
+            final byte[] salt = new byte[KeyEncryptor.SALTLENGTH];
+            secureRandom.nextBytes(salt);
+            derivedKey = argonOptions == null ? argon2.hash(password, salt) : argon2.hash(argonOptions, password, salt);
+        }
+        return derivedKey;
+    }
+
+    static class Snapshot {
+
+        private final long fetchedAt;
+
+        private final Map<String, String> secrets;
+
+        Snapshot(final long fetchedAt, final Map<String, String> secrets) {
+            this.fetchedAt = fetchedAt;
+            this.secrets = secrets;
+        }
+
+        Optional<List<String>> get(final List<String> cacheKeys) {
+            final List<String> values = new ArrayList<>(cacheKeys.size());
+            for (final String cacheKey : cacheKeys) {
+                final String value = secrets.get(cacheKey);
+                if (value == null) {
+                    return Optional.empty();
+                }
+                values.add(value);
+            }
+            return Optional.of(values);
+        }
+    }
+}
@@ -3,6 +3,11 @@ package com.quorum.tessera.enclave;
 import com.quorum.tessera.ServiceLoaderUtil;
 import com.quorum.tessera.encryption.PublicKey;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /** Encodes and decodes a {@link EncodedPayload} to and from its binary representation */
 public interface PayloadEncoder {
 
@@ -43,6 +48,43 @@ public interface PayloadEncoder {
      */
     EncodedPayload withRecipient(EncodedPayload input, PublicKey recipient);
 
+    /**
+     * Encodes several payloads into a single message, so that they can be sent to a node in one request. The message
+     * holds the number of payloads followed by each encoded payload, prefixed by its length.
+     *
+     * @param payloads the payloads to encode
+     * @return the byte array representing all the encoded payloads
+     */
+    default byte[] encodeAll(List<EncodedPayload> payloads) {
+        final List<byte[]> encoded = payloads.stream().map(this::encode).collect(Collectors.toList());
+
+        final int length = Long.BYTES + encoded.stream().mapToInt(e -> Long.BYTES + e.length).sum();
+        final ByteBuffer buffer = ByteBuffer.allocate(length).putLong(encoded.size());
+        encoded.forEach(e -> buffer.putLong(e.length).put(e));
+
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a message created by {@link #encodeAll(List)} back into the payloads it contains
+     *
+     * @param input the byte array to decode
+     * @return the decoded payloads, in the order they were encoded
+     */
+    default List<EncodedPayload> decodeAll(byte[] input) {
+        final ByteBuffer buffer = ByteBuffer.wrap(input);
+
+        final long count = buffer.getLong();
+        final List<EncodedPayload> payloads = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            final byte[] encoded = new byte[Math.toIntExact(buffer.getLong())];
+            buffer.get(encoded);
+            payloads.add(decode(encoded));
+        }
+
+        return payloads;
+    }
+
     static PayloadEncoder create() {
         return ServiceLoaderUtil.load(PayloadEncoder.class).orElse(new PayloadEncoderImpl() {});
     }
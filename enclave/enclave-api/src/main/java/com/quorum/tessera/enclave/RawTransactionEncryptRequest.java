@@ -0,0 +1,108 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.encryption.PublicKey;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The arguments of {@link Enclave#encryptPayload(RawTransaction, List, PrivacyMode, List, byte[])} for one raw
+ * transaction, so that several can be encrypted together by {@link Enclave#encryptPayloads(List)}
+ */
+public class RawTransactionEncryptRequest {
+
+    private final RawTransaction rawTransaction;
+
+    private final List<PublicKey> recipients;
+
+    private final PrivacyMode privacyMode;
+
+    private final List<AffectedTransaction> affectedContractTransactions;
+
+    private final byte[] execHash;
+
+    private RawTransactionEncryptRequest(
+            RawTransaction rawTransaction,
+            List<PublicKey> recipients,
+            PrivacyMode privacyMode,
+            List<AffectedTransaction> affectedContractTransactions,
+            byte[] execHash) {
+        this.rawTransaction = Objects.requireNonNull(rawTransaction, "rawTransaction is required");
+        this.recipients = List.copyOf(Objects.requireNonNull(recipients, "recipients is required"));
+        this.privacyMode = Objects.requireNonNull(privacyMode, "privacyMode is required");
+        this.affectedContractTransactions =
+                List.copyOf(
+                        Objects.requireNonNull(affectedContractTransactions, "affectedContractTransactions is required"));
+        this.execHash = Objects.requireNonNull(execHash, "execHash is required");
+    }
+
+    public RawTransaction getRawTransaction() {
+        return rawTransaction;
+    }
+
+    public List<PublicKey> getRecipients() {
+        return recipients;
+    }
+
+    public PrivacyMode getPrivacyMode() {
+        return privacyMode;
+    }
+
+    public List<AffectedTransaction> getAffectedContractTransactions() {
+        return affectedContractTransactions;
+    }
+
+    public byte[] getExecHash() {
+        return Arrays.copyOf(execHash, execHash.length);
+    }
+
+    public static class Builder {
+
+        private RawTransaction rawTransaction;
+
+        private List<PublicKey> recipients;
+
+        private PrivacyMode privacyMode;
+
+        private List<AffectedTransaction> affectedContractTransactions;
+
+        private byte[] execHash;
+
+        private Builder() {}
+
+        public static Builder create() {
+            return new Builder();
+        }
+
+        public Builder withRawTransaction(RawTransaction rawTransaction) {
+            this.rawTransaction = rawTransaction;
+            return this;
+        }
+
+        public Builder withRecipients(List<PublicKey> recipients) {
+            this.recipients = recipients;
+            return this;
+        }
+
+        public Builder withPrivacyMode(PrivacyMode privacyMode) {
+            this.privacyMode = privacyMode;
+            return this;
+        }
+
+        public Builder withAffectedContractTransactions(List<AffectedTransaction> affectedContractTransactions) {
+            this.affectedContractTransactions = affectedContractTransactions;
+            return this;
+        }
+
+        public Builder withExecHash(byte[] execHash) {
+            this.execHash = execHash;
+            return this;
+        }
+
+        public RawTransactionEncryptRequest build() {
+            return new RawTransactionEncryptRequest(
+                    rawTransaction, recipients, privacyMode, affectedContractTransactions, execHash);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.quorum.tessera.enclave;
+
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+
+/**
+ * Computes SHA3-512 digests using one digest instance per thread, instead of creating (and initialising the state of)
+ * a new digest for every hash
+ */
+public final class Sha3Digest {
+
+    private static final ThreadLocal<SHA3.DigestSHA3> DIGESTS = ThreadLocal.withInitial(SHA3.Digest512::new);
+
+    private Sha3Digest() {}
+
+    /**
+     * Hashes the concatenation of the given inputs, without copying them into a single array first
+     *
+     * @param inputs the data to hash, in order
+     * @return the 64 byte SHA3-512 digest
+     */
+    public static byte[] digest(final byte[]... inputs) {
+        final SHA3.DigestSHA3 digest = DIGESTS.get();
+        for (final byte[] input : inputs) {
+            digest.update(input);
+        }
+        // completing the digest resets it for the next caller on this thread
+        return digest.digest();
+    }
+}
@@ -2,14 +2,17 @@ package com.quorum.tessera.enclave;
 
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.stream.Stream;
 
 public class TxHash {
 
     private final byte[] bytes;
 
+    /* Hashes are used as map keys throughout, so compute the hash code once rather than on every lookup */
+    private final int hashCode;
+
     public TxHash(byte[] hashBytes) {
         this.bytes = hashBytes;
+        this.hashCode = Arrays.hashCode(hashBytes);
     }
 
     public TxHash(String b64Hash) {
@@ -30,19 +33,24 @@ public class TxHash {
 
     @Override
     public final boolean equals(Object arg0) {
-        return getClass().isInstance(arg0) && Arrays.equals(bytes, getClass().cast(arg0).getBytes());
+        if (this == arg0) {
+            return true;
+        }
+        if (!getClass().isInstance(arg0)) {
+            return false;
+        }
+        final TxHash other = getClass().cast(arg0);
+        return hashCode == other.hashCode && Arrays.equals(bytes, other.bytes);
     }
 
     @Override
     public final int hashCode() {
-        return Arrays.hashCode(bytes);
+        return hashCode;
     }
 
     @Override
     public final String toString() {
 
-        final String typeName = Stream.of(getClass()).map(Class::getSimpleName).findFirst().get();
-
-        return String.format("%s[%s]", typeName, encodeToBase64());
+        return getClass().getSimpleName() + "[" + encodeToBase64() + "]";
     }
 }
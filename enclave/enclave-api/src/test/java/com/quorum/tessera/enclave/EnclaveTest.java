@@ -9,6 +9,7 @@ import org.junit.Test;
 
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.*;
 import static org.assertj.core.api.Assertions.*;
@@ -231,7 +232,8 @@ public class EnclaveTest {
         when(nacl.computeSharedKey(recipientPublicKey, senderPrivateKey)).thenReturn(sharedKey);
 
         byte[] encryptedMasterKeys = "encryptedMasterKeys".getBytes();
-        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey)).thenReturn(encryptedMasterKeys);
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey)))
+                .thenReturn(List.of(encryptedMasterKeys));
 
         EncodedPayload result =
                 enclave.encryptPayload(
@@ -252,7 +254,7 @@ public class EnclaveTest {
         verify(nacl).createMasterKey();
         verify(nacl, times(2)).randomNonce();
         verify(nacl).sealAfterPrecomputation(message, cipherNonce, masterKey);
-        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey);
+        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey));
         verify(nacl).computeSharedKey(recipientPublicKey, senderPrivateKey);
         verify(keyManager).getPrivateKeyForPublicKey(senderPublicKey);
     }
@@ -286,7 +288,8 @@ public class EnclaveTest {
         when(nacl.computeSharedKey(recipientPublicKey, senderPrivateKey)).thenReturn(sharedKey);
         when(nacl.openAfterPrecomputation(closedbox.getData(), recipientNonce, sharedKey)).thenReturn(openbox);
         byte[] encryptedMasterKeys = "encryptedMasterKeys".getBytes();
-        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey)).thenReturn(encryptedMasterKeys);
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey)))
+                .thenReturn(List.of(encryptedMasterKeys));
 
         EncodedPayload affectedTxPayload = mock(EncodedPayload.class);
         when(affectedTxPayload.getSenderKey()).thenReturn(senderPublicKey);
@@ -328,7 +331,7 @@ public class EnclaveTest {
         verify(nacl).createMasterKey();
         verify(nacl, times(2)).randomNonce();
         verify(nacl).sealAfterPrecomputation(message, cipherNonce, masterKey);
-        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey);
+        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey));
         verify(nacl).openAfterPrecomputation(closedbox.getData(), recipientNonce, sharedKey);
         verify(nacl, times(2)).computeSharedKey(recipientPublicKey, senderPrivateKey);
         verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderPublicKey);
@@ -370,7 +373,8 @@ public class EnclaveTest {
         when(nacl.computeSharedKey(recipientPublicKey, senderPrivateKey)).thenReturn(sharedKey);
 
         byte[] encryptedMasterKeys = "encryptedMasterKeys".getBytes();
-        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey)).thenReturn(encryptedMasterKeys);
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey)))
+                .thenReturn(List.of(encryptedMasterKeys));
 
         EncodedPayload result =
                 enclave.encryptPayload(
@@ -389,7 +393,79 @@ public class EnclaveTest {
 
         verify(nacl).randomNonce();
         verify(nacl).openAfterPrecomputation(encryptedKeyBytes, cipherNonce, sharedKeyForSender);
-        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey);
+        verify(nacl).sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey));
+        verify(nacl).computeSharedKey(recipientPublicKey, senderPrivateKey);
+        verify(nacl).computeSharedKey(senderPublicKey, senderPrivateKey);
+        verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderPublicKey);
+    }
+
+    @Test
+    public void encryptPayloadsComputesSharedKeysOncePerRecipient() {
+
+        byte[] masterKeyBytes = "masterKeyBytes".getBytes();
+        PublicKey senderPublicKey = PublicKey.from("SENDER".getBytes());
+        PrivateKey senderPrivateKey = mock(PrivateKey.class);
+        PublicKey recipientPublicKey = PublicKey.from("RECIPIENT".getBytes());
+
+        Nonce firstNonce = new Nonce("NONCE1".getBytes());
+        Nonce secondNonce = new Nonce("NONCE2".getBytes());
+        byte[] firstEncryptedKey = "ENCRYPTED_KEY1".getBytes();
+        byte[] secondEncryptedKey = "ENCRYPTED_KEY2".getBytes();
+
+        RawTransaction first =
+                new RawTransaction("cipherText1".getBytes(), firstEncryptedKey, firstNonce, senderPublicKey);
+        RawTransaction second =
+                new RawTransaction("cipherText2".getBytes(), secondEncryptedKey, secondNonce, senderPublicKey);
+
+        Nonce recipientNonce = mock(Nonce.class);
+        when(nacl.randomNonce()).thenReturn(recipientNonce);
+
+        when(keyManager.getPrivateKeyForPublicKey(senderPublicKey)).thenReturn(senderPrivateKey);
+
+        SharedKey sharedKeyForSender = mock(SharedKey.class);
+        when(nacl.computeSharedKey(senderPublicKey, senderPrivateKey)).thenReturn(sharedKeyForSender);
+        when(nacl.openAfterPrecomputation(firstEncryptedKey, firstNonce, sharedKeyForSender))
+                .thenReturn(masterKeyBytes);
+        when(nacl.openAfterPrecomputation(secondEncryptedKey, secondNonce, sharedKeyForSender))
+                .thenReturn(masterKeyBytes);
+
+        SharedKey sharedKey = mock(SharedKey.class);
+        when(nacl.computeSharedKey(recipientPublicKey, senderPrivateKey)).thenReturn(sharedKey);
+
+        byte[] encryptedMasterKey = "encryptedMasterKey".getBytes();
+        when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey)))
+                .thenReturn(List.of(encryptedMasterKey));
+
+        List<RawTransactionEncryptRequest> requests =
+                List.of(first, second).stream()
+                        .map(
+                                rawTransaction ->
+                                        RawTransactionEncryptRequest.Builder.create()
+                                                .withRawTransaction(rawTransaction)
+                                                .withRecipients(List.of(recipientPublicKey))
+                                                .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+                                                .withAffectedContractTransactions(emptyList())
+                                                .withExecHash(new byte[0])
+                                                .build())
+                        .collect(Collectors.toList());
+
+        List<EncodedPayload> result = enclave.encryptPayloads(requests);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getCipherText()).isEqualTo("cipherText1".getBytes());
+        assertThat(result.get(1).getCipherText()).isEqualTo("cipherText2".getBytes());
+        assertThat(result)
+                .allSatisfy(
+                        payload -> {
+                            assertThat(payload.getRecipientKeys()).containsExactly(recipientPublicKey);
+                            assertThat(payload.getRecipientBoxes())
+                                    .containsExactly(RecipientBox.from(encryptedMasterKey));
+                        });
+
+        verify(nacl, times(2)).randomNonce();
+        verify(nacl).openAfterPrecomputation(firstEncryptedKey, firstNonce, sharedKeyForSender);
+        verify(nacl).openAfterPrecomputation(secondEncryptedKey, secondNonce, sharedKeyForSender);
+        verify(nacl, times(2)).sealAfterPrecomputation(masterKeyBytes, recipientNonce, List.of(sharedKey));
         verify(nacl).computeSharedKey(recipientPublicKey, senderPrivateKey);
         verify(nacl).computeSharedKey(senderPublicKey, senderPrivateKey);
         verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderPublicKey);
@@ -491,7 +567,8 @@ public class EnclaveTest {
         when(nacl.computeSharedKey(publicKey, privateKey)).thenReturn(recipientSenderShared);
         when(nacl.computeSharedKey(senderKey, privateKey)).thenReturn(senderShared);
         when(nacl.openAfterPrecomputation(closedbox.getData(), nonce, recipientSenderShared)).thenReturn(openbox);
-        when(nacl.sealAfterPrecomputation(openbox, nonce, senderShared)).thenReturn("newbox".getBytes());
+        when(nacl.sealAfterPrecomputation(openbox, nonce, List.of(senderShared)))
+                .thenReturn(List.of("newbox".getBytes()));
         when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(privateKey);
 
         final byte[] newRecipientBox = enclave.createNewRecipientBox(payload, senderKey);
@@ -501,7 +578,7 @@ public class EnclaveTest {
         verify(nacl).computeSharedKey(publicKey, privateKey);
         verify(nacl).computeSharedKey(senderKey, privateKey);
         verify(nacl).openAfterPrecomputation(closedbox.getData(), nonce, recipientSenderShared);
-        verify(nacl).sealAfterPrecomputation(openbox, nonce, senderShared);
+        verify(nacl).sealAfterPrecomputation(openbox, nonce, List.of(senderShared));
         verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
     }
 
@@ -0,0 +1,77 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.config.KeyVaultType;
+import com.quorum.tessera.config.vault.data.*;
+import com.quorum.tessera.key.vault.KeyVaultException;
+import com.quorum.tessera.key.vault.KeyVaultService;
+import com.quorum.tessera.key.vault.VaultSecretNotFoundException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** An in-process key vault holding secrets in memory, looked up by the id of the requested value */
+public class FakeKeyVaultService implements KeyVaultService<SetSecretData, GetSecretData> {
+
+    private static final Map<KeyVaultType, FakeKeyVaultService> VAULTS = new EnumMap<>(KeyVaultType.class);
+
+    private final Map<String, String> secrets = new ConcurrentHashMap<>();
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    private volatile boolean available = true;
+
+    static synchronized FakeKeyVaultService of(KeyVaultType type) {
+        return VAULTS.computeIfAbsent(type, t -> new FakeKeyVaultService().reset());
+    }
+
+    FakeKeyVaultService reset() {
+        secrets.clear();
+        secrets.put("pub", "publicSecret");
+        secrets.put("priv", "privSecret");
+        requestCount.set(0);
+        available = true;
+        return this;
+    }
+
+    void put(String id, String value) {
+        secrets.put(id, value);
+    }
+
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    int getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public String getSecret(GetSecretData getSecretData) {
+        requestCount.incrementAndGet();
+        if (!available) {
+            throw new KeyVaultException("Vault unavailable");
+        }
+
+        final String id;
+        if (getSecretData instanceof AzureGetSecretData) {
+            id = ((AzureGetSecretData) getSecretData).getSecretName();
+        } else if (getSecretData instanceof HashicorpGetSecretData) {
+            id = ((HashicorpGetSecretData) getSecretData).getValueId();
+        } else {
+            id = ((AWSGetSecretData) getSecretData).getSecretName();
+        }
+
+        final String secret = secrets.get(id);
+        if (secret == null) {
+            throw new VaultSecretNotFoundException(id);
+        }
+        return secret;
+    }
+
+    @Override
+    public Object setSecret(SetSecretData setSecretData) {
+        throw new UnsupportedOperationException();
+    }
+}
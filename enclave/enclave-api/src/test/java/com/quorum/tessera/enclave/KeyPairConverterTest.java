@@ -1,6 +1,9 @@
 package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.KeyVaultCacheConfig;
+import com.quorum.tessera.config.KeyVaultType;
 import com.quorum.tessera.config.keypairs.*;
 import com.quorum.tessera.config.util.EnvironmentVariableProvider;
 import com.quorum.tessera.encryption.KeyPair;
@@ -9,6 +12,7 @@ import com.quorum.tessera.encryption.PublicKey;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.file.Paths;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +30,10 @@ public class KeyPairConverterTest {
         this.config = mock(Config.class);
         this.envProvider = mock(EnvironmentVariableProvider.class);
         this.converter = new KeyPairConverter(config, envProvider);
+
+        for (KeyVaultType type : KeyVaultType.values()) {
+            FakeKeyVaultService.of(type).reset();
+        }
     }
 
     private byte[] decodeBase64(String input) {
@@ -149,6 +157,44 @@ public class KeyPairConverterTest {
         assertThat(resultB).isEqualToComparingFieldByField(expectedB);
     }
 
+    @Test
+    public void convertMultipleVaultKeyPairsKeepsOrder() {
+        FakeKeyVaultService vault = FakeKeyVaultService.of(KeyVaultType.AWS);
+        vault.put("pubB", "publicB");
+        vault.put("privB", "privateB");
+
+        final List<ConfigKeyPair> keyPairs =
+                List.of(
+                        new AWSKeyPair("pub", "priv"),
+                        new DirectKeyPair("publicA", "privateA"),
+                        new AWSKeyPair("pubB", "privB"));
+
+        final List<KeyPair> result = new ArrayList<>(converter.convert(keyPairs));
+
+        assertThat(result)
+                .containsExactly(
+                        new KeyPair(
+                                PublicKey.from(decodeBase64("publicSecret")),
+                                PrivateKey.from(decodeBase64("privSecret"))),
+                        new KeyPair(PublicKey.from(decodeBase64("publicA")), PrivateKey.from(decodeBase64("privateA"))),
+                        new KeyPair(PublicKey.from(decodeBase64("publicB")), PrivateKey.from(decodeBase64("privateB"))));
+        assertThat(vault.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void cacheNotUsedWithoutPassword() {
+        KeyConfiguration keyConfiguration = new KeyConfiguration();
+        KeyVaultCacheConfig cacheConfig = new KeyVaultCacheConfig();
+        cacheConfig.setPath(Paths.get("unused"));
+        keyConfiguration.setKeyVaultCache(cacheConfig);
+        when(config.getKeys()).thenReturn(keyConfiguration);
+
+        Collection<KeyPair> result = converter.convert(List.of(new AWSKeyPair("pub", "priv")));
+
+        assertThat(result).hasSize(1);
+        assertThat(Paths.get("unused")).doesNotExist();
+    }
+
     @Test
     public void convertKeyPairWithNewlineOrSpace() {
         final DirectKeyPair keyPair =
@@ -0,0 +1,161 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.argon2.Argon2;
+import com.quorum.tessera.argon2.ArgonOptions;
+import com.quorum.tessera.config.KeyVaultType;
+import com.quorum.tessera.config.vault.data.AWSGetSecretData;
+import com.quorum.tessera.config.vault.data.GetSecretData;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.SharedKey;
+import com.quorum.tessera.key.vault.KeyVaultException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class KeyVaultSecretCacheTest {
+
+    private static final long TTL = 60000;
+
+    private static final ArgonOptions ARGON_OPTIONS = new ArgonOptions("id", 1, 1024, 1);
+
+    private static final List<GetSecretData> REQUESTS =
+            List.of(new AWSGetSecretData("pub"), new AWSGetSecretData("priv"));
+
+    private static final List<String> CACHE_KEYS =
+            REQUESTS.stream().map(KeyPairConverter::cacheKey).collect(Collectors.toList());
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final FakeKeyVaultService vault = new FakeKeyVaultService().reset();
+
+    private final Supplier<List<String>> fetch = () -> vault.getSecrets(REQUESTS);
+
+    private Path cacheFile;
+
+    private Encryptor encryptor;
+
+    @Before
+    public void onSetUp() {
+        cacheFile = temporaryFolder.getRoot().toPath().resolve("vault.cache");
+
+        // stands in for NaCl secretbox: XOR with the key, so only the right key recovers the plaintext
+        encryptor = mock(Encryptor.class);
+        when(encryptor.randomNonce()).thenReturn(new Nonce(new byte[24]));
+        when(encryptor.sealAfterPrecomputation(any(byte[].class), any(Nonce.class), any(SharedKey.class)))
+                .thenAnswer(i -> xor(i.getArgument(0), i.getArgument(2)));
+        when(encryptor.openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(SharedKey.class)))
+                .thenAnswer(i -> xor(i.getArgument(0), i.getArgument(2)));
+    }
+
+    @Test
+    public void freshCacheIsUsedWithoutContactingVault() {
+        assertThat(cache("password", 0).getSecrets(CACHE_KEYS, fetch)).containsExactly("publicSecret", "privSecret");
+        assertThat(vault.getRequestCount()).isEqualTo(2);
+
+        assertThat(cache("password", TTL - 1).getSecrets(CACHE_KEYS, fetch))
+                .containsExactly("publicSecret", "privSecret");
+        assertThat(vault.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void expiredCacheIsRefreshedFromVault() {
+        cache("password", 0).getSecrets(CACHE_KEYS, fetch);
+        vault.put("pub", "rotatedSecret");
+
+        assertThat(cache("password", TTL).getSecrets(CACHE_KEYS, fetch))
+                .containsExactly("rotatedSecret", "privSecret");
+        assertThat(vault.getRequestCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void expiredCacheIsUsedWhenVaultIsUnavailable() {
+        cache("password", 0).getSecrets(CACHE_KEYS, fetch);
+        vault.setAvailable(false);
+
+        assertThat(cache("password", TTL * 10).getSecrets(CACHE_KEYS, fetch))
+                .containsExactly("publicSecret", "privSecret");
+    }
+
+    @Test
+    public void unavailableVaultWithoutCacheFails() {
+        vault.setAvailable(false);
+
+        Throwable ex = catchThrowable(() -> cache("password", 0).getSecrets(CACHE_KEYS, fetch));
+
+        assertThat(ex).isInstanceOf(KeyVaultException.class);
+        assertThat(cacheFile).doesNotExist();
+    }
+
+    @Test
+    public void cacheIsNotReadableWithWrongPassword() {
+        cache("password", 0).getSecrets(CACHE_KEYS, fetch);
+        vault.setAvailable(false);
+
+        Throwable ex = catchThrowable(() -> cache("wrong", 0).getSecrets(CACHE_KEYS, fetch));
+
+        assertThat(ex).isInstanceOf(KeyVaultException.class);
+    }
+
+    @Test
+    public void secretsAreNotStoredInPlaintext() throws Exception {
+        cache("password", 0).getSecrets(CACHE_KEYS, fetch);
+
+        final String contents = new String(Files.readAllBytes(cacheFile), StandardCharsets.UTF_8);
+        assertThat(contents).doesNotContain("publicSecret").doesNotContain("privSecret").contains("algorithm=id");
+    }
+
+    @Test
+    public void refreshPicksUpRotatedSecrets() {
+        cache("password", 0).getSecrets(CACHE_KEYS, fetch);
+        vault.put("priv", "rotatedSecret");
+
+        cache("password", 1).refresh(CACHE_KEYS, fetch);
+        vault.setAvailable(false);
+
+        assertThat(cache("password", 2).getSecrets(CACHE_KEYS, fetch)).containsExactly("publicSecret", "rotatedSecret");
+    }
+
+    @Test
+    public void cacheKeysIdentifyTheVaultSecret() {
+        assertThat(CACHE_KEYS).containsExactly("aws/pub", "aws/priv");
+        assertThat(REQUESTS.get(0).getType()).isEqualTo(KeyVaultType.AWS);
+    }
+
+    private KeyVaultSecretCache cache(String password, long now) {
+        return new KeyVaultSecretCache(
+                cacheFile,
+                password.toCharArray(),
+                TTL,
+                Argon2.create(),
+                ARGON_OPTIONS,
+                encryptor,
+                Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC));
+    }
+
+    private static byte[] xor(byte[] data, SharedKey key) {
+        final byte[] keyBytes = key.getKeyBytes();
+        final byte[] result = new byte[data.length];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = (byte) (data[i] ^ keyBytes[i % keyBytes.length]);
+        }
+        return result;
+    }
+}
@@ -312,7 +312,8 @@ public class PayloadEncoderTest {
         assertThat(payload.getRecipientKeys()).isEmpty();
         assertThat(payload.getPrivacyMode()).isEqualTo(PrivacyMode.PARTY_PROTECTION);
         assertThat(payload.getAffectedContractTransactions()).hasSize(1);
-        assertThat(payload.getAffectedContractTransactions().values().iterator().next().getData()).containsExactly("test".getBytes());
+        assertThat(payload.getAffectedContractTransactions().values().iterator().next().getData())
+                .containsExactly("test".getBytes());
         assertThat(payload.getExecHash()).isNullOrEmpty();
     }
 
@@ -570,7 +571,8 @@ public class PayloadEncoderTest {
         assertThat(payload.getRecipientKeys()).isEmpty();
         assertThat(payload.getPrivacyMode()).isEqualTo(PrivacyMode.PRIVATE_STATE_VALIDATION);
         assertThat(payload.getAffectedContractTransactions()).hasSize(1);
-        assertThat(payload.getAffectedContractTransactions().values().iterator().next().getData()).containsExactly("test".getBytes());
+        assertThat(payload.getAffectedContractTransactions().values().iterator().next().getData())
+                .containsExactly("test".getBytes());
         assertThat(payload.getExecHash()).isEqualTo(execHash);
     }
 
@@ -790,6 +792,44 @@ public class PayloadEncoderTest {
         assertThat(decodedPayload.getExecHash()).isNullOrEmpty();
     }
 
+    @Test
+    public void encodeAllAndDecodeAllRoundTrip() {
+
+        final List<EncodedPayload> payloads = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            payloads.add(
+                    EncodedPayload.Builder.create()
+                            .withSenderKey(PublicKey.from(("SENDER" + i).getBytes()))
+                            .withCipherText(("CIPHER_TEXT" + i).getBytes())
+                            .withCipherTextNonce(new Nonce(("NONCE" + i).getBytes()))
+                            .withRecipientBoxes(singletonList(("BOX" + i).getBytes()))
+                            .withRecipientNonce(new Nonce(("RECIPIENT_NONCE" + i).getBytes()))
+                            .withRecipientKeys(singletonList(PublicKey.from(("RECIPIENT" + i).getBytes())))
+                            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+                            .withAffectedContractTransactions(emptyMap())
+                            .withExecHash(new byte[0])
+                            .build());
+        }
+
+        final List<EncodedPayload> decoded = payloadEncoder.decodeAll(payloadEncoder.encodeAll(payloads));
+
+        assertThat(decoded).hasSize(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(decoded.get(i).getCipherText()).isEqualTo(payloads.get(i).getCipherText());
+            assertThat(decoded.get(i).getSenderKey()).isEqualTo(payloads.get(i).getSenderKey());
+            assertThat(decoded.get(i).getRecipientBoxes()).isEqualTo(payloads.get(i).getRecipientBoxes());
+            assertThat(decoded.get(i).getRecipientKeys()).isEqualTo(payloads.get(i).getRecipientKeys());
+        }
+    }
+
+    @Test
+    public void encodeAllWithNoPayloads() {
+        final byte[] encoded = payloadEncoder.encodeAll(emptyList());
+
+        assertThat(encoded).hasSize(Long.BYTES);
+        assertThat(payloadEncoder.decodeAll(encoded)).isEmpty();
+    }
+
     @Test
     public void encodeStandardPrivatePayloadWithRecipients() {
 
@@ -1011,7 +1051,8 @@ public class PayloadEncoderTest {
         assertThat(decodedPayload.getRecipientKeys()).isEqualTo(originalPayload.getRecipientKeys());
         assertThat(decodedPayload.getPrivacyMode()).isEqualTo(originalPayload.getPrivacyMode());
 
-        assertThat(decodedPayload.getAffectedContractTransactions().get(new TxHash("test".getBytes())).getData()).isEqualTo("test".getBytes());
+        assertThat(decodedPayload.getAffectedContractTransactions().get(new TxHash("test".getBytes())).getData())
+                .isEqualTo("test".getBytes());
         assertThat(decodedPayload.getExecHash()).isNullOrEmpty();
     }
 
@@ -1530,7 +1571,7 @@ public class PayloadEncoderTest {
         assertThat(result.getRecipientNonce()).isEqualTo(control.getRecipientNonce());
         assertThat(result.getCipherTextNonce()).isEqualTo(control.getCipherTextNonce());
         assertThat(result.getRecipientKeys()).hasSize(1).containsExactly(recipientKey);
-        //assertThat(result.getRecipientBoxes()).isNotEqualTo(control.getRecipientBoxes());
+        // assertThat(result.getRecipientBoxes()).isNotEqualTo(control.getRecipientBoxes());
         assertThat(result.getPrivacyMode()).isEqualTo(PrivacyMode.STANDARD_PRIVATE);
     }
 
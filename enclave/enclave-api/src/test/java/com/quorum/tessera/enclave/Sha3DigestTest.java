@@ -0,0 +1,59 @@
+package com.quorum.tessera.enclave;
+
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Sha3DigestTest {
+
+    @Test
+    public void digestOfPartsIsDigestOfConcatenation() {
+        byte[] expected = new SHA3.Digest512().digest("onetwothree".getBytes());
+
+        assertThat(Sha3Digest.digest("one".getBytes(), "two".getBytes(), "three".getBytes())).isEqualTo(expected);
+        assertThat(Sha3Digest.digest("onetwothree".getBytes())).isEqualTo(expected);
+    }
+
+    @Test
+    public void digestIsResetBetweenCalls() {
+        byte[] first = Sha3Digest.digest("data".getBytes());
+        byte[] second = Sha3Digest.digest("data".getBytes());
+
+        assertThat(first).hasSize(64).isEqualTo(second).isNotSameAs(second);
+    }
+
+    @Test
+    public void concurrentCallersDoNotShareState() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                final byte[] input = ("input-" + i).getBytes();
+                final byte[] expected = new SHA3.Digest512().digest(input);
+                results.add(
+                        executorService.submit(
+                                () -> {
+                                    for (int j = 0; j < 10000; j++) {
+                                        if (!Arrays.equals(expected, Sha3Digest.digest(input))) {
+                                            return false;
+                                        }
+                                    }
+                                    return true;
+                                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
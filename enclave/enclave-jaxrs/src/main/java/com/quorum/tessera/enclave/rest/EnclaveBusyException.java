@@ -0,0 +1,9 @@
+package com.quorum.tessera.enclave.rest;
+
+/** Thrown when the enclave's worker queue is full and a request cannot be admitted */
+public class EnclaveBusyException extends RuntimeException {
+
+    public EnclaveBusyException(String message) {
+        super(message);
+    }
+}
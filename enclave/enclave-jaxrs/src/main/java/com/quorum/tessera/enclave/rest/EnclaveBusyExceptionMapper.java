@@ -0,0 +1,27 @@
+package com.quorum.tessera.enclave.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+@Provider
+public class EnclaveBusyExceptionMapper implements ExceptionMapper<EnclaveBusyException> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnclaveBusyExceptionMapper.class);
+
+    @Override
+    public Response toResponse(final EnclaveBusyException ex) {
+        LOGGER.debug("Rejected enclave request: {}", ex.getMessage());
+
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, 1)
+                .entity(ex.getMessage())
+                .type(MediaType.TEXT_PLAIN)
+                .build();
+    }
+}
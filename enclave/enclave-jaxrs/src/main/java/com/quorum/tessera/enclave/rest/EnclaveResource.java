@@ -19,10 +19,17 @@ public class EnclaveResource {
 
     private final Enclave enclave;
 
+    private final EnclaveWorkerPool workerPool;
+
     private final PayloadEncoder payloadEncoder = PayloadEncoder.create();
 
     public EnclaveResource(Enclave enclave) {
+        this(enclave, new EnclaveWorkerPool(enclave));
+    }
+
+    public EnclaveResource(Enclave enclave, EnclaveWorkerPool workerPool) {
         this.enclave = Objects.requireNonNull(enclave);
+        this.workerPool = Objects.requireNonNull(workerPool);
     }
 
     @GET
@@ -52,7 +59,7 @@ public class EnclaveResource {
     public Response getForwardingKeys() {
 
         List<String> body =
-            enclave.getForwardingKeys().stream().map(PublicKey::encodeToBase64).collect(Collectors.toList());
+                enclave.getForwardingKeys().stream().map(PublicKey::encodeToBase64).collect(Collectors.toList());
 
         return Response.ok(Json.createArrayBuilder(body).build().toString(), MediaType.APPLICATION_JSON_TYPE).build();
     }
@@ -63,7 +70,7 @@ public class EnclaveResource {
     public Response getPublicKeys() {
 
         List<String> body =
-            enclave.getPublicKeys().stream().map(PublicKey::encodeToBase64).collect(Collectors.toList());
+                enclave.getPublicKeys().stream().map(PublicKey::encodeToBase64).collect(Collectors.toList());
 
         return Response.ok(Json.createArrayBuilder(body).build().toString(), MediaType.APPLICATION_JSON_TYPE).build();
     }
@@ -77,19 +84,21 @@ public class EnclaveResource {
         final PublicKey senderKey = PublicKey.from(payload.getSenderKey());
 
         final List<PublicKey> recipientPublicKeys =
-            payload.getRecipientPublicKeys().stream().map(PublicKey::from).collect(Collectors.toList());
+                payload.getRecipientPublicKeys().stream().map(PublicKey::from).collect(Collectors.toList());
 
         final List<AffectedTransaction> affectedTransactions =
-            convertToAffectedTransactions(payload.getAffectedContractTransactions());
+                convertToAffectedTransactions(payload.getAffectedContractTransactions());
 
         EncodedPayload outcome =
-            enclave.encryptPayload(
-                payload.getData(),
-                senderKey,
-                recipientPublicKeys,
-                payload.getPrivacyMode(),
-                affectedTransactions,
-                payload.getExecHash());
+                workerPool.execute(
+                        () ->
+                                enclave.encryptPayload(
+                                        payload.getData(),
+                                        senderKey,
+                                        recipientPublicKeys,
+                                        payload.getPrivacyMode(),
+                                        affectedTransactions,
+                                        payload.getExecHash()));
 
         byte[] response = payloadEncoder.encode(outcome);
         final StreamingOutput streamingOutput = out -> out.write(response);
@@ -108,20 +117,22 @@ public class EnclaveResource {
         PublicKey from = PublicKey.from(enclaveRawPayload.getFrom());
 
         List<PublicKey> recipientPublicKeys =
-            enclaveRawPayload.getRecipientPublicKeys().stream().map(PublicKey::from).collect(Collectors.toList());
+                enclaveRawPayload.getRecipientPublicKeys().stream().map(PublicKey::from).collect(Collectors.toList());
 
         RawTransaction rawTransaction = new RawTransaction(encryptedPayload, encryptedKey, nonce, from);
 
         final List<AffectedTransaction> affectedTransactions =
-            convertToAffectedTransactions(enclaveRawPayload.getAffectedContractTransactions());
+                convertToAffectedTransactions(enclaveRawPayload.getAffectedContractTransactions());
 
         EncodedPayload outcome =
-            enclave.encryptPayload(
-                rawTransaction,
-                recipientPublicKeys,
-                enclaveRawPayload.getPrivacyMode(),
-                affectedTransactions,
-                enclaveRawPayload.getExecHash());
+                workerPool.encryptPayload(
+                        RawTransactionEncryptRequest.Builder.create()
+                                .withRawTransaction(rawTransaction)
+                                .withRecipients(recipientPublicKeys)
+                                .withPrivacyMode(enclaveRawPayload.getPrivacyMode())
+                                .withAffectedContractTransactions(affectedTransactions)
+                                .withExecHash(enclaveRawPayload.getExecHash())
+                                .build());
 
         byte[] response = payloadEncoder.encode(outcome);
         final StreamingOutput streamingOutput = out -> out.write(response);
@@ -135,7 +146,8 @@ public class EnclaveResource {
     public Response encryptRawPayload(EnclavePayload payload) {
 
         RawTransaction rawTransaction =
-            enclave.encryptRawPayload(payload.getData(), PublicKey.from(payload.getSenderKey()));
+                workerPool.execute(
+                        () -> enclave.encryptRawPayload(payload.getData(), PublicKey.from(payload.getSenderKey())));
 
         EnclaveRawPayload enclaveRawPayload = new EnclaveRawPayload();
         enclaveRawPayload.setFrom(rawTransaction.getFrom().getKeyBytes());
@@ -155,21 +167,22 @@ public class EnclaveResource {
         EncodedPayload encodedPayload = payloadEncoder.decode(payload.getEncodedPayload());
 
         List<AffectedTransaction> affectedTransactions =
-            payload.getAffectedContractTransactions().stream()
-                .map(
-                    keyValuePair ->
-                        AffectedTransaction.Builder.create()
-                            .withHash(keyValuePair.getKey())
-                            .withPayload(PayloadEncoder.create().decode(keyValuePair.getValue()))
-                            .build())
-                .collect(Collectors.toList());
-
-        Set<TxHash> invalidSecurityHashes = enclave.findInvalidSecurityHashes(encodedPayload, affectedTransactions);
+                payload.getAffectedContractTransactions().stream()
+                        .map(
+                                keyValuePair ->
+                                        AffectedTransaction.Builder.create()
+                                                .withHash(keyValuePair.getKey())
+                                                .withPayload(PayloadEncoder.create().decode(keyValuePair.getValue()))
+                                                .build())
+                        .collect(Collectors.toList());
+
+        Set<TxHash> invalidSecurityHashes =
+                workerPool.execute(() -> enclave.findInvalidSecurityHashes(encodedPayload, affectedTransactions));
 
         EnclaveFindInvalidSecurityHashesResponsePayload responsePayload =
-            new EnclaveFindInvalidSecurityHashesResponsePayload();
+                new EnclaveFindInvalidSecurityHashesResponsePayload();
         responsePayload.setInvalidSecurityHashes(
-            invalidSecurityHashes.stream().map(TxHash::getBytes).collect(Collectors.toList()));
+                invalidSecurityHashes.stream().map(TxHash::getBytes).collect(Collectors.toList()));
 
         return Response.ok(responsePayload).build();
     }
@@ -181,13 +194,13 @@ public class EnclaveResource {
     public Response unencryptRawPayload(EnclaveRawPayload enclaveRawPayload) {
 
         RawTransaction rawTransaction =
-            new RawTransaction(
-                enclaveRawPayload.getEncryptedPayload(),
-                enclaveRawPayload.getEncryptedKey(),
-                new Nonce(enclaveRawPayload.getNonce()),
-                PublicKey.from(enclaveRawPayload.getFrom()));
+                new RawTransaction(
+                        enclaveRawPayload.getEncryptedPayload(),
+                        enclaveRawPayload.getEncryptedKey(),
+                        new Nonce(enclaveRawPayload.getNonce()),
+                        PublicKey.from(enclaveRawPayload.getFrom()));
 
-        byte[] response = enclave.unencryptRawPayload(rawTransaction);
+        byte[] response = workerPool.execute(() -> enclave.unencryptRawPayload(rawTransaction));
 
         final StreamingOutput streamingOutput = out -> out.write(response);
         return Response.ok(streamingOutput).build();
@@ -201,9 +214,9 @@ public class EnclaveResource {
 
         EncodedPayload payload = payloadEncoder.decode(enclaveUnencryptPayload.getData());
         PublicKey providedKey =
-            Optional.ofNullable(enclaveUnencryptPayload.getProvidedKey()).map(PublicKey::from).orElse(null);
+                Optional.ofNullable(enclaveUnencryptPayload.getProvidedKey()).map(PublicKey::from).orElse(null);
 
-        byte[] response = enclave.unencryptTransaction(payload, providedKey);
+        byte[] response = workerPool.execute(() -> enclave.unencryptTransaction(payload, providedKey));
 
         final StreamingOutput streamingOutput = out -> out.write(response);
         return Response.ok(streamingOutput).build();
@@ -218,18 +231,20 @@ public class EnclaveResource {
         EncodedPayload payload = payloadEncoder.decode(enclaveUnencryptPayload.getData());
         PublicKey providedKey = PublicKey.from(enclaveUnencryptPayload.getProvidedKey());
 
-        byte[] response = enclave.createNewRecipientBox(payload, providedKey);
+        byte[] response = workerPool.execute(() -> enclave.createNewRecipientBox(payload, providedKey));
 
         final StreamingOutput streamingOutput = out -> out.write(response);
         return Response.ok(streamingOutput).build();
     }
 
     private List<AffectedTransaction> convertToAffectedTransactions(final List<KeyValuePair> keyValuePairs) {
-        return keyValuePairs.stream().map(
-            kvp -> AffectedTransaction.Builder.create()
-                .withHash(kvp.getKey())
-                .withPayload(payloadEncoder.decode(kvp.getValue()))
-                .build()
-        ).collect(Collectors.toUnmodifiableList());
+        return keyValuePairs.stream()
+                .map(
+                        kvp ->
+                                AffectedTransaction.Builder.create()
+                                        .withHash(kvp.getKey())
+                                        .withPayload(payloadEncoder.decode(kvp.getValue()))
+                                        .build())
+                .collect(Collectors.toUnmodifiableList());
     }
 }
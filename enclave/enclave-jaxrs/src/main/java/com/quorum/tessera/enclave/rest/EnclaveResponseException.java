@@ -0,0 +1,22 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.EnclaveNotAvailableException;
+
+/**
+ * Thrown when a remote enclave answers a request with an error status. Remote enclave errors have always been reported
+ * as {@link EnclaveNotAvailableException}, so this extends it and only adds the status for callers that need to tell
+ * an enclave that is too busy from one that failed the request.
+ */
+public class EnclaveResponseException extends EnclaveNotAvailableException {
+
+    private final int status;
+
+    public EnclaveResponseException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
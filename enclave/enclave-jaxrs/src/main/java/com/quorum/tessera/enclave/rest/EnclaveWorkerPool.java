@@ -0,0 +1,213 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.RawTransactionEncryptRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the enclave's crypto operations on a fixed number of worker threads, normally one per CPU, so that a burst of
+ * requests does not have every server thread competing for the CPUs at once.
+ *
+ * <p>Requests wait for a worker in a bounded queue. Once the queue is full further requests are rejected with an
+ * {@link EnclaveBusyException}, which is returned to the caller as a 503 so that it can back off or try another
+ * enclave, rather than the queue and the response times growing without limit.
+ *
+ * <p>Raw transaction encryptions that are waiting at the same time are coalesced, and whichever worker gets to them
+ * first encrypts them all with a single {@link Enclave#encryptPayloads(List)} call.
+ */
+public class EnclaveWorkerPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnclaveWorkerPool.class);
+
+    static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    static final int MAX_BATCH_SIZE = 64;
+
+    private final Enclave enclave;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Queue<PendingEncrypt> pendingEncrypts = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong batchCount = new AtomicLong();
+
+    public EnclaveWorkerPool(Enclave enclave) {
+        this(enclave, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public EnclaveWorkerPool(Enclave enclave, int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Worker threads and queue capacity must be at least 1");
+        }
+        this.enclave = Objects.requireNonNull(enclave);
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor =
+                new ThreadPoolExecutor(
+                        threads,
+                        threads,
+                        60L,
+                        TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity),
+                        r -> {
+                            final Thread thread = new Thread(r, "enclave-worker-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs an enclave operation on a worker thread and waits for its result
+     *
+     * @param operation the operation to run
+     * @return the result of the operation
+     * @throws EnclaveBusyException if the queue is full
+     */
+    public <T> T execute(Supplier<T> operation) {
+        final CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(operation, executor);
+        } catch (RejectedExecutionException ex) {
+            throw busy();
+        }
+        return await(result);
+    }
+
+    /**
+     * Encrypts a raw transaction, together with any others waiting at the same time
+     *
+     * @param request the transaction to encrypt
+     * @return the encrypted payload
+     * @throws EnclaveBusyException if the queue is full
+     */
+    public EncodedPayload encryptPayload(RawTransactionEncryptRequest request) {
+        final PendingEncrypt pending = new PendingEncrypt(request);
+        pendingEncrypts.add(pending);
+        try {
+            executor.execute(this::encryptPending);
+        } catch (RejectedExecutionException ex) {
+            // another worker may already have taken it into a batch, in which case just wait for that
+            if (pendingEncrypts.remove(pending)) {
+                throw busy();
+            }
+        }
+        return await(pending.result);
+    }
+
+    long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    long getBatchCount() {
+        return batchCount.get();
+    }
+
+    int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /*
+     * Every pending encryption queues a task, so there is always a task left to pick up whatever is still pending;
+     * tasks that find nothing left because an earlier task took it all simply return.
+     */
+    private void encryptPending() {
+        final List<PendingEncrypt> batch = new ArrayList<>();
+        PendingEncrypt next;
+        while (batch.size() < MAX_BATCH_SIZE && (next = pendingEncrypts.poll()) != null) {
+            batch.add(next);
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            encryptOne(batch.get(0));
+            return;
+        }
+
+        batchCount.incrementAndGet();
+        try {
+            final List<EncodedPayload> payloads =
+                    enclave.encryptPayloads(batch.stream().map(p -> p.request).collect(Collectors.toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(payloads.get(i));
+            }
+        } catch (RuntimeException ex) {
+            // one bad request fails the whole batch, so encrypt each on its own to give it its own outcome
+            LOGGER.debug("Batch of {} encryptions failed, encrypting individually", batch.size(), ex);
+            batch.forEach(this::encryptOne);
+        }
+    }
+
+    private void encryptOne(PendingEncrypt pending) {
+        final RawTransactionEncryptRequest request = pending.request;
+        try {
+            pending.result.complete(
+                    enclave.encryptPayload(
+                            request.getRawTransaction(),
+                            request.getRecipients(),
+                            request.getPrivacyMode(),
+                            request.getAffectedContractTransactions(),
+                            request.getExecHash()));
+        } catch (RuntimeException ex) {
+            pending.result.completeExceptionally(ex);
+        }
+    }
+
+    private EnclaveBusyException busy() {
+        rejectedCount.incrementAndGet();
+        return new EnclaveBusyException("Enclave is at capacity, try again later");
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static class PendingEncrypt {
+
+        private final RawTransactionEncryptRequest request;
+
+        private final CompletableFuture<EncodedPayload> result = new CompletableFuture<>();
+
+        private PendingEncrypt(RawTransactionEncryptRequest request) {
+            this.request = request;
+        }
+    }
+}
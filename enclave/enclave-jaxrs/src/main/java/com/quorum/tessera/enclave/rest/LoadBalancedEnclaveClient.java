@@ -0,0 +1,276 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.*;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.service.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Spreads enclave calls over several remote enclaves that hold the same keys, so that no single enclave process limits
+ * throughput or takes the node down with it.
+ *
+ * <p>Each call goes to the healthy enclave with the fewest requests in flight, ties being shared out in turn. If the
+ * call fails because the enclave could not be reached or was too busy to take it, it is retried on the next best
+ * enclave until every enclave has been tried, and the failed enclave is checked straight away. Any other error is
+ * thrown straight back, as every enclave holds the same keys and would fail the call in the same way. Enclaves are
+ * marked unhealthy when their {@link Service#status()} check fails, and are checked again periodically so they rejoin
+ * once they recover. When no enclave is healthy, calls are still attempted against all of them rather than failing
+ * outright.
+ *
+ * <p>Each enclave's request counts and latency are registered as an MXBean.
+ */
+public class LoadBalancedEnclaveClient implements EnclaveClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadBalancedEnclaveClient.class);
+
+    public static final String OBJECT_NAME_PREFIX = "com.quorum.tessera:type=RemoteEnclave,url=";
+
+    static final long DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS = 5000L;
+
+    private final List<RemoteEnclaveInstance> instances;
+
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    private final ScheduledExecutorService healthChecker;
+
+    public LoadBalancedEnclaveClient(List<RemoteEnclaveInstance> instances, MBeanServer mBeanServer) {
+        this(instances, mBeanServer, DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS);
+    }
+
+    LoadBalancedEnclaveClient(
+            List<RemoteEnclaveInstance> instances, MBeanServer mBeanServer, long healthCheckIntervalMillis) {
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("At least one remote enclave is required");
+        }
+        this.instances = List.copyOf(instances);
+
+        if (mBeanServer != null) {
+            this.instances.forEach(instance -> register(mBeanServer, instance));
+        }
+
+        this.healthChecker =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            final Thread thread = new Thread(r, "enclave-health-check");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        this.healthChecker.scheduleWithFixedDelay(
+                () -> this.instances.forEach(this::checkHealth),
+                healthCheckIntervalMillis,
+                healthCheckIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** @return the remote enclaves being balanced over */
+    public List<RemoteEnclaveInstance> getInstances() {
+        return instances;
+    }
+
+    @Override
+    public PublicKey defaultPublicKey() {
+        return execute(Enclave::defaultPublicKey);
+    }
+
+    @Override
+    public Set<PublicKey> getForwardingKeys() {
+        return execute(Enclave::getForwardingKeys);
+    }
+
+    @Override
+    public Set<PublicKey> getPublicKeys() {
+        return execute(Enclave::getPublicKeys);
+    }
+
+    @Override
+    public EncodedPayload encryptPayload(
+            byte[] message,
+            PublicKey senderPublicKey,
+            List<PublicKey> recipientPublicKeys,
+            PrivacyMode privacyMode,
+            List<AffectedTransaction> affectedContractTransactions,
+            byte[] execHash) {
+        return execute(
+                enclave ->
+                        enclave.encryptPayload(
+                                message,
+                                senderPublicKey,
+                                recipientPublicKeys,
+                                privacyMode,
+                                affectedContractTransactions,
+                                execHash));
+    }
+
+    @Override
+    public EncodedPayload encryptPayload(
+            RawTransaction rawTransaction,
+            List<PublicKey> recipientPublicKeys,
+            PrivacyMode privacyMode,
+            List<AffectedTransaction> affectedContractTransactions,
+            byte[] execHash) {
+        return execute(
+                enclave ->
+                        enclave.encryptPayload(
+                                rawTransaction,
+                                recipientPublicKeys,
+                                privacyMode,
+                                affectedContractTransactions,
+                                execHash));
+    }
+
+    @Override
+    public List<EncodedPayload> encryptPayloads(List<RawTransactionEncryptRequest> requests) {
+        return execute(enclave -> enclave.encryptPayloads(requests));
+    }
+
+    @Override
+    public Set<TxHash> findInvalidSecurityHashes(
+            EncodedPayload encodedPayload, List<AffectedTransaction> affectedContractTransactions) {
+        return execute(enclave -> enclave.findInvalidSecurityHashes(encodedPayload, affectedContractTransactions));
+    }
+
+    @Override
+    public RawTransaction encryptRawPayload(byte[] message, PublicKey sender) {
+        return execute(enclave -> enclave.encryptRawPayload(message, sender));
+    }
+
+    @Override
+    public byte[] unencryptTransaction(EncodedPayload payload, PublicKey providedKey) {
+        return execute(enclave -> enclave.unencryptTransaction(payload, providedKey));
+    }
+
+    @Override
+    public byte[] unencryptRawPayload(RawTransaction payload) {
+        return execute(enclave -> enclave.unencryptRawPayload(payload));
+    }
+
+    @Override
+    public byte[] createNewRecipientBox(EncodedPayload payload, PublicKey recipientKey) {
+        return execute(enclave -> enclave.createNewRecipientBox(payload, recipientKey));
+    }
+
+    /**
+     * Checks the enclaves believed to be healthy, or all of them if none is, so that a node with a recovered enclave is
+     * reported as started straight away.
+     *
+     * @return started if any enclave is available
+     */
+    @Override
+    public Service.Status status() {
+        final boolean anyHealthy = instances.stream().anyMatch(RemoteEnclaveInstance::isHealthy);
+        for (RemoteEnclaveInstance instance : instances) {
+            if ((instance.isHealthy() || !anyHealthy) && checkHealth(instance)) {
+                return Service.Status.STARTED;
+            }
+        }
+        return Service.Status.STOPPED;
+    }
+
+    @Override
+    public void stop() {
+        healthChecker.shutdownNow();
+    }
+
+    private <T> T execute(Function<Enclave, T> call) {
+        final boolean[] tried = new boolean[instances.size()];
+        RuntimeException failure = null;
+
+        for (int attempt = 0; attempt < tried.length; attempt++) {
+            final int index = select(tried);
+            tried[index] = true;
+            final RemoteEnclaveInstance instance = instances.get(index);
+
+            instance.onStart();
+            final long start = System.nanoTime();
+            try {
+                final T result = call.apply(instance.getClient());
+                instance.onSuccess(System.nanoTime() - start);
+                return result;
+            } catch (EnclaveNotAvailableException | ProcessingException ex) {
+                instance.onFailure();
+                if (!isRetryable(ex)) {
+                    throw ex;
+                }
+                LOGGER.warn("Call to remote enclave {} failed: {}", instance.getUri(), ex.getMessage());
+                LOGGER.debug(null, ex);
+                failure = ex;
+                // a busy enclave also lands here, so only take the enclave out of rotation if it is really down
+                healthChecker.execute(() -> checkHealth(instance));
+            } catch (RuntimeException ex) {
+                instance.onFailure();
+                throw ex;
+            }
+        }
+
+        throw failure;
+    }
+
+    /** @return true if the call failed to reach the enclave, or the enclave was too busy to take it */
+    private static boolean isRetryable(RuntimeException ex) {
+        if (ex instanceof EnclaveResponseException) {
+            return ((EnclaveResponseException) ex).getStatus() == Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+        }
+        return true;
+    }
+
+    /** @return the index of the untried enclave to call next, preferring healthy enclaves with fewer requests */
+    private int select(boolean[] tried) {
+        final int size = instances.size();
+        final int start = Math.floorMod(nextStart.getAndIncrement(), size);
+
+        int best = -1;
+        for (int i = 0; i < size; i++) {
+            final int index = (start + i) % size;
+            if (tried[index]) {
+                continue;
+            }
+            if (best < 0 || isBetter(instances.get(index), instances.get(best))) {
+                best = index;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isBetter(RemoteEnclaveInstance candidate, RemoteEnclaveInstance current) {
+        if (candidate.isHealthy() != current.isHealthy()) {
+            return candidate.isHealthy();
+        }
+        return candidate.getOutstandingRequests() < current.getOutstandingRequests();
+    }
+
+    private boolean checkHealth(RemoteEnclaveInstance instance) {
+        final boolean healthy = instance.getClient().status() == Service.Status.STARTED;
+        if (healthy != instance.isHealthy()) {
+            if (healthy) {
+                LOGGER.info("Remote enclave {} is available again", instance.getUri());
+            } else {
+                LOGGER.warn("Remote enclave {} is unavailable, sending requests to other enclaves", instance.getUri());
+            }
+        }
+        instance.setHealthy(healthy);
+        return healthy;
+    }
+
+    private static void register(MBeanServer mBeanServer, RemoteEnclaveInstance instance) {
+        try {
+            mBeanServer.registerMBean(
+                    instance, new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(instance.getUrl())));
+        } catch (JMException ex) {
+            LOGGER.warn("Unable to register remote enclave {}: {}", instance.getUrl(), ex.getMessage());
+        }
+    }
+}
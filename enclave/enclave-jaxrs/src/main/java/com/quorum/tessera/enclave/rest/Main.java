@@ -5,6 +5,7 @@ import com.quorum.tessera.cli.parsers.ConfigConverter;
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.config.util.IntervalPropertyHelper;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.enclave.EnclaveFactory;
 import com.quorum.tessera.enclave.server.EnclaveCliAdapter;
@@ -44,14 +45,16 @@ public class Main {
 
         final Enclave enclave = EnclaveFactory.createServer(config);
 
-        final EnclaveResource enclaveResource = new EnclaveResource(enclave);
+        final ServerConfig serverConfig = config.getServerConfigs().stream().findFirst().get();
 
-        final EnclaveApplication application = new EnclaveApplication(enclaveResource);
+        final IntervalPropertyHelper properties = new IntervalPropertyHelper(serverConfig.getProperties());
+
+        final EnclaveWorkerPool workerPool =
+                new EnclaveWorkerPool(enclave, properties.enclaveWorkerThreads(), properties.enclaveWorkerQueueSize());
 
-        final ServerConfig serverConfig = config.getServerConfigs()
-                                                .stream()
-                                                .findFirst()
-                                                .get();
+        final EnclaveResource enclaveResource = new EnclaveResource(enclave, workerPool);
+
+        final EnclaveApplication application = new EnclaveApplication(enclaveResource);
 
         final TesseraServer server = restServerFactory.createServer(serverConfig, Collections.singleton(application));
         server.start();
@@ -64,6 +67,7 @@ public class Main {
                                 () -> {
                                     try {
                                         server.stop();
+                                        workerPool.close();
                                     } catch (Exception ex) {
                                         LOGGER.error(null, ex);
                                     } finally {
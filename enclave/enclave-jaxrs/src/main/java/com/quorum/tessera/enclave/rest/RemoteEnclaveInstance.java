@@ -0,0 +1,102 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.EnclaveClient;
+
+import java.net.URI;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** One remote enclave in a {@link LoadBalancedEnclaveClient}, with the counts used to balance load across them. */
+public class RemoteEnclaveInstance implements RemoteEnclaveInstanceMXBean {
+
+    private final URI uri;
+
+    private final EnclaveClient client;
+
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+    private final AtomicLong successCount = new AtomicLong();
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile boolean healthy = true;
+
+    private double smoothedLatencyMillis = -1;
+
+    RemoteEnclaveInstance(URI uri, EnclaveClient client) {
+        this.uri = Objects.requireNonNull(uri);
+        this.client = Objects.requireNonNull(client);
+    }
+
+    EnclaveClient getClient() {
+        return client;
+    }
+
+    URI getUri() {
+        return uri;
+    }
+
+    void onStart() {
+        outstandingRequests.incrementAndGet();
+    }
+
+    void onSuccess(long latencyNanos) {
+        outstandingRequests.decrementAndGet();
+        successCount.incrementAndGet();
+        recordLatency(TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+    }
+
+    void onFailure() {
+        outstandingRequests.decrementAndGet();
+        failureCount.incrementAndGet();
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    private synchronized void recordLatency(long latencyMillis) {
+        if (smoothedLatencyMillis < 0) {
+            smoothedLatencyMillis = latencyMillis;
+            return;
+        }
+        smoothedLatencyMillis = 0.875 * smoothedLatencyMillis + 0.125 * latencyMillis;
+    }
+
+    @Override
+    public String getUrl() {
+        return uri.toString();
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    @Override
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    @Override
+    public long getSuccessCount() {
+        return successCount.get();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    @Override
+    public synchronized long getAverageLatencyMillis() {
+        return Math.round(Math.max(0, smoothedLatencyMillis));
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteEnclaveInstance[" + uri + "]";
+    }
+}
@@ -0,0 +1,17 @@
+package com.quorum.tessera.enclave.rest;
+
+/** Management view of one remote enclave in a {@link LoadBalancedEnclaveClient} */
+public interface RemoteEnclaveInstanceMXBean {
+
+    String getUrl();
+
+    boolean isHealthy();
+
+    int getOutstandingRequests();
+
+    long getSuccessCount();
+
+    long getFailureCount();
+
+    long getAverageLatencyMillis();
+}
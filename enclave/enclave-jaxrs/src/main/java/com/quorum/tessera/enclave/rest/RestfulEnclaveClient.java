@@ -314,7 +314,7 @@ public class RestfulEnclaveClient implements EnclaveClient {
                             "Remote enclave instance threw an error %d  %s",
                             statusInfo.getStatusCode(), statusInfo.getReasonPhrase());
 
-            throw new EnclaveNotAvailableException(message);
+            throw new EnclaveResponseException(message, statusInfo.getStatusCode());
         }
     }
 
@@ -4,36 +4,59 @@ import com.quorum.tessera.config.AppType;
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.enclave.EnclaveClient;
 import com.quorum.tessera.enclave.EnclaveClientFactory;
 import com.quorum.tessera.jaxrs.client.ClientFactory;
-import java.util.Optional;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 import javax.ws.rs.client.Client;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class RestfulEnclaveClientFactory implements EnclaveClientFactory<RestfulEnclaveClient> {
-    
+/**
+ * Creates a client for the remote enclave configured as an ENCLAVE server. If several enclave servers are configured,
+ * they must all hold the same keys, and calls are balanced across them by a {@link LoadBalancedEnclaveClient}.
+ */
+public class RestfulEnclaveClientFactory implements EnclaveClientFactory<EnclaveClient> {
+
     private static final Logger LOGGER = LoggerFactory.getLogger(RestfulEnclaveClientFactory.class);
-    
+
     @Override
-    public RestfulEnclaveClient create(Config config) {
-        LOGGER.debug("Creating RestfulEnclaveClient with {}",config);
-        Optional<ServerConfig> enclaveServerConfig = config.getServerConfigs().stream()
-                .filter(sc -> sc.getApp() == AppType.ENCLAVE)
-                .filter(sc -> sc.getCommunicationType() == CommunicationType.REST)
-                .findAny();
+    public EnclaveClient create(Config config) {
+        LOGGER.debug("Creating RestfulEnclaveClient with {}", config);
+        List<ServerConfig> enclaveServerConfigs =
+                config.getServerConfigs().stream()
+                        .filter(sc -> sc.getApp() == AppType.ENCLAVE)
+                        .filter(sc -> sc.getCommunicationType() == CommunicationType.REST)
+                        .collect(Collectors.toList());
+
+        if (enclaveServerConfigs.isEmpty()) {
+            throw new NoSuchElementException("No REST enclave server configured");
+        }
 
         final ClientFactory clientFactory = new ClientFactory();
 
-        LOGGER.debug("Creating server context from config");
-        ServerConfig serverConfig = enclaveServerConfig.get();
-        LOGGER.debug("Created server context from config");
+        if (enclaveServerConfigs.size() == 1) {
+            ServerConfig serverConfig = enclaveServerConfigs.get(0);
+            Client client = clientFactory.buildFrom(serverConfig);
+            LOGGER.info("Creating remoted enclave for {}", serverConfig.getServerUri());
+            return new RestfulEnclaveClient(client, serverConfig.getServerUri());
+        }
+
+        List<RemoteEnclaveInstance> instances =
+                enclaveServerConfigs.stream()
+                        .map(
+                                serverConfig -> {
+                                    LOGGER.info("Creating remoted enclave for {}", serverConfig.getServerUri());
+                                    Client client = clientFactory.buildFrom(serverConfig);
+                                    return new RemoteEnclaveInstance(
+                                            serverConfig.getServerUri(),
+                                            new RestfulEnclaveClient(client, serverConfig.getServerUri()));
+                                })
+                        .collect(Collectors.toList());
 
-        Client client = clientFactory.buildFrom(serverConfig);
-        LOGGER.info("Creating remoted enclave for {}", serverConfig.getServerUri());
-        return new RestfulEnclaveClient(client, serverConfig.getServerUri());
+        return new LoadBalancedEnclaveClient(instances, ManagementFactory.getPlatformMBeanServer());
     }
-    
-    
-    
 }
@@ -0,0 +1,23 @@
+package com.quorum.tessera.enclave.rest;
+
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EnclaveBusyExceptionMapperTest {
+
+    private EnclaveBusyExceptionMapper exceptionMapper = new EnclaveBusyExceptionMapper();
+
+    @Test
+    public void toResponse() {
+        final EnclaveBusyException exception = new EnclaveBusyException("Busy");
+
+        final Response result = exceptionMapper.toResponse(exception);
+
+        assertThat(result.getStatus()).isEqualTo(503);
+        assertThat(result.getEntity()).isEqualTo("Busy");
+        assertThat(result.getHeaderString("Retry-After")).isEqualTo("1");
+    }
+}
@@ -0,0 +1,256 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.*;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.quorum.tessera.enclave.rest.EnclaveWorkerPoolTest.payloadFor;
+import static com.quorum.tessera.enclave.rest.EnclaveWorkerPoolTest.rawTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives concurrent raw encryptions through the enclave server at fixed client thread counts and logs the latency and
+ * throughput at each. The enclave burns CPU for each encryption, with a batch sharing part of that cost as the real
+ * enclave shares the computed shared keys.
+ */
+public class EnclaveWorkerPoolBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnclaveWorkerPoolBenchmarkTest.class);
+
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+
+    private static final int REQUESTS_PER_THREAD = 50;
+
+    private static final int HASHES_PER_ENCRYPTION = 200;
+
+    private final Client restClient = ClientBuilder.newClient();
+
+    private JerseyTest server;
+
+    private EnclaveWorkerPool pool;
+
+    @After
+    public void tearDown() throws Exception {
+        restClient.close();
+        if (server != null) {
+            server.tearDown();
+        }
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void latencyAndThroughputAtFixedThreadCounts() throws Exception {
+        final Enclave enclave = cpuBoundEnclave();
+        pool = new EnclaveWorkerPool(enclave, Runtime.getRuntime().availableProcessors(), 1024);
+        final RestfulEnclaveClient client = startServer(enclave);
+
+        // warm up the server and the JIT before measuring
+        run(client, 4, REQUESTS_PER_THREAD);
+
+        for (int threads : THREAD_COUNTS) {
+            final long batchesBefore = pool.getBatchCount();
+            final Result result = run(client, threads, REQUESTS_PER_THREAD);
+
+            LOGGER.info(
+                    "threads={} requests={} throughput={}/s p50={}us p99={}us max={}us batches={}",
+                    threads,
+                    result.latenciesMicros.length,
+                    String.format("%.0f", result.throughput()),
+                    result.percentile(50),
+                    result.percentile(99),
+                    result.percentile(100),
+                    pool.getBatchCount() - batchesBefore);
+
+            assertThat(result.failures).isZero();
+            assertThat(result.latenciesMicros).hasSize(threads * REQUESTS_PER_THREAD);
+        }
+        assertThat(pool.getRejectedCount()).isZero();
+    }
+
+    @Test
+    public void requestsOverCapacityAreAnsweredWithServiceUnavailable() throws Exception {
+        final Enclave enclave = cpuBoundEnclave();
+        pool = new EnclaveWorkerPool(enclave, 1, 1);
+        final RestfulEnclaveClient client = startServer(enclave);
+
+        // hold the only worker and fill the queue behind it
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(
+                    () ->
+                            pool.execute(
+                                    () -> {
+                                        running.countDown();
+                                        try {
+                                            return release.await(10, TimeUnit.SECONDS);
+                                        } catch (InterruptedException ex) {
+                                            return false;
+                                        }
+                                    }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            final Future<Boolean> queued = executor.submit(() -> pool.execute(() -> true));
+            while (pool.getQueueDepth() < 1) {
+                Thread.sleep(5);
+            }
+
+            final RawTransaction transaction = rawTransaction(1);
+            final Result result = run(client, 4, 5);
+
+            assertThat(result.latenciesMicros).isEmpty();
+            assertThat(result.failures).isEqualTo(20);
+            assertThat(pool.getRejectedCount()).isEqualTo(20);
+
+            release.countDown();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(client.encryptRawPayload(transaction.getEncryptedPayload(), transaction.getFrom())).isNotNull();
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private RestfulEnclaveClient startServer(Enclave enclave) throws Exception {
+        server = Util.create(enclave, pool);
+        server.setUp();
+        return new RestfulEnclaveClient(restClient, server.target().getUri());
+    }
+
+    private static Result run(RestfulEnclaveClient client, int threads, int requestsPerThread) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger failures = new AtomicInteger();
+        final List<Future<List<Long>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * requestsPerThread;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    final List<Long> latencies = new ArrayList<>();
+                                    start.await();
+                                    for (int i = 0; i < requestsPerThread; i++) {
+                                        final RawTransaction transaction = rawTransaction(offset + i);
+                                        final long begin = System.nanoTime();
+                                        try {
+                                            final EncodedPayload payload =
+                                                    client.encryptPayload(
+                                                            transaction,
+                                                            List.of(transaction.getFrom()),
+                                                            PrivacyMode.STANDARD_PRIVATE,
+                                                            List.of(),
+                                                            new byte[0]);
+                                            assertThat(payload.getCipherText())
+                                                    .isEqualTo(transaction.getEncryptedPayload());
+                                            latencies.add((System.nanoTime() - begin) / 1000L);
+                                        } catch (EnclaveNotAvailableException ex) {
+                                            assertThat(ex.getMessage()).contains("503");
+                                            failures.incrementAndGet();
+                                        }
+                                    }
+                                    return latencies;
+                                }));
+            }
+
+            final long begin = System.nanoTime();
+            start.countDown();
+            final List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                latencies.addAll(future.get(2, TimeUnit.MINUTES));
+            }
+            final long elapsedNanos = System.nanoTime() - begin;
+
+            return new Result(
+                    latencies.stream().mapToLong(Long::longValue).sorted().toArray(), failures.get(), elapsedNanos);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Enclave cpuBoundEnclave() {
+        final Enclave enclave = mock(Enclave.class);
+        when(enclave.encryptPayload(any(RawTransaction.class), anyList(), any(), anyList(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            burn(HASHES_PER_ENCRYPTION);
+                            return payloadFor(invocation.getArgument(0));
+                        });
+        when(enclave.encryptPayloads(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            final List<RawTransactionEncryptRequest> requests = invocation.getArgument(0);
+                            // the shared key is computed once for the batch, the rest is per transaction
+                            burn(HASHES_PER_ENCRYPTION / 2);
+                            burn(requests.size() * HASHES_PER_ENCRYPTION / 2);
+                            return requests.stream()
+                                    .map(r -> payloadFor(r.getRawTransaction()))
+                                    .collect(Collectors.toList());
+                        });
+        when(enclave.encryptRawPayload(any(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            burn(HASHES_PER_ENCRYPTION);
+                            return rawTransaction(0);
+                        });
+        return enclave;
+    }
+
+    private static void burn(int hashes) throws Exception {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] value = new byte[1024];
+        for (int i = 0; i < hashes; i++) {
+            value = Arrays.copyOf(digest.digest(value), 1024);
+        }
+    }
+
+    private static class Result {
+
+        private final long[] latenciesMicros;
+
+        private final int failures;
+
+        private final long elapsedNanos;
+
+        private Result(long[] latenciesMicros, int failures, long elapsedNanos) {
+            this.latenciesMicros = latenciesMicros;
+            this.failures = failures;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private double throughput() {
+            return latenciesMicros.length / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        private long percentile(int percentile) {
+            if (latenciesMicros.length == 0) {
+                return 0;
+            }
+            final int index = (int) Math.ceil(percentile / 100.0 * latenciesMicros.length) - 1;
+            return latenciesMicros[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.*;
+import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.PublicKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class EnclaveWorkerPoolTest {
+
+    private Enclave enclave;
+
+    private EnclaveWorkerPool pool;
+
+    private ExecutorService callers;
+
+    @Before
+    public void setUp() {
+        enclave = mock(Enclave.class);
+        callers = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        callers.shutdownNow();
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void operationsRunOnWorkerThreads() {
+        pool = new EnclaveWorkerPool(enclave, 2, 4);
+
+        final String threadName = pool.execute(() -> Thread.currentThread().getName());
+
+        assertThat(threadName).startsWith("enclave-worker-");
+    }
+
+    @Test
+    public void exceptionsArePassedBackToTheCaller() {
+        pool = new EnclaveWorkerPool(enclave, 1, 4);
+
+        final Throwable throwable =
+                catchThrowable(
+                        () ->
+                                pool.execute(
+                                        () -> {
+                                            throw new IllegalStateException("Ouch");
+                                        }));
+
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("Ouch");
+    }
+
+    @Test
+    public void requestsAreRejectedWhenQueueIsFull() throws Exception {
+        pool = new EnclaveWorkerPool(enclave, 1, 1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Future<Boolean> blocking = callers.submit(() -> pool.execute(() -> await(running, release)));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        final Future<Boolean> queued = callers.submit(() -> pool.execute(() -> true));
+        waitForQueued(1);
+
+        final Throwable throwable = catchThrowable(() -> pool.execute(() -> true));
+
+        assertThat(throwable).isInstanceOf(EnclaveBusyException.class);
+        assertThat(pool.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void waitingEncryptionsAreCoalescedIntoOneCall() throws Exception {
+        pool = new EnclaveWorkerPool(enclave, 1, 16);
+        when(enclave.encryptPayloads(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            final List<RawTransactionEncryptRequest> requests = invocation.getArgument(0);
+                            return requests.stream()
+                                    .map(r -> payloadFor(r.getRawTransaction()))
+                                    .collect(Collectors.toList());
+                        });
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> pool.execute(() -> await(running, release)));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final List<RawTransaction> transactions = new ArrayList<>();
+        final List<Future<EncodedPayload>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final RawTransaction transaction = rawTransaction(i);
+            transactions.add(transaction);
+            results.add(callers.submit(() -> pool.encryptPayload(request(transaction))));
+        }
+        waitForQueued(5);
+
+        release.countDown();
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS).getCipherText())
+                    .isEqualTo(transactions.get(i).getEncryptedPayload());
+        }
+        verify(enclave).encryptPayloads(argThat(requests -> requests.size() == 5));
+        verify(enclave, never()).encryptPayload(any(RawTransaction.class), anyList(), any(), anyList(), any());
+        assertThat(pool.getBatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void singleEncryptionIsNotBatched() {
+        pool = new EnclaveWorkerPool(enclave, 1, 4);
+        final RawTransaction transaction = rawTransaction(1);
+        final EncodedPayload payload = payloadFor(transaction);
+        when(enclave.encryptPayload(any(RawTransaction.class), anyList(), any(), anyList(), any())).thenReturn(payload);
+
+        assertThat(pool.encryptPayload(request(transaction))).isSameAs(payload);
+
+        verify(enclave).encryptPayload(any(RawTransaction.class), anyList(), any(), anyList(), any());
+        verify(enclave, never()).encryptPayloads(anyList());
+        assertThat(pool.getBatchCount()).isZero();
+    }
+
+    @Test
+    public void failedBatchIsRetriedOneByOne() throws Exception {
+        pool = new EnclaveWorkerPool(enclave, 1, 16);
+        final RawTransaction bad = rawTransaction(0);
+        final RawTransaction good = rawTransaction(1);
+        when(enclave.encryptPayloads(anyList())).thenThrow(new IllegalArgumentException("bad transaction"));
+        when(enclave.encryptPayload(eq(bad), anyList(), any(), anyList(), any()))
+                .thenThrow(new IllegalArgumentException("bad transaction"));
+        when(enclave.encryptPayload(eq(good), anyList(), any(), anyList(), any())).thenReturn(payloadFor(good));
+
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> pool.execute(() -> await(running, release)));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final Future<EncodedPayload> badResult = callers.submit(() -> pool.encryptPayload(request(bad)));
+        final Future<EncodedPayload> goodResult = callers.submit(() -> pool.encryptPayload(request(good)));
+        waitForQueued(2);
+        release.countDown();
+
+        assertThat(goodResult.get(5, TimeUnit.SECONDS).getCipherText()).isEqualTo(good.getEncryptedPayload());
+        final Throwable throwable = catchThrowable(() -> badResult.get(5, TimeUnit.SECONDS));
+        assertThat(throwable).hasCauseInstanceOf(IllegalArgumentException.class);
+        verify(enclave).encryptPayloads(anyList());
+    }
+
+    @Test
+    public void encryptionIsRejectedWhenQueueIsFull() throws Exception {
+        pool = new EnclaveWorkerPool(enclave, 1, 1);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> pool.execute(() -> await(running, release)));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> pool.execute(() -> true));
+        waitForQueued(1);
+
+        final Throwable throwable = catchThrowable(() -> pool.encryptPayload(request(rawTransaction(1))));
+
+        assertThat(throwable).isInstanceOf(EnclaveBusyException.class);
+        release.countDown();
+        verifyZeroInteractions(enclave);
+    }
+
+    @Test
+    public void invalidSizes() {
+        assertThat(catchThrowable(() -> new EnclaveWorkerPool(enclave, 0, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> new EnclaveWorkerPool(enclave, 1, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void waitForQueued(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000L;
+        while (pool.getQueueDepth() < count) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static boolean await(CountDownLatch running, CountDownLatch release) {
+        running.countDown();
+        try {
+            return release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    static RawTransaction rawTransaction(int index) {
+        return new RawTransaction(
+                ("payload" + index).getBytes(),
+                "key".getBytes(),
+                new Nonce("nonce".getBytes()),
+                PublicKey.from("sender".getBytes()));
+    }
+
+    static RawTransactionEncryptRequest request(RawTransaction transaction) {
+        return RawTransactionEncryptRequest.Builder.create()
+                .withRawTransaction(transaction)
+                .withRecipients(List.of(PublicKey.from("recipient".getBytes())))
+                .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+                .withAffectedContractTransactions(List.of())
+                .withExecHash(new byte[0])
+                .build();
+    }
+
+    static EncodedPayload payloadFor(RawTransaction transaction) {
+        return EncodedPayload.Builder.create()
+                .withSenderKey(transaction.getFrom())
+                .withCipherText(transaction.getEncryptedPayload())
+                .withCipherTextNonce(transaction.getNonce())
+                .withRecipientNonce(transaction.getNonce())
+                .withRecipientBoxes(List.of("box".getBytes()))
+                .withRecipientKeys(List.of(PublicKey.from("recipient".getBytes())))
+                .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+                .build();
+    }
+}
@@ -0,0 +1,265 @@
+package com.quorum.tessera.enclave.rest;
+
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EnclaveClient;
+import com.quorum.tessera.enclave.EnclaveNotAvailableException;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.service.Service;
+import org.glassfish.jersey.test.JerseyTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class LoadBalancedEnclaveClientTest {
+
+    private static final PublicKey KEY = PublicKey.from("KEY".getBytes());
+
+    private final List<Enclave> enclaves = new ArrayList<>();
+
+    private final List<JerseyTest> servers = new ArrayList<>();
+
+    private final List<Boolean> running = new ArrayList<>();
+
+    // separate from the servers' own clients, which are closed when a server is stopped
+    private final Client restClient = ClientBuilder.newClient();
+
+    private LoadBalancedEnclaveClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        final List<RemoteEnclaveInstance> instances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Enclave enclave = mock(Enclave.class);
+            when(enclave.defaultPublicKey()).thenReturn(KEY);
+            when(enclave.status()).thenReturn(Service.Status.STARTED);
+
+            final JerseyTest server = Util.create(enclave);
+            server.setUp();
+
+            enclaves.add(enclave);
+            servers.add(server);
+            running.add(true);
+
+            final URI uri = server.target().getUri();
+            instances.add(new RemoteEnclaveInstance(uri, new RestfulEnclaveClient(restClient, uri)));
+        }
+
+        client = new LoadBalancedEnclaveClient(instances, null, 100L);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.stop();
+        restClient.close();
+        for (int i = 0; i < servers.size(); i++) {
+            if (running.get(i)) {
+                servers.get(i).tearDown();
+            }
+        }
+    }
+
+    @Test
+    public void callsAreSpreadAcrossEnclaves() {
+        for (int i = 0; i < 30; i++) {
+            assertThat(client.defaultPublicKey()).isEqualTo(KEY);
+        }
+
+        enclaves.forEach(enclave -> verify(enclave, times(10)).defaultPublicKey());
+        assertThat(client.getInstances()).extracting(RemoteEnclaveInstance::getSuccessCount).containsOnly(10L);
+        assertThat(client.getInstances()).extracting(RemoteEnclaveInstance::getOutstandingRequests).containsOnly(0);
+    }
+
+    @Test
+    public void failsOverWhenEnclaveIsDown() throws Exception {
+        stopServer(1);
+
+        for (int i = 0; i < 30; i++) {
+            assertThat(client.defaultPublicKey()).isEqualTo(KEY);
+        }
+
+        final RemoteEnclaveInstance down = client.getInstances().get(1);
+        assertThat(down.getSuccessCount()).isZero();
+        assertThat(down.getFailureCount()).isGreaterThan(0);
+        waitUntil(() -> !down.isHealthy());
+
+        final long failures = down.getFailureCount();
+        for (int i = 0; i < 30; i++) {
+            client.defaultPublicKey();
+        }
+        assertThat(down.getFailureCount()).isEqualTo(failures);
+        assertThat(client.status()).isEqualTo(Service.Status.STARTED);
+    }
+
+    @Test
+    public void statusIsStoppedOnlyWhenEveryEnclaveIsDown() throws Exception {
+        assertThat(client.status()).isEqualTo(Service.Status.STARTED);
+
+        stopServer(0);
+        stopServer(1);
+        assertThat(client.status()).isEqualTo(Service.Status.STARTED);
+
+        stopServer(2);
+        assertThat(client.status()).isEqualTo(Service.Status.STOPPED);
+        assertThat(client.getInstances()).extracting(RemoteEnclaveInstance::isHealthy).containsOnly(false);
+
+        final Throwable throwable = catchThrowable(client::defaultPublicKey);
+        assertThat(throwable).isInstanceOf(EnclaveNotAvailableException.class);
+    }
+
+    @Test
+    public void unhealthyEnclaveRejoinsWhenItRecovers() throws Exception {
+        final RemoteEnclaveInstance instance = client.getInstances().get(2);
+        when(enclaves.get(2).status()).thenReturn(Service.Status.STOPPED);
+        waitUntil(() -> !instance.isHealthy());
+
+        for (int i = 0; i < 10; i++) {
+            client.defaultPublicKey();
+        }
+        verify(enclaves.get(2), never()).defaultPublicKey();
+
+        when(enclaves.get(2).status()).thenReturn(Service.Status.STARTED);
+        waitUntil(instance::isHealthy);
+
+        for (int i = 0; i < 30; i++) {
+            client.defaultPublicKey();
+        }
+        verify(enclaves.get(2), atLeastOnce()).defaultPublicKey();
+    }
+
+    @Test
+    public void errorResponsesAreNotRetried() {
+        enclaves.forEach(enclave -> when(enclave.getPublicKeys()).thenThrow(new RuntimeException("no keys")));
+
+        final Throwable throwable = catchThrowable(client::getPublicKeys);
+
+        assertThat(throwable).isInstanceOf(EnclaveResponseException.class).hasFieldOrPropertyWithValue("status", 500);
+        assertThat(client.getInstances().stream().mapToLong(RemoteEnclaveInstance::getFailureCount).sum())
+                .isEqualTo(1L);
+        assertThat(client.getInstances()).extracting(RemoteEnclaveInstance::isHealthy).containsOnly(true);
+    }
+
+    @Test
+    public void busyEnclavesAreRetriedWithoutTakingThemOutOfRotation() throws Exception {
+        when(enclaves.get(0).getPublicKeys()).thenThrow(new EnclaveBusyException("busy"));
+        when(enclaves.get(1).getPublicKeys()).thenThrow(new EnclaveBusyException("busy"));
+        when(enclaves.get(2).getPublicKeys()).thenReturn(Set.of(KEY));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(client.getPublicKeys()).containsExactly(KEY);
+        }
+
+        verify(enclaves.get(2), times(3)).getPublicKeys();
+
+        // the busy enclaves still answer their status checks
+        Thread.sleep(300);
+        assertThat(client.getInstances()).extracting(RemoteEnclaveInstance::isHealthy).containsOnly(true);
+    }
+
+    @Test
+    public void registersEachEnclaveAsMXBean() throws Exception {
+        final MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        final List<RemoteEnclaveInstance> instances = new ArrayList<>();
+        for (JerseyTest server : servers) {
+            final URI uri = server.target().getUri();
+            instances.add(new RemoteEnclaveInstance(uri, new RestfulEnclaveClient(restClient, uri)));
+        }
+        final LoadBalancedEnclaveClient registered = new LoadBalancedEnclaveClient(instances, mBeanServer);
+        registered.defaultPublicKey();
+
+        final Set<ObjectName> names =
+                mBeanServer.queryNames(new ObjectName("com.quorum.tessera:type=RemoteEnclave,*"), null);
+        assertThat(names).hasSize(3);
+
+        long total = 0;
+        for (ObjectName name : names) {
+            total += (Long) mBeanServer.getAttribute(name, "SuccessCount");
+        }
+        assertThat(total).isEqualTo(1);
+
+        registered.stop();
+    }
+
+    @Test
+    public void callGoesToEnclaveWithFewestOutstandingRequests() throws Exception {
+        final CountDownLatch calling = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final EnclaveClient slow = mock(EnclaveClient.class);
+        when(slow.defaultPublicKey())
+                .thenAnswer(
+                        invocation -> {
+                            calling.countDown();
+                            release.await();
+                            return KEY;
+                        });
+        final EnclaveClient fast = mock(EnclaveClient.class);
+        when(fast.defaultPublicKey()).thenReturn(KEY);
+
+        final LoadBalancedEnclaveClient balanced =
+                new LoadBalancedEnclaveClient(
+                        List.of(
+                                new RemoteEnclaveInstance(URI.create("http://slow"), slow),
+                                new RemoteEnclaveInstance(URI.create("http://fast"), fast)),
+                        null,
+                        60000L);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<PublicKey> blocked = executor.submit(balanced::defaultPublicKey);
+            assertThat(calling.await(5, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 5; i++) {
+                balanced.defaultPublicKey();
+            }
+            verify(fast, times(5)).defaultPublicKey();
+            verify(slow, times(1)).defaultPublicKey();
+            assertThat(balanced.getInstances().get(0).getOutstandingRequests()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(blocked.get(5, TimeUnit.SECONDS)).isEqualTo(KEY);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            balanced.stop();
+        }
+    }
+
+    @Test
+    public void atLeastOneEnclaveIsRequired() {
+        final Throwable throwable = catchThrowable(() -> new LoadBalancedEnclaveClient(List.of(), null));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void stopServer(int index) throws Exception {
+        servers.get(index).tearDown();
+        running.set(index, false);
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
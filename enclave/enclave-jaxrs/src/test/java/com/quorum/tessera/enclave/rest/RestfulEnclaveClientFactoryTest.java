@@ -5,6 +5,7 @@ import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.enclave.EnclaveClient;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,15 +21,37 @@ public class RestfulEnclaveClientFactoryTest {
         final ServerConfig serverConfig = new ServerConfig();
         serverConfig.setApp(AppType.ENCLAVE);
         serverConfig.setCommunicationType(CommunicationType.REST);
-        
+
         serverConfig.setServerAddress("http://bogushost:99");
         List<ServerConfig> serverConfigs = Arrays.asList(serverConfig);
         config.setServerConfigs(serverConfigs);
 
         EnclaveClient result = restfulEnclaveClientFactory.create(config);
 
-        assertThat(result).isNotNull();
+        assertThat(result).isNotNull().isExactlyInstanceOf(RestfulEnclaveClient.class);
+    }
+
+    @Test
+    public void createWithSeveralEnclaves() {
+        final Config config = new Config();
+        List<ServerConfig> serverConfigs = new ArrayList<>();
+        for (String address : Arrays.asList("http://bogushost:99", "http://bogushost:98")) {
+            final ServerConfig serverConfig = new ServerConfig();
+            serverConfig.setApp(AppType.ENCLAVE);
+            serverConfig.setCommunicationType(CommunicationType.REST);
+            serverConfig.setServerAddress(address);
+            serverConfigs.add(serverConfig);
+        }
+        config.setServerConfigs(serverConfigs);
 
+        EnclaveClient result = restfulEnclaveClientFactory.create(config);
+
+        assertThat(result).isExactlyInstanceOf(LoadBalancedEnclaveClient.class);
+        assertThat(((LoadBalancedEnclaveClient) result).getInstances())
+                .extracting(RemoteEnclaveInstance::getUrl)
+                .containsExactly("http://bogushost:99", "http://bogushost:98");
+
+        result.stop();
     }
 
     @Test(expected = java.util.NoSuchElementException.class)
@@ -42,7 +65,6 @@ public class RestfulEnclaveClientFactoryTest {
         config.setServerConfigs(serverConfigs);
 
         restfulEnclaveClientFactory.create(config);
-
     }
 
     @Test(expected = java.util.NoSuchElementException.class)
@@ -56,6 +78,5 @@ public class RestfulEnclaveClientFactoryTest {
         config.setServerConfigs(serverConfigs);
 
         restfulEnclaveClientFactory.create(config);
-
     }
 }
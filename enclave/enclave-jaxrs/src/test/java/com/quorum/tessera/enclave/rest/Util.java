@@ -12,6 +12,10 @@ import org.springframework.util.SocketUtils;
 public class Util {
 
     public static JerseyTest create(Enclave enclave) {
+        return create(enclave, new EnclaveWorkerPool(enclave));
+    }
+
+    public static JerseyTest create(Enclave enclave, EnclaveWorkerPool workerPool) {
 
         SLF4JBridgeHandler.removeHandlersForRootLogger();
         SLF4JBridgeHandler.install();
@@ -19,17 +23,16 @@ public class Util {
         return new JerseyTest() {
             @Override
             protected Application configure() {
-                
+
                 enable(TestProperties.LOG_TRAFFIC);
                 enable(TestProperties.DUMP_ENTITY);
                 set(TestProperties.CONTAINER_PORT, SocketUtils.findAvailableTcpPort());
-                EnclaveApplication application = new EnclaveApplication(new EnclaveResource(enclave));
+                EnclaveApplication application = new EnclaveApplication(new EnclaveResource(enclave, workerPool));
 
                 ResourceConfig config = ResourceConfig.forApplication(application);
                 config.packages("com.quorum.tessera.enclave.rest");
                 return config;
             }
-
         };
     }
 }
@@ -1,5 +1,8 @@
 package com.quorum.tessera.encryption;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * The API provided to the application that all implementation of this API
  * module should extend
@@ -61,6 +64,24 @@ public interface Encryptor {
         return sealAfterPrecomputation(message, nonce, sharedKey);
     }
 
+    /**
+     * Encrypt the same payload once for each of the given shared keys,
+     * such as when creating the recipient boxes for a transaction
+     * <p>
+     * The same nonce is used with every key, so the keys must all be distinct.
+     *
+     * @param message    The payload to be encrypted
+     * @param nonce      A nonce that has not been used with any of the shared keys
+     * @param sharedKeys The shared keys to encrypt the payload with
+     * @return The encrypted payloads, in the same order as the provided keys
+     * @see Encryptor#sealAfterPrecomputation(byte[], Nonce, SharedKey)
+     */
+    default List<byte[]> sealAfterPrecomputation(byte[] message, Nonce nonce, List<SharedKey> sharedKeys) {
+        return sharedKeys.stream()
+                .map(sharedKey -> sealAfterPrecomputation(message, nonce, sharedKey))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Decrypts a payload using the shared key between the sender and recipient
      *
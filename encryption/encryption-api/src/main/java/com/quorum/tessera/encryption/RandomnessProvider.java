@@ -0,0 +1,39 @@
+package com.quorum.tessera.encryption;
+
+import com.quorum.tessera.ServiceLoaderUtil;
+
+import java.security.SecureRandom;
+
+/**
+ * The source of the random bytes used by {@link Encryptor} implementations for nonces and keys.
+ *
+ * <p>Implementations must be safe to call from many threads at once. An alternative implementation can be supplied
+ * through the service loader.
+ */
+public interface RandomnessProvider {
+
+    /**
+     * Fills the given array with random bytes
+     *
+     * @param bytes the array to fill
+     */
+    void nextBytes(byte[] bytes);
+
+    /**
+     * Adapts this provider for APIs that take a {@link SecureRandom}, such as key pair generators
+     *
+     * @return a {@link SecureRandom} that draws its bytes from this provider
+     */
+    default SecureRandom asSecureRandom() {
+        return new RandomnessProviderSecureRandom(this);
+    }
+
+    /**
+     * Retrieves the implementation from the service loader, falling back to a per-thread DRBG
+     *
+     * @return the randomness provider to use
+     */
+    static RandomnessProvider create() {
+        return ServiceLoaderUtil.load(RandomnessProvider.class).orElseGet(ThreadLocalDrbgRandomnessProvider::new);
+    }
+}
@@ -0,0 +1,36 @@
+package com.quorum.tessera.encryption;
+
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+
+/** A {@link SecureRandom} view of a {@link RandomnessProvider}, which ignores any seed material it is given */
+class RandomnessProviderSecureRandom extends SecureRandom {
+
+    RandomnessProviderSecureRandom(final RandomnessProvider randomnessProvider) {
+        super(new Spi(randomnessProvider), null);
+    }
+
+    private static class Spi extends SecureRandomSpi {
+
+        private final RandomnessProvider randomnessProvider;
+
+        private Spi(final RandomnessProvider randomnessProvider) {
+            this.randomnessProvider = randomnessProvider;
+        }
+
+        @Override
+        protected void engineSetSeed(final byte[] seed) {}
+
+        @Override
+        protected void engineNextBytes(final byte[] bytes) {
+            randomnessProvider.nextBytes(bytes);
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(final int numBytes) {
+            final byte[] seed = new byte[numBytes];
+            randomnessProvider.nextBytes(seed);
+            return seed;
+        }
+    }
+}
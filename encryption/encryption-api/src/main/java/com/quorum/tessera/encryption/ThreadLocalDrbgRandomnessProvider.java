@@ -0,0 +1,81 @@
+package com.quorum.tessera.encryption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import static java.security.DrbgParameters.Capability.RESEED_ONLY;
+
+/**
+ * Gives every thread its own NIST SP 800-90A DRBG, seeded from the operating system entropy source, so that concurrent
+ * callers never contend on a shared {@link SecureRandom} or block waiting for entropy.
+ *
+ * <p>Each generator is reseeded from the entropy source after it has produced {@link #RESEED_BYTES} bytes or after
+ * {@link #RESEED_INTERVAL_NANOS} has passed, whichever comes first.
+ */
+public class ThreadLocalDrbgRandomnessProvider implements RandomnessProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThreadLocalDrbgRandomnessProvider.class);
+
+    static final int STRENGTH = 256;
+
+    static final long RESEED_BYTES = 1L << 20;
+
+    static final long RESEED_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final ThreadLocal<Generator> generators = ThreadLocal.withInitial(Generator::new);
+
+    @Override
+    public void nextBytes(final byte[] bytes) {
+        generators.get().nextBytes(bytes);
+    }
+
+    /** @return the number of times the calling thread's generator has been reseeded */
+    long getReseedCount() {
+        return generators.get().reseedCount;
+    }
+
+    private static class Generator {
+
+        private final SecureRandom drbg;
+
+        private long bytesSinceReseed;
+
+        private long lastReseed = System.nanoTime();
+
+        private long reseedCount;
+
+        private Generator() {
+            // distinguishes the generators of different threads, in addition to their independent seeds
+            final byte[] personalization =
+                    ByteBuffer.allocate(2 * Long.BYTES)
+                            .putLong(Thread.currentThread().getId())
+                            .putLong(System.nanoTime())
+                            .array();
+            try {
+                drbg =
+                        SecureRandom.getInstance(
+                                "DRBG", DrbgParameters.instantiation(STRENGTH, RESEED_ONLY, personalization));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new EncryptorException("DRBG is not available: " + ex.getMessage());
+            }
+            LOGGER.debug("Created DRBG for thread {}", Thread.currentThread().getName());
+        }
+
+        private void nextBytes(final byte[] bytes) {
+            if (bytesSinceReseed >= RESEED_BYTES || System.nanoTime() - lastReseed >= RESEED_INTERVAL_NANOS) {
+                drbg.reseed();
+                bytesSinceReseed = 0;
+                lastReseed = System.nanoTime();
+                reseedCount++;
+            }
+            drbg.nextBytes(bytes);
+            bytesSinceReseed += bytes.length;
+        }
+    }
+}
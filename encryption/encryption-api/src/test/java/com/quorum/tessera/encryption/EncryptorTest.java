@@ -1,5 +1,7 @@
 package com.quorum.tessera.encryption;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Before;
 import org.junit.Test;
@@ -40,6 +42,19 @@ public class EncryptorTest {
         assertThat(result).isEqualTo(outcome);
     }
 
+    @Test
+    public void sealAfterPrecomputationWithManySharedKeys() {
+        byte[] message = "MESSAGE".getBytes();
+        Nonce nonce = mock(Nonce.class);
+        List<SharedKey> sharedKeys = List.of(SharedKey.from("ONE".getBytes()), SharedKey.from("TWO".getBytes()));
+
+        List<byte[]> result = encryptor.sealAfterPrecomputation(message, nonce, sharedKeys);
+
+        assertThat(result)
+                .hasSize(2)
+                .allSatisfy(r -> assertThat(r).isEqualTo("sealAfterPrecomputationWithSharedKey".getBytes()));
+    }
+
     @Test
     public void createMasterKey() {
 
@@ -0,0 +1,102 @@
+package com.quorum.tessera.encryption;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Draws nonces from many threads at once, as concurrent sends do, comparing one shared {@link SecureRandom} against the
+ * per-thread DRBG provider.
+ */
+public class RandomnessProviderBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RandomnessProviderBenchmarkTest.class);
+
+    private static final int THREADS = 8;
+
+    private static final int NONCES_PER_THREAD = 50_000;
+
+    @Test
+    public void perThreadProviderUnderContention() throws Exception {
+        final SecureRandom shared = new SecureRandom();
+        final RandomnessProvider perThread = new ThreadLocalDrbgRandomnessProvider();
+
+        // warm up both, including creating each thread's generator
+        run(shared::nextBytes);
+        run(perThread);
+
+        final Result sharedResult = run(shared::nextBytes);
+        final Result perThreadResult = run(perThread);
+
+        LOGGER.info(
+                "{} threads x {} nonces: shared SecureRandom ({}) {}ms, max {}us per nonce; per-thread DRBG {}ms, max {}us per nonce",
+                THREADS,
+                NONCES_PER_THREAD,
+                shared.getAlgorithm(),
+                sharedResult.millis,
+                sharedResult.maxMicros,
+                perThreadResult.millis,
+                perThreadResult.maxMicros);
+
+        final byte[] first = new byte[24];
+        final byte[] second = new byte[24];
+        perThread.nextBytes(first);
+        perThread.nextBytes(second);
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    private static Result run(RandomnessProvider randomnessProvider) throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            final long start = System.nanoTime();
+
+            final List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(
+                        executorService.submit(
+                                () -> {
+                                    long maxNanos = 0;
+                                    final byte[] nonce = new byte[24];
+                                    for (int i = 0; i < NONCES_PER_THREAD; i++) {
+                                        final long before = System.nanoTime();
+                                        randomnessProvider.nextBytes(nonce);
+                                        maxNanos = Math.max(maxNanos, System.nanoTime() - before);
+                                    }
+                                    return maxNanos;
+                                }));
+            }
+
+            long maxNanos = 0;
+            for (Future<Long> future : futures) {
+                maxNanos = Math.max(maxNanos, future.get());
+            }
+
+            return new Result(
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), TimeUnit.NANOSECONDS.toMicros(maxNanos));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private static class Result {
+
+        private final long millis;
+
+        private final long maxMicros;
+
+        private Result(long millis, long maxMicros) {
+            this.millis = millis;
+            this.maxMicros = maxMicros;
+        }
+    }
+}
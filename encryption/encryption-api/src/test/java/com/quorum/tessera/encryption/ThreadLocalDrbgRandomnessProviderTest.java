@@ -0,0 +1,136 @@
+package com.quorum.tessera.encryption;
+
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sanity checks on the generator output, using simplified forms of the NIST SP 800-22 frequency and runs tests. The
+ * bounds are about five standard deviations wide, so a correct generator essentially never fails them.
+ */
+public class ThreadLocalDrbgRandomnessProviderTest {
+
+    private static final int SAMPLE_BYTES = 1 << 20;
+
+    private final ThreadLocalDrbgRandomnessProvider randomnessProvider = new ThreadLocalDrbgRandomnessProvider();
+
+    @Test
+    public void bitFrequencyIsBalanced() {
+        final byte[] sample = sample();
+
+        long ones = 0;
+        for (byte b : sample) {
+            ones += Integer.bitCount(b & 0xff);
+        }
+
+        final double bits = SAMPLE_BYTES * 8.0;
+        // expected bits / 2, standard deviation sqrt(bits) / 2
+        assertThat(Math.abs(ones - bits / 2)).isLessThan(5 * Math.sqrt(bits) / 2);
+    }
+
+    @Test
+    public void byteValuesAreUniform() {
+        final byte[] sample = sample();
+
+        final long[] counts = new long[256];
+        for (byte b : sample) {
+            counts[b & 0xff]++;
+        }
+
+        final double expected = SAMPLE_BYTES / 256.0;
+        double chiSquared = 0;
+        for (long count : counts) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+
+        // 255 degrees of freedom: mean 255, standard deviation ~22.6
+        assertThat(chiSquared).isBetween(255 - 5 * 22.6, 255 + 5 * 22.6);
+    }
+
+    @Test
+    public void runsOfBitsHaveExpectedCount() {
+        final byte[] sample = sample();
+
+        long runs = 1;
+        int previous = sample[0] & 1;
+        for (int i = 0; i < SAMPLE_BYTES * 8; i++) {
+            final int bit = (sample[i / 8] >> (i % 8)) & 1;
+            if (bit != previous) {
+                runs++;
+                previous = bit;
+            }
+        }
+
+        final double bits = SAMPLE_BYTES * 8.0;
+        assertThat(Math.abs(runs - bits / 2)).isLessThan(5 * Math.sqrt(bits) / 2);
+    }
+
+    @Test
+    public void threadsHaveIndependentStreams() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<byte[]>> tasks =
+                    Collections.nCopies(
+                            64,
+                            () -> {
+                                byte[] nonce = new byte[24];
+                                randomnessProvider.nextBytes(nonce);
+                                return nonce;
+                            });
+
+            final Set<String> nonces = new HashSet<>();
+            for (Future<byte[]> nonce : executorService.invokeAll(tasks)) {
+                nonces.add(Arrays.toString(nonce.get()));
+            }
+
+            assertThat(nonces).hasSize(64);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void generatorIsReseededAfterReseedBytes() {
+        final byte[] block = new byte[64 * 1024];
+        final long before = randomnessProvider.getReseedCount();
+
+        for (long produced = 0; produced <= ThreadLocalDrbgRandomnessProvider.RESEED_BYTES; produced += block.length) {
+            randomnessProvider.nextBytes(block);
+        }
+        randomnessProvider.nextBytes(block);
+
+        assertThat(randomnessProvider.getReseedCount()).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void secureRandomViewDrawsFromProvider() {
+        final SecureRandom secureRandom = randomnessProvider.asSecureRandom();
+
+        final byte[] first = new byte[32];
+        final byte[] second = new byte[32];
+        secureRandom.nextBytes(first);
+        secureRandom.nextBytes(second);
+
+        assertThat(first).isNotEqualTo(second).isNotEqualTo(new byte[32]);
+        assertThat(secureRandom.generateSeed(16)).hasSize(16);
+    }
+
+    @Test
+    public void defaultProviderIsPerThreadDrbg() {
+        assertThat(RandomnessProvider.create()).isInstanceOf(ThreadLocalDrbgRandomnessProvider.class);
+    }
+
+    private byte[] sample() {
+        final byte[] sample = new byte[SAMPLE_BYTES];
+        randomnessProvider.nextBytes(sample);
+        return sample;
+    }
+}
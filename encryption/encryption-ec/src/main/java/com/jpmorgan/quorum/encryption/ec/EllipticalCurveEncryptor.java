@@ -7,6 +7,7 @@ import com.quorum.tessera.encryption.SharedKey;
 import com.quorum.tessera.encryption.Encryptor;
 import com.quorum.tessera.encryption.EncryptorException;
 import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.RandomnessProvider;
 import org.bouncycastle.jcajce.provider.digest.SHA3;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +20,9 @@ import java.security.spec.ECGenParameterSpec;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 public class EllipticalCurveEncryptor implements Encryptor {
 
@@ -28,7 +32,7 @@ public class EllipticalCurveEncryptor implements Encryptor {
 
     private final int sharedKeyLength;
 
-    private final SecureRandom secureRandom;
+    private final RandomnessProvider randomnessProvider;
 
     private final ECGenParameterSpec ecSpec;
 
@@ -38,20 +42,40 @@ public class EllipticalCurveEncryptor implements Encryptor {
 
     private final String symmetricCipher;
 
+    /*
+     * JCA lookups are expensive relative to the work done for a small payload, so each thread keeps its own
+     * instances for the algorithms this encryptor was configured with. Instances are re-initialised before every use.
+     */
+    private final ThreadLocal<Cipher> ciphers = new ThreadLocal<>();
+
+    private final ThreadLocal<KeyAgreement> keyAgreements = new ThreadLocal<>();
+
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(SHA3.Digest256::new);
+
     public EllipticalCurveEncryptor(final String symmetricCipher, final String ellipticCurve) {
         this(symmetricCipher, ellipticCurve, 24, 32);
     }
 
-    public EllipticalCurveEncryptor(final String symmetricCipher, final String ellipticCurve, int nonceLength, int sharedKeyLength) {
+    public EllipticalCurveEncryptor(
+            final String symmetricCipher, final String ellipticCurve, int nonceLength, int sharedKeyLength) {
+        this(symmetricCipher, ellipticCurve, nonceLength, sharedKeyLength, RandomnessProvider.create());
+    }
+
+    public EllipticalCurveEncryptor(
+            final String symmetricCipher,
+            final String ellipticCurve,
+            int nonceLength,
+            int sharedKeyLength,
+            final RandomnessProvider randomnessProvider) {
         this.nonceLength = nonceLength;
         this.sharedKeyLength = sharedKeyLength;
         this.symmetricCipher = symmetricCipher;
-        secureRandom = new SecureRandom();
+        this.randomnessProvider = Objects.requireNonNull(randomnessProvider);
         try {
             ecSpec = new ECGenParameterSpec(ellipticCurve);
             keyFactory = KeyFactory.getInstance("EC");
             keyPairGenerator = KeyPairGenerator.getInstance("EC");
-            keyPairGenerator.initialize(ecSpec, secureRandom);
+            keyPairGenerator.initialize(ecSpec, randomnessProvider.asSecureRandom());
         } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
             LOGGER.error("unable to initialize encryption facade", e);
             throw new EncryptorException("unable to initialize Encryptor");
@@ -61,14 +85,17 @@ public class EllipticalCurveEncryptor implements Encryptor {
     @Override
     public SharedKey computeSharedKey(PublicKey publicKey, PrivateKey privateKey) {
         try {
-            KeyAgreement keyAgreement = KeyAgreement.getInstance("ECDH");
+            KeyAgreement keyAgreement = keyAgreement();
 
-            java.security.PrivateKey privKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKey.getKeyBytes()));
+            java.security.PrivateKey privKey =
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKey.getKeyBytes()));
 
             keyAgreement.init(privKey);
 
-            LOGGER.info("Encode public key {}",publicKey.encodeToBase64());
-            
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("Encode public key {}", publicKey.encodeToBase64());
+            }
+
             X509EncodedKeySpec encodedKeySpec = new X509EncodedKeySpec(publicKey.getKeyBytes());
 
             java.security.PublicKey pubKey = keyFactory.generatePublic(encodedKeySpec);
@@ -77,8 +104,7 @@ public class EllipticalCurveEncryptor implements Encryptor {
 
             byte[] secret = keyAgreement.generateSecret();
             // for now ensure the secret is 32 bytes long (not sure if the keyAgreement secret length may vary
-            MessageDigest sha3256 = new SHA3.Digest256();
-            final byte[] digest = sha3256.digest(secret);
+            final byte[] digest = digests.get().digest(secret);
             return SharedKey.from(digest);
         } catch (InvalidKeyException | NoSuchAlgorithmException | InvalidKeySpecException e) {
             LOGGER.error("unable to generate shared secret", e);
@@ -99,12 +125,7 @@ public class EllipticalCurveEncryptor implements Encryptor {
     @Override
     public byte[] sealAfterPrecomputation(byte[] message, Nonce nonce, SharedKey sharedKey) {
         try {
-            Cipher cipher = Cipher.getInstance(this.symmetricCipher);
-            cipher.init(
-                    Cipher.ENCRYPT_MODE,
-                    new SecretKeySpec(sharedKey.getKeyBytes(), "AES"),
-                    // does this mean that only 16 bytes from the nonce are being used?
-                    new GCMParameterSpec(128, nonce.getNonceBytes()));
+            Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, sharedKey, nonce);
             return cipher.doFinal(message);
         } catch (GeneralSecurityException e) {
             LOGGER.error("unable to perform symmetric encryption", e);
@@ -112,14 +133,25 @@ public class EllipticalCurveEncryptor implements Encryptor {
         }
     }
 
+    @Override
+    public List<byte[]> sealAfterPrecomputation(byte[] message, Nonce nonce, List<SharedKey> sharedKeys) {
+        final List<byte[]> cipherTexts = new ArrayList<>(sharedKeys.size());
+        try {
+            for (SharedKey sharedKey : sharedKeys) {
+                Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, sharedKey, nonce);
+                cipherTexts.add(cipher.doFinal(message));
+            }
+            return cipherTexts;
+        } catch (GeneralSecurityException e) {
+            LOGGER.error("unable to perform symmetric encryption", e);
+            throw new EncryptorException("unable to perform symmetric encryption");
+        }
+    }
+
     @Override
     public byte[] openAfterPrecomputation(byte[] cipherText, Nonce nonce, SharedKey sharedKey) {
         try {
-            Cipher cipher = Cipher.getInstance(symmetricCipher);
-            cipher.init(
-                    Cipher.DECRYPT_MODE,
-                    new SecretKeySpec(sharedKey.getKeyBytes(), "AES"),
-                    new GCMParameterSpec(128, nonce.getNonceBytes()));
+            Cipher cipher = initCipher(Cipher.DECRYPT_MODE, sharedKey, nonce);
             return cipher.doFinal(cipherText);
         } catch (GeneralSecurityException e) {
             LOGGER.error("unable to perform symmetric decryption", e);
@@ -131,11 +163,13 @@ public class EllipticalCurveEncryptor implements Encryptor {
     public Nonce randomNonce() {
         final byte[] nonceBytes = new byte[nonceLength];
 
-        this.secureRandom.nextBytes(nonceBytes);
+        this.randomnessProvider.nextBytes(nonceBytes);
 
         final Nonce nonce = new Nonce(nonceBytes);
 
-        LOGGER.debug("Generated random nonce {}", nonce);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Generated random nonce {}", nonce);
+        }
 
         return nonce;
     }
@@ -149,20 +183,55 @@ public class EllipticalCurveEncryptor implements Encryptor {
 
     @Override
     public SharedKey createSingleKey() {
-        LOGGER.debug("Generating random key");
+        LOGGER.trace("Generating random key");
 
         final byte[] keyBytes = new byte[sharedKeyLength];
 
-        this.secureRandom.nextBytes(keyBytes);
+        this.randomnessProvider.nextBytes(keyBytes);
 
         final SharedKey key = SharedKey.from(keyBytes);
 
-        LOGGER.debug("Random key generated");
-        LOGGER.debug("Generated key with value {}", key);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Random key generated");
+            LOGGER.trace("Generated key with value {}", key);
+        }
 
         return key;
     }
 
+    private Cipher initCipher(int mode, SharedKey sharedKey, Nonce nonce) throws GeneralSecurityException {
+        final SecretKeySpec keySpec = new SecretKeySpec(sharedKey.getKeyBytes(), "AES");
+        // does this mean that only 16 bytes from the nonce are being used?
+        final GCMParameterSpec parameterSpec = new GCMParameterSpec(128, nonce.getNonceBytes());
+
+        Cipher cipher = ciphers.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(symmetricCipher);
+            ciphers.set(cipher);
+        }
+
+        try {
+            cipher.init(mode, keySpec, parameterSpec);
+        } catch (InvalidAlgorithmParameterException ex) {
+            // GCM refuses to re-initialise an instance for encryption with the key and nonce it was last used with.
+            // A fresh instance has no such history, which matches the behaviour of creating one per call.
+            LOGGER.trace("Unable to reuse cipher instance, creating a new one", ex);
+            cipher = Cipher.getInstance(symmetricCipher);
+            cipher.init(mode, keySpec, parameterSpec);
+            ciphers.set(cipher);
+        }
+        return cipher;
+    }
+
+    private KeyAgreement keyAgreement() throws NoSuchAlgorithmException {
+        KeyAgreement keyAgreement = keyAgreements.get();
+        if (keyAgreement == null) {
+            keyAgreement = KeyAgreement.getInstance("ECDH");
+            keyAgreements.set(keyAgreement);
+        }
+        return keyAgreement;
+    }
+
     private byte[] keyToBytes(java.security.PublicKey publicKey) {
         // this produces a 33 byte public key for the P-256 curve which then gets encoded to 44 chars as base64 (just
         // like nacl)
@@ -174,5 +243,4 @@ public class EllipticalCurveEncryptor implements Encryptor {
     private byte[] keyToBytes(java.security.PrivateKey privateKey) {
         return privateKey.getEncoded();
     }
-
 }
@@ -0,0 +1,157 @@
+package com.jpmorgan.quorum.encryption.ec;
+
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.encryption.MasterKey;
+import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.SharedKey;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.junit.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.KeyFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that reusing JCA instances produces exactly the same output as looking up a fresh instance for every
+ * operation, which is how the encryptor originally behaved.
+ */
+public class EllipticalCurveEncryptorParityTest {
+
+    private static final String SYMMETRIC_CIPHER = "AES/GCM/NoPadding";
+
+    private final EllipticalCurveEncryptor encryptor = new EllipticalCurveEncryptor(SYMMETRIC_CIPHER, "secp256r1");
+
+    @Test
+    public void computeSharedKeyMatchesFreshInstances() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            KeyPair first = encryptor.generateNewKeys();
+            KeyPair second = encryptor.generateNewKeys();
+
+            SharedKey expected = referenceSharedKey(first, second);
+
+            assertThat(encryptor.computeSharedKey(first.getPublicKey(), second.getPrivateKey())).isEqualTo(expected);
+            assertThat(encryptor.computeSharedKey(second.getPublicKey(), first.getPrivateKey())).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void sealAndOpenMatchFreshInstances() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            MasterKey masterKey = encryptor.createMasterKey();
+            Nonce nonce = encryptor.randomNonce();
+            byte[] message = ("message-" + i).getBytes();
+
+            byte[] expected = referenceCipher(Cipher.ENCRYPT_MODE, masterKey.getKeyBytes(), nonce, message);
+
+            byte[] cipherText = encryptor.sealAfterPrecomputation(message, nonce, masterKey);
+            assertThat(cipherText).isEqualTo(expected);
+
+            assertThat(encryptor.openAfterPrecomputation(cipherText, nonce, masterKey)).isEqualTo(message);
+            assertThat(referenceCipher(Cipher.DECRYPT_MODE, masterKey.getKeyBytes(), nonce, cipherText))
+                    .isEqualTo(message);
+        }
+    }
+
+    @Test
+    public void sealManyMatchesSealingEachKey() throws Exception {
+        MasterKey masterKey = encryptor.createMasterKey();
+        Nonce recipientNonce = encryptor.randomNonce();
+        KeyPair sender = encryptor.generateNewKeys();
+
+        List<SharedKey> sharedKeys =
+                IntStream.range(0, 10)
+                        .mapToObj(i -> encryptor.generateNewKeys())
+                        .map(recipient -> encryptor.computeSharedKey(recipient.getPublicKey(), sender.getPrivateKey()))
+                        .collect(Collectors.toList());
+
+        List<byte[]> recipientBoxes =
+                encryptor.sealAfterPrecomputation(masterKey.getKeyBytes(), recipientNonce, sharedKeys);
+
+        assertThat(recipientBoxes).hasSize(sharedKeys.size());
+        for (int i = 0; i < sharedKeys.size(); i++) {
+            byte[] expected =
+                    referenceCipher(
+                            Cipher.ENCRYPT_MODE,
+                            sharedKeys.get(i).getKeyBytes(),
+                            recipientNonce,
+                            masterKey.getKeyBytes());
+            assertThat(recipientBoxes.get(i)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void sealWithSameKeyAndNonceTwice() {
+        MasterKey masterKey = encryptor.createMasterKey();
+        Nonce nonce = encryptor.randomNonce();
+        byte[] message = "message".getBytes();
+
+        byte[] first = encryptor.sealAfterPrecomputation(message, nonce, masterKey);
+        byte[] second = encryptor.sealAfterPrecomputation(message, nonce, masterKey);
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void concurrentUseMatchesFreshInstances() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                tasks.add(
+                        () -> {
+                            KeyPair first = encryptor.generateNewKeys();
+                            KeyPair second = encryptor.generateNewKeys();
+                            SharedKey sharedKey =
+                                    encryptor.computeSharedKey(first.getPublicKey(), second.getPrivateKey());
+                            if (!sharedKey.equals(referenceSharedKey(first, second))) {
+                                return false;
+                            }
+                            Nonce nonce = encryptor.randomNonce();
+                            byte[] message = encryptor.createSingleKey().getKeyBytes();
+                            byte[] cipherText = encryptor.sealAfterPrecomputation(message, nonce, sharedKey);
+                            byte[] expected =
+                                    referenceCipher(Cipher.ENCRYPT_MODE, sharedKey.getKeyBytes(), nonce, message);
+                            return java.util.Arrays.equals(cipherText, expected)
+                                    && java.util.Arrays.equals(
+                                            encryptor.openAfterPrecomputation(cipherText, nonce, sharedKey), message);
+                        });
+            }
+
+            for (Future<Boolean> result : executorService.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static SharedKey referenceSharedKey(KeyPair publicPart, KeyPair privatePart) throws Exception {
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        KeyAgreement keyAgreement = KeyAgreement.getInstance("ECDH");
+        keyAgreement.init(
+                keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privatePart.getPrivateKey().getKeyBytes())));
+        keyAgreement.doPhase(
+                keyFactory.generatePublic(new X509EncodedKeySpec(publicPart.getPublicKey().getKeyBytes())), true);
+        return SharedKey.from(new SHA3.Digest256().digest(keyAgreement.generateSecret()));
+    }
+
+    private static byte[] referenceCipher(int mode, byte[] key, Nonce nonce, byte[] input) throws Exception {
+        Cipher cipher = Cipher.getInstance(SYMMETRIC_CIPHER);
+        cipher.init(mode, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, nonce.getNonceBytes()));
+        return cipher.doFinal(input);
+    }
+}
@@ -15,12 +15,16 @@ public class Jnacl implements Encryptor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Jnacl.class);
 
-    private final SecureRandom secureRandom;
+    private final RandomnessProvider randomnessProvider;
 
     private final SecretBox secretBox;
 
     public Jnacl(final SecureRandom secureRandom, final SecretBox secretBox) {
-        this.secureRandom = Objects.requireNonNull(secureRandom);
+        this(Objects.requireNonNull(secureRandom)::nextBytes, secretBox);
+    }
+
+    public Jnacl(final RandomnessProvider randomnessProvider, final SecretBox secretBox) {
+        this.randomnessProvider = Objects.requireNonNull(randomnessProvider);
         this.secretBox = Objects.requireNonNull(secretBox);
     }
 
@@ -28,7 +32,9 @@ public class Jnacl implements Encryptor {
     public SharedKey computeSharedKey(final PublicKey publicKey, final PrivateKey privateKey) {
         final byte[] precomputed = new byte[crypto_secretbox_BEFORENMBYTES];
 
-        LOGGER.debug("Computing the shared key for public key {} and private key {}", publicKey, privateKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Computing the shared key for public key {} and private key {}", publicKey, privateKey);
+        }
         final int jnaclResult =
                 secretBox.cryptoBoxBeforenm(precomputed, publicKey.getKeyBytes(), privateKey.getKeyBytes());
 
@@ -39,7 +45,9 @@ public class Jnacl implements Encryptor {
 
         final SharedKey sharedKey = SharedKey.from(precomputed);
 
-        LOGGER.debug("Computed shared key {} for pub {} and priv {}", sharedKey, publicKey, privateKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Computed shared key {} for pub {} and priv {}", sharedKey, publicKey, privateKey);
+        }
 
         return sharedKey;
     }
@@ -48,11 +56,10 @@ public class Jnacl implements Encryptor {
     public byte[] seal(
             final byte[] message, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
 
-        LOGGER.debug(
-                "Sealing message using nonce {}, public key {} and private key {}",
-                nonce,
-                publicKey,
-                privateKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "Sealing message using nonce {}, public key {} and private key {}", nonce, publicKey, privateKey);
+        }
 
         try {
 
@@ -60,11 +67,13 @@ public class Jnacl implements Encryptor {
 
             final byte[] cipherText = nacl.encrypt(message, nonce.getNonceBytes());
 
-            LOGGER.debug(
-                    "Created sealed payload using nonce {}, public key {} and private key {}",
-                    nonce,
-                    publicKey,
-                    privateKey);
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(
+                        "Created sealed payload using nonce {}, public key {} and private key {}",
+                        nonce,
+                        publicKey,
+                        privateKey);
+            }
 
             return extract(cipherText, crypto_secretbox_BOXZEROBYTES);
 
@@ -76,11 +85,10 @@ public class Jnacl implements Encryptor {
     @Override
     public byte[] open(
             final byte[] cipherText, final Nonce nonce, final PublicKey publicKey, final PrivateKey privateKey) {
-        LOGGER.debug(
-                "Opening message using nonce {}, public key {} and private key {}",
-                nonce,
-                publicKey,
-                privateKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(
+                    "Opening message using nonce {}, public key {} and private key {}", nonce, publicKey, privateKey);
+        }
 
         try {
 
@@ -90,11 +98,13 @@ public class Jnacl implements Encryptor {
 
             final byte[] plaintext = nacl.decrypt(paddedInput, nonce.getNonceBytes());
 
-            LOGGER.debug(
-                "Opened message using nonce {}, public key {} and private key {}",
-                nonce,
-                publicKey,
-                privateKey);
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(
+                        "Opened message using nonce {}, public key {} and private key {}",
+                        nonce,
+                        publicKey,
+                        privateKey);
+            }
 
             return plaintext;
         } catch (final Exception ex) {
@@ -108,7 +118,9 @@ public class Jnacl implements Encryptor {
         final byte[] paddedMessage = new byte[message.length + crypto_secretbox_ZEROBYTES];
         final byte[] output = new byte[message.length + crypto_secretbox_ZEROBYTES];
 
-        LOGGER.debug("Sealing message using nonce {} and shared key {}", nonce, sharedKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Sealing message using nonce {} and shared key {}", nonce, sharedKey);
+        }
 
         System.arraycopy(message, 0, paddedMessage, crypto_secretbox_ZEROBYTES, message.length);
         final int jnaclResult =
@@ -120,18 +132,18 @@ public class Jnacl implements Encryptor {
             throw new EncryptorException("jnacl could not seal the payload using the shared key");
         }
 
-        LOGGER.debug(
-                "Created sealed payload using nonce {} and shared key {}",
-                nonce,
-                sharedKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Created sealed payload using nonce {} and shared key {}", nonce, sharedKey);
+        }
 
         return extract(output, crypto_secretbox_BOXZEROBYTES);
     }
 
     @Override
     public byte[] openAfterPrecomputation(final byte[] cipherText, final Nonce nonce, final SharedKey sharedKey) {
-        LOGGER.debug(
-                "Opening message using nonce {} and shared key {}", nonce, sharedKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Opening message using nonce {} and shared key {}", nonce, sharedKey);
+        }
 
         final byte[] paddedInput = pad(cipherText, crypto_secretbox_BOXZEROBYTES);
         final byte[] paddedOutput = new byte[paddedInput.length];
@@ -145,11 +157,10 @@ public class Jnacl implements Encryptor {
             throw new EncryptorException("jnacl could not open the payload using the shared key");
         }
 
-        LOGGER.debug("Opened sealed payload for shared key {}", sharedKey);
-        LOGGER.debug(
-                "Opened payload using nonce {} and shared key {}",
-                nonce,
-                sharedKey);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Opened sealed payload for shared key {}", sharedKey);
+            LOGGER.trace("Opened payload using nonce {} and shared key {}", nonce, sharedKey);
+        }
 
         return extract(paddedOutput, crypto_secretbox_ZEROBYTES);
     }
@@ -158,11 +169,13 @@ public class Jnacl implements Encryptor {
     public Nonce randomNonce() {
         final byte[] nonceBytes = new byte[crypto_secretbox_NONCEBYTES];
 
-        this.secureRandom.nextBytes(nonceBytes);
+        this.randomnessProvider.nextBytes(nonceBytes);
 
         final Nonce nonce = new Nonce(nonceBytes);
 
-        LOGGER.debug("Generated random nonce {}", nonce);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Generated random nonce {}", nonce);
+        }
 
         return nonce;
     }
@@ -174,7 +187,9 @@ public class Jnacl implements Encryptor {
 
         LOGGER.info("Generating new keypair...");
 
-        final int jnaclResult = secretBox.cryptoBoxKeypair(publicKey, privateKey);
+        // jnacl's own keypair function creates a new SecureRandom for every key, so draw the private key here instead
+        this.randomnessProvider.nextBytes(privateKey);
+        final int jnaclResult = secretBox.cryptoBoxGetPublicKey(publicKey, privateKey);
 
         if (jnaclResult == -1) {
             LOGGER.error("Unable to generate a new keypair!");
@@ -192,16 +207,18 @@ public class Jnacl implements Encryptor {
 
     @Override
     public SharedKey createSingleKey() {
-        LOGGER.debug("Generating random key");
+        LOGGER.trace("Generating random key");
 
         final byte[] keyBytes = new byte[crypto_secretbox_PUBLICKEYBYTES];
 
-        this.secureRandom.nextBytes(keyBytes);
+        this.randomnessProvider.nextBytes(keyBytes);
 
         final SharedKey key = SharedKey.from(keyBytes);
 
-        LOGGER.debug("Random key generated");
-        LOGGER.debug("Generated key with value {}", key);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Random key generated");
+            LOGGER.trace("Generated key with value {}", key);
+        }
 
         return key;
     }
@@ -3,9 +3,9 @@ package com.quorum.tessera.nacl.jnacl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.security.SecureRandom;
 import com.quorum.tessera.encryption.Encryptor;
 import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.RandomnessProvider;
 import java.util.Map;
 
 /** Provides the JNaCL implementation of the {@link Encryptor} */
@@ -17,10 +17,10 @@ public class JnaclFactory implements EncryptorFactory {
     public Encryptor create(Map<String, String> properties) {
         LOGGER.debug("Creating a JNaCL implementation of NaclFacadeFactory");
 
-        final SecureRandom secureRandom = new SecureRandom();
+        final RandomnessProvider randomnessProvider = RandomnessProvider.create();
         final JnaclSecretBox secretBox = new JnaclSecretBox();
 
-        return new Jnacl(secureRandom, secretBox);
+        return new Jnacl(randomnessProvider, secretBox);
     }
 
     @Override
@@ -27,4 +27,9 @@ public class JnaclSecretBox implements SecretBox {
         return curve25519xsalsa20poly1305.crypto_box_keypair(publicKey, privateKey);
     }
 
+    @Override
+    public int cryptoBoxGetPublicKey(final byte[] publicKey, final byte[] privateKey) {
+        return curve25519xsalsa20poly1305.crypto_box_getpublickey(publicKey, privateKey);
+    }
+
 }
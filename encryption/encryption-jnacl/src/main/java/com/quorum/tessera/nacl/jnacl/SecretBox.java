@@ -53,4 +53,13 @@ public interface SecretBox {
      */
     int cryptoBoxKeypair(byte[] publicKey, byte[] privateKey);
 
+    /**
+     * Computes the public key for the given private key, for keypairs whose private key was generated by the caller
+     *
+     * @param publicKey The output array for the public key
+     * @param privateKey The private key
+     * @return Whether the operation was successful (0 for success, -1 for failure)
+     */
+    int cryptoBoxGetPublicKey(byte[] publicKey, byte[] privateKey);
+
 }
@@ -99,6 +99,16 @@ public class JnaclSecretBoxTest {
         assertThat(success).isEqualTo(0);
     }
 
+    @Test
+    public void publicKeyDerivedFromPrivateKeyMatchesGeneratedKeypair() {
+        final byte[] derivedPublicKey = new byte[crypto_secretbox_PUBLICKEYBYTES];
+
+        final int success = this.secretBox.cryptoBoxGetPublicKey(derivedPublicKey, privateKey);
+
+        assertThat(success).isEqualTo(0);
+        assertThat(derivedPublicKey).isEqualTo(publicKey);
+    }
+
     @Test
     public void generatingNewsKeysFailsIfPublicKeyTooSmall() {
 
@@ -128,7 +128,7 @@ public class JnaclTest {
 
     @Test
     public void generatingNewKeysThrowsExceptionOnFailure() {
-        doReturn(-1).when(this.secretBox).cryptoBoxKeypair(any(byte[].class), any(byte[].class));
+        doReturn(-1).when(this.secretBox).cryptoBoxGetPublicKey(any(byte[].class), any(byte[].class));
 
         final Throwable kaclEx = catchThrowable(() -> this.jnacl.generateNewKeys());
 
@@ -136,7 +136,7 @@ public class JnaclTest {
                 .isInstanceOf(EncryptorException.class)
                 .hasMessage("jnacl could not generate a new public/private keypair");
 
-        verify(this.secretBox).cryptoBoxKeypair(any(byte[].class), any(byte[].class));
+        verify(this.secretBox).cryptoBoxGetPublicKey(any(byte[].class), any(byte[].class));
     }
 
     @Test
@@ -166,7 +166,7 @@ public class JnaclTest {
         assertThat(result.getPublicKey().getKeyBytes()).hasSize(32);
         assertThat(result.getPrivateKey().getKeyBytes()).hasSize(32);
 
-        verify(this.secretBox).cryptoBoxKeypair(any(byte[].class), any(byte[].class));
+        verify(this.secretBox).cryptoBoxGetPublicKey(any(byte[].class), any(byte[].class));
     }
 
     @Test
@@ -2,10 +2,16 @@ package com.quorum.tessera.key.vault.hashicorp;
 
 import com.quorum.tessera.config.vault.data.HashicorpGetSecretData;
 import com.quorum.tessera.config.vault.data.HashicorpSetSecretData;
+import com.quorum.tessera.key.vault.ConcurrentSecretFetcher;
 import com.quorum.tessera.key.vault.KeyVaultService;
 import org.springframework.vault.support.Versioned;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class HashicorpKeyVaultService implements KeyVaultService<HashicorpSetSecretData, HashicorpGetSecretData> {
 
@@ -17,10 +23,38 @@ public class HashicorpKeyVaultService implements KeyVaultService<HashicorpSetSec
 
     @Override
     public String getSecret(HashicorpGetSecretData hashicorpGetSecretData) {
+        return extractValue(read(hashicorpGetSecretData), hashicorpGetSecretData);
+    }
+
+    /**
+     * Key pairs usually keep the public and private key as two values of one secret, so each distinct secret is read
+     * only once, and the distinct secrets are read concurrently
+     */
+    @Override
+    public List<String> getSecrets(List<HashicorpGetSecretData> getSecretData) {
+        final Map<String, HashicorpGetSecretData> distinctSecrets = new LinkedHashMap<>();
+        getSecretData.forEach(d -> distinctSecrets.putIfAbsent(secretPath(d), d));
+
+        final List<HashicorpGetSecretData> reads = new ArrayList<>(distinctSecrets.values());
+        final List<Versioned<Map<String, Object>>> responses = ConcurrentSecretFetcher.fetch(reads, this::read);
+
+        final Map<String, Versioned<Map<String, Object>>> responsesByPath = new HashMap<>();
+        for (int i = 0; i < reads.size(); i++) {
+            responsesByPath.put(secretPath(reads.get(i)), responses.get(i));
+        }
+
+        return getSecretData.stream()
+                .map(d -> extractValue(responsesByPath.get(secretPath(d)), d))
+                .collect(Collectors.toList());
+    }
+
+    private Versioned<Map<String, Object>> read(HashicorpGetSecretData hashicorpGetSecretData) {
         KeyValueOperationsDelegate keyValueOperationsDelegate = keyValueOperationsDelegateFactory.create(hashicorpGetSecretData.getSecretEngineName());
 
-        Versioned<Map<String, Object>> versionedResponse = keyValueOperationsDelegate.get(hashicorpGetSecretData);
+        return keyValueOperationsDelegate.get(hashicorpGetSecretData);
+    }
 
+    private static String extractValue(Versioned<Map<String, Object>> versionedResponse, HashicorpGetSecretData hashicorpGetSecretData) {
         if (versionedResponse == null || !versionedResponse.hasData()) {
             throw new HashicorpVaultException("No data found at " + hashicorpGetSecretData.getSecretEngineName() + "/" + hashicorpGetSecretData.getSecretName());
         }
@@ -32,6 +66,14 @@ public class HashicorpKeyVaultService implements KeyVaultService<HashicorpSetSec
         return versionedResponse.getData().get(hashicorpGetSecretData.getValueId()).toString();
     }
 
+    private static String secretPath(HashicorpGetSecretData hashicorpGetSecretData) {
+        return hashicorpGetSecretData.getSecretEngineName()
+                + "/"
+                + hashicorpGetSecretData.getSecretName()
+                + "@"
+                + hashicorpGetSecretData.getSecretVersion();
+    }
+
     @Override
     public Object setSecret(HashicorpSetSecretData hashicorpSetSecretData) {
         KeyValueOperationsDelegate keyValueOperationsDelegate = keyValueOperationsDelegateFactory.create(hashicorpSetSecretData.getSecretEngineName());
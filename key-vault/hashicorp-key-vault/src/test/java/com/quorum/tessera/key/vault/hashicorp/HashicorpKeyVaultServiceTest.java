@@ -7,6 +7,7 @@ import org.junit.Test;
 import org.springframework.vault.support.Versioned;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -14,6 +15,8 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashicorpKeyVaultServiceTest {
@@ -128,4 +131,23 @@ public class HashicorpKeyVaultServiceTest {
         assertThat(ex).isExactlyInstanceOf(HashicorpVaultException.class);
         assertThat(ex.getMessage()).isEqualTo("Unable to save generated secret to vault.  Ensure that the secret engine being used is a v2 kv secret engine");
     }
+
+    @Test
+    public void getSecretsReadsEachSecretOnce() {
+        HashicorpGetSecretData publicKey = new HashicorpGetSecretData("engine", "secretName", "pub", 0);
+        HashicorpGetSecretData privateKey = new HashicorpGetSecretData("engine", "secretName", "priv", 0);
+        HashicorpGetSecretData otherKey = new HashicorpGetSecretData("engine", "otherSecret", "pub", 0);
+
+        Map<String, Versioned<Map<String, Object>>> secrets =
+                Map.of(
+                        "secretName", Versioned.create(Map.of("pub", "publicValue", "priv", "privateValue")),
+                        "otherSecret", Versioned.create(Map.of("pub", "otherValue")));
+        when(delegate.get(any(HashicorpGetSecretData.class)))
+                .thenAnswer(i -> secrets.get(((HashicorpGetSecretData) i.getArgument(0)).getSecretName()));
+
+        List<String> result = keyVaultService.getSecrets(List.of(publicKey, privateKey, otherKey));
+
+        assertThat(result).containsExactly("publicValue", "privateValue", "otherValue");
+        verify(delegate, times(2)).get(any(HashicorpGetSecretData.class));
+    }
 }
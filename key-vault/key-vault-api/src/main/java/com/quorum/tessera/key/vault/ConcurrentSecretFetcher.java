@@ -0,0 +1,67 @@
+package com.quorum.tessera.key.vault;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/** Makes a set of independent vault requests concurrently, for use when loading many keys at startup */
+public final class ConcurrentSecretFetcher {
+
+    static final int MAX_CONCURRENT_REQUESTS = 8;
+
+    private ConcurrentSecretFetcher() {}
+
+    /**
+     * Applies the fetch function to every request on a short-lived pool of daemon threads
+     *
+     * @param requests the requests to make
+     * @param fetch the function making a single remote request
+     * @return the results, in the same order as the requests
+     * @throws RuntimeException the first failure, in request order, if any request fails
+     */
+    public static <T, R> List<R> fetch(final List<T> requests, final Function<T, R> fetch) {
+        if (requests.size() < 2) {
+            final List<R> results = new ArrayList<>(requests.size());
+            requests.forEach(r -> results.add(fetch.apply(r)));
+            return results;
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executorService =
+                Executors.newFixedThreadPool(
+                        Math.min(requests.size(), MAX_CONCURRENT_REQUESTS),
+                        r -> {
+                            final Thread thread = new Thread(r, "key-vault-fetch-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+
+        try {
+            final List<Future<R>> futures = new ArrayList<>(requests.size());
+            for (final T request : requests) {
+                futures.add(executorService.submit(() -> fetch.apply(request)));
+            }
+
+            final List<R> results = new ArrayList<>(requests.size());
+            for (final Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new KeyVaultException(ex.getCause());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KeyVaultException(ex);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
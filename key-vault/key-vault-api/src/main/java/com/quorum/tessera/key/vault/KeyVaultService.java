@@ -3,9 +3,22 @@ package com.quorum.tessera.key.vault;
 import com.quorum.tessera.config.vault.data.GetSecretData;
 import com.quorum.tessera.config.vault.data.SetSecretData;
 
+import java.util.List;
+
 public interface KeyVaultService<T extends SetSecretData, U extends GetSecretData> {
 
     String getSecret(U getSecretData);
 
+    /**
+     * Retrieves several secrets at once. By default each secret is fetched with {@link #getSecret(GetSecretData)},
+     * with the remote calls made concurrently rather than one after the other.
+     *
+     * @param getSecretData the secrets to retrieve
+     * @return the secret values, in the same order as requested
+     */
+    default List<String> getSecrets(List<U> getSecretData) {
+        return ConcurrentSecretFetcher.fetch(getSecretData, this::getSecret);
+    }
+
     Object setSecret(T setSecretData);
 }
@@ -0,0 +1,95 @@
+package com.quorum.tessera.key.vault;
+
+import com.quorum.tessera.config.vault.data.AWSGetSecretData;
+import com.quorum.tessera.config.vault.data.AzureGetSecretData;
+import com.quorum.tessera.config.vault.data.GetSecretData;
+import com.quorum.tessera.config.vault.data.SetSecretData;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ConcurrentSecretFetcherTest {
+
+    @Test
+    public void resultsAreInRequestOrder() {
+        List<Integer> requests = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+        List<String> results = ConcurrentSecretFetcher.fetch(requests, i -> "secret" + i);
+
+        assertThat(results).isEqualTo(requests.stream().map(i -> "secret" + i).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void requestsAreMadeConcurrently() {
+        final CountDownLatch allStarted = new CountDownLatch(ConcurrentSecretFetcher.MAX_CONCURRENT_REQUESTS);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> requests =
+                IntStream.range(0, ConcurrentSecretFetcher.MAX_CONCURRENT_REQUESTS)
+                        .boxed()
+                        .collect(Collectors.toList());
+
+        List<Boolean> results =
+                ConcurrentSecretFetcher.fetch(
+                        requests,
+                        i -> {
+                            threads.add(Thread.currentThread().getName());
+                            allStarted.countDown();
+                            try {
+                                // only completes if every request is in flight at the same time
+                                return allStarted.await(10, TimeUnit.SECONDS);
+                            } catch (InterruptedException ex) {
+                                throw new IllegalStateException(ex);
+                            }
+                        });
+
+        assertThat(results).containsOnly(true);
+        assertThat(threads).hasSize(ConcurrentSecretFetcher.MAX_CONCURRENT_REQUESTS);
+    }
+
+    @Test
+    public void failureIsRethrown() {
+        Throwable ex =
+                catchThrowable(
+                        () ->
+                                ConcurrentSecretFetcher.fetch(
+                                        List.of("a", "b"),
+                                        s -> {
+                                            throw new VaultSecretNotFoundException(s);
+                                        }));
+
+        assertThat(ex).isExactlyInstanceOf(VaultSecretNotFoundException.class).hasMessage("a");
+    }
+
+    @Test
+    public void defaultGetSecretsUsesGetSecret() {
+        KeyVaultService<?, GetSecretData> keyVaultService =
+                new KeyVaultService<>() {
+                    @Override
+                    public String getSecret(GetSecretData getSecretData) {
+                        return getSecretData.getType().name();
+                    }
+
+                    @Override
+                    public Object setSecret(SetSecretData setSecretData) {
+                        return null;
+                    }
+                };
+
+        assertThat(
+                        keyVaultService.getSecrets(
+                                List.of(
+                                        new AWSGetSecretData("a"),
+                                        new AzureGetSecretData("b", null))))
+                .containsExactly("AWS", "AZURE");
+    }
+}
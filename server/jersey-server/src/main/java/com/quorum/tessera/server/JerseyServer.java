@@ -4,6 +4,8 @@ import com.jpmorgan.quorum.server.utils.ServerUtils;
 import com.quorum.tessera.config.AppType;
 import com.quorum.tessera.config.InfluxConfig;
 import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.config.util.IntervalPropertyHelper;
+import com.quorum.tessera.server.jaxrs.AccessLog;
 import com.quorum.tessera.server.jaxrs.CorsDomainResponseFilter;
 import com.quorum.tessera.server.jaxrs.LoggingFilter;
 import com.quorum.tessera.server.monitoring.InfluxDbClient;
@@ -45,6 +47,8 @@ public class JerseyServer implements TesseraServer {
 
     private final AppType type;
 
+    private final AccessLog accessLog;
+
     public JerseyServer(final ServerConfig serverConfig, final Application application) {
         LOGGER.debug("Constructing from {} and {}", serverConfig, application);
         this.uri = serverConfig.getServerUri();
@@ -55,6 +59,7 @@ public class JerseyServer implements TesseraServer {
 
         this.influxConfig = serverConfig.getInfluxConfig();
         this.type = serverConfig.getApp();
+        this.accessLog = new AccessLog(new IntervalPropertyHelper(serverConfig.getProperties()).accessLogSampleRate());
         LOGGER.debug("Constructed {}", this);
     }
 
@@ -78,7 +83,7 @@ public class JerseyServer implements TesseraServer {
 
         final ResourceConfig config = ResourceConfig.forApplication(application);
 
-        config.addProperties(initParams).register(MetricsResource.class).register(LoggingFilter.class);
+        config.addProperties(initParams).register(MetricsResource.class).register(new LoggingFilter(accessLog));
 
         if (serverConfig.getCrossDomainConfig() != null && !serverConfig.isUnixSocket()) {
             config.register(new CorsDomainResponseFilter(serverConfig.getCrossDomainConfig()));
@@ -142,6 +147,8 @@ public class JerseyServer implements TesseraServer {
             }
         }
 
+        accessLog.close();
+
         LOGGER.info("Stopped Jersey server at {}", uri);
     }
 }
@@ -0,0 +1,242 @@
+package com.quorum.tessera.server.jaxrs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records one structured line per request, written off the request path.
+ *
+ * <p>Request threads claim a slot in a fixed ring of preallocated entries and fill it in, without locking or
+ * allocating. A single background thread writes the entries out in order to the {@code com.quorum.tessera.access}
+ * logger at INFO. When it runs out of entries the writer parks until a request thread queues one and wakes it. If the
+ * writer falls behind and the ring is full, entries are dropped rather than slowing requests down, and the number
+ * dropped is logged periodically as a warning.
+ *
+ * <p>Only a fraction of requests, given by the sample rate, is recorded. Nothing is recorded when the rate is zero or
+ * the access logger is not enabled for INFO.
+ */
+public class AccessLog implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessLog.class);
+
+    static final String LOGGER_NAME = "com.quorum.tessera.access";
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final double sampleRate;
+
+    private final Logger accessLogger;
+
+    private final Entry[] entries;
+
+    private final int mask;
+
+    /** The sequence number of the next slot to be claimed by a request thread */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** The sequence number of the next slot to be written, only advanced by the writer */
+    private volatile long head;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    private volatile Thread writer;
+
+    /** Set by the writer before it parks, so that the next request to queue an entry wakes it */
+    private volatile boolean parked;
+
+    public AccessLog(double sampleRate) {
+        this(sampleRate, DEFAULT_CAPACITY, LoggerFactory.getLogger(LOGGER_NAME));
+    }
+
+    AccessLog(double sampleRate, int capacity, Logger accessLogger) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two");
+        }
+        this.sampleRate = sampleRate;
+        this.accessLogger = accessLogger;
+        this.entries = new Entry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /** @return whether any request may be recorded */
+    public boolean isEnabled() {
+        return sampleRate > 0 && accessLogger.isInfoEnabled();
+    }
+
+    /** @return whether the current request should be recorded */
+    public boolean sample() {
+        if (!isEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Queues a request to be logged. Returns immediately, and drops the entry if the ring is full or the log is closed.
+     *
+     * @return whether the entry was queued
+     */
+    public boolean record(
+            String method, String endpoint, int status, long latencyNanos, long requestBytes, long responseBytes) {
+        if (closed) {
+            return false;
+        }
+        startWriter();
+
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= entries.length) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        final Entry entry = entries[(int) sequence & mask];
+        entry.method = method;
+        entry.endpoint = endpoint;
+        entry.status = status;
+        entry.latencyNanos = latencyNanos;
+        entry.requestBytes = requestBytes;
+        entry.responseBytes = responseBytes;
+        // publishes the fields above to the writer
+        entry.published = sequence + 1;
+        if (parked) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /** @return the number of entries dropped because the ring was full */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** Writes out everything already queued and stops the writer. */
+    @Override
+    public void close() {
+        closed = true;
+        final Thread current = writer;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void startWriter() {
+        if (started.compareAndSet(false, true)) {
+            final Thread thread = new Thread(this::write, "access-log-writer");
+            thread.setDaemon(true);
+            writer = thread;
+            thread.start();
+        }
+    }
+
+    private void write() {
+        long reportedDrops = 0;
+        long lastReport = System.nanoTime();
+        while (true) {
+            final boolean wrote = drain();
+
+            final long now = System.nanoTime();
+            if (now - lastReport >= DROP_REPORT_INTERVAL_NANOS || closed) {
+                final long dropped = droppedCount.get();
+                if (dropped > reportedDrops) {
+                    LOGGER.warn("Access log dropped {} entries as the writer fell behind", dropped - reportedDrops);
+                    reportedDrops = dropped;
+                }
+                lastReport = now;
+            }
+
+            if (closed && !wrote) {
+                return;
+            }
+            if (!wrote) {
+                park();
+            }
+        }
+    }
+
+    /*
+     * The flag is set before checking for an entry, and a request thread publishes its entry before checking the flag,
+     * so either the writer sees the entry or the request thread sees the flag. The park still times out so that drops
+     * are reported while idle.
+     */
+    private void park() {
+        parked = true;
+        if (entries[(int) head & mask].published != head + 1 && !closed) {
+            LockSupport.parkNanos(this, DROP_REPORT_INTERVAL_NANOS);
+        }
+        parked = false;
+    }
+
+    /** @return whether any entry was written */
+    private boolean drain() {
+        boolean wrote = false;
+        long next = head;
+        while (true) {
+            final Entry entry = entries[(int) next & mask];
+            if (entry.published != next + 1) {
+                return wrote;
+            }
+            try {
+                accessLogger.info(
+                        "method={} endpoint={} status={} latencyMicros={} requestBytes={} responseBytes={}",
+                        entry.method,
+                        entry.endpoint,
+                        entry.status,
+                        TimeUnit.NANOSECONDS.toMicros(entry.latencyNanos),
+                        entry.requestBytes,
+                        entry.responseBytes);
+            } catch (RuntimeException ex) {
+                // never let the writer die because of one entry
+                LOGGER.debug("Unable to write access log entry", ex);
+            }
+            entry.method = null;
+            entry.endpoint = null;
+            // releases the slot to request threads
+            head = ++next;
+            wrote = true;
+        }
+    }
+
+    private static class Entry {
+
+        private String method;
+
+        private String endpoint;
+
+        private int status;
+
+        private long latencyNanos;
+
+        private long requestBytes;
+
+        private long responseBytes;
+
+        /** The sequence number of the last entry written to this slot, plus one */
+        private volatile long published;
+    }
+}
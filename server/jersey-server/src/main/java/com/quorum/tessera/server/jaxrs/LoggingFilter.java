@@ -1,55 +1,50 @@
 package com.quorum.tessera.server.jaxrs;
 
+import java.util.Objects;
 import java.util.Optional;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.container.*;
-import javax.ws.rs.core.Context;
 import javax.ws.rs.core.UriInfo;
 
+/**
+ * Records the endpoint, status, latency and size of sampled requests in the {@link AccessLog}. Requests that are not
+ * sampled cost a single check on the way in and on the way out.
+ */
 public class LoggingFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingFilter.class);
+    static final String START_TIME_PROPERTY = LoggingFilter.class.getName() + ".startTime";
 
-    @Context private ResourceInfo resourceInfo;
+    private final AccessLog accessLog;
 
-    private Logger getLogger() {
-        return Optional.ofNullable(resourceInfo)
-                .filter(r -> r.getResourceClass() != null)
-                .map(r -> LoggerFactory.getLogger(r.getResourceClass()))
-                .orElse(LOGGER);
+    public LoggingFilter(AccessLog accessLog) {
+        this.accessLog = Objects.requireNonNull(accessLog);
     }
 
     @Override
     public void filter(final ContainerRequestContext request) {
-        log("Enter", request);
+        if (accessLog.sample()) {
+            request.setProperty(START_TIME_PROPERTY, System.nanoTime());
+        }
     }
 
     @Override
     public void filter(final ContainerRequestContext request, final ContainerResponseContext response) {
-        log("Exit", request);
-        String path = Optional.ofNullable(request.getUriInfo()).map(UriInfo::getPath).orElse(null);
-        Optional.ofNullable(response.getStatusInfo())
-            .ifPresent(statusType -> getLogger()
-                .info("Response for {} : {} {}",
-                                                path,
-                                                statusType.getStatusCode(),
-                                                statusType.getReasonPhrase()));
-    }
-
-    private void log(String prefix, ContainerRequestContext request) {
-        String path = Optional.ofNullable(request.getUriInfo()).map(UriInfo::getPath).orElse(null);
-        getLogger().info("{} Request : {} : {}", prefix, request.getMethod(), "/" + path);
-    }
-
-    /**
-     * Set the request resource info. Only needed for unit tests.
-     *
-     * @param resourceInfo the resource info
-     */
-    @Context
-    public void setResourceInfo(final ResourceInfo resourceInfo) {
-        this.resourceInfo = resourceInfo;
+        if (!accessLog.isEnabled()) {
+            return;
+        }
+        final Object startTime = request.getProperty(START_TIME_PROPERTY);
+        if (!(startTime instanceof Long)) {
+            return;
+        }
+        final long latency = System.nanoTime() - (Long) startTime;
+
+        final String path = Optional.ofNullable(request.getUriInfo()).map(UriInfo::getPath).orElse(null);
+        accessLog.record(
+                request.getMethod(),
+                "/" + path,
+                response.getStatus(),
+                latency,
+                request.getLength(),
+                response.getLength());
     }
 }
@@ -0,0 +1,29 @@
+package com.quorum.tessera.server.monitoring;
+
+/** A metric about a single remote peer, such as the state of its circuit breaker */
+public class MBeanPeerMetric implements MBeanMetric {
+
+    private String peer;
+
+    private String name;
+
+    private String value;
+
+    public MBeanPeerMetric(String peer, String name, String value) {
+        this.peer = peer;
+        this.name = name;
+        this.value = value;
+    }
+
+    public String getPeer() {
+        return peer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
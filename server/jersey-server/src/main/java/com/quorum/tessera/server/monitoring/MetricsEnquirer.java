@@ -10,6 +10,10 @@ import java.util.Set;
 
 public class MetricsEnquirer {
 
+    private static final String CIRCUIT_BREAKER_PATTERN = "com.quorum.tessera:type=CircuitBreaker,*";
+
+    private static final String STORED_HASH_FILTER_NAME = "com.quorum.tessera:type=StoredHashFilter";
+
     private MBeanServer mBeanServer;
 
     public MetricsEnquirer(MBeanServer mBeanServer) {
@@ -40,6 +44,57 @@ public class MetricsEnquirer {
         return Collections.unmodifiableList(mBeanMetrics);
     }
 
+    /**
+     * Reads the numeric attributes of the per-peer circuit breakers registered by the outbound REST clients
+     *
+     * @return one metric per peer and attribute
+     */
+    public List<MBeanMetric> getCircuitBreakerMetrics() {
+        List<MBeanMetric> mBeanMetrics = new ArrayList<>();
+
+        try {
+            for (ObjectName mBeanName : mBeanServer.queryNames(new ObjectName(CIRCUIT_BREAKER_PATTERN), null)) {
+                String peer = ObjectName.unquote(mBeanName.getKeyProperty("peer"));
+
+                for (MBeanAttributeInfo mBeanAttribute : mBeanServer.getMBeanInfo(mBeanName).getAttributes()) {
+                    Object value = mBeanServer.getAttribute(mBeanName, mBeanAttribute.getName());
+                    if (value instanceof Number) {
+                        mBeanMetrics.add(new MBeanPeerMetric(peer, mBeanAttribute.getName(), value.toString()));
+                    }
+                }
+            }
+        } catch (JMException e) {
+            throw new RuntimeException(e);
+        }
+
+        return Collections.unmodifiableList(mBeanMetrics);
+    }
+
+    /**
+     * Reads the numeric attributes of the filter used to recognise pushed transactions that are already stored
+     *
+     * @return one metric per attribute, or none if the filter is not registered
+     */
+    public List<MBeanMetric> getStoredHashFilterMetrics() {
+        List<MBeanMetric> mBeanMetrics = new ArrayList<>();
+
+        try {
+            for (ObjectName mBeanName : mBeanServer.queryNames(new ObjectName(STORED_HASH_FILTER_NAME), null)) {
+                for (MBeanAttributeInfo mBeanAttribute : mBeanServer.getMBeanInfo(mBeanName).getAttributes()) {
+                    Object value = mBeanServer.getAttribute(mBeanName, mBeanAttribute.getName());
+                    if (value instanceof Number) {
+                        mBeanMetrics.add(
+                                new MBeanResourceMetric("pushFilter", mBeanAttribute.getName(), value.toString()));
+                    }
+                }
+            }
+        } catch (JMException e) {
+            throw new RuntimeException(e);
+        }
+
+        return Collections.unmodifiableList(mBeanMetrics);
+    }
+
     private Set<ObjectName> getTesseraResourceMBeanNames(AppType appType) throws MalformedObjectNameException {
         final String type;
         switch(appType) {
@@ -12,24 +12,41 @@ public class PrometheusProtocolFormatter {
         for (final MBeanMetric metric : metrics) {
             final MBeanResourceMetric resourceMetric = (MBeanResourceMetric) metric;
 
-            formattedMetrics.append("tessera_")
-                .append(appType)
-                .append("_")
-                .append(sanitize(resourceMetric.getResourceMethod()))
-                .append("_")
-                .append(sanitize(resourceMetric.getName()))
-                .append(" ")
-                .append(resourceMetric.getValue())
-                .append("\n");
+            formattedMetrics
+                    .append("tessera_")
+                    .append(appType)
+                    .append("_")
+                    .append(sanitize(resourceMetric.getResourceMethod()))
+                    .append("_")
+                    .append(sanitize(resourceMetric.getName()))
+                    .append(" ")
+                    .append(resourceMetric.getValue())
+                    .append("\n");
         }
 
         return formattedMetrics.toString().trim();
     }
 
-    private String sanitize(final String input) {
-        return input
-            .replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "")
-            .replaceAll("->|\\(|\\[", "_");
+    public String formatPeerMetrics(final List<MBeanMetric> metrics) {
+        StringBuilder formattedMetrics = new StringBuilder();
+
+        for (final MBeanMetric metric : metrics) {
+            final MBeanPeerMetric peerMetric = (MBeanPeerMetric) metric;
+
+            formattedMetrics
+                    .append("tessera_P2P_circuitbreaker_")
+                    .append(peerMetric.getName().replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase())
+                    .append("{peer=\"")
+                    .append(peerMetric.getPeer())
+                    .append("\"} ")
+                    .append(peerMetric.getValue())
+                    .append("\n");
+        }
+
+        return formattedMetrics.toString().trim();
     }
 
+    private String sanitize(final String input) {
+        return input.replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "").replaceAll("->|\\(|\\[", "_");
+    }
 }
@@ -0,0 +1,187 @@
+package com.quorum.tessera.server.jaxrs;
+
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class AccessLogTest {
+
+    private AccessLog accessLog;
+
+    @After
+    public void tearDown() {
+        if (accessLog != null) {
+            accessLog.close();
+        }
+    }
+
+    @Test
+    public void recordedEntriesAreWrittenInOrder() {
+        final Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+        accessLog = new AccessLog(1.0, 4, logger);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(accessLog.record("GET", "/upcheck/" + i, 200, 2000, 0, 22)).isTrue();
+            verify(logger, timeout(5000))
+                    .info(
+                            "method={} endpoint={} status={} latencyMicros={} requestBytes={} responseBytes={}",
+                            "GET",
+                            "/upcheck/" + i,
+                            200,
+                            2L,
+                            0L,
+                            22L);
+        }
+
+        assertThat(accessLog.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void parkedWriterIsWokenByTheNextEntry() throws Exception {
+        final Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+        accessLog = new AccessLog(1.0, 4, logger);
+
+        assertThat(accessLog.record("GET", "/first", 200, 0, 0, 0)).isTrue();
+        verify(logger, timeout(5000)).info(anyString(), any(), eq("/first"), any(), any(), any(), any());
+
+        final Thread writer =
+                Thread.getAllStackTraces().keySet().stream()
+                        .filter(thread -> thread.getName().equals("access-log-writer") && thread.isAlive())
+                        .findFirst()
+                        .orElseThrow();
+        while (writer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+
+        // the writer parks for far longer than this when nothing wakes it
+        assertThat(accessLog.record("GET", "/second", 200, 0, 0, 0)).isTrue();
+        verify(logger, timeout(2000)).info(anyString(), any(), eq("/second"), any(), any(), any(), any());
+    }
+
+    @Test
+    public void entriesAreDroppedWhenRingIsFull() throws Exception {
+        final Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            writing.countDown();
+                            release.await();
+                            return null;
+                        })
+                .when(logger)
+                .info(anyString(), any(), any(), any(), any(), any(), any());
+        accessLog = new AccessLog(1.0, 2, logger);
+
+        // the writer blocks writing the first entry, which keeps its slot until written, so one more fills the ring
+        assertThat(accessLog.record("POST", "/send", 201, 0, 10, 10)).isTrue();
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(accessLog.record("POST", "/send", 201, 0, 10, 10)).isTrue();
+
+        assertThat(accessLog.record("POST", "/send", 201, 0, 10, 10)).isFalse();
+        assertThat(accessLog.getDroppedCount()).isEqualTo(1);
+
+        release.countDown();
+        accessLog.close();
+
+        verify(logger, times(2)).info(anyString(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void nothingIsRecordedAfterClose() {
+        final Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+        accessLog = new AccessLog(1.0, 4, logger);
+
+        accessLog.close();
+
+        assertThat(accessLog.record("GET", "/upcheck", 200, 0, 0, 0)).isFalse();
+        verify(logger, never()).info(anyString(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void sampling() {
+        final Logger logger = mock(Logger.class);
+        when(logger.isInfoEnabled()).thenReturn(true);
+
+        assertThat(new AccessLog(1.0, 4, logger).sample()).isTrue();
+        assertThat(new AccessLog(0.0, 4, logger).sample()).isFalse();
+        assertThat(new AccessLog(0.0, 4, logger).isEnabled()).isFalse();
+
+        final AccessLog halfSampled = new AccessLog(0.5, 4, logger);
+        int sampled = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (halfSampled.sample()) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(4000, 6000);
+    }
+
+    @Test
+    public void disabledWhenLoggerIsNotEnabled() {
+        final Logger logger = mock(Logger.class);
+
+        final AccessLog disabled = new AccessLog(1.0, 4, logger);
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.sample()).isFalse();
+    }
+
+    @Test
+    public void invalidArguments() {
+        final Logger logger = mock(Logger.class);
+
+        assertThat(catchThrowable(() -> new AccessLog(1.5, 4, logger))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> new AccessLog(-0.1, 4, logger))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(catchThrowable(() -> new AccessLog(1.0, 3, logger))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void disabledPathDoesNotAllocate() {
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        final Logger logger = mock(Logger.class);
+        final LoggingFilter filter = new LoggingFilter(new AccessLog(0.0, 4, logger));
+        final ContainerRequestContext request = mock(ContainerRequestContext.class);
+        final ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+        final Runnable disabledPath =
+                () -> {
+                    filter.filter(request);
+                    filter.filter(request, response);
+                };
+
+        for (int i = 0; i < 100_000; i++) {
+            disabledPath.run();
+        }
+
+        // reading the counter can itself allocate, so measure that first and take it off
+        final long overheadStart = threads.getThreadAllocatedBytes(threadId);
+        final long overhead = threads.getThreadAllocatedBytes(threadId) - overheadStart;
+
+        final long start = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            disabledPath.run();
+        }
+        final long allocated = threads.getThreadAllocatedBytes(threadId) - start - overhead;
+
+        assertThat(allocated).isZero();
+        verifyZeroInteractions(request, response);
+    }
+}
@@ -1,67 +1,96 @@
 package com.quorum.tessera.server.jaxrs;
 
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
-import javax.ws.rs.container.ResourceInfo;
-import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
 
-import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public class LoggingFilterTest {
 
-    private LoggingFilter loggingFilter;
+    private AccessLog accessLog;
 
-    public LoggingFilterTest() {}
+    private LoggingFilter loggingFilter;
 
     @Before
     public void setUp() {
-        loggingFilter = new LoggingFilter();
+        accessLog = mock(AccessLog.class);
+        loggingFilter = new LoggingFilter(accessLog);
     }
 
-    @After
-    public void tearDown() {
-        loggingFilter = null;
+    @Test
+    public void filterRequestRecordsStartTimeWhenSampled() {
+        when(accessLog.sample()).thenReturn(true);
+        ContainerRequestContext request = mock(ContainerRequestContext.class);
+
+        loggingFilter.filter(request);
+
+        verify(request).setProperty(eq(LoggingFilter.START_TIME_PROPERTY), anyLong());
     }
 
     @Test
-    public void filterRequest() {
+    public void filterRequestDoesNothingWhenNotSampled() {
         ContainerRequestContext request = mock(ContainerRequestContext.class);
+
         loggingFilter.filter(request);
-        // Very silly test
-        assertThat(loggingFilter).isNotNull();
+
+        verifyZeroInteractions(request);
     }
 
     @Test
-    public void filterRequestAndResponse() {
+    public void filterResponseRecordsSampledRequest() {
+        when(accessLog.isEnabled()).thenReturn(true);
+        UriInfo uriInfo = mock(UriInfo.class);
+        when(uriInfo.getPath()).thenReturn("upcheck");
         ContainerRequestContext request = mock(ContainerRequestContext.class);
+        when(request.getProperty(LoggingFilter.START_TIME_PROPERTY)).thenReturn(System.nanoTime());
+        when(request.getUriInfo()).thenReturn(uriInfo);
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getLength()).thenReturn(-1);
         ContainerResponseContext response = mock(ContainerResponseContext.class);
-        Response.StatusType statusInfo = mock(Response.StatusType.class);
-        when(response.getStatusInfo()).thenReturn(statusInfo);
+        when(response.getStatus()).thenReturn(200);
+        when(response.getLength()).thenReturn(22);
+
         loggingFilter.filter(request, response);
 
-        // Very silly test
-        assertThat(loggingFilter).isNotNull();
+        verify(accessLog).record(eq("GET"), eq("/upcheck"), eq(200), anyLong(), eq(-1L), eq(22L));
     }
 
     @Test
-    public void filterNullResourceInfo() {
+    public void filterResponseIgnoresRequestThatWasNotSampled() {
+        when(accessLog.isEnabled()).thenReturn(true);
         ContainerRequestContext request = mock(ContainerRequestContext.class);
-        loggingFilter.setResourceInfo(null);
-        loggingFilter.filter(request); // if this doesn't throw exception then test passed
+        ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+        loggingFilter.filter(request, response);
+
+        verify(accessLog).isEnabled();
+        verifyNoMoreInteractions(accessLog);
+        verifyZeroInteractions(response);
     }
 
     @Test
-    public void filterNullResourceInfoClass() {
-        ResourceInfo resourceInfo = mock(ResourceInfo.class);
-        loggingFilter.setResourceInfo(resourceInfo);
-        when(resourceInfo.getResourceClass()).thenReturn(null);
+    public void filterResponseDoesNothingWhenAccessLogDisabled() {
+        ContainerRequestContext request = mock(ContainerRequestContext.class);
+        ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+        loggingFilter.filter(request, response);
+
+        verifyZeroInteractions(request, response);
+    }
 
+    @Test
+    public void filterNullUriInfo() {
+        when(accessLog.isEnabled()).thenReturn(true);
         ContainerRequestContext request = mock(ContainerRequestContext.class);
-        loggingFilter.filter(request); // if this doesn't throw exception then test passed
+        when(request.getProperty(LoggingFilter.START_TIME_PROPERTY)).thenReturn(System.nanoTime());
+        ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+        loggingFilter.filter(request, response);
+
+        verify(accessLog).record(isNull(), eq("/null"), eq(0), anyLong(), eq(0L), eq(0L));
     }
 }
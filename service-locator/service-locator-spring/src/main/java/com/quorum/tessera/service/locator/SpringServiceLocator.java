@@ -2,19 +2,25 @@ package com.quorum.tessera.service.locator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-/** A Spring implementation of the Service Locator that accepts xml bean definition files */
+/**
+ * A Spring implementation of the Service Locator that accepts xml bean definition files
+ *
+ * <p>Beans marked {@code lazy-init} are only created when another bean needs them, and are left out of the services
+ * until then.
+ */
 public class SpringServiceLocator implements ServiceLocator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SpringServiceLocator.class);
 
-    private static ApplicationContext context;
+    private static ConfigurableApplicationContext context;
 
     /**
      * If the Spring context is already established, then returns the previously generated set of beans
@@ -23,18 +29,24 @@ public class SpringServiceLocator implements ServiceLocator {
      */
     @Override
     public Set<Object> getServices() {
+        final ConfigurableListableBeanFactory beanFactory = context().getBeanFactory();
 
-        if (context == null) {
-            LOGGER.trace("Creating spring application context");
-            context = new ClassPathXmlApplicationContext("tessera-spring.xml");
-            LOGGER.trace("Created spring application context {}",context);
-        }
         LOGGER.trace("Loading services");
-        Set<Object> services = Stream.of(context.getBeanDefinitionNames())
+        Set<Object> services = Stream.of(beanFactory.getBeanDefinitionNames())
             .peek(n -> LOGGER.trace("Spring bean def {}",n))
-            .map(context::getBean)
+            .filter(n -> !beanFactory.getBeanDefinition(n).isLazyInit() || beanFactory.containsSingleton(n))
+            .map(beanFactory::getBean)
             .collect(Collectors.toSet());
         LOGGER.trace("Loaded services");
         return services;
     }
+
+    private static synchronized ConfigurableApplicationContext context() {
+        if (context == null) {
+            LOGGER.trace("Creating spring application context");
+            context = new ClassPathXmlApplicationContext("tessera-spring.xml");
+            LOGGER.trace("Created spring application context {}",context);
+        }
+        return context;
+    }
 }
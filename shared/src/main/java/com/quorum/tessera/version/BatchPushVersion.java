@@ -0,0 +1,12 @@
+package com.quorum.tessera.version;
+
+/** Supported by nodes that accept several payloads in a single push, through the p2p {@code pushPayloads} endpoint */
+public class BatchPushVersion implements ApiVersion {
+
+    public static final String API_VERSION_2_1 = "v2.1";
+
+    @Override
+    public String getVersion() {
+        return API_VERSION_2_1;
+    }
+}
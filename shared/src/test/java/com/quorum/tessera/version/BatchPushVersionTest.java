@@ -0,0 +1,15 @@
+package com.quorum.tessera.version;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchPushVersionTest {
+
+    private BatchPushVersion version = new BatchPushVersion();
+
+    @Test
+    public void getVersion() {
+        assertThat(version.getVersion()).isEqualTo("v2.1");
+    }
+}
@@ -2,11 +2,11 @@ package com.quorum.tessera.context;
 
 import com.quorum.tessera.config.KeyConfiguration;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
+import com.quorum.tessera.config.util.ValidatorFactoryProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.validation.ConstraintViolation;
-import javax.validation.Validation;
 import javax.validation.Validator;
 import java.util.Collections;
 import java.util.List;
@@ -18,8 +18,7 @@ public class DefaultKeyVaultConfigValidations implements KeyVaultConfigValidatio
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultKeyVaultConfigValidations.class);
 
-    private Validator validator =
-            Validation.byDefaultProvider().configure().ignoreXmlConfiguration().buildValidatorFactory().getValidator();
+    private Validator validator = ValidatorFactoryProvider.getValidator();
 
     @Override
     public Set<ConstraintViolation<?>> validate(KeyConfiguration keyConfiguration, List<ConfigKeyPair> configKeyPairs) {
@@ -0,0 +1,51 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.EncodedPayload;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least recently used cache of decoded payloads for transactions that are referenced as affected contract
+ * transactions. Hot contracts are referenced by many later transactions, so keeping their decoded payloads avoids a
+ * database read and a decode for every enhanced privacy send and receive.
+ */
+final class AffectedTransactionCache {
+
+    static final int DEFAULT_MAX_SIZE = 1000;
+
+    /** Shared by every component that resolves affected transactions, so an update seen by one is seen by all */
+    static final AffectedTransactionCache SHARED = new AffectedTransactionCache(DEFAULT_MAX_SIZE);
+
+    private final Map<MessageHash, EncodedPayload> payloads;
+
+    AffectedTransactionCache(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.payloads =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<MessageHash, EncodedPayload> eldest) {
+                        return size() > maxSize;
+                    }
+                };
+    }
+
+    synchronized EncodedPayload get(final MessageHash hash) {
+        return payloads.get(hash);
+    }
+
+    synchronized void put(final MessageHash hash, final EncodedPayload payload) {
+        payloads.put(hash, payload);
+    }
+
+    synchronized void invalidate(final MessageHash hash) {
+        payloads.remove(hash);
+    }
+
+    synchronized int size() {
+        return payloads.size();
+    }
+}
@@ -1,11 +1,14 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.RetentionConfig;
 import com.quorum.tessera.data.EncryptedRawTransactionDAO;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.data.EntityManagerDAOFactory;
+import com.quorum.tessera.data.retention.RetentionJob;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.enclave.EnclaveFactory;
+import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisher;
 import com.quorum.tessera.transaction.publish.BatchPayloadPublisherFactory;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
@@ -22,8 +25,11 @@ enum DefaultTransactionManagerFactory implements TransactionManagerFactory {
 
     private static final AtomicReference<TransactionManager> REF = new AtomicReference<>();
 
+    private static final AtomicReference<Stores> STORES = new AtomicReference<>();
+
+    // the server applications are started in parallel and each asks for the transaction manager
     @Override
-    public TransactionManager create(Config config) {
+    public synchronized TransactionManager create(Config config) {
 
         if (Objects.nonNull(REF.get())) {
             return REF.get();
@@ -33,14 +39,18 @@ enum DefaultTransactionManagerFactory implements TransactionManagerFactory {
         BatchPayloadPublisher batchPayloadPublisher =
                 BatchPayloadPublisherFactory.newFactory().create(payloadPublisher);
         Enclave enclave = EnclaveFactory.create().create(config);
-        EntityManagerDAOFactory entityManagerDAOFactory = EntityManagerDAOFactory.newFactory(config);
-        EncryptedTransactionDAO encryptedTransactionDAO = entityManagerDAOFactory.createEncryptedTransactionDAO();
-        EncryptedRawTransactionDAO encryptedRawTransactionDAO =
-                entityManagerDAOFactory.createEncryptedRawTransactionDAO();
+        Stores stores = stores(config);
+        EncryptedTransactionDAO encryptedTransactionDAO = stores.encryptedTransactionDAO;
+        EncryptedRawTransactionDAO encryptedRawTransactionDAO = stores.encryptedRawTransactionDAO;
 
         ResendManager resendManager = new ResendManagerImpl(encryptedTransactionDAO, enclave);
         boolean privacyEnabled = config.getFeatures().isEnablePrivacyEnhancements();
-        PrivacyHelper privacyHelper = new PrivacyHelperImpl(encryptedTransactionDAO, privacyEnabled);
+        PrivacyHelper privacyHelper =
+                new PrivacyHelperImpl(
+                        encryptedTransactionDAO,
+                        privacyEnabled,
+                        PayloadEncoder.create(),
+                        AffectedTransactionCache.SHARED);
 
         TransactionManager transactionManager =
                 new TransactionManagerImpl(
@@ -49,7 +59,11 @@ enum DefaultTransactionManagerFactory implements TransactionManagerFactory {
                         encryptedRawTransactionDAO,
                         resendManager,
                         batchPayloadPublisher,
-                        privacyHelper);
+                        privacyHelper,
+                        StoredHashFilter.create(encryptedTransactionDAO),
+                        Optional.ofNullable(config.getRetention())
+                                .map(RetentionConfig::isDeleteSentRawTransactions)
+                                .orElse(false));
 
         REF.set(transactionManager);
         return transactionManager;
@@ -59,4 +73,39 @@ enum DefaultTransactionManagerFactory implements TransactionManagerFactory {
     public Optional<TransactionManager> transactionManager() {
         return Optional.ofNullable(REF.get());
     }
+
+    // without retention rules the job never touches the stores, so they are not opened for it
+    @Override
+    public synchronized RetentionJob retentionJob(Config config) {
+        if (config.getRetention() == null) {
+            return RetentionJob.create(null, null, null, hash -> {});
+        }
+        Stores stores = stores(config);
+        // a purged transaction can no longer be resolved as an affected contract transaction
+        return RetentionJob.create(
+                config.getRetention(),
+                stores.encryptedTransactionDAO,
+                stores.encryptedRawTransactionDAO,
+                AffectedTransactionCache.SHARED::invalidate);
+    }
+
+    private static Stores stores(Config config) {
+        if (Objects.isNull(STORES.get())) {
+            STORES.set(new Stores(EntityManagerDAOFactory.newFactory(config)));
+        }
+        return STORES.get();
+    }
+
+    /** The stores are opened once and shared by the transaction manager and the retention job */
+    private static class Stores {
+
+        private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+        private final EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+        private Stores(EntityManagerDAOFactory entityManagerDAOFactory) {
+            this.encryptedTransactionDAO = entityManagerDAOFactory.createEncryptedTransactionDAO();
+            this.encryptedRawTransactionDAO = entityManagerDAOFactory.createEncryptedRawTransactionDAO();
+        }
+    }
 }
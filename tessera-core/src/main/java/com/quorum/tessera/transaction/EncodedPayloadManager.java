@@ -7,6 +7,7 @@ import com.quorum.tessera.data.MessageHashFactory;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.enclave.EnclaveFactory;
 import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.encryption.PublicKey;
 
 /**
@@ -44,7 +45,11 @@ public interface EncodedPayloadManager {
                             final EntityManagerDAOFactory emDAOFactory = EntityManagerDAOFactory.newFactory(config);
                             boolean privacyEnabled = config.getFeatures().isEnablePrivacyEnhancements();
                             final PrivacyHelper privacyHelper =
-                                    new PrivacyHelperImpl(emDAOFactory.createEncryptedTransactionDAO(), privacyEnabled);
+                                    new PrivacyHelperImpl(
+                                            emDAOFactory.createEncryptedTransactionDAO(),
+                                            privacyEnabled,
+                                            PayloadEncoder.create(),
+                                            AffectedTransactionCache.SHARED);
 
                             return new EncodedPayloadManagerImpl(enclave, privacyHelper, MessageHashFactory.create());
                         });
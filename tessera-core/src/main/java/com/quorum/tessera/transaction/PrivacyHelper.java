@@ -11,7 +11,6 @@ import java.util.Set;
 
 public interface PrivacyHelper {
 
-
     List<AffectedTransaction> findAffectedContractTransactionsFromSendRequest(Set<MessageHash> affectedHashes);
 
     List<AffectedTransaction> findAffectedContractTransactionsFromPayload(EncodedPayload payload);
@@ -24,4 +23,13 @@ public interface PrivacyHelper {
 
     EncodedPayload sanitisePrivacyPayload(
             TxHash txHash, EncodedPayload encodedPayload, Set<TxHash> invalidSecurityHashes);
+
+    /**
+     * Notifies that a transaction has been stored as given, so that it can later be resolved as an affected contract
+     * transaction without reading it back
+     */
+    void onStored(MessageHash hash, EncodedPayload payload);
+
+    /** Notifies that a stored transaction has been updated or deleted */
+    void invalidate(MessageHash hash);
 }
@@ -23,9 +23,27 @@ public class PrivacyHelperImpl implements PrivacyHelper {
 
     private boolean isEnhancedPrivacyEnabled;
 
+    private final PayloadEncoder payloadEncoder;
+
+    private final AffectedTransactionCache affectedTransactionCache;
+
     public PrivacyHelperImpl(EncryptedTransactionDAO encryptedTransactionDAO, boolean isEnhancedPrivacyEnabled) {
+        this(
+                encryptedTransactionDAO,
+                isEnhancedPrivacyEnabled,
+                PayloadEncoder.create(),
+                new AffectedTransactionCache(AffectedTransactionCache.DEFAULT_MAX_SIZE));
+    }
+
+    PrivacyHelperImpl(
+            EncryptedTransactionDAO encryptedTransactionDAO,
+            boolean isEnhancedPrivacyEnabled,
+            PayloadEncoder payloadEncoder,
+            AffectedTransactionCache affectedTransactionCache) {
         this.encryptedTransactionDAO = encryptedTransactionDAO;
         this.isEnhancedPrivacyEnabled = isEnhancedPrivacyEnabled;
+        this.payloadEncoder = Objects.requireNonNull(payloadEncoder);
+        this.affectedTransactionCache = Objects.requireNonNull(affectedTransactionCache);
     }
 
     @Override
@@ -35,12 +53,10 @@ public class PrivacyHelperImpl implements PrivacyHelper {
             return Collections.emptyList();
         }
 
-        final List<EncryptedTransaction> encryptedTransactions = encryptedTransactionDAO.findByHashes(affectedHashes);
-        final Set<MessageHash> foundHashes =
-                encryptedTransactions.stream().map(EncryptedTransaction::getHash).collect(Collectors.toSet());
+        final Map<MessageHash, EncodedPayload> found = resolve(affectedHashes);
 
         affectedHashes.stream()
-                .filter(Predicate.not(foundHashes::contains))
+                .filter(Predicate.not(found::containsKey))
                 .findAny()
                 .ifPresent(
                         messageHash -> {
@@ -48,14 +64,7 @@ public class PrivacyHelperImpl implements PrivacyHelper {
                                     "Unable to find affectedContractTransaction " + messageHash);
                         });
 
-        return encryptedTransactions.stream()
-                .map(
-                        et ->
-                                AffectedTransaction.Builder.create()
-                                        .withHash(et.getHash().getHashBytes())
-                                        .withPayload(PayloadEncoder.create().decode(et.getEncodedPayload()))
-                                        .build())
-                .collect(Collectors.toList());
+        return toAffectedTransactions(found);
     }
 
     @Override
@@ -70,22 +79,13 @@ public class PrivacyHelperImpl implements PrivacyHelper {
         final Set<MessageHash> hashesToFind =
                 affectedTxHashes.stream().map(TxHash::getBytes).map(MessageHash::new).collect(Collectors.toSet());
 
-        final List<EncryptedTransaction> encryptedTransactions = encryptedTransactionDAO.findByHashes(hashesToFind);
-        final Set<MessageHash> foundHashes =
-                encryptedTransactions.stream().map(EncryptedTransaction::getHash).collect(Collectors.toSet());
+        final Map<MessageHash, EncodedPayload> found = resolve(hashesToFind);
 
         hashesToFind.stream()
-                .filter(Predicate.not(foundHashes::contains))
+                .filter(Predicate.not(found::containsKey))
                 .forEach(txHash -> LOGGER.debug("Unable to find affectedContractTransaction {}", txHash));
 
-        return encryptedTransactions.stream()
-                .map(
-                        et ->
-                                AffectedTransaction.Builder.create()
-                                        .withHash(et.getHash().getHashBytes())
-                                        .withPayload(PayloadEncoder.create().decode(et.getEncodedPayload()))
-                                        .build())
-                .collect(Collectors.toList());
+        return toAffectedTransactions(found);
     }
 
     @Override
@@ -218,6 +218,58 @@ public class PrivacyHelperImpl implements PrivacyHelper {
         return sanitisedPayload;
     }
 
+    @Override
+    public void onStored(MessageHash hash, EncodedPayload payload) {
+        // only enhanced privacy transactions can be referenced as affected contract transactions
+        if (payload.getPrivacyMode() != PrivacyMode.STANDARD_PRIVATE) {
+            affectedTransactionCache.put(hash, payload);
+        }
+    }
+
+    @Override
+    public void invalidate(MessageHash hash) {
+        affectedTransactionCache.invalidate(hash);
+    }
+
+    /*
+       Decoded payloads of the given transactions, read from the database only for those not already cached.
+       Transactions that do not exist are absent from the result.
+    */
+    private Map<MessageHash, EncodedPayload> resolve(Set<MessageHash> hashes) {
+        final Map<MessageHash, EncodedPayload> found = new HashMap<>();
+        final Set<MessageHash> misses = new HashSet<>();
+
+        for (MessageHash hash : hashes) {
+            final EncodedPayload cached = affectedTransactionCache.get(hash);
+            if (cached != null) {
+                found.put(hash, cached);
+            } else {
+                misses.add(hash);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (EncryptedTransaction et : encryptedTransactionDAO.findByHashes(misses)) {
+                final EncodedPayload payload = payloadEncoder.decode(et.getEncodedPayload());
+                affectedTransactionCache.put(et.getHash(), payload);
+                found.put(et.getHash(), payload);
+            }
+        }
+
+        return found;
+    }
+
+    private static List<AffectedTransaction> toAffectedTransactions(Map<MessageHash, EncodedPayload> payloads) {
+        return payloads.entrySet().stream()
+                .map(
+                        e ->
+                                AffectedTransaction.Builder.create()
+                                        .withHash(e.getKey().getHashBytes())
+                                        .withPayload(e.getValue())
+                                        .build())
+                .collect(Collectors.toList());
+    }
+
     /*
        Stream of invalid recipients (for reporting/logging)
     */
@@ -0,0 +1,230 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter of the hashes of stored transactions, used to recognise payloads that peers push more than once.
+ *
+ * <p>A hash the filter does not contain has definitely not been stored, so it can be stored without first being looked
+ * up. A hash the filter might contain is usually a duplicate, which can be confirmed with a single lookup by primary
+ * key rather than by decoding, validating and decrypting the payload again. Deleted transactions cannot be removed from
+ * the filter, and only cause an extra lookup if they are pushed again.
+ *
+ * <p>Until the filter has been populated from the database, every hash is reported as possibly present.
+ */
+public class StoredHashFilter implements StoredHashFilterMXBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoredHashFilter.class);
+
+    static final String OBJECT_NAME = "com.quorum.tessera:type=StoredHashFilter";
+
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    static final long MIN_CAPACITY = 1_000_000L;
+
+    private static final int SCAN_PAGE_SIZE = 10_000;
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashFunctions;
+
+    private final long capacity;
+
+    private final AtomicLong insertions = new AtomicLong();
+
+    private final AtomicLong definiteMisses = new AtomicLong();
+
+    private final AtomicLong falsePositives = new AtomicLong();
+
+    private final AtomicLong duplicates = new AtomicLong();
+
+    private volatile boolean ready;
+
+    StoredHashFilter(final long capacity, final double falsePositiveRate) {
+        if (capacity < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Capacity must be positive and false positive rate between 0 and 1");
+        }
+        final double ln2 = Math.log(2);
+        final long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+        final int words = (int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64);
+
+        this.capacity = capacity;
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+    }
+
+    /**
+     * Creates a filter sized for the transactions currently stored, and populates it in the background
+     *
+     * @param encryptedTransactionDAO the store to read existing hashes from
+     * @return a filter that is ready for use, though it reports every hash as possibly present until populated
+     */
+    public static StoredHashFilter create(final EncryptedTransactionDAO encryptedTransactionDAO) {
+        final StoredHashFilter filter =
+                new StoredHashFilter(Math.max(MIN_CAPACITY, countStored(encryptedTransactionDAO) * 2), DEFAULT_FALSE_POSITIVE_RATE);
+        filter.register(ManagementFactory.getPlatformMBeanServer());
+
+        final Thread loader = new Thread(() -> filter.populate(encryptedTransactionDAO), "stored-hash-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+        return filter;
+    }
+
+    private static long countStored(final EncryptedTransactionDAO encryptedTransactionDAO) {
+        try {
+            return encryptedTransactionDAO.transactionCount();
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to count stored transactions, sizing hash filter for {}", MIN_CAPACITY);
+            LOGGER.debug(null, ex);
+            return 0;
+        }
+    }
+
+    /** Adds the hash of every stored transaction, reading only the hashes a page at a time */
+    void populate(final EncryptedTransactionDAO encryptedTransactionDAO) {
+        final long start = System.currentTimeMillis();
+        try {
+            MessageHash last = null;
+            List<MessageHash> page;
+            do {
+                page = encryptedTransactionDAO.retrieveHashesAfter(last, SCAN_PAGE_SIZE);
+                page.forEach(this::put);
+                if (!page.isEmpty()) {
+                    last = page.get(page.size() - 1);
+                }
+            } while (page.size() == SCAN_PAGE_SIZE);
+
+            ready = true;
+            LOGGER.info(
+                    "Loaded {} stored transaction hashes in {}ms, using {} bytes",
+                    insertions.get(),
+                    System.currentTimeMillis() - start,
+                    getMemoryBytes());
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Unable to load stored transaction hashes, duplicate pushes will be looked up", ex);
+        }
+    }
+
+    void register(final MBeanServer mBeanServer) {
+        try {
+            mBeanServer.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException ex) {
+            LOGGER.debug("Unable to register stored hash filter MBean", ex);
+        }
+    }
+
+    public void put(final MessageHash hash) {
+        final long[] hashes = hash(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            final long index = index(hashes, i);
+            final long mask = 1L << index;
+            bits.getAndUpdate((int) (index >>> 6), word -> word | mask);
+        }
+        insertions.incrementAndGet();
+    }
+
+    /** @return false if the hash has definitely not been stored, true if it might have been */
+    public boolean mightContain(final MessageHash hash) {
+        if (!ready) {
+            return true;
+        }
+
+        final long[] hashes = hash(hash);
+        for (int i = 0; i < hashFunctions; i++) {
+            final long index = index(hashes, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                definiteMisses.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Records that a hash the filter might contain was not stored */
+    public void falsePositive() {
+        falsePositives.incrementAndGet();
+    }
+
+    /** Records that a hash the filter might contain was a duplicate */
+    public void duplicate() {
+        duplicates.incrementAndGet();
+    }
+
+    @Override
+    public int getReady() {
+        return ready ? 1 : 0;
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return bits.length() * 8L;
+    }
+
+    @Override
+    public double getExpectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitCount), hashFunctions);
+    }
+
+    @Override
+    public double getObservedFalsePositiveRate() {
+        final long negatives = definiteMisses.get() + falsePositives.get();
+        return negatives == 0 ? 0 : (double) falsePositives.get() / negatives;
+    }
+
+    @Override
+    public long getDuplicateCount() {
+        return duplicates.get();
+    }
+
+    private long index(final long[] hashes, final int i) {
+        return Math.floorMod(hashes[0] + i * hashes[1], bitCount);
+    }
+
+    /*
+     * Two independent 64 bit hashes of the message hash, combined to give each of the k bit positions. Message hashes
+     * are already digests, but are mixed again so that short or structured hashes are spread as well.
+     */
+    private static long[] hash(final MessageHash hash) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : hash.getHashBytes()) {
+            h = (h ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        final long h1 = mix(h);
+        final long h2 = mix(h1 ^ 0x9e3779b97f4a7c15L) | 1;
+        return new long[] {h1, h2};
+    }
+
+    private static long mix(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
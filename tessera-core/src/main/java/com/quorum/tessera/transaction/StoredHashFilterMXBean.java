@@ -0,0 +1,23 @@
+package com.quorum.tessera.transaction;
+
+/** Management view of the {@link StoredHashFilter} */
+public interface StoredHashFilterMXBean {
+
+    /** @return 1 once the filter has been populated from the database, else 0 */
+    int getReady();
+
+    long getCapacity();
+
+    long getInsertions();
+
+    long getMemoryBytes();
+
+    /** @return the false positive rate expected for the number of hashes inserted so far */
+    double getExpectedFalsePositiveRate();
+
+    /** @return the fraction of lookups for hashes that were not stored which the filter reported as present */
+    double getObservedFalsePositiveRate();
+
+    /** @return the number of duplicate pushes that were acknowledged without being stored again */
+    long getDuplicateCount();
+}
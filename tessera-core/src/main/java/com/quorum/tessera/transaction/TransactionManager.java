@@ -6,6 +6,7 @@ import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.encryption.PublicKey;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface TransactionManager {
 
@@ -13,6 +14,16 @@ public interface TransactionManager {
 
     SendResponse sendSignedTransaction(SendSignedRequest sendRequest);
 
+    /**
+     * Distributes several pre-stored raw transactions at once
+     *
+     * @param sendRequests the signed transactions to distribute
+     * @return the responses, in the same order as the requests
+     */
+    default List<SendResponse> sendSignedTransactions(List<SendSignedRequest> sendRequests) {
+        return sendRequests.stream().map(this::sendSignedTransaction).collect(Collectors.toList());
+    }
+
     void delete(MessageHash messageHash);
 
     MessageHash storePayload(EncodedPayload transactionPayload);
@@ -2,6 +2,7 @@ package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.ServiceLoaderUtil;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.data.retention.RetentionJob;
 
 import java.util.Optional;
 
@@ -11,6 +12,14 @@ public interface TransactionManagerFactory {
 
     Optional<TransactionManager> transactionManager();
 
+    /**
+     * Creates the retention job that purges old transactions from the stores the transaction manager uses. Factories
+     * without stores of their own have nothing to purge, so by default the job does nothing.
+     */
+    default RetentionJob retentionJob(Config config) {
+        return RetentionJob.create(null, null, null, hash -> {});
+    }
+
     static TransactionManagerFactory create() {
         return ServiceLoaderUtil.load(TransactionManagerFactory.class)
                 .orElse(DefaultTransactionManagerFactory.INSTANCE);
@@ -1,6 +1,7 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.data.*;
+import com.quorum.tessera.data.retention.SentRawTransactionReaper;
 import com.quorum.tessera.enclave.*;
 import com.quorum.tessera.encryption.EncryptorException;
 import com.quorum.tessera.encryption.Nonce;
@@ -42,6 +43,10 @@ public class TransactionManagerImpl implements TransactionManager {
 
     private final PrivacyHelper privacyHelper;
 
+    private final StoredHashFilter storedHashFilter;
+
+    private final SentRawTransactionReaper sentRawTransactionReaper;
+
     private final MessageHashFactory messageHashFactory = MessageHashFactory.create();
 
     public TransactionManagerImpl(
@@ -50,7 +55,28 @@ public class TransactionManagerImpl implements TransactionManager {
             EncryptedRawTransactionDAO encryptedRawTransactionDAO,
             ResendManager resendManager,
             BatchPayloadPublisher batchPayloadPublisher,
-            PrivacyHelper privacyHelper) {
+            PrivacyHelper privacyHelper,
+            StoredHashFilter storedHashFilter) {
+        this(
+                encryptedTransactionDAO,
+                enclave,
+                encryptedRawTransactionDAO,
+                resendManager,
+                batchPayloadPublisher,
+                privacyHelper,
+                storedHashFilter,
+                false);
+    }
+
+    public TransactionManagerImpl(
+            EncryptedTransactionDAO encryptedTransactionDAO,
+            Enclave enclave,
+            EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+            ResendManager resendManager,
+            BatchPayloadPublisher batchPayloadPublisher,
+            PrivacyHelper privacyHelper,
+            StoredHashFilter storedHashFilter,
+            boolean deleteSentRawTransactions) {
         this(
                 Base64Codec.create(),
                 PayloadEncoder.create(),
@@ -59,7 +85,33 @@ public class TransactionManagerImpl implements TransactionManager {
                 enclave,
                 encryptedRawTransactionDAO,
                 resendManager,
-                privacyHelper);
+                privacyHelper,
+                storedHashFilter,
+                deleteSentRawTransactions);
+    }
+
+    // Only use for tests
+    public TransactionManagerImpl(
+            Base64Codec base64Decoder,
+            PayloadEncoder payloadEncoder,
+            EncryptedTransactionDAO encryptedTransactionDAO,
+            BatchPayloadPublisher batchPayloadPublisher,
+            Enclave enclave,
+            EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+            ResendManager resendManager,
+            PrivacyHelper privacyHelper,
+            StoredHashFilter storedHashFilter) {
+        this(
+                base64Decoder,
+                payloadEncoder,
+                encryptedTransactionDAO,
+                batchPayloadPublisher,
+                enclave,
+                encryptedRawTransactionDAO,
+                resendManager,
+                privacyHelper,
+                storedHashFilter,
+                false);
     }
 
     // Only use for tests
@@ -71,7 +123,9 @@ public class TransactionManagerImpl implements TransactionManager {
             Enclave enclave,
             EncryptedRawTransactionDAO encryptedRawTransactionDAO,
             ResendManager resendManager,
-            PrivacyHelper privacyHelper) {
+            PrivacyHelper privacyHelper,
+            StoredHashFilter storedHashFilter,
+            boolean deleteSentRawTransactions) {
 
         this.base64Codec = Objects.requireNonNull(base64Decoder, "base64Codec is required");
         this.payloadEncoder = Objects.requireNonNull(payloadEncoder, "payloadEncoder is required");
@@ -83,6 +137,9 @@ public class TransactionManagerImpl implements TransactionManager {
                 Objects.requireNonNull(encryptedRawTransactionDAO, "encryptedRawTransactionDAO is required");
         this.resendManager = Objects.requireNonNull(resendManager, "resendManager is required");
         this.privacyHelper = Objects.requireNonNull(privacyHelper, "privacyHelper is required");
+        this.storedHashFilter = Objects.requireNonNull(storedHashFilter, "storedHashFilter is required");
+        this.sentRawTransactionReaper =
+                deleteSentRawTransactions ? new SentRawTransactionReaper(encryptedRawTransactionDAO) : null;
     }
 
     @Override
@@ -137,6 +194,8 @@ public class TransactionManagerImpl implements TransactionManager {
                     batchPayloadPublisher.publishPayload(payload, recipientListRemotesOnly);
                     return null;
                 });
+        privacyHelper.onStored(transactionHash, payload);
+        storedHashFilter.put(transactionHash);
 
         return SendResponse.from(transactionHash);
     }
@@ -194,10 +253,125 @@ public class TransactionManagerImpl implements TransactionManager {
                     batchPayloadPublisher.publishPayload(payload, recipientListRemotesOnly);
                     return null;
                 });
+        privacyHelper.onStored(messageHash, payload);
+        storedHashFilter.put(messageHash);
+        deleteSentRawTransactions(List.of(messageHash));
 
         return SendResponse.from(messageHash);
     }
 
+    /**
+     * Distributes the signed transactions as one unit: the raw transactions are fetched in a single query, the affected
+     * contract transactions of every request are resolved together and the enclave encrypts the whole batch. All the
+     * new transactions are stored in one database transaction, and each remote recipient is sent all of its payloads in
+     * a single push. If any request is invalid, none of the transactions are stored or published.
+     */
+    @Override
+    public List<SendResponse> sendSignedTransactions(final List<SendSignedRequest> sendRequests) {
+
+        if (sendRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<MessageHash> messageHashes =
+                sendRequests.stream()
+                        .map(SendSignedRequest::getSignedData)
+                        .map(MessageHash::new)
+                        .collect(Collectors.toList());
+
+        final Map<MessageHash, EncryptedRawTransaction> rawTransactions =
+                encryptedRawTransactionDAO.findByHashes(messageHashes).stream()
+                        .collect(Collectors.toMap(EncryptedRawTransaction::getHash, r -> r, (r1, r2) -> r1));
+
+        messageHashes.stream()
+                .filter(h -> !rawTransactions.containsKey(h))
+                .findFirst()
+                .ifPresent(
+                        messageHash -> {
+                            throw new TransactionNotFoundException(
+                                    "Raw Transaction with hash " + messageHash + " was not found");
+                        });
+
+        final Set<MessageHash> allAffectedHashes =
+                sendRequests.stream()
+                        .map(SendSignedRequest::getAffectedContractTransactions)
+                        .flatMap(Set::stream)
+                        .collect(Collectors.toSet());
+
+        final Map<TxHash, AffectedTransaction> allAffectedTransactions =
+                privacyHelper.findAffectedContractTransactionsFromSendRequest(allAffectedHashes).stream()
+                        .collect(Collectors.toMap(AffectedTransaction::getHash, a -> a));
+
+        final Set<PublicKey> forwardingKeys = enclave.getForwardingKeys();
+
+        final List<RawTransactionEncryptRequest> encryptRequests = new ArrayList<>(sendRequests.size());
+        for (int i = 0; i < sendRequests.size(); i++) {
+            final SendSignedRequest sendRequest = sendRequests.get(i);
+            final EncryptedRawTransaction encryptedRawTransaction = rawTransactions.get(messageHashes.get(i));
+
+            final List<PublicKey> recipientList = new ArrayList<>();
+            recipientList.addAll(sendRequest.getRecipients());
+            recipientList.addAll(forwardingKeys);
+            recipientList.add(PublicKey.from(encryptedRawTransaction.getSender()));
+
+            final List<AffectedTransaction> affectedContractTransactions =
+                    sendRequest.getAffectedContractTransactions().stream()
+                            .map(MessageHash::getHashBytes)
+                            .map(TxHash::new)
+                            .map(allAffectedTransactions::get)
+                            .collect(Collectors.toList());
+
+            privacyHelper.validateSendRequest(
+                    sendRequest.getPrivacyMode(), recipientList, affectedContractTransactions);
+
+            encryptRequests.add(
+                    RawTransactionEncryptRequest.Builder.create()
+                            .withRawTransaction(encryptedRawTransaction.toRawTransaction())
+                            .withRecipients(recipientList.stream().distinct().collect(Collectors.toList()))
+                            .withPrivacyMode(sendRequest.getPrivacyMode())
+                            .withAffectedContractTransactions(affectedContractTransactions)
+                            .withExecHash(sendRequest.getExecHash())
+                            .build());
+        }
+
+        final List<EncodedPayload> payloads = enclave.encryptPayloads(encryptRequests);
+
+        final Set<PublicKey> localKeys = enclave.getPublicKeys();
+
+        final List<EncryptedTransaction> newTransactions = new ArrayList<>(payloads.size());
+        final Map<PublicKey, List<EncodedPayload>> payloadsByRecipient = new LinkedHashMap<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            final EncodedPayload payload = payloads.get(i);
+            newTransactions.add(new EncryptedTransaction(messageHashes.get(i), this.payloadEncoder.encode(payload)));
+
+            payload.getRecipientKeys().stream()
+                    .filter(k -> !localKeys.contains(k))
+                    .forEach(k -> payloadsByRecipient.computeIfAbsent(k, key -> new ArrayList<>()).add(payload));
+        }
+
+        this.encryptedTransactionDAO.saveAll(
+                newTransactions,
+                () -> {
+                    batchPayloadPublisher.publishPayloads(payloadsByRecipient);
+                    return null;
+                });
+
+        for (int i = 0; i < payloads.size(); i++) {
+            privacyHelper.onStored(messageHashes.get(i), payloads.get(i));
+            storedHashFilter.put(messageHashes.get(i));
+        }
+        deleteSentRawTransactions(messageHashes);
+
+        return messageHashes.stream().map(SendResponse::from).collect(Collectors.toList());
+    }
+
+    /** Queues raw transactions for deletion once they have been sent, if configured to */
+    private void deleteSentRawTransactions(final Collection<MessageHash> messageHashes) {
+        if (sentRawTransactionReaper != null) {
+            sentRawTransactionReaper.markSent(messageHashes);
+        }
+    }
+
     @Override
     public MessageHash storePayload(final EncodedPayload payload) {
 
@@ -207,6 +381,11 @@ public class TransactionManagerImpl implements TransactionManager {
                         .map(messageHashFactory::createFromCipherText)
                         .get();
 
+        if (storedHashFilter.mightContain(transactionHash) && isAlreadyStored(transactionHash, payload)) {
+            LOGGER.debug("Payload with hash {} is already stored", transactionHash);
+            return transactionHash;
+        }
+
         final List<AffectedTransaction> affectedContractTransactions =
                 privacyHelper.findAffectedContractTransactionsFromPayload(payload);
 
@@ -233,22 +412,50 @@ public class TransactionManagerImpl implements TransactionManager {
 
         if (enclave.getPublicKeys().contains(payload.getSenderKey())) {
             this.resendManager.acceptOwnMessage(encodedPayload);
+            // our own copy may have been merged with this one, so is no longer what was cached
+            privacyHelper.invalidate(transactionHash);
+            storedHashFilter.put(transactionHash);
 
         } else {
 
             // this is a tx from someone else
             byte[] payloadData = payloadEncoder.encode(encodedPayload);
             this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, payloadData));
+            privacyHelper.onStored(transactionHash, encodedPayload);
+            storedHashFilter.put(transactionHash);
             LOGGER.info("Stored payload with hash {}", transactionHash);
         }
 
         return transactionHash;
     }
 
+    /*
+     * A payload is only a duplicate if the copy we hold already has all of its recipient keys and boxes. The hash
+     * covers the cipher text but not the boxes, so a node hosting several recipients of a transaction is pushed the
+     * same hash once for each of them.
+     */
+    private boolean isAlreadyStored(final MessageHash transactionHash, final EncodedPayload payload) {
+        final Optional<EncryptedTransaction> existing = encryptedTransactionDAO.retrieveByHash(transactionHash);
+        if (existing.isEmpty()) {
+            storedHashFilter.falsePositive();
+            return false;
+        }
+
+        final EncodedPayload stored = payloadEncoder.decode(existing.get().getEncodedPayload());
+        final boolean duplicate =
+                stored.getRecipientKeys().containsAll(payload.getRecipientKeys())
+                        && stored.getRecipientBoxes().containsAll(payload.getRecipientBoxes());
+        if (duplicate) {
+            storedHashFilter.duplicate();
+        }
+        return duplicate;
+    }
+
     @Override
     public void delete(MessageHash messageHash) {
         LOGGER.info("Received request to delete message with hash {}", messageHash);
         this.encryptedTransactionDAO.delete(messageHash);
+        privacyHelper.invalidate(messageHash);
     }
 
     @Override
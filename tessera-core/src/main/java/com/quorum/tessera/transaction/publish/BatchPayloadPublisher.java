@@ -4,16 +4,28 @@ import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.encryption.PublicKey;
 
 import java.util.List;
+import java.util.Map;
 
 public interface BatchPayloadPublisher {
 
     /**
-     * Strips (leaving data intended only for that particular recipient) and publishes the payload to
-     * each recipient identified by the provided keys.
+     * Strips (leaving data intended only for that particular recipient) and publishes the payload to each recipient
+     * identified by the provided keys.
      *
      * @param payload the payload object to be stripped and pushed
      * @param recipientKeys list of public keys identifying the target nodes
      */
     void publishPayload(EncodedPayload payload, List<PublicKey> recipientKeys);
 
+    /**
+     * Strips (leaving data intended only for that particular recipient) and publishes several payloads, so that each
+     * recipient receives all of its payloads together.
+     *
+     * @param payloadsByRecipient the payloads to be stripped and pushed, keyed by the public key identifying the node
+     *     each must be pushed to
+     */
+    default void publishPayloads(Map<PublicKey, List<EncodedPayload>> payloadsByRecipient) {
+        payloadsByRecipient.forEach(
+                (recipient, payloads) -> payloads.forEach(payload -> publishPayload(payload, List.of(recipient))));
+    }
 }
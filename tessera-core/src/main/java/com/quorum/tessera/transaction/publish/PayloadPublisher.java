@@ -3,6 +3,8 @@ package com.quorum.tessera.transaction.publish;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.encryption.PublicKey;
 
+import java.util.List;
+
 /** Publishes messages from one node to another */
 public interface PayloadPublisher {
 
@@ -13,4 +15,15 @@ public interface PayloadPublisher {
      * @param recipientKey the public key identifying the target node
      */
     void publishPayload(EncodedPayload payload, PublicKey recipientKey);
+
+    /**
+     * Publishes several EncodedPayloads to the recipient identified by the provided key. Implementations that can
+     * should send them all in a single request.
+     *
+     * @param payloads the payload objects to be pushed
+     * @param recipientKey the public key identifying the target node
+     */
+    default void publishPayloads(List<EncodedPayload> payloads, PublicKey recipientKey) {
+        payloads.forEach(payload -> publishPayload(payload, recipientKey));
+    }
 }
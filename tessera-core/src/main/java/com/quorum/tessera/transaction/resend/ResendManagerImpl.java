@@ -13,6 +13,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ResendManagerImpl implements ResendManager {
 
@@ -24,18 +26,40 @@ public class ResendManagerImpl implements ResendManager {
 
     private final MessageHashFactory messageHashFactory = MessageHashFactory.create();
 
+    static final int DEFAULT_LOCK_STRIPES = 64;
+
+    /**
+     * Updates to the same transaction must not interleave, or a recipient box added by one thread can be overwritten by
+     * another. Locks are striped by message hash so that copies of different transactions can be accepted in parallel.
+     */
+    private final Lock[] locks;
+
     public ResendManagerImpl(EncryptedTransactionDAO encryptedTransactionDAO, Enclave enclave) {
         this(encryptedTransactionDAO, PayloadEncoder.create(), enclave);
     }
 
     public ResendManagerImpl(final EncryptedTransactionDAO dao, final PayloadEncoder encoder, final Enclave enclave) {
+        this(dao, encoder, enclave, DEFAULT_LOCK_STRIPES);
+    }
+
+    public ResendManagerImpl(
+            final EncryptedTransactionDAO dao,
+            final PayloadEncoder encoder,
+            final Enclave enclave,
+            final int lockStripes) {
+        if (lockStripes < 1) {
+            throw new IllegalArgumentException("At least one lock stripe is required");
+        }
         this.encryptedTransactionDAO = dao;
         this.payloadEncoder = encoder;
         this.enclave = enclave;
+        this.locks = new Lock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
     }
 
-    // TODO: synchronize based on messagehash, so different message don't lock each other
-    public synchronized void acceptOwnMessage(final EncodedPayload payload) {
+    public void acceptOwnMessage(final EncodedPayload payload) {
         // check the payload can be decrypted to ensure it isn't rubbish being sent to us
         final byte[] newDecrypted = enclave.unencryptTransaction(payload, null);
 
@@ -51,6 +75,25 @@ public class ResendManagerImpl implements ResendManager {
                     "Message " + transactionHash.toString() + " does not have one the nodes own keys as a sender");
         }
 
+        final Lock lock = lockFor(transactionHash);
+        lock.lock();
+        try {
+            storeOwnMessage(payload, sender, newDecrypted, transactionHash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Lock lockFor(final MessageHash transactionHash) {
+        final int hash = transactionHash.hashCode();
+        return locks[Math.floorMod(hash ^ (hash >>> 16), locks.length)];
+    }
+
+    private void storeOwnMessage(
+            final EncodedPayload payload,
+            final PublicKey sender,
+            final byte[] newDecrypted,
+            final MessageHash transactionHash) {
         // this is a tx which we created
         final Optional<EncryptedTransaction> tx = this.encryptedTransactionDAO.retrieveByHash(transactionHash);
 
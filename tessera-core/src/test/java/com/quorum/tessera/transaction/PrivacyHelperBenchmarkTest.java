@@ -0,0 +1,146 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.*;
+import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.PublicKey;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resolves affected contract transactions for a stream of private state validation sends against a deep contract
+ * dependency graph, where every contract depends on the contracts deployed before it, with and without the cache.
+ */
+public class PrivacyHelperBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrivacyHelperBenchmarkTest.class);
+
+    private static final int CONTRACTS = 500;
+
+    private static final int DEPTH = 25;
+
+    private static final int SENDS = 5000;
+
+    private static final List<PublicKey> RECIPIENTS =
+            List.of(PublicKey.from("sender".getBytes()), PublicKey.from("recipient".getBytes()));
+
+    private final PayloadEncoder payloadEncoder = new PayloadEncoderImpl();
+
+    private final Map<MessageHash, EncryptedTransaction> store = new HashMap<>();
+
+    private final List<MessageHash> contracts = new ArrayList<>();
+
+    private final AtomicInteger rowsRead = new AtomicInteger();
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    @Before
+    public void onSetUp() {
+        for (int i = 0; i < CONTRACTS; i++) {
+            final MessageHash hash = new MessageHash(String.format("contract-%04d", i).getBytes());
+
+            final Map<TxHash, byte[]> dependencies = new HashMap<>();
+            dependencies(i).forEach(h -> dependencies.put(TxHash.from(h.getHashBytes()), new byte[64]));
+
+            final EncodedPayload payload =
+                    EncodedPayload.Builder.create()
+                            .withSenderKey(RECIPIENTS.get(0))
+                            .withRecipientKeys(RECIPIENTS)
+                            .withRecipientBoxes(List.of(new byte[48], new byte[48]))
+                            .withCipherText(new byte[2048])
+                            .withCipherTextNonce(new Nonce(new byte[24]))
+                            .withRecipientNonce(new Nonce(new byte[24]))
+                            .withPrivacyMode(PrivacyMode.PRIVATE_STATE_VALIDATION)
+                            .withAffectedContractTransactions(dependencies)
+                            .withExecHash(new byte[32])
+                            .build();
+
+            store.put(hash, new EncryptedTransaction(hash, payloadEncoder.encode(payload)));
+            contracts.add(hash);
+        }
+
+        encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+        when(encryptedTransactionDAO.findByHashes(anyCollection()))
+                .thenAnswer(
+                        invocation -> {
+                            Collection<MessageHash> hashes = invocation.getArgument(0);
+                            rowsRead.addAndGet(hashes.size());
+                            return hashes.stream()
+                                    .map(store::get)
+                                    .filter(Objects::nonNull)
+                                    .collect(Collectors.toList());
+                        });
+    }
+
+    @Test
+    public void cacheAvoidsRereadingHotContracts() {
+        final Result uncached = run(new AffectedTransactionCache(0));
+        final Result cached = run(new AffectedTransactionCache(AffectedTransactionCache.DEFAULT_MAX_SIZE));
+
+        LOGGER.info(
+                "{} PSV sends with {} affected transactions each: uncached {} rows in {}ms, cached {} rows in {}ms",
+                SENDS,
+                DEPTH,
+                uncached.rowsRead,
+                uncached.millis,
+                cached.rowsRead,
+                cached.millis);
+
+        assertThat(uncached.rowsRead).isEqualTo(SENDS * DEPTH);
+        assertThat(cached.rowsRead).isLessThanOrEqualTo(CONTRACTS);
+    }
+
+    private Result run(AffectedTransactionCache cache) {
+        final PrivacyHelper privacyHelper =
+                new PrivacyHelperImpl(encryptedTransactionDAO, true, payloadEncoder, cache);
+        final Random random = new Random(1);
+
+        rowsRead.set(0);
+        final long start = System.nanoTime();
+        for (int i = 0; i < SENDS; i++) {
+            // most sends interact with recently deployed contracts
+            final int age = Math.min(CONTRACTS - DEPTH, (int) Math.abs(random.nextGaussian() * 20));
+            final Set<MessageHash> affected = dependencies(CONTRACTS - age);
+
+            final List<AffectedTransaction> affectedTransactions =
+                    privacyHelper.findAffectedContractTransactionsFromSendRequest(affected);
+            privacyHelper.validateSendRequest(PrivacyMode.PRIVATE_STATE_VALIDATION, RECIPIENTS, affectedTransactions);
+
+            assertThat(affectedTransactions).hasSize(affected.size());
+        }
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        return new Result(rowsRead.get(), millis);
+    }
+
+    /* The contracts deployed immediately before the given one */
+    private Set<MessageHash> dependencies(int contract) {
+        return new HashSet<>(contracts.subList(Math.max(0, contract - DEPTH), Math.min(contract, contracts.size())));
+    }
+
+    private static class Result {
+
+        private final int rowsRead;
+
+        private final long millis;
+
+        private Result(int rowsRead, long millis) {
+            this.rowsRead = rowsRead;
+            this.millis = millis;
+        }
+    }
+}
@@ -455,4 +455,68 @@ public class PrivacyHelperTest {
                             anotherHelper.validatePayload(mock(TxHash.class), payload, emptyList());
                         });
     }
+
+    @Test
+    public void affectedTransactionsAreCachedAfterFirstLookup() {
+        final MessageHash hash = new MessageHash("hash".getBytes());
+
+        final EncryptedTransaction et = new EncryptedTransaction(hash, "payload".getBytes());
+        when(encryptedTransactionDAO.findByHashes(anyCollection())).thenReturn(List.of(et));
+
+        final List<AffectedTransaction> first =
+                privacyHelper.findAffectedContractTransactionsFromSendRequest(Set.of(hash));
+        final List<AffectedTransaction> second =
+                privacyHelper.findAffectedContractTransactionsFromSendRequest(Set.of(hash));
+
+        assertThat(first).hasSize(1);
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).getPayload()).isSameAs(first.get(0).getPayload());
+
+        verify(encryptedTransactionDAO).findByHashes(Set.of(hash));
+    }
+
+    @Test
+    public void invalidatedTransactionIsReadAgain() {
+        final MessageHash hash = new MessageHash("hash".getBytes());
+
+        final EncryptedTransaction et = new EncryptedTransaction(hash, "payload".getBytes());
+        when(encryptedTransactionDAO.findByHashes(anyCollection())).thenReturn(List.of(et));
+
+        privacyHelper.findAffectedContractTransactionsFromSendRequest(Set.of(hash));
+        privacyHelper.invalidate(hash);
+        privacyHelper.findAffectedContractTransactionsFromSendRequest(Set.of(hash));
+
+        verify(encryptedTransactionDAO, times(2)).findByHashes(Set.of(hash));
+    }
+
+    @Test
+    public void storedEnhancedPrivacyTransactionIsResolvedWithoutReading() {
+        final MessageHash stored = new MessageHash("stored".getBytes());
+        final MessageHash other = new MessageHash("other".getBytes());
+
+        final EncodedPayload storedPayload = mock(EncodedPayload.class);
+        when(storedPayload.getPrivacyMode()).thenReturn(PrivacyMode.PRIVATE_STATE_VALIDATION);
+        privacyHelper.onStored(stored, storedPayload);
+
+        final EncodedPayload standardPayload = mock(EncodedPayload.class);
+        when(standardPayload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+        privacyHelper.onStored(other, standardPayload);
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getAffectedContractTransactions())
+                .thenReturn(
+                        Map.of(
+                                TxHash.from(stored.getHashBytes()), SecurityHash.from("sh1".getBytes()),
+                                TxHash.from(other.getHashBytes()), SecurityHash.from("sh2".getBytes())));
+        when(encryptedTransactionDAO.findByHashes(anyCollection())).thenReturn(emptyList());
+
+        final List<AffectedTransaction> affectedTransactions =
+                privacyHelper.findAffectedContractTransactionsFromPayload(payload);
+
+        assertThat(affectedTransactions).hasSize(1);
+        assertThat(affectedTransactions.get(0).getPayload()).isSameAs(storedPayload);
+
+        // only the standard private transaction was not cached
+        verify(encryptedTransactionDAO).findByHashes(Set.of(other));
+    }
 }
@@ -0,0 +1,88 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+public class StoredHashFilterTest {
+
+    @Test
+    public void everyHashIsPossiblyPresentUntilPopulated() {
+        StoredHashFilter filter = new StoredHashFilter(1000, 0.01);
+
+        assertThat(filter.getReady()).isZero();
+        assertThat(filter.mightContain(randomHash())).isTrue();
+    }
+
+    @Test
+    public void populateAddsEveryStoredHash() {
+        List<MessageHash> stored = randomHashes(25);
+
+        EncryptedTransactionDAO dao = mock(EncryptedTransactionDAO.class);
+        when(dao.retrieveHashesAfter(isNull(), anyInt())).thenReturn(stored);
+
+        StoredHashFilter filter = new StoredHashFilter(1000, 0.01);
+        filter.populate(dao);
+
+        assertThat(filter.getReady()).isEqualTo(1);
+        assertThat(filter.getInsertions()).isEqualTo(25);
+        stored.forEach(hash -> assertThat(filter.mightContain(hash)).isTrue());
+        verify(dao).retrieveHashesAfter(isNull(), anyInt());
+        verify(dao, never()).retrieveHashesAfter(any(MessageHash.class), anyInt());
+    }
+
+    @Test
+    public void falsePositiveRateIsNearTarget() {
+        EncryptedTransactionDAO dao = mock(EncryptedTransactionDAO.class);
+        when(dao.retrieveHashesAfter(isNull(), anyInt())).thenReturn(List.of());
+
+        StoredHashFilter filter = new StoredHashFilter(10_000, 0.01);
+        filter.populate(dao);
+
+        randomHashes(10_000).forEach(filter::put);
+
+        long falsePositives = randomHashes(100_000).stream().filter(filter::mightContain).count();
+        for (int i = 0; i < falsePositives; i++) {
+            filter.falsePositive();
+        }
+
+        assertThat(filter.getExpectedFalsePositiveRate()).isBetween(0.005, 0.015);
+        assertThat(filter.getObservedFalsePositiveRate()).isBetween(0.005, 0.02);
+        // 10,000 hashes at 1% need ~9.6 bits each
+        assertThat(filter.getMemoryBytes()).isBetween(11_000L, 13_000L);
+    }
+
+    @Test
+    public void registeredAsMBean() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+
+        StoredHashFilter filter = new StoredHashFilter(1000, 0.01);
+        filter.register(mBeanServer);
+        filter.put(randomHash());
+
+        ObjectName name = new ObjectName(StoredHashFilter.OBJECT_NAME);
+        assertThat(mBeanServer.getAttribute(name, "Insertions")).isEqualTo(1L);
+        assertThat(mBeanServer.getAttribute(name, "MemoryBytes")).isEqualTo(filter.getMemoryBytes());
+    }
+
+    private static MessageHash randomHash() {
+        return new MessageHash(UUID.randomUUID().toString().getBytes());
+    }
+
+    private static List<MessageHash> randomHashes(int count) {
+        return IntStream.range(0, count).mapToObj(i -> randomHash()).collect(Collectors.toList());
+    }
+}
@@ -1,16 +1,20 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.config.*;
+import com.quorum.tessera.data.retention.RetentionJob;
 import org.junit.Test;
 
+import java.lang.reflect.Field;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class TransactionManagerFactoryTest {
 
     @Test
-    public void create() {
+    public void create() throws Exception {
 
         TransactionManagerFactory result = TransactionManagerFactory.create();
         assertThat(result).isNotNull();
@@ -35,5 +39,31 @@ public class TransactionManagerFactoryTest {
 
         assertThat(result.create(config)).isSameAs(transactionManager);
         assertThat(result.transactionManager().get()).isSameAs(transactionManager);
+
+        assertThat(result.retentionJob(config).isEnabled()).isFalse();
+
+        RetentionConfig retentionConfig = new RetentionConfig();
+        retentionConfig.setMaxAge(60000L);
+        when(config.getRetention()).thenReturn(retentionConfig);
+
+        RetentionJob retentionJob = result.retentionJob(config);
+        assertThat(retentionJob.isEnabled()).isTrue();
+        assertThat(fieldValue(retentionJob, "encryptedTransactionDAO"))
+                .isSameAs(fieldValue(transactionManager, "encryptedTransactionDAO"));
+        assertThat(fieldValue(retentionJob, "encryptedRawTransactionDAO"))
+                .isSameAs(fieldValue(transactionManager, "encryptedRawTransactionDAO"));
+    }
+
+    @Test
+    public void defaultRetentionJobDoesNothing() {
+        TransactionManagerFactory factory = mock(TransactionManagerFactory.class, CALLS_REAL_METHODS);
+
+        assertThat(factory.retentionJob(mock(Config.class)).isEnabled()).isFalse();
+    }
+
+    private static Object fieldValue(Object object, String name) throws Exception {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
     }
 }
@@ -47,6 +47,8 @@ public class TransactionManagerTest {
 
     private PrivacyHelper privacyHelper;
 
+    private StoredHashFilter storedHashFilter;
+
     private BatchPayloadPublisher batchPayloadPublisher;
 
     @Before
@@ -58,6 +60,7 @@ public class TransactionManagerTest {
         resendManager = mock(ResendManager.class);
         privacyHelper = new PrivacyHelperImpl(encryptedTransactionDAO, true);
         batchPayloadPublisher = mock(BatchPayloadPublisher.class);
+        storedHashFilter = mock(StoredHashFilter.class);
 
         transactionManager =
                 new TransactionManagerImpl(
@@ -68,17 +71,14 @@ public class TransactionManagerTest {
                         enclave,
                         encryptedRawTransactionDAO,
                         resendManager,
-                        privacyHelper);
+                        privacyHelper,
+                        storedHashFilter);
     }
 
     @After
     public void onTearDown() {
         verifyNoMoreInteractions(
-                payloadEncoder,
-                encryptedTransactionDAO,
-                enclave,
-                resendManager,
-                batchPayloadPublisher);
+                payloadEncoder, encryptedTransactionDAO, enclave, resendManager, batchPayloadPublisher);
     }
 
     @Test
@@ -231,10 +231,212 @@ public class TransactionManagerTest {
         verify(payloadEncoder).encode(payload);
         verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
         verify(encryptedRawTransactionDAO).retrieveByHash(any(MessageHash.class));
+        verify(encryptedRawTransactionDAO, never()).deleteAll(anyCollection());
         verify(enclave).getForwardingKeys();
         verify(enclave, times(2)).getPublicKeys();
     }
 
+    @Test
+    public void sendSignedTransactionDeletesSentRawTransactionWhenConfigured() {
+
+        final TransactionManager deletingTransactionManager = createDeletingSentRawTransactions();
+
+        final MessageHash messageHash = new MessageHash("HASH".getBytes());
+        final EncodedPayload payload = mock(EncodedPayload.class);
+
+        when(encryptedRawTransactionDAO.retrieveByHash(messageHash))
+                .thenReturn(
+                        Optional.of(
+                                new EncryptedRawTransaction(
+                                        messageHash,
+                                        "ENCRYPTED_PAYLOAD".getBytes(),
+                                        "ENCRYPTED_KEY".getBytes(),
+                                        "NONCE".getBytes(),
+                                        "SENDER".getBytes())));
+        when(enclave.encryptPayload(any(RawTransaction.class), any(), any(), any(), any())).thenReturn(payload);
+
+        final SendSignedRequest sendSignedRequest = mock(SendSignedRequest.class);
+        when(sendSignedRequest.getRecipients()).thenReturn(List.of());
+        when(sendSignedRequest.getSignedData()).thenReturn("HASH".getBytes());
+
+        final SendResponse result = deletingTransactionManager.sendSignedTransaction(sendSignedRequest);
+
+        assertThat(result.getTransactionHash()).isEqualTo(messageHash);
+
+        verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class), any(Callable.class));
+        verify(encryptedRawTransactionDAO, timeout(5000)).deleteAll(List.of(messageHash));
+
+        verify(encryptedRawTransactionDAO).retrieveByHash(messageHash);
+        verify(enclave).encryptPayload(any(RawTransaction.class), any(), any(), any(), any());
+        verify(payloadEncoder).encode(payload);
+        verify(enclave).getForwardingKeys();
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void sendSignedTransactionsStoresAndPublishesAsOneBatch() {
+
+        PublicKey sender = PublicKey.from("SENDER".getBytes());
+        PublicKey remote = PublicKey.from("REMOTE".getBytes());
+
+        List<EncryptedRawTransaction> rawTransactions = new ArrayList<>();
+        List<SendSignedRequest> sendRequests = new ArrayList<>();
+        for (String hash : List.of("HASH1", "HASH2")) {
+            rawTransactions.add(
+                    new EncryptedRawTransaction(
+                            new MessageHash(hash.getBytes()),
+                            "ENCRYPTED_PAYLOAD".getBytes(),
+                            "ENCRYPTED_KEY".getBytes(),
+                            "NONCE".getBytes(),
+                            sender.getKeyBytes()));
+            sendRequests.add(
+                    SendSignedRequest.Builder.create()
+                            .withSignedData(hash.getBytes())
+                            .withRecipients(List.of(remote))
+                            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+                            .withAffectedContractTransactions(emptySet())
+                            .withExecHash(new byte[0])
+                            .build());
+        }
+
+        when(encryptedRawTransactionDAO.findByHashes(anyCollection())).thenReturn(rawTransactions);
+
+        EncodedPayload first = mock(EncodedPayload.class);
+        when(first.getRecipientKeys()).thenReturn(List.of(remote, sender));
+        PublicKey otherRemote = PublicKey.from("OTHER_REMOTE".getBytes());
+        EncodedPayload second = mock(EncodedPayload.class);
+        when(second.getRecipientKeys()).thenReturn(List.of(remote, otherRemote, sender));
+
+        when(enclave.getForwardingKeys()).thenReturn(emptySet());
+        when(enclave.getPublicKeys()).thenReturn(Set.of(sender));
+        when(enclave.encryptPayloads(anyList())).thenReturn(List.of(first, second));
+
+        doAnswer(
+                        invocation -> {
+                            Callable callable = invocation.getArgument(1);
+                            callable.call();
+                            return invocation.getArgument(0);
+                        })
+                .when(encryptedTransactionDAO)
+                .saveAll(anyCollection(), any(Callable.class));
+
+        List<SendResponse> result = transactionManager.sendSignedTransactions(sendRequests);
+
+        assertThat(result)
+                .extracting(SendResponse::getTransactionHash)
+                .containsExactly(new MessageHash("HASH1".getBytes()), new MessageHash("HASH2".getBytes()));
+
+        ArgumentCaptor<List<RawTransactionEncryptRequest>> encryptCaptor = ArgumentCaptor.forClass(List.class);
+        verify(enclave).encryptPayloads(encryptCaptor.capture());
+        assertThat(encryptCaptor.getValue())
+                .hasSize(2)
+                .allSatisfy(r -> assertThat(r.getRecipients()).containsExactly(remote, sender));
+
+        ArgumentCaptor<Collection<EncryptedTransaction>> saveCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(encryptedTransactionDAO).saveAll(saveCaptor.capture(), any(Callable.class));
+        assertThat(saveCaptor.getValue()).hasSize(2);
+
+        verify(batchPayloadPublisher)
+                .publishPayloads(Map.of(remote, List.of(first, second), otherRemote, List.of(second)));
+
+        verify(encryptedRawTransactionDAO).findByHashes(anyCollection());
+        verify(payloadEncoder).encode(first);
+        verify(payloadEncoder).encode(second);
+        verify(enclave).getForwardingKeys();
+        verify(enclave).getPublicKeys();
+        verify(storedHashFilter, times(2)).put(any(MessageHash.class));
+    }
+
+    @Test
+    public void sendSignedTransactionsFailsWholeBatchIfRawTransactionMissing() {
+
+        EncryptedRawTransaction encryptedRawTransaction =
+                new EncryptedRawTransaction(
+                        new MessageHash("HASH1".getBytes()),
+                        "ENCRYPTED_PAYLOAD".getBytes(),
+                        "ENCRYPTED_KEY".getBytes(),
+                        "NONCE".getBytes(),
+                        "SENDER".getBytes());
+
+        when(encryptedRawTransactionDAO.findByHashes(anyCollection())).thenReturn(List.of(encryptedRawTransaction));
+
+        List<SendSignedRequest> sendRequests = new ArrayList<>();
+        for (String hash : List.of("HASH1", "HASH2")) {
+            SendSignedRequest sendSignedRequest = mock(SendSignedRequest.class);
+            when(sendSignedRequest.getSignedData()).thenReturn(hash.getBytes());
+            sendRequests.add(sendSignedRequest);
+        }
+
+        try {
+            transactionManager.sendSignedTransactions(sendRequests);
+            failBecauseExceptionWasNotThrown(TransactionNotFoundException.class);
+        } catch (TransactionNotFoundException ex) {
+            assertThat(ex).hasMessageContaining(new MessageHash("HASH2".getBytes()).toString());
+        }
+
+        verify(encryptedRawTransactionDAO).findByHashes(anyCollection());
+        verifyZeroInteractions(storedHashFilter);
+    }
+
+    @Test
+    public void sendSignedTransactionsWithNoRequests() {
+        assertThat(transactionManager.sendSignedTransactions(emptyList())).isEmpty();
+
+        verifyZeroInteractions(encryptedRawTransactionDAO);
+    }
+
+    @Test
+    public void sendSignedTransactionsDeletesSentRawTransactions() {
+
+        final TransactionManager deletingTransactionManager = createDeletingSentRawTransactions();
+
+        final PublicKey sender = PublicKey.from("SENDER".getBytes());
+        final List<MessageHash> hashes =
+                List.of(new MessageHash("HASH1".getBytes()), new MessageHash("HASH2".getBytes()));
+
+        final List<EncryptedRawTransaction> rawTransactions = new ArrayList<>();
+        final List<SendSignedRequest> sendRequests = new ArrayList<>();
+        for (MessageHash hash : hashes) {
+            rawTransactions.add(
+                    new EncryptedRawTransaction(
+                            hash,
+                            "ENCRYPTED_PAYLOAD".getBytes(),
+                            "ENCRYPTED_KEY".getBytes(),
+                            "NONCE".getBytes(),
+                            sender.getKeyBytes()));
+            sendRequests.add(
+                    SendSignedRequest.Builder.create()
+                            .withSignedData(hash.getHashBytes())
+                            .withRecipients(List.of())
+                            .withPrivacyMode(PrivacyMode.STANDARD_PRIVATE)
+                            .withAffectedContractTransactions(emptySet())
+                            .withExecHash(new byte[0])
+                            .build());
+        }
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getRecipientKeys()).thenReturn(List.of(sender));
+
+        when(encryptedRawTransactionDAO.findByHashes(anyCollection())).thenReturn(rawTransactions);
+        when(enclave.getForwardingKeys()).thenReturn(emptySet());
+        when(enclave.getPublicKeys()).thenReturn(Set.of(sender));
+        when(enclave.encryptPayloads(anyList())).thenReturn(List.of(payload, payload));
+
+        deletingTransactionManager.sendSignedTransactions(sendRequests);
+
+        verify(encryptedTransactionDAO).saveAll(anyCollection(), any(Callable.class));
+
+        final ArgumentCaptor<Collection<MessageHash>> deleteCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(encryptedRawTransactionDAO, timeout(5000).atLeastOnce()).deleteAll(deleteCaptor.capture());
+        assertThat(deleteCaptor.getAllValues().stream().flatMap(Collection::stream)).containsExactlyElementsOf(hashes);
+
+        verify(encryptedRawTransactionDAO).findByHashes(anyCollection());
+        verify(enclave).encryptPayloads(anyList());
+        verify(payloadEncoder, times(2)).encode(payload);
+        verify(enclave).getForwardingKeys();
+        verify(enclave).getPublicKeys();
+    }
+
     @Test
     public void sendSignedTransactionWithCallbackCoverage() {
 
@@ -366,6 +568,116 @@ public class TransactionManagerTest {
         verify(enclave).findInvalidSecurityHashes(any(EncodedPayload.class), anyList());
     }
 
+    @Test
+    public void storePayloadAlreadyStoredFromOtherNodeIsNotStoredAgain() {
+        final PublicKey recipientKey = PublicKey.from("RECIPIENT".getBytes());
+        final RecipientBox recipientBox = RecipientBox.from("BOX".getBytes());
+
+        EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+        when(payload.getSenderKey()).thenReturn(PublicKey.from("OTHER".getBytes()));
+        when(payload.getRecipientKeys()).thenReturn(List.of(recipientKey));
+        when(payload.getRecipientBoxes()).thenReturn(List.of(recipientBox));
+
+        final MessageHash hash = messageHashFactory.createFromCipherText("CIPHERTEXT".getBytes());
+        when(storedHashFilter.mightContain(hash)).thenReturn(true);
+        when(encryptedTransactionDAO.retrieveByHash(hash))
+                .thenReturn(Optional.of(new EncryptedTransaction(hash, "STORED".getBytes())));
+
+        final EncodedPayload stored = mock(EncodedPayload.class);
+        when(stored.getRecipientKeys()).thenReturn(List.of(recipientKey));
+        when(stored.getRecipientBoxes()).thenReturn(List.of(RecipientBox.from("BOX".getBytes())));
+        when(payloadEncoder.decode("STORED".getBytes())).thenReturn(stored);
+
+        assertThat(transactionManager.storePayload(payload)).isEqualTo(hash);
+
+        verify(encryptedTransactionDAO).retrieveByHash(hash);
+        verify(payloadEncoder).decode("STORED".getBytes());
+        verify(storedHashFilter).duplicate();
+    }
+
+    @Test
+    public void storePayloadForAnotherLocalRecipientIsNotTreatedAsDuplicate() {
+        final PublicKey otherRecipient = PublicKey.from("OTHER_RECIPIENT".getBytes());
+
+        EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+        when(payload.getSenderKey()).thenReturn(PublicKey.from("OTHER".getBytes()));
+        when(payload.getRecipientKeys()).thenReturn(List.of(otherRecipient));
+        when(payload.getRecipientBoxes()).thenReturn(List.of(RecipientBox.from("OTHER_BOX".getBytes())));
+
+        final MessageHash hash = messageHashFactory.createFromCipherText("CIPHERTEXT".getBytes());
+        when(storedHashFilter.mightContain(hash)).thenReturn(true);
+        when(encryptedTransactionDAO.retrieveByHash(hash))
+                .thenReturn(Optional.of(new EncryptedTransaction(hash, "STORED".getBytes())));
+
+        final EncodedPayload stored = mock(EncodedPayload.class);
+        when(stored.getRecipientKeys()).thenReturn(List.of(PublicKey.from("RECIPIENT".getBytes())));
+        when(stored.getRecipientBoxes()).thenReturn(List.of(RecipientBox.from("BOX".getBytes())));
+        when(payloadEncoder.decode("STORED".getBytes())).thenReturn(stored);
+
+        transactionManager.storePayload(payload);
+
+        verify(encryptedTransactionDAO).retrieveByHash(hash);
+        verify(payloadEncoder).decode("STORED".getBytes());
+        verify(storedHashFilter, never()).duplicate();
+        verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class));
+        verify(payloadEncoder).encode(payload);
+        verify(enclave).getPublicKeys();
+        verify(enclave).findInvalidSecurityHashes(any(EncodedPayload.class), anyList());
+    }
+
+    @Test
+    public void storePayloadFalsePositiveIsStored() {
+        EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+
+        final MessageHash hash = messageHashFactory.createFromCipherText("CIPHERTEXT".getBytes());
+        when(storedHashFilter.mightContain(hash)).thenReturn(true);
+        when(encryptedTransactionDAO.retrieveByHash(hash)).thenReturn(Optional.empty());
+
+        transactionManager.storePayload(payload);
+
+        verify(encryptedTransactionDAO).retrieveByHash(hash);
+        verify(storedHashFilter).falsePositive();
+        verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class));
+        verify(storedHashFilter).put(hash);
+        verify(payloadEncoder).encode(payload);
+        verify(enclave).getPublicKeys();
+        verify(enclave).findInvalidSecurityHashes(any(EncodedPayload.class), anyList());
+    }
+
+    @Test
+    public void storePayloadWhenWeAreSenderAddingRecipientIsAccepted() {
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+        final PublicKey recipientKey = PublicKey.from("RECIPIENT".getBytes());
+
+        final EncodedPayload encodedPayload = mock(EncodedPayload.class);
+        when(encodedPayload.getSenderKey()).thenReturn(senderKey);
+        when(encodedPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+        when(encodedPayload.getRecipientKeys()).thenReturn(List.of(recipientKey));
+
+        final MessageHash hash = messageHashFactory.createFromCipherText("CIPHERTEXT".getBytes());
+        when(storedHashFilter.mightContain(hash)).thenReturn(true);
+        when(encryptedTransactionDAO.retrieveByHash(hash))
+                .thenReturn(Optional.of(new EncryptedTransaction(hash, "STORED".getBytes())));
+
+        final EncodedPayload stored = mock(EncodedPayload.class);
+        when(stored.getRecipientKeys()).thenReturn(List.of(senderKey));
+        when(payloadEncoder.decode("STORED".getBytes())).thenReturn(stored);
+
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+
+        transactionManager.storePayload(encodedPayload);
+
+        verify(encryptedTransactionDAO).retrieveByHash(hash);
+        verify(payloadEncoder).decode("STORED".getBytes());
+        verify(resendManager).acceptOwnMessage(encodedPayload);
+        verify(enclave).getPublicKeys();
+        verify(enclave).findInvalidSecurityHashes(any(EncodedPayload.class), anyList());
+        verify(storedHashFilter, never()).duplicate();
+    }
+
     @Test
     public void storePayloadWhenWeAreSender() {
         final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
@@ -1010,7 +1322,8 @@ public class TransactionManagerTest {
                         enclave,
                         encryptedRawTransactionDAO,
                         resendManager,
-                        privacyHelper);
+                        privacyHelper,
+                        storedHashFilter);
 
         assertThat(tm).isNotNull();
     }
@@ -1134,7 +1447,6 @@ public class TransactionManagerTest {
         verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
     }
 
-
     @Test
     public void defaultPublicKey() {
         transactionManager.defaultPublicKey();
@@ -1175,4 +1487,18 @@ public class TransactionManagerTest {
 
         verify(encryptedRawTransactionDAO).upcheck();
     }
+
+    private TransactionManager createDeletingSentRawTransactions() {
+        return new TransactionManagerImpl(
+                Base64Codec.create(),
+                payloadEncoder,
+                encryptedTransactionDAO,
+                batchPayloadPublisher,
+                enclave,
+                encryptedRawTransactionDAO,
+                resendManager,
+                privacyHelper,
+                storedHashFilter,
+                true);
+    }
 }
@@ -0,0 +1,168 @@
+package com.quorum.tessera.transaction.resend;
+
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.PayloadEncoderImpl;
+import com.quorum.tessera.encryption.Nonce;
+import com.quorum.tessera.encryption.PublicKey;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ResendManagerConcurrencyTest {
+
+    private static final int HASHES = 32;
+
+    private static final int RECIPIENTS_PER_HASH = 8;
+
+    private static final long ENCLAVE_DELAY_MILLIS = 2;
+
+    private final PublicKey sender = PublicKey.from("SENDER".getBytes());
+
+    private final PayloadEncoder payloadEncoder = new PayloadEncoderImpl();
+
+    private Map<MessageHash, byte[]> store;
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private Enclave enclave;
+
+    private final AtomicInteger enclaveCallsInFlight = new AtomicInteger();
+
+    private final AtomicInteger maxEnclaveCallsInFlight = new AtomicInteger();
+
+    @Before
+    public void init() {
+        this.store = new ConcurrentHashMap<>();
+
+        // returns copies, like the database would, so that unsynchronised updates are lost rather than shared
+        this.encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class)))
+                .then(
+                        invocation -> {
+                            final MessageHash hash = invocation.getArgument(0);
+                            return Optional.ofNullable(store.get(hash))
+                                    .map(payload -> new EncryptedTransaction(hash, payload.clone()));
+                        });
+        when(encryptedTransactionDAO.save(any(EncryptedTransaction.class)))
+                .then(
+                        invocation -> {
+                            final EncryptedTransaction tx = invocation.getArgument(0);
+                            if (store.putIfAbsent(tx.getHash(), tx.getEncodedPayload()) != null) {
+                                throw new IllegalStateException("Duplicate insert of " + tx.getHash());
+                            }
+                            return tx;
+                        });
+        when(encryptedTransactionDAO.update(any(EncryptedTransaction.class)))
+                .then(
+                        invocation -> {
+                            final EncryptedTransaction tx = invocation.getArgument(0);
+                            store.put(tx.getHash(), tx.getEncodedPayload());
+                            return tx;
+                        });
+
+        this.enclave = mock(Enclave.class);
+        when(enclave.getPublicKeys()).thenReturn(Set.of(sender));
+        when(enclave.unencryptTransaction(any(EncodedPayload.class), any()))
+                .then(
+                        invocation -> {
+                            maxEnclaveCallsInFlight.accumulateAndGet(enclaveCallsInFlight.incrementAndGet(), Math::max);
+                            try {
+                                TimeUnit.MILLISECONDS.sleep(ENCLAVE_DELAY_MILLIS);
+                            } finally {
+                                enclaveCallsInFlight.decrementAndGet();
+                            }
+                            return "PLAINTEXT".getBytes();
+                        });
+        when(enclave.createNewRecipientBox(any(EncodedPayload.class), any(PublicKey.class)))
+                .thenReturn("SENDER_BOX".getBytes());
+    }
+
+    @Test
+    public void concurrentCopiesOfManyTransactionsLoseNoRecipients() throws Exception {
+        final ResendManager resendManager = new ResendManagerImpl(encryptedTransactionDAO, payloadEncoder, enclave);
+
+        acceptAll(resendManager, 16);
+
+        assertThat(store).hasSize(HASHES);
+        for (byte[] stored : store.values()) {
+            final EncodedPayload payload = payloadEncoder.decode(stored);
+            final List<PublicKey> expected = new ArrayList<>();
+            for (int r = 0; r < RECIPIENTS_PER_HASH; r++) {
+                expected.add(recipient(r));
+            }
+            expected.add(sender);
+
+            assertThat(payload.getRecipientKeys()).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(payload.getRecipientBoxes()).hasSize(expected.size());
+        }
+    }
+
+    @Test
+    public void differentTransactionsAreDecryptedInParallel() throws Exception {
+        acceptAll(new ResendManagerImpl(encryptedTransactionDAO, payloadEncoder, enclave), 8);
+
+        assertThat(store).hasSize(HASHES);
+        assertThat(maxEnclaveCallsInFlight.get()).isGreaterThan(1);
+    }
+
+    /** Accepts a copy for every recipient of every transaction, in a random order */
+    private void acceptAll(ResendManager resendManager, int threads) throws Exception {
+        final List<EncodedPayload> payloads = new ArrayList<>();
+        for (int h = 0; h < HASHES; h++) {
+            for (int r = 0; r < RECIPIENTS_PER_HASH; r++) {
+                payloads.add(copyFor(h, r));
+            }
+        }
+        Collections.shuffle(payloads, new Random(1));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch ready = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (EncodedPayload payload : payloads) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    ready.await();
+                                    resendManager.acceptOwnMessage(payload);
+                                    return null;
+                                }));
+            }
+
+            ready.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private EncodedPayload copyFor(int hash, int recipient) {
+        return EncodedPayload.Builder.create()
+                .withSenderKey(sender)
+                .withCipherText(("CIPHERTEXT" + hash).getBytes())
+                .withCipherTextNonce(new Nonce("nonce".getBytes()))
+                .withRecipientBoxes(List.of(("BOX" + recipient).getBytes()))
+                .withRecipientNonce(new Nonce("nonce".getBytes()))
+                .withRecipientKeys(List.of(recipient(recipient)))
+                .build();
+    }
+
+    private static PublicKey recipient(int index) {
+        return PublicKey.from(("RECIPIENT" + index).getBytes());
+    }
+}
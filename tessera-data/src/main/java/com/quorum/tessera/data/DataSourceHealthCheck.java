@@ -0,0 +1,164 @@
+package com.quorum.tessera.data;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Checks that the database is reachable by validating a pooled connection, rather than by querying any tables.
+ *
+ * <p>The outcome is cached for a short time, so that frequent upchecks from monitoring do not each borrow a connection
+ * from the pool. A saturated pool is reported as down without borrowing a connection, as the check would otherwise
+ * queue behind the requests that are already waiting.
+ */
+public class DataSourceHealthCheck {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSourceHealthCheck.class);
+
+    /** Seconds to wait for the driver to validate a connection */
+    private static final int VALIDATION_TIMEOUT = 5;
+
+    private final DataSource dataSource;
+
+    private final long cacheTime;
+
+    private final LongSupplier clock;
+
+    private volatile Result lastResult;
+
+    public DataSourceHealthCheck(DataSource dataSource, long cacheTime) {
+        this(dataSource, cacheTime, System::currentTimeMillis);
+    }
+
+    DataSourceHealthCheck(DataSource dataSource, long cacheTime, LongSupplier clock) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.cacheTime = cacheTime;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Check whether a connection to the database can be obtained and is valid
+     *
+     * @return true if the database is up and the pool has a connection to spare, else false
+     */
+    public boolean isUp() {
+        final long now = clock.getAsLong();
+        final Result cached = lastResult;
+        if (cached != null && now - cached.checkedAt < cacheTime) {
+            return cached.up;
+        }
+
+        final Optional<PoolStatus> saturated = getPoolStatus().filter(PoolStatus::isSaturated);
+        saturated.ifPresent(status -> LOGGER.warn("Database connection pool is saturated: {}", status));
+
+        final boolean up = saturated.isEmpty() && validate();
+        lastResult = new Result(up, now);
+
+        return up;
+    }
+
+    /** @return the current usage of the connection pool, if the data source is a connection pool */
+    public Optional<PoolStatus> getPoolStatus() {
+        if (!(dataSource instanceof HikariDataSource)) {
+            return Optional.empty();
+        }
+
+        final HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+        final HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(
+                new PoolStatus(
+                        pool.getActiveConnections(),
+                        pool.getIdleConnections(),
+                        pool.getThreadsAwaitingConnection(),
+                        hikariDataSource.getMaximumPoolSize()));
+    }
+
+    private boolean validate() {
+        try (Connection connection = dataSource.getConnection()) {
+            return isValid(connection);
+        } catch (SQLException ex) {
+            LOGGER.warn("Unable to obtain database connection: {}", ex.getMessage());
+            LOGGER.debug(null, ex);
+            return false;
+        }
+    }
+
+    /** Validates a connection the caller already holds, without executing any statements against tables */
+    static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException ex) {
+            LOGGER.warn("Unable to validate database connection: {}", ex.getMessage());
+            LOGGER.debug(null, ex);
+            return false;
+        }
+    }
+
+    private static final class Result {
+
+        private final boolean up;
+
+        private final long checkedAt;
+
+        private Result(boolean up, long checkedAt) {
+            this.up = up;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    public static final class PoolStatus {
+
+        private final int active;
+
+        private final int idle;
+
+        private final int awaiting;
+
+        private final int maximum;
+
+        PoolStatus(int active, int idle, int awaiting, int maximum) {
+            this.active = active;
+            this.idle = idle;
+            this.awaiting = awaiting;
+            this.maximum = maximum;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getAwaiting() {
+            return awaiting;
+        }
+
+        public int getMaximum() {
+            return maximum;
+        }
+
+        /** @return true if every connection is in use or threads are waiting for one */
+        public boolean isSaturated() {
+            return awaiting > 0 || active >= maximum;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d, idle=%d, awaiting=%d, maximum=%d", active, idle, awaiting, maximum);
+        }
+    }
+}
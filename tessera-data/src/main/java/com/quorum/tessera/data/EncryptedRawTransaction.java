@@ -13,10 +13,16 @@ import java.util.Objects;
     @NamedQuery(
             name = "EncryptedRawTransaction.DeleteByHash",
             query = "delete from EncryptedRawTransaction where hash.hashBytes = :hash"),
-    @NamedQuery(name = "EncryptedRawTransaction.Upcheck", query = "select count(c) from EncryptedRawTransaction c")
+    @NamedQuery(
+            name = "EncryptedRawTransaction.FindStoredBefore",
+            query =
+                    "select et from EncryptedRawTransaction et where et.timestamp < :timestamp"
+                            + " order by et.timestamp,et.hash")
 })
 @Entity
-@Table(name = "ENCRYPTED_RAW_TRANSACTION")
+@Table(
+        name = "ENCRYPTED_RAW_TRANSACTION",
+        indexes = {@Index(name = "ENCRYPTED_RAW_TRANSACTION_TIMESTAMP_IDX", columnList = "TIMESTAMP,HASH")})
 public class EncryptedRawTransaction implements Serializable {
 
     @EmbeddedId
@@ -100,6 +106,11 @@ public class EncryptedRawTransaction implements Serializable {
         return this.timestamp;
     }
 
+    /** Restores the time the entity was first stored, for stores that do not go through JPA */
+    void setTimestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
     public byte[] getSender() {
         return sender;
     }
@@ -1,5 +1,7 @@
 package com.quorum.tessera.data;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /** A data store for transactions that need to be retrieved later */
@@ -21,6 +23,14 @@ public interface EncryptedRawTransactionDAO {
      */
     Optional<EncryptedRawTransaction> retrieveByHash(MessageHash hash);
 
+    /**
+     * Retrieve the transactions with the given hashes in a single query. Hashes that don't exist are ignored.
+     *
+     * @param hashes the hashes of the transactions to retrieve
+     * @return the encrypted transactions that were found, in no particular order
+     */
+    List<EncryptedRawTransaction> findByHashes(Collection<MessageHash> hashes);
+
     /**
      * Deletes a transaction that has the given hash as its digest
      *
@@ -29,6 +39,24 @@ public interface EncryptedRawTransactionDAO {
      */
     void delete(MessageHash hash);
 
+    /**
+     * Retrieves the oldest raw transactions that were stored before the given time
+     *
+     * @param timestamp the time, in milliseconds since the epoch, that transactions must have been stored before
+     * @param maxResult the maximum number of records to return
+     * @return the matching raw transactions, oldest first
+     */
+    List<EncryptedRawTransaction> retrieveStoredBefore(long timestamp, int maxResult);
+
+    /**
+     * Deletes all the raw transactions with the given hashes in a single database transaction. Hashes that don't exist
+     * are ignored.
+     *
+     * @param hashes the hashes of the raw transactions to delete
+     * @return the number of raw transactions deleted
+     */
+    int deleteAll(Collection<MessageHash> hashes);
+
     /**
      * Check whether data store is available
      *
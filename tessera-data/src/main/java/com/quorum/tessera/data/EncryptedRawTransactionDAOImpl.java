@@ -6,6 +6,14 @@ import org.slf4j.LoggerFactory;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityNotFoundException;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 /** A JPA implementation of {@link EncryptedTransactionDAO} */
@@ -15,8 +23,16 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
 
     private final EntityManagerTemplate entityManagerTemplate;
 
+    private final DataSourceHealthCheck healthCheck;
+
     public EncryptedRawTransactionDAOImpl(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, null);
+    }
+
+    public EncryptedRawTransactionDAOImpl(
+            EntityManagerFactory entityManagerFactory, DataSourceHealthCheck healthCheck) {
         this.entityManagerTemplate = new EntityManagerTemplate(entityManagerFactory);
+        this.healthCheck = healthCheck;
     }
 
     @Override
@@ -46,6 +62,26 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
         return Optional.ofNullable(encryptedRawTransaction);
     }
 
+    @Override
+    public List<EncryptedRawTransaction> findByHashes(final Collection<MessageHash> hashes) {
+        if (hashes.isEmpty()) {
+            return Collections.emptyList();
+        }
+        LOGGER.debug("Retrieving {} raw transactions", hashes.size());
+
+        return entityManagerTemplate.execute(
+                entityManager -> {
+                    final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+                    final CriteriaQuery<EncryptedRawTransaction> query =
+                            criteriaBuilder.createQuery(EncryptedRawTransaction.class);
+                    final Root<EncryptedRawTransaction> root = query.from(EncryptedRawTransaction.class);
+
+                    return entityManager
+                            .createQuery(query.select(root).where(root.get("hash").in(hashes)))
+                            .getResultList();
+                });
+    }
+
     @Override
     public void delete(final MessageHash hash) {
         LOGGER.info("Deleting transaction with hash {}", hash);
@@ -65,17 +101,46 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
                 });
     }
 
+    @Override
+    public List<EncryptedRawTransaction> retrieveStoredBefore(final long timestamp, final int maxResult) {
+        return entityManagerTemplate.execute(
+                entityManager ->
+                        entityManager
+                                .createNamedQuery(
+                                        "EncryptedRawTransaction.FindStoredBefore", EncryptedRawTransaction.class)
+                                .setParameter("timestamp", timestamp)
+                                .setMaxResults(maxResult)
+                                .getResultList());
+    }
+
+    @Override
+    public int deleteAll(final Collection<MessageHash> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        LOGGER.info("Deleting {} raw transactions", hashes.size());
+
+        return entityManagerTemplate.execute(
+                entityManager -> {
+                    final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+                    final CriteriaDelete<EncryptedRawTransaction> delete =
+                            criteriaBuilder.createCriteriaDelete(EncryptedRawTransaction.class);
+                    final Root<EncryptedRawTransaction> root = delete.from(EncryptedRawTransaction.class);
+
+                    return entityManager.createQuery(delete.where(root.get("hash").in(hashes))).executeUpdate();
+                });
+    }
+
     @Override
     public boolean upcheck() {
-        // if query succeeds then DB is up and running (else get exception)
+        if (healthCheck != null) {
+            return healthCheck.isUp();
+        }
+
+        // validate the connection the entity manager holds, rather than querying a table
         try {
             return entityManagerTemplate.execute(
-                    entityManager -> {
-                        Object result =
-                                entityManager.createNamedQuery("EncryptedRawTransaction.Upcheck").getSingleResult();
-
-                        return true;
-                    });
+                    entityManager -> DataSourceHealthCheck.isValid(entityManager.unwrap(Connection.class)));
         } catch (Exception e) {
             return false;
         }
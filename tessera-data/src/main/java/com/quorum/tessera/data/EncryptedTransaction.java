@@ -9,6 +9,9 @@ import java.util.Objects;
  *
  * <p>The key is the transaction hash, and the value an a fully encoded {@link
  * com.quorum.tessera.enclave.EncodedPayload}
+ *
+ * <p>Rows are indexed on their timestamp and hash, so that the whole table can be walked in the order it was written by
+ * seeking past the last row of the previous page.
  */
 @NamedQueries({
     @NamedQuery(
@@ -17,10 +20,25 @@ import java.util.Objects;
     @NamedQuery(
             name = "EncryptedTransaction.FindAll",
             query = "select et from EncryptedTransaction et order by et.timestamp,et.hash"),
-    @NamedQuery(name = "EncryptedTransaction.Upcheck", query = "select count(c) from EncryptedTransaction c")
+    @NamedQuery(
+            name = "EncryptedTransaction.FindAllAfter",
+            query =
+                    "select et from EncryptedTransaction et where et.timestamp >= :timestamp"
+                            + " and not (et.timestamp = :timestamp and et.hash.hashBytes <= :hash)"
+                            + " order by et.timestamp,et.hash"),
+    @NamedQuery(
+            name = "EncryptedTransaction.FindHashes",
+            query = "select et.hash.hashBytes from EncryptedTransaction et order by et.hash.hashBytes"),
+    @NamedQuery(
+            name = "EncryptedTransaction.FindHashesAfter",
+            query =
+                    "select et.hash.hashBytes from EncryptedTransaction et where et.hash.hashBytes > :hash"
+                            + " order by et.hash.hashBytes")
 })
 @Entity
-@Table(name = "ENCRYPTED_TRANSACTION")
+@Table(
+        name = "ENCRYPTED_TRANSACTION",
+        indexes = {@Index(name = "ENCRYPTED_TRANSACTION_TIMESTAMP_IDX", columnList = "TIMESTAMP,HASH")})
 public class EncryptedTransaction implements Serializable {
 
     @EmbeddedId
@@ -68,6 +86,11 @@ public class EncryptedTransaction implements Serializable {
         return this.timestamp;
     }
 
+    /** Restores the time the entity was first stored, for stores that do not go through JPA */
+    void setTimestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
     @Override
     public int hashCode() {
         return 47 * 3 + Objects.hashCode(this.hash);
@@ -49,6 +49,27 @@ public interface EncryptedTransactionDAO {
      */
     List<EncryptedTransaction> retrieveTransactions(int offset, int maxResult);
 
+    /**
+     * Retrieves the next page of transactions, in the order they were stored. Rather than counting past an offset from
+     * the start of the table, the query seeks straight to the last transaction of the previous page using the timestamp
+     * index, so each page costs the same however far through the table it is.
+     *
+     * @param after the last transaction of the previous page, or {@code null} to start from the first transaction
+     * @param maxResult the maximum number of records to return
+     * @return The list of requested rows from the database
+     */
+    List<EncryptedTransaction> retrieveTransactionsAfter(EncryptedTransaction after, int maxResult);
+
+    /**
+     * Retrieves only the hashes of stored transactions, in hash order, without reading their payloads. Passing the last
+     * hash of one page as {@code after} returns the next page.
+     *
+     * @param after the hash to start after, or null to start from the first hash
+     * @param maxResult the maximum number of hashes to return
+     * @return the hashes of up to {@code maxResult} transactions
+     */
+    List<MessageHash> retrieveHashesAfter(MessageHash after, int maxResult);
+
     /**
      * Retrieve the total transaction count.
      *
@@ -64,6 +85,15 @@ public interface EncryptedTransactionDAO {
      */
     void delete(MessageHash hash);
 
+    /**
+     * Deletes all the transactions with the given hashes in a single database transaction. Hashes that don't exist are
+     * ignored.
+     *
+     * @param hashes the hashes of the transactions to delete
+     * @return the number of transactions deleted
+     */
+    int deleteAll(Collection<MessageHash> hashes);
+
     /**
      * Perform a save of encrypted transaction with a callback
      *
@@ -74,6 +104,17 @@ public interface EncryptedTransactionDAO {
      */
     <T> EncryptedTransaction save(EncryptedTransaction transaction, Callable<T> consumer);
 
+    /**
+     * Perform a save of several encrypted transactions in a single database transaction with a callback. None of the
+     * transactions are stored if any of them cannot be persisted or the callback fails.
+     *
+     * @param transactions the entities to be persisted
+     * @param consumer action that needs to be executed together
+     * @return the entities that were persisted
+     * @throws RuntimeException if the callback fails
+     */
+    <T> List<EncryptedTransaction> saveAll(Collection<EncryptedTransaction> transactions, Callable<T> consumer);
+
     /**
      * Check whether data store is available
      *
@@ -6,11 +6,15 @@ import org.slf4j.LoggerFactory;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceException;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.sql.Connection;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 /** A JPA implementation of {@link EncryptedTransactionDAO} */
 public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
@@ -19,8 +23,15 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
 
     private EntityManagerTemplate entityManagerTemplate;
 
+    private final DataSourceHealthCheck healthCheck;
+
     public EncryptedTransactionDAOImpl(EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, null);
+    }
+
+    public EncryptedTransactionDAOImpl(EntityManagerFactory entityManagerFactory, DataSourceHealthCheck healthCheck) {
         this.entityManagerTemplate = new EntityManagerTemplate(entityManagerFactory);
+        this.healthCheck = healthCheck;
     }
 
     @Override
@@ -67,6 +78,42 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                                 .getResultList());
     }
 
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsAfter(EncryptedTransaction after, int maxResult) {
+        if (after == null) {
+            return retrieveTransactions(0, maxResult);
+        }
+        LOGGER.debug(
+                "Fetching batch(after:{},maxResult:{}) EncryptedTransaction database rows", after.getHash(), maxResult);
+        return entityManagerTemplate.execute(
+                entityManager ->
+                        entityManager
+                                .createNamedQuery("EncryptedTransaction.FindAllAfter", EncryptedTransaction.class)
+                                .setParameter("timestamp", after.getTimestamp())
+                                .setParameter("hash", after.getHash().getHashBytes())
+                                .setMaxResults(maxResult)
+                                .getResultList());
+    }
+
+    @Override
+    public List<MessageHash> retrieveHashesAfter(MessageHash after, int maxResult) {
+        return entityManagerTemplate.execute(
+                entityManager -> {
+                    final TypedQuery<byte[]> query;
+                    if (after == null) {
+                        query = entityManager.createNamedQuery("EncryptedTransaction.FindHashes", byte[].class);
+                    } else {
+                        query =
+                                entityManager
+                                        .createNamedQuery("EncryptedTransaction.FindHashesAfter", byte[].class)
+                                        .setParameter("hash", after.getHashBytes());
+                    }
+                    return query.setMaxResults(maxResult).getResultList().stream()
+                            .map(MessageHash::new)
+                            .collect(Collectors.toList());
+                });
+    }
+
     @Override
     public long transactionCount() {
         return entityManagerTemplate.execute(
@@ -100,6 +147,24 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                 });
     }
 
+    @Override
+    public int deleteAll(final Collection<MessageHash> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        LOGGER.info("Deleting {} transactions", hashes.size());
+
+        return entityManagerTemplate.execute(
+                entityManager -> {
+                    final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+                    final CriteriaDelete<EncryptedTransaction> delete =
+                            criteriaBuilder.createCriteriaDelete(EncryptedTransaction.class);
+                    final Root<EncryptedTransaction> root = delete.from(EncryptedTransaction.class);
+
+                    return entityManager.createQuery(delete.where(root.get("hash").in(hashes))).executeUpdate();
+                });
+    }
+
     @Override
     public <T> EncryptedTransaction save(EncryptedTransaction transaction, Callable<T> consumer) {
 
@@ -118,17 +183,34 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                 });
     }
 
+    @Override
+    public <T> List<EncryptedTransaction> saveAll(Collection<EncryptedTransaction> transactions, Callable<T> consumer) {
+
+        return entityManagerTemplate.execute(
+                entityManager -> {
+                    transactions.forEach(entityManager::persist);
+                    try {
+                        entityManager.flush();
+                        consumer.call();
+                        return List.copyOf(transactions);
+                    } catch (RuntimeException ex) {
+                        throw ex;
+                    } catch (Exception e) {
+                        throw new PersistenceException(e);
+                    }
+                });
+    }
+
     @Override
     public boolean upcheck() {
-        // if query succeeds then DB is up and running (else get exception)
+        if (healthCheck != null) {
+            return healthCheck.isUp();
+        }
+
+        // validate the connection the entity manager holds, rather than querying a table
         try {
             return entityManagerTemplate.execute(
-                    entityManager -> {
-                        Object result =
-                                entityManager.createNamedQuery("EncryptedTransaction.Upcheck").getSingleResult();
-
-                        return true;
-                    });
+                    entityManager -> DataSourceHealthCheck.isValid(entityManager.unwrap(Connection.class)));
         } catch (Exception e) {
             return false;
         }
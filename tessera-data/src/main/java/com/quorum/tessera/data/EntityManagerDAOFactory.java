@@ -4,10 +4,13 @@ import com.quorum.tessera.config.Config;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
-import javax.sql.DataSource;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 
 import com.quorum.tessera.config.util.EncryptedStringResolver;
 import com.quorum.tessera.data.staging.StagingEntityDAO;
@@ -17,18 +20,61 @@ import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class EntityManagerDAOFactory {
+/**
+ * Creates the DAOs for a node, over a connection pool and entity manager factories that it opens itself.
+ *
+ * <p>Closing the factory stops the writer threads of any group commit DAOs it created and then closes the entity
+ * manager factories and the pool. The log store DAOs are shared by every factory in the process that uses the same
+ * directory, and are closed along with the last of those factories.
+ */
+public class EntityManagerDAOFactory implements AutoCloseable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EntityManagerDAOFactory.class);
 
+    /** A log store directory must only be opened once per process, however many factories are created */
+    private static final LogStores<LogEncryptedTransactionDAO> LOG_TRANSACTION_DAOS =
+            new LogStores<>(LogEncryptedTransactionDAO::new);
+
+    private static final LogStores<LogEncryptedRawTransactionDAO> LOG_RAW_TRANSACTION_DAOS =
+            new LogStores<>(LogEncryptedRawTransactionDAO::new);
+
     private final EntityManagerFactory entityManagerFactory;
 
     private final EntityManagerFactory stagingEntityManagerFactory;
 
+    private final DataSourceHealthCheck healthCheck;
+
+    private final int groupCommitSize;
+
+    private final long groupCommitDelay;
+
+    private final Path logStoreDirectory;
+
+    private final AutoCloseable dataSource;
+
+    /** The group commit DAOs created so far, each with a writer thread to stop */
+    private final List<AutoCloseable> groupCommitDAOs = new CopyOnWriteArrayList<>();
+
+    /** The log store DAOs this factory has opened, released when it is closed */
+    private LogEncryptedTransactionDAO logTransactionDAO;
+
+    private LogEncryptedRawTransactionDAO logRawTransactionDAO;
+
     private EntityManagerDAOFactory(
-            EntityManagerFactory entityManagerFactory, EntityManagerFactory stagingEntityManagerFactory) {
+            AutoCloseable dataSource,
+            EntityManagerFactory entityManagerFactory,
+            EntityManagerFactory stagingEntityManagerFactory,
+            DataSourceHealthCheck healthCheck,
+            int groupCommitSize,
+            long groupCommitDelay,
+            Path logStoreDirectory) {
+        this.dataSource = Objects.requireNonNull(dataSource);
         this.entityManagerFactory = Objects.requireNonNull(entityManagerFactory);
         this.stagingEntityManagerFactory = Objects.requireNonNull(stagingEntityManagerFactory);
+        this.healthCheck = Objects.requireNonNull(healthCheck);
+        this.groupCommitSize = groupCommitSize;
+        this.groupCommitDelay = groupCommitDelay;
+        this.logStoreDirectory = logStoreDirectory;
     }
 
     public static EntityManagerDAOFactory newFactory(Config config) {
@@ -44,7 +90,7 @@ public class EntityManagerDAOFactory {
         hikariConfig.setUsername(username);
         hikariConfig.setPassword(password);
 
-        final DataSource dataSource = new HikariDataSource(hikariConfig);
+        final HikariDataSource dataSource = new HikariDataSource(hikariConfig);
 
         Map properties = new HashMap();
 
@@ -69,21 +115,124 @@ public class EntityManagerDAOFactory {
         final EntityManagerFactory stagingEntityManagerFactory =
                 Persistence.createEntityManagerFactory("tessera-recover", stagingProperties);
 
-        return new EntityManagerDAOFactory(entityManagerFactory, stagingEntityManagerFactory);
+        final DataSourceHealthCheck healthCheck =
+                new DataSourceHealthCheck(dataSource, config.getJdbcConfig().getUpcheckCacheTime());
+
+        return new EntityManagerDAOFactory(
+                dataSource,
+                entityManagerFactory,
+                stagingEntityManagerFactory,
+                healthCheck,
+                config.getJdbcConfig().getGroupCommitSize(),
+                config.getJdbcConfig().getGroupCommitDelay(),
+                config.getJdbcConfig().getLogStoreDirectory());
     }
 
     public EncryptedTransactionDAO createEncryptedTransactionDAO() {
         LOGGER.debug("Create EncryptedTransactionDAO");
-        return new EncryptedTransactionDAOImpl(entityManagerFactory);
+        if (logStoreDirectory != null) {
+            return logTransactionDAO();
+        }
+        final EncryptedTransactionDAO encryptedTransactionDAO =
+                new EncryptedTransactionDAOImpl(entityManagerFactory, healthCheck);
+        if (groupCommitSize > 1) {
+            final GroupCommitEncryptedTransactionDAO groupCommitDAO =
+                    new GroupCommitEncryptedTransactionDAO(
+                            entityManagerFactory, encryptedTransactionDAO, groupCommitSize, groupCommitDelay);
+            groupCommitDAOs.add(groupCommitDAO);
+            return groupCommitDAO;
+        }
+        return encryptedTransactionDAO;
     }
 
     public EncryptedRawTransactionDAO createEncryptedRawTransactionDAO() {
         LOGGER.debug("Create EncryptedRawTransactionDAO");
-        return new EncryptedRawTransactionDAOImpl(entityManagerFactory);
+        if (logStoreDirectory != null) {
+            return logRawTransactionDAO();
+        }
+        final EncryptedRawTransactionDAO encryptedRawTransactionDAO =
+                new EncryptedRawTransactionDAOImpl(entityManagerFactory, healthCheck);
+        if (groupCommitSize > 1) {
+            final GroupCommitEncryptedRawTransactionDAO groupCommitDAO =
+                    new GroupCommitEncryptedRawTransactionDAO(
+                            entityManagerFactory, encryptedRawTransactionDAO, groupCommitSize, groupCommitDelay);
+            groupCommitDAOs.add(groupCommitDAO);
+            return groupCommitDAO;
+        }
+        return encryptedRawTransactionDAO;
     }
 
     public StagingEntityDAO createStagingEntityDAO() {
         LOGGER.debug("Create StagingEntityDAO");
         return new StagingEntityDAOImpl(stagingEntityManagerFactory);
     }
+
+    @Override
+    public void close() throws Exception {
+        LOGGER.debug("Closing EntityManagerDAOFactory");
+        for (AutoCloseable groupCommitDAO : groupCommitDAOs) {
+            groupCommitDAO.close();
+        }
+        synchronized (this) {
+            if (logTransactionDAO != null) {
+                LOG_TRANSACTION_DAOS.release(transactionsDirectory());
+                logTransactionDAO = null;
+            }
+            if (logRawTransactionDAO != null) {
+                LOG_RAW_TRANSACTION_DAOS.release(rawTransactionsDirectory());
+                logRawTransactionDAO = null;
+            }
+        }
+        entityManagerFactory.close();
+        stagingEntityManagerFactory.close();
+        dataSource.close();
+    }
+
+    private synchronized LogEncryptedTransactionDAO logTransactionDAO() {
+        if (logTransactionDAO == null) {
+            logTransactionDAO = LOG_TRANSACTION_DAOS.acquire(transactionsDirectory());
+        }
+        return logTransactionDAO;
+    }
+
+    private synchronized LogEncryptedRawTransactionDAO logRawTransactionDAO() {
+        if (logRawTransactionDAO == null) {
+            logRawTransactionDAO = LOG_RAW_TRANSACTION_DAOS.acquire(rawTransactionsDirectory());
+        }
+        return logRawTransactionDAO;
+    }
+
+    private Path transactionsDirectory() {
+        return logStoreDirectory.resolve("transactions").toAbsolutePath().normalize();
+    }
+
+    private Path rawTransactionsDirectory() {
+        return logStoreDirectory.resolve("raw-transactions").toAbsolutePath().normalize();
+    }
+
+    /** Opens each log store directory once, and closes it when the last factory using it releases it */
+    private static class LogStores<T extends AutoCloseable> {
+
+        private final Function<Path, T> opener;
+
+        private final Map<Path, T> stores = new HashMap<>();
+
+        private final Map<Path, Integer> users = new HashMap<>();
+
+        private LogStores(Function<Path, T> opener) {
+            this.opener = opener;
+        }
+
+        synchronized T acquire(Path directory) {
+            users.merge(directory, 1, Integer::sum);
+            return stores.computeIfAbsent(directory, opener);
+        }
+
+        synchronized void release(Path directory) throws Exception {
+            if (users.merge(directory, -1, Integer::sum) == 0) {
+                users.remove(directory);
+                stores.remove(directory).close();
+            }
+        }
+    }
 }
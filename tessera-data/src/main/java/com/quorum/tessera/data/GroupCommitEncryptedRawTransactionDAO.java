@@ -0,0 +1,79 @@
+package com.quorum.tessera.data;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An {@link EncryptedRawTransactionDAO} that stores raw transactions from concurrent callers together, so that a
+ * sustained stream of {@code storeraw} requests shares database commits instead of paying for one each.
+ *
+ * <p>Batching works as in {@link GroupCommitEncryptedTransactionDAO}: each caller of {@link
+ * #save(EncryptedRawTransaction)} is blocked until the database transaction containing its entity has committed. All
+ * other operations are not batched. The writer thread is stopped when the DAO is closed.
+ */
+public class GroupCommitEncryptedRawTransactionDAO implements EncryptedRawTransactionDAO, AutoCloseable {
+
+    private final EncryptedRawTransactionDAO delegate;
+
+    private final GroupCommitWriter<EncryptedRawTransaction> writer;
+
+    public GroupCommitEncryptedRawTransactionDAO(
+            EntityManagerFactory entityManagerFactory,
+            EncryptedRawTransactionDAO delegate,
+            int maxBatchSize,
+            long maxDelay) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.writer =
+                new GroupCommitWriter<>(
+                        entityManagerFactory, delegate::save, "raw-group-commit-writer", maxBatchSize, maxDelay);
+    }
+
+    @Override
+    public EncryptedRawTransaction save(EncryptedRawTransaction entity) {
+        return writer.save(entity);
+    }
+
+    /** @return the number of database transactions committed by the writer */
+    long getCommitCount() {
+        return writer.getCommitCount();
+    }
+
+    @Override
+    public Optional<EncryptedRawTransaction> retrieveByHash(MessageHash hash) {
+        return delegate.retrieveByHash(hash);
+    }
+
+    @Override
+    public List<EncryptedRawTransaction> findByHashes(Collection<MessageHash> hashes) {
+        return delegate.findByHashes(hashes);
+    }
+
+    @Override
+    public void delete(MessageHash hash) {
+        delegate.delete(hash);
+    }
+
+    @Override
+    public List<EncryptedRawTransaction> retrieveStoredBefore(long timestamp, int maxResult) {
+        return delegate.retrieveStoredBefore(timestamp, maxResult);
+    }
+
+    @Override
+    public int deleteAll(Collection<MessageHash> hashes) {
+        return delegate.deleteAll(hashes);
+    }
+
+    @Override
+    public boolean upcheck() {
+        return delegate.upcheck();
+    }
+
+    /** Stops the writer once the saves already queued have been stored; later saves fail */
+    @Override
+    public void close() {
+        writer.close();
+    }
+}
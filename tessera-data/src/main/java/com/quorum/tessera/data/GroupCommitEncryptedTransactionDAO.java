@@ -0,0 +1,120 @@
+package com.quorum.tessera.data;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * An {@link EncryptedTransactionDAO} that stores transactions from concurrent callers together.
+ *
+ * <p>Calls to {@link #save(EncryptedTransaction)} are queued and written by a single thread, which persists up to
+ * {@code maxBatchSize} transactions, or whatever arrived within {@code maxDelay} milliseconds of the first, in one
+ * database transaction. Each caller is blocked until the transaction containing its entity has committed, so a
+ * successful return means the entity is stored exactly as it would be with {@link EncryptedTransactionDAOImpl}.
+ *
+ * <p>If a batch fails to commit, for example because one of the entities is a duplicate, its entities are saved one at
+ * a time so that each caller gets the outcome of its own save. All other operations are not batched.
+ *
+ * <p>The writer thread is stopped when the DAO is closed.
+ */
+public class GroupCommitEncryptedTransactionDAO implements EncryptedTransactionDAO, AutoCloseable {
+
+    private final EncryptedTransactionDAO delegate;
+
+    private final GroupCommitWriter<EncryptedTransaction> writer;
+
+    public GroupCommitEncryptedTransactionDAO(
+            EntityManagerFactory entityManagerFactory, int maxBatchSize, long maxDelay) {
+        this(entityManagerFactory, new EncryptedTransactionDAOImpl(entityManagerFactory), maxBatchSize, maxDelay);
+    }
+
+    public GroupCommitEncryptedTransactionDAO(
+            EntityManagerFactory entityManagerFactory,
+            EncryptedTransactionDAO delegate,
+            int maxBatchSize,
+            long maxDelay) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.writer =
+                new GroupCommitWriter<>(
+                        entityManagerFactory, delegate::save, "group-commit-writer", maxBatchSize, maxDelay);
+    }
+
+    @Override
+    public EncryptedTransaction save(EncryptedTransaction entity) {
+        return writer.save(entity);
+    }
+
+    /** @return the number of database transactions committed by the writer */
+    long getCommitCount() {
+        return writer.getCommitCount();
+    }
+
+    @Override
+    public EncryptedTransaction update(EncryptedTransaction entity) {
+        return delegate.update(entity);
+    }
+
+    @Override
+    public Optional<EncryptedTransaction> retrieveByHash(MessageHash hash) {
+        return delegate.retrieveByHash(hash);
+    }
+
+    @Override
+    public List<EncryptedTransaction> findByHashes(Collection<MessageHash> messageHashes) {
+        return delegate.findByHashes(messageHashes);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactions(int offset, int maxResult) {
+        return delegate.retrieveTransactions(offset, maxResult);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsAfter(EncryptedTransaction after, int maxResult) {
+        return delegate.retrieveTransactionsAfter(after, maxResult);
+    }
+
+    @Override
+    public List<MessageHash> retrieveHashesAfter(MessageHash after, int maxResult) {
+        return delegate.retrieveHashesAfter(after, maxResult);
+    }
+
+    @Override
+    public long transactionCount() {
+        return delegate.transactionCount();
+    }
+
+    @Override
+    public void delete(MessageHash hash) {
+        delegate.delete(hash);
+    }
+
+    @Override
+    public int deleteAll(Collection<MessageHash> hashes) {
+        return delegate.deleteAll(hashes);
+    }
+
+    @Override
+    public <T> EncryptedTransaction save(EncryptedTransaction transaction, Callable<T> consumer) {
+        return delegate.save(transaction, consumer);
+    }
+
+    @Override
+    public <T> List<EncryptedTransaction> saveAll(Collection<EncryptedTransaction> transactions, Callable<T> consumer) {
+        return delegate.saveAll(transactions, consumer);
+    }
+
+    @Override
+    public boolean upcheck() {
+        return delegate.upcheck();
+    }
+
+    /** Stops the writer once the saves already queued have been stored; later saves fail */
+    @Override
+    public void close() {
+        writer.close();
+    }
+}
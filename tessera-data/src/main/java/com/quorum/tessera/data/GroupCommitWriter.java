@@ -0,0 +1,204 @@
+package com.quorum.tessera.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Persists entities from concurrent callers together, on behalf of the group commit DAOs.
+ *
+ * <p>Entities passed to {@link #save(Object)} are queued and written by a single thread, which persists up to {@code
+ * maxBatchSize} entities, or whatever arrived within {@code maxDelay} milliseconds of the first, in one database
+ * transaction. Each caller is blocked until the transaction containing its entity has committed. If a batch fails to
+ * commit, its entities are saved one at a time with {@code individualSave} so that each caller gets the outcome of its
+ * own save.
+ *
+ * <p>Closing the writer stops its thread once every save already queued has been written. Saves made after that are
+ * rejected.
+ *
+ * @param <E> the type of entity being stored
+ */
+class GroupCommitWriter<E> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitWriter.class);
+
+    private final EntityManagerTemplate entityManagerTemplate;
+
+    private final UnaryOperator<E> individualSave;
+
+    private final String name;
+
+    private final int maxBatchSize;
+
+    private final long maxDelay;
+
+    private final BlockingQueue<PendingSave<E>> queue = new LinkedBlockingQueue<>();
+
+    /** Queued by {@link #close()} behind every pending save, to tell the writer to stop */
+    private final PendingSave<E> stop = new PendingSave<>(null);
+
+    private Thread writer;
+
+    private boolean closed;
+
+    private final AtomicLong commitCount = new AtomicLong();
+
+    GroupCommitWriter(
+            EntityManagerFactory entityManagerFactory,
+            UnaryOperator<E> individualSave,
+            String name,
+            int maxBatchSize,
+            long maxDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.entityManagerTemplate = new EntityManagerTemplate(entityManagerFactory);
+        this.individualSave = Objects.requireNonNull(individualSave);
+        this.name = Objects.requireNonNull(name);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+    }
+
+    E save(E entity) {
+        final PendingSave<E> pending = new PendingSave<>(entity);
+        enqueue(pending);
+
+        try {
+            return pending.result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for transaction to be stored", ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    long getCommitCount() {
+        return commitCount.get();
+    }
+
+    @Override
+    public void close() {
+        final Thread stopping;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stopping = writer;
+            queue.add(stop);
+        }
+
+        if (stopping != null) {
+            try {
+                stopping.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // queued under the same lock as the stop, so no save can be queued behind it
+    private synchronized void enqueue(PendingSave<E> pending) {
+        if (closed) {
+            throw new IllegalStateException("Group commit writer " + name + " is closed");
+        }
+        if (writer == null) {
+            writer = new Thread(this::write, name);
+            writer.setDaemon(true);
+            writer.start();
+        }
+        queue.add(pending);
+    }
+
+    private void write() {
+        final List<PendingSave<E>> batch = new ArrayList<>(maxBatchSize);
+        boolean stopped = false;
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            try {
+                final PendingSave<E> first = queue.take();
+                if (first == stop) {
+                    break;
+                }
+                batch.add(first);
+
+                final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelay);
+                while (batch.size() < maxBatchSize) {
+                    final PendingSave<E> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == stop) {
+                        stopped = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            } catch (RuntimeException ex) {
+                // never leave a caller waiting, or let the writer die
+                batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingSave<E>> batch) {
+        try {
+            entityManagerTemplate.execute(
+                    entityManager -> {
+                        batch.forEach(pending -> entityManager.persist(pending.entity));
+                        return null;
+                    });
+            commitCount.incrementAndGet();
+            LOGGER.debug("Stored {} entities in one commit on {}", batch.size(), name);
+            batch.forEach(pending -> pending.result.complete(pending.entity));
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(ex);
+                return;
+            }
+
+            LOGGER.debug("Group commit of {} entities failed on {}, storing individually", batch.size(), name);
+            for (PendingSave<E> pending : batch) {
+                try {
+                    pending.result.complete(individualSave.apply(pending.entity));
+                    commitCount.incrementAndGet();
+                } catch (RuntimeException individual) {
+                    pending.result.completeExceptionally(individual);
+                }
+            }
+        }
+    }
+
+    private static class PendingSave<E> {
+
+        private final E entity;
+
+        private final CompletableFuture<E> result = new CompletableFuture<>();
+
+        private PendingSave(E entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.quorum.tessera.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.PersistenceException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An {@link EncryptedRawTransactionDAO} that keeps raw transactions in an embedded append-only {@link LogStore}, for
+ * nodes that would otherwise run an embedded database only to store them.
+ */
+public class LogEncryptedRawTransactionDAO implements EncryptedRawTransactionDAO, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogEncryptedRawTransactionDAO.class);
+
+    private static final LogStore.Codec<EncryptedRawTransaction> CODEC =
+            new LogStore.Codec<>() {
+                @Override
+                public MessageHash hash(EncryptedRawTransaction entity) {
+                    return entity.getHash();
+                }
+
+                @Override
+                public long timestamp(EncryptedRawTransaction entity) {
+                    return entity.getTimestamp();
+                }
+
+                @Override
+                public byte[] encode(EncryptedRawTransaction entity) {
+                    final byte[][] fields = {
+                        entity.getEncryptedPayload(), entity.getEncryptedKey(), entity.getNonce(), entity.getSender()
+                    };
+                    final ByteBuffer buffer =
+                            ByteBuffer.allocate(
+                                    fields[0].length + fields[1].length + fields[2].length + fields[3].length + 16);
+                    for (byte[] field : fields) {
+                        buffer.putInt(field.length).put(field);
+                    }
+                    return buffer.array();
+                }
+
+                @Override
+                public EncryptedRawTransaction decode(MessageHash hash, long timestamp, ByteBuffer value) {
+                    final EncryptedRawTransaction entity =
+                            new EncryptedRawTransaction(hash, next(value), next(value), next(value), next(value));
+                    entity.setTimestamp(timestamp);
+                    return entity;
+                }
+
+                private byte[] next(ByteBuffer value) {
+                    final byte[] field = new byte[value.getInt()];
+                    value.get(field);
+                    return field;
+                }
+            };
+
+    private final LogStore<EncryptedRawTransaction> store;
+
+    public LogEncryptedRawTransactionDAO(Path directory) {
+        this(directory, LogStore.DEFAULT_MAX_SEGMENT_SIZE, LogStore.DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    LogEncryptedRawTransactionDAO(Path directory, long maxSegmentSize, long compactionInterval) {
+        this.store = new LogStore<>(directory, CODEC, maxSegmentSize, compactionInterval);
+    }
+
+    @Override
+    public EncryptedRawTransaction save(EncryptedRawTransaction entity) {
+        validate(entity);
+        entity.onPersist();
+        try {
+            store.insert(List.of(entity), () -> null);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+        LOGGER.debug("Stored raw transaction {}", entity.getHash());
+        return entity;
+    }
+
+    @Override
+    public Optional<EncryptedRawTransaction> retrieveByHash(MessageHash hash) {
+        LOGGER.debug("Retrieving payload with hash {}", hash);
+        return store.get(hash);
+    }
+
+    @Override
+    public List<EncryptedRawTransaction> findByHashes(Collection<MessageHash> hashes) {
+        if (hashes.isEmpty()) {
+            return List.of();
+        }
+        LOGGER.debug("Retrieving {} raw transactions", hashes.size());
+        return store.getAll(hashes);
+    }
+
+    @Override
+    public void delete(MessageHash hash) {
+        LOGGER.info("Deleting transaction with hash {}", hash);
+        if (store.delete(List.of(hash)) == 0) {
+            throw new EntityNotFoundException();
+        }
+    }
+
+    @Override
+    public List<EncryptedRawTransaction> retrieveStoredBefore(long timestamp, int maxResult) {
+        return store.listBefore(timestamp, maxResult);
+    }
+
+    @Override
+    public int deleteAll(Collection<MessageHash> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        LOGGER.info("Deleting {} raw transactions", hashes.size());
+        return store.delete(hashes);
+    }
+
+    @Override
+    public boolean upcheck() {
+        return store.isOpen();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    private static void validate(EncryptedRawTransaction entity) {
+        if (entity.getHash() == null) {
+            throw new PersistenceException("HASH must not be null");
+        }
+        if (entity.getEncryptedPayload() == null) {
+            throw new PersistenceException("ENCRYPTED_PAYLOAD must not be null");
+        }
+        if (entity.getEncryptedKey() == null) {
+            throw new PersistenceException("ENCRYPTED_KEY must not be null");
+        }
+        if (entity.getNonce() == null) {
+            throw new PersistenceException("NONCE must not be null");
+        }
+        if (entity.getSender() == null) {
+            throw new PersistenceException("SENDER must not be null");
+        }
+    }
+}
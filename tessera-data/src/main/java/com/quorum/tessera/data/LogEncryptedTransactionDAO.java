@@ -0,0 +1,169 @@
+package com.quorum.tessera.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.PersistenceException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * An {@link EncryptedTransactionDAO} that keeps transactions in an embedded append-only {@link LogStore}, for nodes
+ * that would otherwise run an embedded database only to store them.
+ */
+public class LogEncryptedTransactionDAO implements EncryptedTransactionDAO, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogEncryptedTransactionDAO.class);
+
+    private static final LogStore.Codec<EncryptedTransaction> CODEC =
+            new LogStore.Codec<>() {
+                @Override
+                public MessageHash hash(EncryptedTransaction entity) {
+                    return entity.getHash();
+                }
+
+                @Override
+                public long timestamp(EncryptedTransaction entity) {
+                    return entity.getTimestamp();
+                }
+
+                @Override
+                public byte[] encode(EncryptedTransaction entity) {
+                    return entity.getEncodedPayload();
+                }
+
+                @Override
+                public EncryptedTransaction decode(MessageHash hash, long timestamp, ByteBuffer value) {
+                    final EncryptedTransaction entity = new EncryptedTransaction(hash, value.array());
+                    entity.setTimestamp(timestamp);
+                    return entity;
+                }
+            };
+
+    private final LogStore<EncryptedTransaction> store;
+
+    public LogEncryptedTransactionDAO(Path directory) {
+        this(directory, LogStore.DEFAULT_MAX_SEGMENT_SIZE, LogStore.DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    LogEncryptedTransactionDAO(Path directory, long maxSegmentSize, long compactionInterval) {
+        this.store = new LogStore<>(directory, CODEC, maxSegmentSize, compactionInterval);
+    }
+
+    @Override
+    public EncryptedTransaction save(EncryptedTransaction entity) {
+        return save(entity, () -> null);
+    }
+
+    @Override
+    public EncryptedTransaction update(EncryptedTransaction entity) {
+        validate(entity);
+        store.update(entity);
+        LOGGER.debug("Updated transaction {}", entity.getHash());
+        return entity;
+    }
+
+    @Override
+    public Optional<EncryptedTransaction> retrieveByHash(MessageHash hash) {
+        LOGGER.debug("Retrieving payload with hash {}", hash);
+        return store.get(hash);
+    }
+
+    @Override
+    public List<EncryptedTransaction> findByHashes(Collection<MessageHash> messageHashes) {
+        if (Objects.isNull(messageHashes) || messageHashes.isEmpty()) {
+            return List.of();
+        }
+        return store.getAll(messageHashes);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactions(int offset, int maxResult) {
+        return store.list(offset, maxResult);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsAfter(EncryptedTransaction after, int maxResult) {
+        if (after == null) {
+            return retrieveTransactions(0, maxResult);
+        }
+        return store.listAfter(after.getHash(), after.getTimestamp(), maxResult);
+    }
+
+    @Override
+    public List<MessageHash> retrieveHashesAfter(MessageHash after, int maxResult) {
+        return store.hashesAfter(after, maxResult);
+    }
+
+    @Override
+    public long transactionCount() {
+        return store.count();
+    }
+
+    @Override
+    public void delete(MessageHash hash) {
+        LOGGER.info("Deleting transaction with hash {}", hash);
+        if (store.delete(List.of(hash)) == 0) {
+            throw new EntityNotFoundException();
+        }
+    }
+
+    @Override
+    public int deleteAll(Collection<MessageHash> hashes) {
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+        LOGGER.info("Deleting {} transactions", hashes.size());
+        return store.delete(hashes);
+    }
+
+    @Override
+    public <T> EncryptedTransaction save(EncryptedTransaction transaction, Callable<T> consumer) {
+        return saveAll(List.of(transaction), consumer).get(0);
+    }
+
+    @Override
+    public <T> List<EncryptedTransaction> saveAll(Collection<EncryptedTransaction> transactions, Callable<T> consumer) {
+        transactions.forEach(LogEncryptedTransactionDAO::validate);
+        transactions.forEach(EncryptedTransaction::onPersist);
+        try {
+            store.insert(transactions, consumer);
+            transactions.forEach(transaction -> LOGGER.debug("Stored transaction {}", transaction.getHash()));
+            return List.copyOf(transactions);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    @Override
+    public boolean upcheck() {
+        return store.isOpen();
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+
+    /** @return the store the transactions are kept in */
+    LogStore<EncryptedTransaction> getStore() {
+        return store;
+    }
+
+    private static void validate(EncryptedTransaction entity) {
+        if (entity.getHash() == null) {
+            throw new PersistenceException("HASH must not be null");
+        }
+        if (entity.getEncodedPayload() == null) {
+            throw new PersistenceException("ENCODED_PAYLOAD must not be null");
+        }
+    }
+}
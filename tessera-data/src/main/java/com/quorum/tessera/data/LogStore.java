@@ -0,0 +1,705 @@
+package com.quorum.tessera.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.PersistenceException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only store of entities keyed by their {@link MessageHash}, kept in a directory of segment files.
+ *
+ * <p>Every change is appended to the newest segment as one record: its length, a CRC32 checksum, and the puts and
+ * deletes that make up the change. All of a record is applied or none of it, which is what makes a save of several
+ * entities atomic. Where the latest version of each entity is, ordered both by hash and by the time it was stored, is
+ * held in memory and rebuilt by replaying the segments when the store is opened. A record that was only partly written
+ * when the node stopped fails its checksum and is cut off the end of the newest segment.
+ *
+ * <p>A new segment is started once the newest reaches {@code maxSegmentSize}. Older segments in which less than half
+ * the space is taken by live entities are compacted in the background, by appending their live entities to the newest
+ * segment and removing the old file.
+ *
+ * <p>Records are handed to the operating system but not forced to disk on each write, as with the default settings of
+ * the embedded databases, so a write survives the node stopping but not the machine losing power.
+ *
+ * @param <E> the type of entity being stored
+ */
+class LogStore<E> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogStore.class);
+
+    static final long DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    static final long DEFAULT_COMPACTION_INTERVAL = 60000;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{16}\\.log");
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte PUT = 1;
+
+    private static final byte DELETE = 2;
+
+    private static final Comparator<MessageHash> HASH_ORDER =
+            Comparator.comparing(MessageHash::getHashBytes, Arrays::compareUnsigned);
+
+    private static final Comparator<Location> TIME_ORDER =
+            Comparator.<Location>comparingLong(l -> l.timestamp).thenComparing(l -> l.hash, HASH_ORDER);
+
+    private final Path directory;
+
+    private final Codec<E> codec;
+
+    private final long maxSegmentSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    private final NavigableMap<MessageHash, Location> byHash = new TreeMap<>(HASH_ORDER);
+
+    private final NavigableSet<Location> byTime = new TreeSet<>(TIME_ORDER);
+
+    private final Set<MessageHash> reserved = new HashSet<>();
+
+    private final Condition released = lock.writeLock().newCondition();
+
+    private final ScheduledExecutorService compactor;
+
+    private Segment active;
+
+    private boolean open;
+
+    LogStore(Path directory, Codec<E> codec, long maxSegmentSize, long compactionInterval) {
+        this.directory = Objects.requireNonNull(directory);
+        this.codec = Objects.requireNonNull(codec);
+        this.maxSegmentSize = maxSegmentSize;
+
+        try {
+            Files.createDirectories(directory);
+            replay();
+        } catch (IOException ex) {
+            throw new PersistenceException("Unable to open log store in " + directory, ex);
+        }
+        this.open = true;
+
+        this.compactor =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            final Thread thread = new Thread(r, "log-store-compactor");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        compactor.scheduleWithFixedDelay(
+                this::compactQuietly, compactionInterval, compactionInterval, TimeUnit.MILLISECONDS);
+    }
+
+    Optional<E> get(MessageHash hash) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byHash.get(hash)).map(this::read);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<E> getAll(Collection<MessageHash> hashes) {
+        lock.readLock().lock();
+        try {
+            return hashes.stream()
+                    .distinct()
+                    .map(byHash::get)
+                    .filter(Objects::nonNull)
+                    .map(this::read)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return the entities in the order they were first stored, skipping the first {@code offset} */
+    List<E> list(int offset, int maxResult) {
+        lock.readLock().lock();
+        try {
+            return byTime.stream().skip(offset).limit(maxResult).map(this::read).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return the entities first stored after the given one, in the order they were stored */
+    List<E> listAfter(MessageHash hash, long timestamp, int maxResult) {
+        lock.readLock().lock();
+        try {
+            return byTime.tailSet(new Location(hash, timestamp, 0, 0, 0, 0), false).stream()
+                    .limit(maxResult)
+                    .map(this::read)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return the entities first stored before the given time, oldest first */
+    List<E> listBefore(long timestamp, int maxResult) {
+        lock.readLock().lock();
+        try {
+            return byTime.stream()
+                    .takeWhile(location -> location.timestamp < timestamp)
+                    .limit(maxResult)
+                    .map(this::read)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return the hashes after the given one, or from the first if it is null, in hash order */
+    List<MessageHash> hashesAfter(MessageHash after, int maxResult) {
+        lock.readLock().lock();
+        try {
+            final NavigableMap<MessageHash, Location> tail = after == null ? byHash : byHash.tailMap(after, false);
+            return tail.keySet().stream().limit(maxResult).collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long count() {
+        lock.readLock().lock();
+        try {
+            return byHash.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stores new entities in one record. The callback is called once the entities are known not to exist, and nothing
+     * is stored if it fails. The hashes are reserved while the callback runs, so a concurrent insert of any of them
+     * waits for this one to finish, as a second writer waits on the unique key of a database table.
+     *
+     * @throws EntityExistsException if an entity with the same hash is already stored
+     */
+    <T> void insert(Collection<E> entities, Callable<T> callback) throws Exception {
+        final List<Op> ops = new ArrayList<>(entities.size());
+        final Set<MessageHash> hashes = new HashSet<>();
+        for (E entity : entities) {
+            final MessageHash hash = codec.hash(entity);
+            if (!hashes.add(hash)) {
+                throw new EntityExistsException("Duplicate hash " + hash);
+            }
+            ops.add(new Op(PUT, hash, codec.timestamp(entity), codec.encode(entity)));
+        }
+
+        reserve(hashes);
+        try {
+            callback.call();
+
+            lock.writeLock().lock();
+            try {
+                // an update may have stored one of them while the callback ran
+                checkNotStored(hashes);
+                append(ops);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            release(hashes);
+        }
+    }
+
+    /** Stores the entity, replacing any with the same hash but keeping the time it was first stored */
+    void update(E entity) {
+        final MessageHash hash = codec.hash(entity);
+        final byte[] value = codec.encode(entity);
+
+        lock.writeLock().lock();
+        try {
+            final long timestamp =
+                    Optional.ofNullable(byHash.get(hash))
+                            .map(location -> location.timestamp)
+                            .orElseGet(System::currentTimeMillis);
+            append(List.of(new Op(PUT, hash, timestamp, value)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return the number of entities deleted, hashes that are not stored are ignored */
+    int delete(Collection<MessageHash> hashes) {
+        lock.writeLock().lock();
+        try {
+            final List<Op> ops =
+                    hashes.stream()
+                            .distinct()
+                            .filter(byHash::containsKey)
+                            .map(hash -> new Op(DELETE, hash, 0, null))
+                            .collect(Collectors.toList());
+            if (!ops.isEmpty()) {
+                append(ops);
+            }
+            return ops.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean isOpen() {
+        lock.readLock().lock();
+        try {
+            return open;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** @return the total size of the segment files */
+    long size() {
+        lock.readLock().lock();
+        try {
+            return segments.values().stream().mapToLong(segment -> segment.size).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Compacts every segment other than the newest in which live entities take less than half the space */
+    synchronized void compact() {
+        final List<Segment> candidates;
+        lock.readLock().lock();
+        try {
+            if (!open) {
+                return;
+            }
+            candidates =
+                    segments.headMap(active.id, false).values().stream()
+                            .filter(segment -> segment.liveBytes * 2 < segment.size)
+                            .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (Segment segment : candidates) {
+            try {
+                compact(segment);
+            } catch (IOException ex) {
+                throw new PersistenceException("Unable to compact " + segment.path, ex);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            if (!open) {
+                return;
+            }
+            open = false;
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.force(false);
+                    segment.channel.close();
+                } catch (IOException ex) {
+                    LOGGER.warn("Unable to close {}: {}", segment.path, ex.getMessage());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Waits until no other insert holds any of the hashes, then holds them if none is stored */
+    private void reserve(Set<MessageHash> hashes) throws InterruptedException {
+        lock.writeLock().lock();
+        try {
+            while (!Collections.disjoint(reserved, hashes)) {
+                released.await();
+            }
+            checkNotStored(hashes);
+            reserved.addAll(hashes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void release(Set<MessageHash> hashes) {
+        lock.writeLock().lock();
+        try {
+            reserved.removeAll(hashes);
+            released.signalAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (RuntimeException ex) {
+            // try again next time, the segment is still intact
+            LOGGER.warn("Log store compaction failed: {}", ex.getMessage());
+            LOGGER.debug("", ex);
+        }
+    }
+
+    private void compact(Segment segment) throws IOException {
+        final boolean oldest;
+        lock.readLock().lock();
+        try {
+            oldest = segments.firstKey() == segment.id;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long position = 0;
+        while (position < segment.size) {
+            final Record record = readRecord(segment, position);
+            if (record == null) {
+                throw new PersistenceException("Segment " + segment.path + " is corrupt at position " + position);
+            }
+
+            lock.writeLock().lock();
+            try {
+                final List<Op> live = new ArrayList<>();
+                for (int i = 0; i < record.ops.size(); i++) {
+                    final Op op = record.ops.get(i);
+                    if (op.type == PUT) {
+                        // only the latest version of an entity is copied
+                        final Location location = byHash.get(op.hash);
+                        if (location != null
+                                && location.segment == segment.id
+                                && location.position == record.valuePositions[i]) {
+                            live.add(op);
+                        }
+                    } else if (!oldest && !byHash.containsKey(op.hash)) {
+                        // an older segment may still hold the entity this deleted
+                        live.add(op);
+                    }
+                }
+                if (!live.isEmpty()) {
+                    append(live);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            position = record.end;
+        }
+
+        lock.writeLock().lock();
+        try {
+            segments.remove(segment.id);
+            segment.channel.close();
+            Files.delete(segment.path);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.debug("Compacted log store segment {}", segment.path);
+    }
+
+    private void checkNotStored(Set<MessageHash> hashes) {
+        for (MessageHash hash : hashes) {
+            if (byHash.containsKey(hash)) {
+                throw new EntityExistsException("Hash " + hash + " is already stored");
+            }
+        }
+    }
+
+    private E read(Location location) {
+        final ByteBuffer value = ByteBuffer.allocate(location.length);
+        try {
+            readFully(segments.get(location.segment).channel, value, location.position);
+        } catch (IOException ex) {
+            throw new PersistenceException("Unable to read " + location.hash + " from log store", ex);
+        }
+        value.flip();
+        return codec.decode(location.hash, location.timestamp, value);
+    }
+
+    /** Writes the ops as one record to the newest segment and applies them to the index, caller holds write lock */
+    private void append(List<Op> ops) {
+        if (!open) {
+            throw new PersistenceException("Log store in " + directory + " is closed");
+        }
+
+        final int bodySize = 4 + ops.stream().mapToInt(Op::size).sum();
+        final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + bodySize);
+        buffer.putInt(bodySize).putInt(0).putInt(ops.size());
+
+        final long[] valueOffsets = new long[ops.size()];
+        for (int i = 0; i < ops.size(); i++) {
+            valueOffsets[i] = ops.get(i).writeTo(buffer);
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, bodySize);
+        buffer.putInt(4, (int) crc.getValue());
+        buffer.flip();
+
+        try {
+            if (active.size > 0 && active.size + buffer.remaining() > maxSegmentSize) {
+                active.channel.force(false);
+                active = openSegment(active.id + 1);
+                segments.put(active.id, active);
+            }
+
+            final long start = active.size;
+            while (buffer.hasRemaining()) {
+                active.channel.write(buffer, start + buffer.position());
+            }
+            active.size += buffer.limit();
+
+            for (int i = 0; i < ops.size(); i++) {
+                apply(ops.get(i), active, start + valueOffsets[i]);
+            }
+        } catch (IOException ex) {
+            throw new PersistenceException("Unable to write to log store in " + directory, ex);
+        }
+    }
+
+    private void apply(Op op, Segment segment, long valuePosition) {
+        final Location previous = byHash.remove(op.hash);
+        if (previous != null) {
+            byTime.remove(previous);
+            Optional.ofNullable(segments.get(previous.segment)).ifPresent(s -> s.liveBytes -= previous.size);
+        }
+        if (op.type == PUT) {
+            final Location location =
+                    new Location(op.hash, op.timestamp, segment.id, valuePosition, op.value.length, op.size());
+            byHash.put(op.hash, location);
+            byTime.add(location);
+            segment.liveBytes += location.size;
+        }
+    }
+
+    private void replay() throws IOException {
+        final List<Long> ids;
+        try (Stream<Path> files = Files.list(directory)) {
+            ids =
+                    files.map(path -> path.getFileName().toString())
+                            .filter(name -> SEGMENT_NAME.matcher(name).matches())
+                            .map(name -> Long.valueOf(name.substring(0, 16)))
+                            .sorted()
+                            .collect(Collectors.toList());
+        }
+
+        for (Long id : ids) {
+            final Segment segment = openSegment(id);
+            segments.put(id, segment);
+            segment.size = segment.channel.size();
+
+            long position = 0;
+            while (position < segment.size) {
+                final Record record = readRecord(segment, position);
+                if (record == null) {
+                    if (!id.equals(ids.get(ids.size() - 1))) {
+                        throw new PersistenceException(
+                                "Segment " + segment.path + " is corrupt at position " + position);
+                    }
+                    LOGGER.warn(
+                            "Discarding {} bytes of incomplete record at end of {}",
+                            segment.size - position,
+                            segment.path);
+                    segment.channel.truncate(position);
+                    segment.size = position;
+                    break;
+                }
+                for (int i = 0; i < record.ops.size(); i++) {
+                    apply(record.ops.get(i), segment, record.valuePositions[i]);
+                }
+                position = record.end;
+            }
+        }
+
+        if (segments.isEmpty()) {
+            segments.put(0L, openSegment(0));
+        }
+        active = segments.lastEntry().getValue();
+
+        LOGGER.info("Opened log store in {} with {} entries in {} segments", directory, byHash.size(), segments.size());
+    }
+
+    /** @return the record at the position, or null if it is incomplete or fails its checksum */
+    private Record readRecord(Segment segment, long position) throws IOException {
+        if (segment.size - position < HEADER_SIZE) {
+            return null;
+        }
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(segment.channel, header, position);
+        final int bodySize = header.getInt(0);
+        if (bodySize < 4 || bodySize > segment.size - position - HEADER_SIZE) {
+            return null;
+        }
+
+        final ByteBuffer body = ByteBuffer.allocate(bodySize);
+        readFully(segment.channel, body, position + HEADER_SIZE);
+        final CRC32 crc = new CRC32();
+        crc.update(body.array());
+        if ((int) crc.getValue() != header.getInt(4)) {
+            return null;
+        }
+
+        body.flip();
+        final int count = body.getInt();
+        final List<Op> ops = new ArrayList<>(count);
+        final long[] valuePositions = new long[count];
+        for (int i = 0; i < count; i++) {
+            final byte type = body.get();
+            final byte[] hash = new byte[body.getInt()];
+            body.get(hash);
+            if (type == PUT) {
+                final long timestamp = body.getLong();
+                final byte[] value = new byte[body.getInt()];
+                valuePositions[i] = position + HEADER_SIZE + body.position();
+                body.get(value);
+                ops.add(new Op(PUT, new MessageHash(hash), timestamp, value));
+            } else {
+                ops.add(new Op(DELETE, new MessageHash(hash), 0, null));
+            }
+        }
+        return new Record(ops, valuePositions, position + HEADER_SIZE + bodySize);
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        final Path path = directory.resolve(String.format("%016d.log", id));
+        final FileChannel channel =
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(id, path, channel);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /** Converts entities to and from the bytes stored for them */
+    interface Codec<E> {
+
+        MessageHash hash(E entity);
+
+        long timestamp(E entity);
+
+        byte[] encode(E entity);
+
+        E decode(MessageHash hash, long timestamp, ByteBuffer value);
+    }
+
+    private static final class Segment {
+
+        private final long id;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private long size;
+
+        private long liveBytes;
+
+        private Segment(long id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    private static final class Location {
+
+        private final MessageHash hash;
+
+        private final long timestamp;
+
+        private final long segment;
+
+        private final long position;
+
+        private final int length;
+
+        private final int size;
+
+        private Location(MessageHash hash, long timestamp, long segment, long position, int length, int size) {
+            this.hash = hash;
+            this.timestamp = timestamp;
+            this.segment = segment;
+            this.position = position;
+            this.length = length;
+            this.size = size;
+        }
+    }
+
+    private static final class Op {
+
+        private final byte type;
+
+        private final MessageHash hash;
+
+        private final long timestamp;
+
+        private final byte[] value;
+
+        private final byte[] hashBytes;
+
+        private Op(byte type, MessageHash hash, long timestamp, byte[] value) {
+            this.type = type;
+            this.hash = hash;
+            this.timestamp = timestamp;
+            this.value = value;
+            this.hashBytes = hash.getHashBytes();
+        }
+
+        private int size() {
+            return 1 + 4 + hashBytes.length + (type == PUT ? 8 + 4 + value.length : 0);
+        }
+
+        /** @return the offset in the buffer of the value, if any */
+        private long writeTo(ByteBuffer buffer) {
+            buffer.put(type).putInt(hashBytes.length).put(hashBytes);
+            if (type != PUT) {
+                return 0;
+            }
+            buffer.putLong(timestamp).putInt(value.length);
+            final int valueOffset = buffer.position();
+            buffer.put(value);
+            return valueOffset;
+        }
+    }
+
+    private static final class Record {
+
+        private final List<Op> ops;
+
+        private final long[] valuePositions;
+
+        private final long end;
+
+        private Record(List<Op> ops, long[] valuePositions, long end) {
+            this.ops = ops;
+            this.valuePositions = valuePositions;
+            this.end = end;
+        }
+    }
+}
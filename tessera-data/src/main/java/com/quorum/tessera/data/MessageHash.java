@@ -17,6 +17,25 @@ public class MessageHash implements Serializable {
         this.hashBytes = Arrays.copyOf(hashBytes, hashBytes.length);
     }
 
+    /** Takes ownership of a freshly computed digest that no other code holds a reference to, without copying it */
+    static MessageHash wrap(final byte[] digest) {
+        final MessageHash messageHash = new MessageHash();
+        messageHash.hashBytes = digest;
+        return messageHash;
+    }
+
+    /**
+     * Decodes a Base64 encoded hash straight into a new instance, without the intermediate copy that {@link
+     * #MessageHash(byte[])} takes
+     *
+     * @param base64Hash the Base64 encoded hash bytes
+     * @return the decoded hash
+     * @throws IllegalArgumentException if the input is not valid Base64
+     */
+    public static MessageHash fromBase64(final String base64Hash) {
+        return wrap(Base64.getDecoder().decode(base64Hash));
+    }
+
     public void setHashBytes(final byte[] hashBytes) {
         this.hashBytes = Arrays.copyOf(hashBytes, hashBytes.length);
     }
@@ -25,6 +44,11 @@ public class MessageHash implements Serializable {
         return Arrays.copyOf(hashBytes, hashBytes.length);
     }
 
+    /** @return the hash bytes encoded as Base64, without taking a defensive copy of them first */
+    public String encodeToBase64() {
+        return Base64.getEncoder().encodeToString(hashBytes);
+    }
+
     @Override
     public boolean equals(final Object o) {
         return (o instanceof MessageHash) && Arrays.equals(hashBytes, ((MessageHash) o).hashBytes);
@@ -32,11 +56,11 @@ public class MessageHash implements Serializable {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(getHashBytes());
+        return Arrays.hashCode(hashBytes);
     }
 
     @Override
     public String toString() {
-        return Base64.getEncoder().encodeToString(hashBytes);
+        return encodeToBase64();
     }
 }
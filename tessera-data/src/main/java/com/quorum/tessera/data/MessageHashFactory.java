@@ -1,14 +1,12 @@
 package com.quorum.tessera.data;
 
 import com.quorum.tessera.ServiceLoaderUtil;
-import org.bouncycastle.jcajce.provider.digest.SHA3;
+import com.quorum.tessera.enclave.Sha3Digest;
 
 public interface MessageHashFactory {
 
     default MessageHash createFromCipherText(byte[] cipherText) {
-        final SHA3.DigestSHA3 digestSHA3 = new SHA3.Digest512();
-        final byte[] digest = digestSHA3.digest(cipherText);
-        return new MessageHash(digest);
+        return MessageHash.wrap(Sha3Digest.digest(cipherText));
     }
 
     static MessageHashFactory create() {
@@ -0,0 +1,307 @@
+package com.quorum.tessera.data.retention;
+
+import com.quorum.tessera.config.RetentionConfig;
+import com.quorum.tessera.data.*;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.encryption.PublicKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Purges stored transactions that match the configured {@link RetentionConfig} rules.
+ *
+ * <p>Transactions are walked in the order they were stored and deleted in batches of at most {@code batchSize}, each in
+ * its own database transaction, with a pause between batches so that a large purge does not hold locks or saturate the
+ * connection pool. If an archive directory is configured, each batch is written to a compressed archive before it is
+ * deleted.
+ */
+public class RetentionJob implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RetentionJob.class);
+
+    private final RetentionConfig retentionConfig;
+
+    private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private final EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    private final PayloadEncoder payloadEncoder;
+
+    private final LongSupplier clock;
+
+    private final Set<PublicKey> purgeKeys;
+
+    private final Consumer<MessageHash> purgeListener;
+
+    public RetentionJob(
+            RetentionConfig retentionConfig,
+            EncryptedTransactionDAO encryptedTransactionDAO,
+            EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+            PayloadEncoder payloadEncoder,
+            LongSupplier clock) {
+        this(retentionConfig, encryptedTransactionDAO, encryptedRawTransactionDAO, payloadEncoder, clock, hash -> {});
+    }
+
+    /**
+     * @param purgeListener told the hash of each transaction once it has been deleted, so that anything holding on to
+     *     the transaction can drop it
+     */
+    public RetentionJob(
+            RetentionConfig retentionConfig,
+            EncryptedTransactionDAO encryptedTransactionDAO,
+            EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+            PayloadEncoder payloadEncoder,
+            LongSupplier clock,
+            Consumer<MessageHash> purgeListener) {
+        this.retentionConfig = retentionConfig;
+        this.encryptedTransactionDAO = encryptedTransactionDAO;
+        this.encryptedRawTransactionDAO = encryptedRawTransactionDAO;
+        this.payloadEncoder = payloadEncoder;
+        this.clock = Objects.requireNonNull(clock);
+        this.purgeListener = Objects.requireNonNull(purgeListener);
+        this.purgeKeys =
+                Optional.ofNullable(retentionConfig).map(RetentionConfig::getPurgeKeys).orElse(List.of()).stream()
+                        .map(Base64.getDecoder()::decode)
+                        .map(PublicKey::from)
+                        .collect(Collectors.toSet());
+    }
+
+    /**
+     * Creates the retention job for a node, purging from the given stores. If no retention rules are configured the job
+     * does nothing when run, and never touches the stores.
+     */
+    public static RetentionJob create(
+            RetentionConfig retentionConfig,
+            EncryptedTransactionDAO encryptedTransactionDAO,
+            EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+            Consumer<MessageHash> purgeListener) {
+        if (retentionConfig == null) {
+            return new RetentionJob(null, null, null, null, System::currentTimeMillis);
+        }
+        return new RetentionJob(
+                retentionConfig,
+                encryptedTransactionDAO,
+                encryptedRawTransactionDAO,
+                PayloadEncoder.create(),
+                System::currentTimeMillis,
+                purgeListener);
+    }
+
+    public boolean isEnabled() {
+        return retentionConfig != null
+                && (retentionConfig.getMaxAge() != null
+                        || retentionConfig.getRawTransactionMaxAge() != null
+                        || !purgeKeys.isEmpty());
+    }
+
+    /** @return the time in milliseconds between runs */
+    public long getInterval() {
+        return Optional.ofNullable(retentionConfig).map(RetentionConfig::getInterval).orElse(3600000L);
+    }
+
+    @Override
+    public void run() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            final int transactions = purgeTransactions();
+            final int rawTransactions = purgeRawTransactions();
+            LOGGER.info("Purged {} transactions and {} raw transactions", transactions, rawTransactions);
+        } catch (InterruptedException ex) {
+            LOGGER.info("Retention job interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Deletes transactions older than the maximum age, or sent from or to a purged key
+     *
+     * @return the number of transactions deleted
+     */
+    public int purgeTransactions() throws InterruptedException {
+        if (retentionConfig.getMaxAge() == null && purgeKeys.isEmpty()) {
+            return 0;
+        }
+
+        final long cutoff =
+                Optional.ofNullable(retentionConfig.getMaxAge()).map(age -> clock.getAsLong() - age).orElse(0L);
+        final int batchSize = retentionConfig.getBatchSize();
+
+        int purged = 0;
+        EncryptedTransaction last = null;
+        try (LazyArchive archive = new LazyArchive("transactions")) {
+            while (true) {
+                final List<EncryptedTransaction> page =
+                        encryptedTransactionDAO.retrieveTransactionsAfter(last, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                last = page.get(page.size() - 1);
+
+                final List<EncryptedTransaction> expired = new ArrayList<>();
+                for (EncryptedTransaction transaction : page) {
+                    if (transaction.getTimestamp() < cutoff || involvesPurgedKey(transaction)) {
+                        expired.add(transaction);
+                    }
+                }
+
+                if (!expired.isEmpty()) {
+                    for (EncryptedTransaction transaction : expired) {
+                        archive.write(transaction);
+                    }
+                    archive.flush();
+                    final List<MessageHash> hashes =
+                            expired.stream().map(EncryptedTransaction::getHash).collect(Collectors.toList());
+                    purged += encryptedTransactionDAO.deleteAll(hashes);
+                    hashes.forEach(purgeListener);
+                }
+
+                // transactions are walked oldest first, so with no key rules nothing after this page can match
+                final boolean pastCutoff = last.getTimestamp() >= cutoff && purgeKeys.isEmpty();
+                if (page.size() < batchSize || pastCutoff) {
+                    break;
+                }
+                pause();
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Deletes raw transactions that were stored longer ago than the raw transaction maximum age
+     *
+     * @return the number of raw transactions deleted
+     */
+    public int purgeRawTransactions() throws InterruptedException {
+        if (retentionConfig.getRawTransactionMaxAge() == null) {
+            return 0;
+        }
+
+        final long cutoff = clock.getAsLong() - retentionConfig.getRawTransactionMaxAge();
+        final int batchSize = retentionConfig.getBatchSize();
+
+        int purged = 0;
+        try (LazyArchive archive = new LazyArchive("raw-transactions")) {
+            while (true) {
+                final List<EncryptedRawTransaction> page =
+                        encryptedRawTransactionDAO.retrieveStoredBefore(cutoff, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                for (EncryptedRawTransaction transaction : page) {
+                    archive.write(transaction);
+                }
+                archive.flush();
+
+                final int deleted =
+                        encryptedRawTransactionDAO.deleteAll(
+                                page.stream().map(EncryptedRawTransaction::getHash).collect(Collectors.toList()));
+                purged += deleted;
+
+                // deleted rows are no longer returned, so the next page starts from the oldest remaining row
+                if (page.size() < batchSize || deleted == 0) {
+                    break;
+                }
+                pause();
+            }
+        }
+        return purged;
+    }
+
+    private boolean involvesPurgedKey(EncryptedTransaction transaction) {
+        if (purgeKeys.isEmpty()) {
+            return false;
+        }
+        final EncodedPayload payload = payloadEncoder.decode(transaction.getEncodedPayload());
+        return purgeKeys.contains(payload.getSenderKey())
+                || payload.getRecipientKeys().stream().anyMatch(purgeKeys::contains);
+    }
+
+    private void pause() throws InterruptedException {
+        if (retentionConfig.getBatchDelay() > 0) {
+            TimeUnit.MILLISECONDS.sleep(retentionConfig.getBatchDelay());
+        }
+    }
+
+    /** Only creates an archive file once there is something to put in it, and only if archiving is configured */
+    private class LazyArchive implements AutoCloseable {
+
+        private final String name;
+
+        private TransactionArchive archive;
+
+        LazyArchive(String name) {
+            this.name = name;
+        }
+
+        void write(EncryptedTransaction transaction) {
+            try {
+                if (open()) {
+                    archive.write(transaction);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void write(EncryptedRawTransaction transaction) {
+            try {
+                if (open()) {
+                    archive.write(transaction);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void flush() {
+            try {
+                if (archive != null) {
+                    archive.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (archive != null) {
+                    archive.close();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private boolean open() throws IOException {
+            final Path directory = retentionConfig.getArchiveDirectory();
+            if (directory == null) {
+                return false;
+            }
+            if (archive == null) {
+                Files.createDirectories(directory);
+                archive =
+                        TransactionArchive.create(
+                                directory.resolve(String.format("%s-%d.gz", name, clock.getAsLong())));
+                LOGGER.info("Archiving purged {} to {}", name, archive.getPath());
+            }
+            return true;
+        }
+    }
+}
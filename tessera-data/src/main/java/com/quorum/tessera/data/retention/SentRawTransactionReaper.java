@@ -0,0 +1,97 @@
+package com.quorum.tessera.data.retention;
+
+import com.quorum.tessera.data.EncryptedRawTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes raw transactions once they have been sent, off the request path.
+ *
+ * <p>Hashes passed to {@link #markSent(Collection)} are queued and deleted by a single background thread, which takes
+ * everything queued at that point, up to {@code maxBatchSize} hashes, and deletes it in one statement. A sent raw
+ * transaction therefore costs no extra commit on the sending thread, and under load many are deleted together.
+ *
+ * <p>Deletion is best effort: if a batch fails, or the node stops with hashes still queued, the rows are left in place
+ * and purged later by the {@link RetentionJob} if a raw transaction maximum age is configured.
+ */
+public class SentRawTransactionReaper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SentRawTransactionReaper.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    private final int maxBatchSize;
+
+    private final BlockingQueue<MessageHash> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final AtomicLong deletedCount = new AtomicLong();
+
+    public SentRawTransactionReaper(EncryptedRawTransactionDAO encryptedRawTransactionDAO) {
+        this(encryptedRawTransactionDAO, DEFAULT_BATCH_SIZE);
+    }
+
+    public SentRawTransactionReaper(EncryptedRawTransactionDAO encryptedRawTransactionDAO, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.encryptedRawTransactionDAO = Objects.requireNonNull(encryptedRawTransactionDAO);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Queues raw transactions for deletion. Returns immediately.
+     *
+     * @param hashes the hashes of raw transactions that have been sent
+     */
+    public void markSent(Collection<MessageHash> hashes) {
+        startReaper();
+        queue.addAll(hashes);
+    }
+
+    /** @return the number of raw transactions deleted so far */
+    long getDeletedCount() {
+        return deletedCount.get();
+    }
+
+    private void startReaper() {
+        if (started.compareAndSet(false, true)) {
+            final Thread reaper = new Thread(this::reap, "sent-raw-transaction-reaper");
+            reaper.setDaemon(true);
+            reaper.start();
+        }
+    }
+
+    private void reap() {
+        final List<MessageHash> batch = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                deletedCount.addAndGet(encryptedRawTransactionDAO.deleteAll(List.copyOf(batch)));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                // never let the reaper die, the retention job catches anything missed
+                LOGGER.warn("Unable to delete {} sent raw transactions: {}", batch.size(), ex.getMessage());
+                LOGGER.debug("", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
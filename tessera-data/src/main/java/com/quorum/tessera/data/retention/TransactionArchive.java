@@ -0,0 +1,164 @@
+package com.quorum.tessera.data.retention;
+
+import com.quorum.tessera.data.EncryptedRawTransaction;
+import com.quorum.tessera.data.EncryptedRawTransactionDAO;
+import com.quorum.tessera.data.EncryptedTransaction;
+import com.quorum.tessera.data.EncryptedTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+
+import java.io.*;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A gzip compressed file of purged transactions, which can be imported back into a node.
+ *
+ * <p>Each record is a type marker followed by length prefixed fields, in the same style as the encoded payload format.
+ * Imported transactions are stored with a new timestamp, so they are not immediately purged again by an age rule.
+ */
+public class TransactionArchive implements Closeable {
+
+    private static final int MAGIC = 0x54455241;
+
+    private static final byte TRANSACTION = 1;
+
+    private static final byte RAW_TRANSACTION = 2;
+
+    private final Path path;
+
+    private final DataOutputStream output;
+
+    private int count;
+
+    private TransactionArchive(Path path) throws IOException {
+        this.path = path;
+        this.output =
+                new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path))));
+        output.writeInt(MAGIC);
+    }
+
+    /**
+     * Creates a new archive file
+     *
+     * @param path the file to create, which must not already exist
+     */
+    public static TransactionArchive create(Path path) throws IOException {
+        if (Files.exists(path)) {
+            throw new FileAlreadyExistsException(path.toString());
+        }
+        return new TransactionArchive(path);
+    }
+
+    public void write(EncryptedTransaction transaction) throws IOException {
+        output.writeByte(TRANSACTION);
+        writeField(transaction.getHash().getHashBytes());
+        output.writeLong(transaction.getTimestamp());
+        writeField(transaction.getEncodedPayload());
+        count++;
+    }
+
+    public void write(EncryptedRawTransaction transaction) throws IOException {
+        output.writeByte(RAW_TRANSACTION);
+        writeField(transaction.getHash().getHashBytes());
+        output.writeLong(transaction.getTimestamp());
+        writeField(transaction.getEncryptedPayload());
+        writeField(transaction.getEncryptedKey());
+        writeField(transaction.getNonce());
+        writeField(transaction.getSender());
+        count++;
+    }
+
+    /** Writes any buffered records, so they are on disk before the corresponding rows are deleted */
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /** @return the number of records written to this archive */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    /**
+     * Reads every record in an archive, in the order they were written
+     *
+     * @param path the archive to read
+     * @param transactions receives each archived transaction
+     * @param rawTransactions receives each archived raw transaction
+     */
+    public static void read(
+            Path path, Consumer<EncryptedTransaction> transactions, Consumer<EncryptedRawTransaction> rawTransactions)
+            throws IOException {
+        try (DataInputStream input =
+                new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException(path + " is not a transaction archive");
+            }
+
+            int type;
+            while ((type = input.read()) != -1) {
+                final MessageHash hash = new MessageHash(readField(input));
+                input.readLong();
+
+                if (type == TRANSACTION) {
+                    transactions.accept(new EncryptedTransaction(hash, readField(input)));
+                } else if (type == RAW_TRANSACTION) {
+                    rawTransactions.accept(
+                            new EncryptedRawTransaction(
+                                    hash, readField(input), readField(input), readField(input), readField(input)));
+                } else {
+                    throw new IOException("Unknown record type " + type + " in " + path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stores every transaction in an archive, skipping any that are already present
+     *
+     * @return the number of transactions and raw transactions imported
+     */
+    public static int importInto(
+            Path path, EncryptedTransactionDAO transactionDAO, EncryptedRawTransactionDAO rawTransactionDAO)
+            throws IOException {
+        final int[] imported = new int[1];
+        read(
+                path,
+                tx -> {
+                    if (transactionDAO.retrieveByHash(tx.getHash()).isEmpty()) {
+                        transactionDAO.save(tx);
+                        imported[0]++;
+                    }
+                },
+                tx -> {
+                    if (rawTransactionDAO.retrieveByHash(tx.getHash()).isEmpty()) {
+                        rawTransactionDAO.save(tx);
+                        imported[0]++;
+                    }
+                });
+        return imported[0];
+    }
+
+    private void writeField(byte[] value) throws IOException {
+        output.writeInt(value.length);
+        output.write(value);
+    }
+
+    private static byte[] readField(DataInputStream input) throws IOException {
+        final byte[] value = new byte[input.readInt()];
+        input.readFully(value);
+        return value;
+    }
+}
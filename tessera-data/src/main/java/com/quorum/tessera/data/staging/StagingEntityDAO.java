@@ -14,6 +14,14 @@ public interface StagingEntityDAO {
      */
     StagingTransaction save(StagingTransaction entity);
 
+    /**
+     * Save a batch of new transactions in a single database transaction
+     *
+     * @param entities The entities to be persisted
+     * @return The entities that were persisted
+     */
+    List<StagingTransaction> saveAll(List<StagingTransaction> entities);
+
     /**
      * Update an Encrypted Transaction All fields are required to be non-null on the entity
      *
@@ -35,6 +35,17 @@ public class StagingEntityDAOImpl implements StagingEntityDAO {
         });
     }
 
+    @Override
+    public List<StagingTransaction> saveAll(final List<StagingTransaction> entities) {
+        return entityManagerTemplate.execute(entityManager -> {
+            entities.forEach(entityManager::persist);
+
+            LOGGER.debug("Persisted {} StagingTransaction entities", entities.size());
+
+            return entities;
+        });
+    }
+
     @Override
     public StagingTransaction update(StagingTransaction entity) {
 
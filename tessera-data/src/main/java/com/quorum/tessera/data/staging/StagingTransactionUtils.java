@@ -3,8 +3,8 @@ package com.quorum.tessera.data.staging;
 import com.quorum.tessera.data.MessageHashFactory;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.TxHash;
 
-import java.util.Base64;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -18,9 +18,8 @@ public class StagingTransactionUtils {
 
         final EncodedPayload encodedPayload = PayloadEncoder.create().decode(rawPayload);
 
-        final byte[] messageHashData =
-                MESSAGE_HASH_FACTORY.createFromCipherText(encodedPayload.getCipherText()).getHashBytes();
-        final String messageHash = Base64.getEncoder().encodeToString(messageHashData);
+        final String messageHash =
+                MESSAGE_HASH_FACTORY.createFromCipherText(encodedPayload.getCipherText()).encodeToBase64();
 
         StagingTransaction stagingTransaction = new StagingTransaction();
         stagingTransaction.setHash(messageHash);
@@ -29,8 +28,7 @@ public class StagingTransactionUtils {
 
         final Set<StagingAffectedTransaction> affectedTransactions =
                 encodedPayload.getAffectedContractTransactions().keySet().stream()
-                        .map(key -> key.getBytes())
-                        .map(Base64.getEncoder()::encodeToString)
+                        .map(TxHash::encodeToBase64)
                         .map(
                                 hash -> {
                                     StagingAffectedTransaction stagingAffectedTransaction =
@@ -0,0 +1,72 @@
+package com.quorum.tessera.data;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/** The stores that the DAO conformance tests are run against */
+public enum DAOBackend {
+    JPA {
+        @Override
+        Opened open(Path directory) {
+            final Map<String, String> properties = new HashMap<>();
+            properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:" + UUID.randomUUID());
+            properties.put("javax.persistence.jdbc.user", "junit");
+            properties.put("javax.persistence.jdbc.password", "");
+            properties.put("eclipselink.cache.shared.default", "false");
+            properties.put("javax.persistence.schema-generation.database.action", "create");
+            final EntityManagerFactory entityManagerFactory =
+                    Persistence.createEntityManagerFactory("tessera", properties);
+
+            return new Opened(
+                    new EncryptedTransactionDAOImpl(entityManagerFactory),
+                    new EncryptedRawTransactionDAOImpl(entityManagerFactory),
+                    entityManagerFactory::close);
+        }
+    },
+    LOG_STORE {
+        @Override
+        Opened open(Path directory) {
+            final LogEncryptedTransactionDAO encryptedTransactionDAO =
+                    new LogEncryptedTransactionDAO(directory.resolve("transactions"));
+            final LogEncryptedRawTransactionDAO encryptedRawTransactionDAO =
+                    new LogEncryptedRawTransactionDAO(directory.resolve("raw-transactions"));
+
+            return new Opened(
+                    encryptedTransactionDAO,
+                    encryptedRawTransactionDAO,
+                    () -> {
+                        encryptedTransactionDAO.close();
+                        encryptedRawTransactionDAO.close();
+                    });
+        }
+    };
+
+    abstract Opened open(Path directory);
+
+    static class Opened implements AutoCloseable {
+
+        final EncryptedTransactionDAO encryptedTransactionDAO;
+
+        final EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+        private final Runnable onClose;
+
+        Opened(
+                EncryptedTransactionDAO encryptedTransactionDAO,
+                EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+                Runnable onClose) {
+            this.encryptedTransactionDAO = encryptedTransactionDAO;
+            this.encryptedRawTransactionDAO = encryptedRawTransactionDAO;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public void close() {
+            onClose.run();
+        }
+    }
+}
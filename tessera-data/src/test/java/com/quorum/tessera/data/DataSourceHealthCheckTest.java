@@ -0,0 +1,152 @@
+package com.quorum.tessera.data;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DataSourceHealthCheckTest {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private AtomicInteger statements;
+
+    private AtomicInteger validations;
+
+    private AtomicLong clock;
+
+    private DataSource dataSource;
+
+    @Before
+    public void onSetUp() {
+        statements = new AtomicInteger();
+        validations = new AtomicInteger();
+        clock = new AtomicLong(1000L);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:healthcheck");
+        dataSource = countingDataSource(h2);
+    }
+
+    @Test
+    public void upcheckExecutesNoStatements() {
+        DataSourceHealthCheck healthCheck = new DataSourceHealthCheck(dataSource, 0, clock::get);
+
+        assertThat(healthCheck.isUp()).isTrue();
+        assertThat(healthCheck.isUp()).isTrue();
+
+        assertThat(statements).hasValue(0);
+        assertThat(validations).hasValue(2);
+    }
+
+    @Test
+    public void resultIsCachedUntilCacheTimeExpires() {
+        DataSourceHealthCheck healthCheck = new DataSourceHealthCheck(dataSource, 500, clock::get);
+
+        assertThat(healthCheck.isUp()).isTrue();
+        clock.addAndGet(499);
+        assertThat(healthCheck.isUp()).isTrue();
+        assertThat(validations).hasValue(1);
+
+        clock.addAndGet(1);
+        assertThat(healthCheck.isUp()).isTrue();
+        assertThat(validations).hasValue(2);
+    }
+
+    @Test
+    public void unavailableDatabaseIsDown() throws Exception {
+        DataSource unavailable = mock(DataSource.class);
+        when(unavailable.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        DataSourceHealthCheck healthCheck = new DataSourceHealthCheck(unavailable, 500, clock::get);
+
+        assertThat(healthCheck.isUp()).isFalse();
+        assertThat(healthCheck.getPoolStatus()).isEmpty();
+    }
+
+    @Test
+    public void saturatedPoolIsReportedAsDown() throws Exception {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setJdbcUrl("jdbc:h2:mem:healthcheck-pool");
+        hikariConfig.setMaximumPoolSize(2);
+
+        try (HikariDataSource pool = new HikariDataSource(hikariConfig)) {
+            DataSourceHealthCheck healthCheck = new DataSourceHealthCheck(pool, 0, clock::get);
+
+            assertThat(healthCheck.isUp()).isTrue();
+            assertThat(healthCheck.getPoolStatus())
+                    .hasValueSatisfying(
+                            status -> {
+                                assertThat(status.getActive()).isZero();
+                                assertThat(status.getMaximum()).isEqualTo(2);
+                                assertThat(status.isSaturated()).isFalse();
+                            });
+
+            try (Connection first = pool.getConnection();
+                    Connection second = pool.getConnection()) {
+                assertThat(healthCheck.getPoolStatus())
+                        .hasValueSatisfying(
+                                status -> {
+                                    assertThat(status.getActive()).isEqualTo(2);
+                                    assertThat(status.isSaturated()).isTrue();
+                                });
+                assertThat(healthCheck.isUp()).isFalse();
+            }
+
+            assertThat(healthCheck.isUp()).isTrue();
+        }
+    }
+
+    private DataSource countingDataSource(DataSource target) {
+        return (DataSource)
+                Proxy.newProxyInstance(
+                        getClass().getClassLoader(),
+                        new Class[] {DataSource.class},
+                        (proxy, method, args) -> {
+                            Object result = invoke(target, method, args);
+                            if (result instanceof Connection) {
+                                return countingConnection((Connection) result);
+                            }
+                            return result;
+                        });
+    }
+
+    private Connection countingConnection(Connection target) {
+        return (Connection)
+                Proxy.newProxyInstance(
+                        getClass().getClassLoader(),
+                        new Class[] {Connection.class},
+                        (proxy, method, args) -> {
+                            if (STATEMENT_METHODS.contains(method.getName())) {
+                                statements.incrementAndGet();
+                            }
+                            if (method.getName().equals("isValid")) {
+                                validations.incrementAndGet();
+                            }
+                            return invoke(target, method, args);
+                        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
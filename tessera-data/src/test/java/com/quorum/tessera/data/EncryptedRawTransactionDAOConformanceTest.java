@@ -0,0 +1,183 @@
+package com.quorum.tessera.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/** The behaviour every {@link EncryptedRawTransactionDAO} must have, whatever it stores raw transactions in */
+@RunWith(Parameterized.class)
+public class EncryptedRawTransactionDAOConformanceTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final DAOBackend backend;
+
+    private DAOBackend.Opened opened;
+
+    private EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    public EncryptedRawTransactionDAOConformanceTest(DAOBackend backend) {
+        this.backend = backend;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<DAOBackend> backends() {
+        return List.of(DAOBackend.values());
+    }
+
+    @Before
+    public void onSetUp() throws Exception {
+        opened = backend.open(temporaryFolder.newFolder().toPath());
+        encryptedRawTransactionDAO = opened.encryptedRawTransactionDAO;
+    }
+
+    @After
+    public void onTearDown() {
+        opened.close();
+    }
+
+    @Test
+    public void savedRawTransactionCanBeRetrieved() {
+        final EncryptedRawTransaction rawTransaction = rawTransaction();
+
+        assertThat(encryptedRawTransactionDAO.save(rawTransaction)).isSameAs(rawTransaction);
+        assertThat(rawTransaction.getTimestamp()).isNotZero();
+
+        final EncryptedRawTransaction retrieved =
+                encryptedRawTransactionDAO.retrieveByHash(rawTransaction.getHash()).get();
+        assertThat(retrieved.getHash()).isEqualTo(rawTransaction.getHash());
+        assertThat(retrieved.getEncryptedPayload()).isEqualTo(rawTransaction.getEncryptedPayload());
+        assertThat(retrieved.getEncryptedKey()).isEqualTo(rawTransaction.getEncryptedKey());
+        assertThat(retrieved.getNonce()).isEqualTo(rawTransaction.getNonce());
+        assertThat(retrieved.getSender()).isEqualTo(rawTransaction.getSender());
+        assertThat(retrieved.getTimestamp()).isEqualTo(rawTransaction.getTimestamp());
+    }
+
+    @Test
+    public void retrieveByHashReturnsEmptyWhenNotPresent() {
+        assertThat(encryptedRawTransactionDAO.retrieveByHash(Utils.createHash())).isEmpty();
+    }
+
+    @Test
+    public void saveRejectsMissingFields() {
+        final List<EncryptedRawTransaction> incomplete =
+                List.of(
+                        new EncryptedRawTransaction(null, new byte[] {1}, new byte[] {2}, new byte[] {3}, new byte[] {4}),
+                        new EncryptedRawTransaction(Utils.createHash(), null, new byte[] {2}, new byte[] {3}, new byte[] {4}),
+                        new EncryptedRawTransaction(Utils.createHash(), new byte[] {1}, null, new byte[] {3}, new byte[] {4}),
+                        new EncryptedRawTransaction(Utils.createHash(), new byte[] {1}, new byte[] {2}, null, new byte[] {4}),
+                        new EncryptedRawTransaction(Utils.createHash(), new byte[] {1}, new byte[] {2}, new byte[] {3}, null));
+
+        for (EncryptedRawTransaction rawTransaction : incomplete) {
+            assertThatExceptionOfType(PersistenceException.class)
+                    .isThrownBy(() -> encryptedRawTransactionDAO.save(rawTransaction));
+        }
+        assertThat(encryptedRawTransactionDAO.retrieveStoredBefore(Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    public void cannotSaveSameHashTwice() {
+        final EncryptedRawTransaction rawTransaction = encryptedRawTransactionDAO.save(rawTransaction());
+        final EncryptedRawTransaction duplicate =
+                new EncryptedRawTransaction(
+                        rawTransaction.getHash(), new byte[] {1}, new byte[] {2}, new byte[] {3}, new byte[] {4});
+
+        assertThatExceptionOfType(PersistenceException.class)
+                .isThrownBy(() -> encryptedRawTransactionDAO.save(duplicate));
+
+        assertThat(encryptedRawTransactionDAO.retrieveByHash(rawTransaction.getHash()).get().getEncryptedPayload())
+                .isEqualTo(rawTransaction.getEncryptedPayload());
+    }
+
+    @Test
+    public void findByHashesReturnsOnlyThosePresent() {
+        final List<MessageHash> hashes =
+                saveRawTransactions(5).stream()
+                        .limit(3)
+                        .map(EncryptedRawTransaction::getHash)
+                        .collect(Collectors.toList());
+
+        final List<MessageHash> requested = new ArrayList<>(hashes);
+        requested.add(Utils.createHash());
+
+        assertThat(encryptedRawTransactionDAO.findByHashes(requested))
+                .extracting(EncryptedRawTransaction::getHash)
+                .containsExactlyInAnyOrderElementsOf(hashes);
+        assertThat(encryptedRawTransactionDAO.findByHashes(List.of())).isEmpty();
+    }
+
+    @Test
+    public void deleteRemovesRawTransaction() {
+        final EncryptedRawTransaction rawTransaction = encryptedRawTransactionDAO.save(rawTransaction());
+
+        encryptedRawTransactionDAO.delete(rawTransaction.getHash());
+
+        assertThat(encryptedRawTransactionDAO.retrieveByHash(rawTransaction.getHash())).isEmpty();
+    }
+
+    @Test
+    public void deleteThrowsEntityNotFoundExceptionForNonExistentHash() {
+        final MessageHash hash = Utils.createHash();
+        assertThatExceptionOfType(EntityNotFoundException.class)
+                .isThrownBy(() -> encryptedRawTransactionDAO.delete(hash));
+    }
+
+    @Test
+    public void deleteAllCountsOnlyThosePresent() {
+        final List<MessageHash> hashes =
+                saveRawTransactions(3).stream().map(EncryptedRawTransaction::getHash).collect(Collectors.toList());
+
+        assertThat(encryptedRawTransactionDAO.deleteAll(List.of(hashes.get(0), Utils.createHash()))).isEqualTo(1);
+        assertThat(encryptedRawTransactionDAO.deleteAll(List.of())).isZero();
+        assertThat(encryptedRawTransactionDAO.findByHashes(hashes))
+                .extracting(EncryptedRawTransaction::getHash)
+                .containsExactlyInAnyOrder(hashes.get(1), hashes.get(2));
+    }
+
+    @Test
+    public void retrieveStoredBeforeReturnsOldestFirst() throws Exception {
+        final List<EncryptedRawTransaction> older = saveRawTransactions(3);
+        Thread.sleep(5);
+        final long cutOff = System.currentTimeMillis();
+        Thread.sleep(5);
+        saveRawTransactions(2);
+
+        final List<EncryptedRawTransaction> storedBefore =
+                encryptedRawTransactionDAO.retrieveStoredBefore(cutOff, Integer.MAX_VALUE);
+
+        assertThat(storedBefore).containsExactlyInAnyOrderElementsOf(older);
+        assertThat(storedBefore).extracting(EncryptedRawTransaction::getTimestamp).isSorted();
+        assertThat(encryptedRawTransactionDAO.retrieveStoredBefore(cutOff, 2)).hasSize(2);
+    }
+
+    @Test
+    public void upcheckReturnsTrue() {
+        assertThat(encryptedRawTransactionDAO.upcheck()).isTrue();
+    }
+
+    private List<EncryptedRawTransaction> saveRawTransactions(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> encryptedRawTransactionDAO.save(rawTransaction()))
+                .collect(Collectors.toList());
+    }
+
+    private static EncryptedRawTransaction rawTransaction() {
+        return new EncryptedRawTransaction(
+                Utils.createHash(), Utils.cipherText(), Utils.randomBytes(), Utils.cipherTextNonce(), Utils.randomBytes());
+    }
+}
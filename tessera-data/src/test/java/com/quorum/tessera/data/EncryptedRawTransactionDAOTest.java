@@ -1,5 +1,8 @@
 package com.quorum.tessera.data;
 
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -8,6 +11,7 @@ import org.junit.runners.Parameterized;
 
 import javax.persistence.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -259,6 +263,37 @@ public class EncryptedRawTransactionDAOTest {
         assertThat(retrieved.isPresent()).isFalse();
     }
 
+    @Test
+    public void findByHashesReturnsPresentTransactionsInOneQuery() {
+        final List<MessageHash> storedHashes = new ArrayList<>();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (int i = 0; i < 3; i++) {
+            final MessageHash messageHash = new MessageHash(UUID.randomUUID().toString().getBytes());
+            final EncryptedRawTransaction encryptedRawTransaction =
+                    new EncryptedRawTransaction(
+                            messageHash, new byte[] {5}, "key".getBytes(), "nonce".getBytes(), "from".getBytes());
+            entityManager.persist(encryptedRawTransaction);
+            storedHashes.add(messageHash);
+        }
+        entityManager.getTransaction().commit();
+
+        final MessageHash missingHash = new MessageHash(UUID.randomUUID().toString().getBytes());
+        final List<MessageHash> searchHashes = List.of(storedHashes.get(0), storedHashes.get(2), missingHash);
+
+        final List<EncryptedRawTransaction> retrieved = encryptedRawTransactionDAO.findByHashes(searchHashes);
+
+        assertThat(retrieved)
+                .extracting(EncryptedRawTransaction::getHash)
+                .containsExactlyInAnyOrder(storedHashes.get(0), storedHashes.get(2));
+    }
+
+    @Test
+    public void findByHashesWithNoHashesReturnsEmptyList() {
+        assertThat(encryptedRawTransactionDAO.findByHashes(Collections.emptyList())).isEmpty();
+    }
+
     @Test
     public void persistAddsTimestampToEntity() {
 
@@ -291,6 +326,24 @@ public class EncryptedRawTransactionDAOTest {
         assertThat(encryptedRawTransactionDAO.upcheck());
     }
 
+    @Test
+    public void upcheckDoesNotQueryTables() {
+        AtomicInteger queries = new AtomicInteger();
+        entityManagerFactory
+                .unwrap(Session.class)
+                .getEventManager()
+                .addListener(
+                        new SessionEventAdapter() {
+                            @Override
+                            public void preExecuteQuery(SessionEvent event) {
+                                queries.incrementAndGet();
+                            }
+                        });
+
+        assertThat(encryptedRawTransactionDAO.upcheck()).isTrue();
+        assertThat(queries).hasValue(0);
+    }
+
     @Test
     public void upcheckFailDueToDB() {
         EntityManagerFactory mockEntityManagerFactory = mock(EntityManagerFactory.class);
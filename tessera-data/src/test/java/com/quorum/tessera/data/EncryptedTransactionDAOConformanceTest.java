@@ -0,0 +1,396 @@
+package com.quorum.tessera.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.PersistenceException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/** The behaviour every {@link EncryptedTransactionDAO} must have, whatever it stores transactions in */
+@RunWith(Parameterized.class)
+public class EncryptedTransactionDAOConformanceTest {
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final DAOBackend backend;
+
+    private DAOBackend.Opened opened;
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    public EncryptedTransactionDAOConformanceTest(DAOBackend backend) {
+        this.backend = backend;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<DAOBackend> backends() {
+        return List.of(DAOBackend.values());
+    }
+
+    @Before
+    public void onSetUp() throws Exception {
+        opened = backend.open(temporaryFolder.newFolder().toPath());
+        encryptedTransactionDAO = opened.encryptedTransactionDAO;
+    }
+
+    @After
+    public void onTearDown() {
+        opened.close();
+    }
+
+    @Test
+    public void savedTransactionCanBeRetrieved() {
+        final EncryptedTransaction transaction = transaction();
+
+        final EncryptedTransaction saved = encryptedTransactionDAO.save(transaction);
+
+        assertThat(saved).isSameAs(transaction);
+        assertThat(saved.getTimestamp()).isNotZero();
+
+        final EncryptedTransaction retrieved = encryptedTransactionDAO.retrieveByHash(transaction.getHash()).get();
+        assertThat(retrieved.getHash()).isEqualTo(transaction.getHash());
+        assertThat(retrieved.getEncodedPayload()).isEqualTo(transaction.getEncodedPayload());
+        assertThat(retrieved.getTimestamp()).isEqualTo(transaction.getTimestamp());
+    }
+
+    @Test
+    public void retrieveByHashReturnsEmptyWhenNotPresent() {
+        assertThat(encryptedTransactionDAO.retrieveByHash(Utils.createHash())).isEmpty();
+    }
+
+    @Test
+    public void saveRejectsMissingFields() {
+        final EncryptedTransaction noPayload = new EncryptedTransaction(Utils.createHash(), null);
+        final EncryptedTransaction noHash = new EncryptedTransaction(null, new byte[] {5});
+
+        assertThatExceptionOfType(PersistenceException.class).isThrownBy(() -> encryptedTransactionDAO.save(noPayload));
+        assertThatExceptionOfType(PersistenceException.class).isThrownBy(() -> encryptedTransactionDAO.save(noHash));
+        assertThat(encryptedTransactionDAO.transactionCount()).isZero();
+    }
+
+    @Test
+    public void cannotSaveSameHashTwice() {
+        final EncryptedTransaction transaction = encryptedTransactionDAO.save(transaction());
+        final EncryptedTransaction duplicate = new EncryptedTransaction(transaction.getHash(), new byte[] {6});
+
+        assertThatExceptionOfType(PersistenceException.class).isThrownBy(() -> encryptedTransactionDAO.save(duplicate));
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(transaction.getHash()).get().getEncodedPayload())
+                .isEqualTo(transaction.getEncodedPayload());
+    }
+
+    @Test
+    public void updateReplacesPayloadAndKeepsTimestamp() {
+        final EncryptedTransaction transaction = encryptedTransactionDAO.save(transaction());
+        final EncryptedTransaction updated = new EncryptedTransaction(transaction.getHash(), new byte[] {6});
+
+        encryptedTransactionDAO.update(updated);
+
+        final EncryptedTransaction retrieved = encryptedTransactionDAO.retrieveByHash(transaction.getHash()).get();
+        assertThat(retrieved.getEncodedPayload()).containsExactly(6);
+        assertThat(retrieved.getTimestamp()).isEqualTo(transaction.getTimestamp());
+        assertThat(encryptedTransactionDAO.transactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void findByHashesReturnsOnlyThosePresent() {
+        final List<EncryptedTransaction> transactions = saveTransactions(5);
+        final List<MessageHash> hashes =
+                transactions.stream().limit(3).map(EncryptedTransaction::getHash).collect(Collectors.toList());
+
+        final List<MessageHash> requested = new ArrayList<>(hashes);
+        requested.add(Utils.createHash());
+
+        assertThat(encryptedTransactionDAO.findByHashes(requested))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactlyInAnyOrderElementsOf(hashes);
+        assertThat(encryptedTransactionDAO.findByHashes(List.of())).isEmpty();
+    }
+
+    @Test
+    public void retrieveTransactionsPagesThroughAllInStoredOrder() {
+        final List<EncryptedTransaction> transactions = saveTransactions(20);
+
+        final List<EncryptedTransaction> all = encryptedTransactionDAO.retrieveTransactions(0, Integer.MAX_VALUE);
+        assertThat(all).containsExactlyInAnyOrderElementsOf(transactions);
+        assertThat(all).extracting(EncryptedTransaction::getTimestamp).isSorted();
+
+        final List<EncryptedTransaction> paged = new ArrayList<>();
+        for (int offset = 0; offset < 20; offset += 6) {
+            paged.addAll(encryptedTransactionDAO.retrieveTransactions(offset, 6));
+        }
+        assertThat(paged).containsExactlyElementsOf(all);
+        assertThat(encryptedTransactionDAO.transactionCount()).isEqualTo(20);
+    }
+
+    @Test
+    public void seekingThroughAllTransactionsReturnsEachOnceInOrder() {
+        final List<EncryptedTransaction> transactions = saveTransactions(50);
+
+        final List<EncryptedTransaction> retrieved = new ArrayList<>();
+        EncryptedTransaction last = null;
+        List<EncryptedTransaction> page;
+        do {
+            page = encryptedTransactionDAO.retrieveTransactionsAfter(last, 7);
+            retrieved.addAll(page);
+            last = page.isEmpty() ? last : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        assertThat(retrieved).containsExactlyInAnyOrderElementsOf(transactions);
+        assertThat(retrieved).containsExactlyElementsOf(encryptedTransactionDAO.retrieveTransactions(0, 50));
+    }
+
+    @Test
+    public void seekingThroughAllHashesReturnsEachOnceInHashOrder() {
+        final Set<MessageHash> hashes =
+                saveTransactions(50).stream().map(EncryptedTransaction::getHash).collect(Collectors.toSet());
+
+        final List<MessageHash> retrieved = new ArrayList<>();
+        MessageHash last = null;
+        List<MessageHash> page;
+        do {
+            page = encryptedTransactionDAO.retrieveHashesAfter(last, 7);
+            retrieved.addAll(page);
+            last = page.isEmpty() ? last : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        assertThat(retrieved).containsExactlyInAnyOrderElementsOf(hashes);
+        assertThat(retrieved).extracting(MessageHash::getHashBytes).isSortedAccordingTo(Arrays::compareUnsigned);
+    }
+
+    @Test
+    public void deleteRemovesTransaction() {
+        final EncryptedTransaction transaction = encryptedTransactionDAO.save(transaction());
+
+        encryptedTransactionDAO.delete(transaction.getHash());
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(transaction.getHash())).isEmpty();
+        assertThat(encryptedTransactionDAO.transactionCount()).isZero();
+    }
+
+    @Test
+    public void deleteThrowsEntityNotFoundExceptionForNonExistentHash() {
+        final MessageHash hash = Utils.createHash();
+        assertThatExceptionOfType(EntityNotFoundException.class).isThrownBy(() -> encryptedTransactionDAO.delete(hash));
+    }
+
+    @Test
+    public void deleteAllCountsOnlyThosePresent() {
+        final List<MessageHash> hashes =
+                saveTransactions(4).stream().map(EncryptedTransaction::getHash).collect(Collectors.toList());
+
+        final List<MessageHash> toDelete = List.of(hashes.get(0), hashes.get(1), Utils.createHash());
+
+        assertThat(encryptedTransactionDAO.deleteAll(toDelete)).isEqualTo(2);
+        assertThat(encryptedTransactionDAO.deleteAll(List.of())).isZero();
+        assertThat(encryptedTransactionDAO.retrieveHashesAfter(null, 10))
+                .containsExactlyInAnyOrder(hashes.get(2), hashes.get(3));
+    }
+
+    @Test
+    public void deletedHashCanBeSavedAgain() {
+        final EncryptedTransaction transaction = encryptedTransactionDAO.save(transaction());
+        encryptedTransactionDAO.delete(transaction.getHash());
+
+        encryptedTransactionDAO.save(new EncryptedTransaction(transaction.getHash(), new byte[] {7}));
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(transaction.getHash()).get().getEncodedPayload())
+                .containsExactly(7);
+    }
+
+    @Test
+    public void saveWithCallbackCallsCallback() throws Exception {
+        final Callable<Void> callback = mock(Callable.class);
+        final EncryptedTransaction transaction = transaction();
+
+        encryptedTransactionDAO.save(transaction, callback);
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(transaction.getHash())).isPresent();
+        verify(callback).call();
+    }
+
+    @Test
+    public void saveWithFailingCallbackStoresNothing() throws Exception {
+        final Callable<Void> callback = mock(Callable.class);
+        when(callback.call()).thenThrow(new Exception("OUCH"));
+        final EncryptedTransaction transaction = transaction();
+
+        assertThatExceptionOfType(PersistenceException.class)
+                .isThrownBy(() -> encryptedTransactionDAO.save(transaction, callback))
+                .withMessageContaining("OUCH");
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(transaction.getHash())).isEmpty();
+    }
+
+    @Test
+    public void concurrentSaveOfSameHashFailsOnceFirstIsStored() throws Exception {
+        final EncryptedTransaction first = transaction();
+        final EncryptedTransaction second = new EncryptedTransaction(first.getHash(), new byte[] {6});
+        final CountDownLatch inCallback = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Callable<Void> secondCallback = mock(Callable.class);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<EncryptedTransaction> firstSave =
+                    executor.submit(() -> encryptedTransactionDAO.save(first, awaiting(inCallback, release, null)));
+            assertThat(inCallback.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final Future<EncryptedTransaction> secondSave =
+                    executor.submit(() -> encryptedTransactionDAO.save(second, secondCallback));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(firstSave.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            assertThatThrownBy(() -> secondSave.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(PersistenceException.class);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        verifyZeroInteractions(secondCallback);
+        assertThat(encryptedTransactionDAO.retrieveByHash(first.getHash()).get().getEncodedPayload())
+                .isEqualTo(first.getEncodedPayload());
+    }
+
+    @Test
+    public void concurrentSaveOfSameHashSucceedsWhenFirstCallbackFails() throws Exception {
+        final EncryptedTransaction first = transaction();
+        final EncryptedTransaction second = new EncryptedTransaction(first.getHash(), new byte[] {6});
+        final CountDownLatch inCallback = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<EncryptedTransaction> firstSave =
+                    executor.submit(
+                            () ->
+                                    encryptedTransactionDAO.save(
+                                            first, awaiting(inCallback, release, new Exception("OUCH"))));
+            assertThat(inCallback.await(5, TimeUnit.SECONDS)).isTrue();
+
+            final Future<EncryptedTransaction> secondSave =
+                    executor.submit(() -> encryptedTransactionDAO.save(second, () -> null));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThatThrownBy(() -> firstSave.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(PersistenceException.class);
+            assertThat(secondSave.get(5, TimeUnit.SECONDS)).isSameAs(second);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(first.getHash()).get().getEncodedPayload())
+                .containsExactly(6);
+    }
+
+    @Test
+    public void saveWithCallbackRethrowsRuntimeException() throws Exception {
+        final Callable<Void> callback = mock(Callable.class);
+        when(callback.call()).thenThrow(new IllegalStateException("OUCH"));
+        final EncryptedTransaction transaction = transaction();
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> encryptedTransactionDAO.save(transaction, callback))
+                .withMessage("OUCH");
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(transaction.getHash())).isEmpty();
+    }
+
+    @Test
+    public void callbackIsNotCalledIfSaveFails() throws Exception {
+        final EncryptedTransaction transaction = encryptedTransactionDAO.save(transaction());
+        final EncryptedTransaction duplicate = new EncryptedTransaction(transaction.getHash(), new byte[] {6});
+        final Callable<Void> callback = mock(Callable.class);
+
+        assertThatExceptionOfType(PersistenceException.class)
+                .isThrownBy(() -> encryptedTransactionDAO.save(duplicate, callback));
+
+        verifyZeroInteractions(callback);
+    }
+
+    @Test
+    public void saveAllStoresEveryTransaction() throws Exception {
+        final List<EncryptedTransaction> transactions =
+                IntStream.range(0, 3).mapToObj(i -> transaction()).collect(Collectors.toList());
+        final Callable<Void> callback = mock(Callable.class);
+
+        assertThat(encryptedTransactionDAO.saveAll(transactions, callback)).containsExactlyElementsOf(transactions);
+
+        assertThat(encryptedTransactionDAO.transactionCount()).isEqualTo(3);
+        verify(callback).call();
+    }
+
+    @Test
+    public void saveAllStoresNothingIfOneAlreadyExists() throws Exception {
+        final EncryptedTransaction existing = encryptedTransactionDAO.save(transaction());
+        final EncryptedTransaction fresh = transaction();
+        final List<EncryptedTransaction> transactions =
+                List.of(fresh, new EncryptedTransaction(existing.getHash(), new byte[] {6}));
+
+        assertThatExceptionOfType(PersistenceException.class)
+                .isThrownBy(() -> encryptedTransactionDAO.saveAll(transactions, () -> null));
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(fresh.getHash())).isEmpty();
+        assertThat(encryptedTransactionDAO.transactionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void saveAllWithFailingCallbackStoresNothing() throws Exception {
+        final List<EncryptedTransaction> transactions = List.of(transaction(), transaction());
+        final Callable<Void> callback = mock(Callable.class);
+        when(callback.call()).thenThrow(new Exception("OUCH"));
+
+        assertThatExceptionOfType(PersistenceException.class)
+                .isThrownBy(() -> encryptedTransactionDAO.saveAll(transactions, callback))
+                .withMessageContaining("OUCH");
+
+        assertThat(encryptedTransactionDAO.transactionCount()).isZero();
+    }
+
+    @Test
+    public void upcheckReturnsTrue() {
+        assertThat(encryptedTransactionDAO.upcheck()).isTrue();
+    }
+
+    /** @return a callback that signals it has been called, then waits to be released and fails if given a failure */
+    private static Callable<Void> awaiting(CountDownLatch inCallback, CountDownLatch release, Exception failure) {
+        return () -> {
+            inCallback.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (failure != null) {
+                throw failure;
+            }
+            return null;
+        };
+    }
+
+    private List<EncryptedTransaction> saveTransactions(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> encryptedTransactionDAO.save(transaction()))
+                .collect(Collectors.toList());
+    }
+
+    private static EncryptedTransaction transaction() {
+        return new EncryptedTransaction(Utils.createHash(), Utils.cipherText());
+    }
+}
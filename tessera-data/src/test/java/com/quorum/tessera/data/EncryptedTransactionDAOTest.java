@@ -1,5 +1,8 @@
 package com.quorum.tessera.data;
 
+import org.eclipse.persistence.sessions.Session;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -7,6 +10,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import javax.persistence.*;
+import java.sql.Connection;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -189,6 +193,62 @@ public class EncryptedTransactionDAOTest {
         assertThat(retrievedList).hasSameElementsAs(payloads);
     }
 
+    @Test
+    public void seekingThroughAllTransactionsReturnsEachOnceInOrder() {
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        final List<EncryptedTransaction> payloads =
+                IntStream.range(0, 50)
+                        .mapToObj(i -> UUID.randomUUID().toString().getBytes())
+                        .map(MessageHash::new)
+                        .map(hash -> new EncryptedTransaction(hash, hash.getHashBytes()))
+                        .peek(entityManager::persist)
+                        .collect(Collectors.toList());
+
+        entityManager.getTransaction().commit();
+
+        final List<EncryptedTransaction> retrievedList = new ArrayList<>();
+        EncryptedTransaction last = null;
+        List<EncryptedTransaction> page;
+        do {
+            page = encryptedTransactionDAO.retrieveTransactionsAfter(last, 7);
+            retrievedList.addAll(page);
+            last = page.isEmpty() ? last : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        assertThat(retrievedList).hasSameSizeAs(payloads);
+        assertThat(retrievedList).hasSameElementsAs(payloads);
+        assertThat(retrievedList).containsExactlyElementsOf(encryptedTransactionDAO.retrieveTransactions(0, 50));
+    }
+
+    @Test
+    public void seekingThroughAllHashesReturnsEachOnce() {
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        final Set<MessageHash> hashes =
+                IntStream.range(0, 50)
+                        .mapToObj(i -> UUID.randomUUID().toString().getBytes())
+                        .map(MessageHash::new)
+                        .peek(hash -> entityManager.persist(new EncryptedTransaction(hash, hash.getHashBytes())))
+                        .collect(Collectors.toSet());
+
+        entityManager.getTransaction().commit();
+
+        final List<MessageHash> retrievedList = new ArrayList<>();
+        MessageHash last = null;
+        List<MessageHash> page;
+        do {
+            page = encryptedTransactionDAO.retrieveHashesAfter(last, 7);
+            retrievedList.addAll(page);
+            last = page.isEmpty() ? last : page.get(page.size() - 1);
+        } while (page.size() == 7);
+
+        assertThat(retrievedList).hasSameSizeAs(hashes);
+        assertThat(retrievedList).containsExactlyInAnyOrderElementsOf(hashes);
+    }
+
     @Test
     public void deleteTransactionRemovesFromDatabaseAndReturnsTrue() {
 
@@ -378,6 +438,60 @@ public class EncryptedTransactionDAOTest {
         verify(callback).call();
     }
 
+    @Test
+    public void saveAllTransactionsWithCallback() throws Exception {
+
+        List<EncryptedTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            EncryptedTransaction transaction = new EncryptedTransaction();
+            transaction.setHash(new MessageHash(UUID.randomUUID().toString().getBytes()));
+            transaction.setEncodedPayload(UUID.randomUUID().toString().getBytes());
+            transactions.add(transaction);
+        }
+
+        Callable<Void> callback = mock(Callable.class);
+
+        List<EncryptedTransaction> saved = encryptedTransactionDAO.saveAll(transactions, callback);
+
+        assertThat(saved).containsExactlyElementsOf(transactions);
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        for (EncryptedTransaction transaction : transactions) {
+            assertThat(entityManager.find(EncryptedTransaction.class, transaction.getHash())).isNotNull();
+        }
+
+        verify(callback).call();
+    }
+
+    @Test
+    public void saveAllTransactionsWithCallbackExceptionStoresNothing() throws Exception {
+
+        List<EncryptedTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            EncryptedTransaction transaction = new EncryptedTransaction();
+            transaction.setHash(new MessageHash(UUID.randomUUID().toString().getBytes()));
+            transaction.setEncodedPayload(UUID.randomUUID().toString().getBytes());
+            transactions.add(transaction);
+        }
+
+        Callable<Void> callback = mock(Callable.class);
+        when(callback.call()).thenThrow(new Exception("OUCH"));
+
+        try {
+            encryptedTransactionDAO.saveAll(transactions, callback);
+            failBecauseExceptionWasNotThrown(PersistenceException.class);
+        } catch (PersistenceException ex) {
+            assertThat(ex).isNotNull().hasMessageContaining("OUCH");
+        }
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        for (EncryptedTransaction transaction : transactions) {
+            assertThat(entityManager.find(EncryptedTransaction.class, transaction.getHash())).isNull();
+        }
+
+        verify(callback).call();
+    }
+
     @Test
     public void callBackShouldNotBeExecutedIfSaveFails() {
         final EncryptedTransaction encryptedTransaction = new EncryptedTransaction();
@@ -415,7 +529,48 @@ public class EncryptedTransactionDAOTest {
 
     @Test
     public void upcheckReturnsTrue() {
-        assertThat(encryptedTransactionDAO.upcheck());
+        assertThat(encryptedTransactionDAO.upcheck()).isTrue();
+    }
+
+    @Test
+    public void upcheckWithoutHealthCheckValidatesTheEntityManagerConnection() throws Exception {
+        EntityManagerFactory mockEntityManagerFactory = mock(EntityManagerFactory.class);
+        EntityManager mockEntityManager = mock(EntityManager.class);
+        Connection connection = mock(Connection.class);
+
+        when(mockEntityManagerFactory.createEntityManager()).thenReturn(mockEntityManager);
+        when(mockEntityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+        when(mockEntityManager.unwrap(Connection.class)).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true, false);
+
+        EncryptedTransactionDAO encryptedTransactionDAO = new EncryptedTransactionDAOImpl(mockEntityManagerFactory);
+
+        assertThat(encryptedTransactionDAO.upcheck()).isTrue();
+        assertThat(encryptedTransactionDAO.upcheck()).isFalse();
+
+        verify(connection, times(2)).isValid(anyInt());
+        verifyNoMoreInteractions(connection);
+        verify(mockEntityManager, times(2)).unwrap(Connection.class);
+        verify(mockEntityManager, never()).createQuery(anyString());
+        verify(mockEntityManager, never()).createNamedQuery(anyString());
+    }
+
+    @Test
+    public void upcheckDoesNotQueryTables() {
+        AtomicInteger queries = new AtomicInteger();
+        entityManagerFactory
+                .unwrap(Session.class)
+                .getEventManager()
+                .addListener(
+                        new SessionEventAdapter() {
+                            @Override
+                            public void preExecuteQuery(SessionEvent event) {
+                                queries.incrementAndGet();
+                            }
+                        });
+
+        assertThat(encryptedTransactionDAO.upcheck()).isTrue();
+        assertThat(queries).hasValue(0);
     }
 
     @Test
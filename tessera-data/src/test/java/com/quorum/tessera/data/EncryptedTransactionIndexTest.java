@@ -0,0 +1,83 @@
+package com.quorum.tessera.data;
+
+import org.eclipse.persistence.jpa.JpaQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EncryptedTransactionIndexTest {
+
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void onSetUp() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:" + UUID.randomUUID());
+        properties.put("javax.persistence.jdbc.user", "junit");
+        properties.put("javax.persistence.jdbc.password", "");
+        properties.put("eclipselink.logging.logger", "org.eclipse.persistence.logging.slf4j.SLF4JLogger");
+        properties.put("eclipselink.cache.shared.default", "false");
+        properties.put("javax.persistence.schema-generation.database.action", "create");
+
+        entityManagerFactory = Persistence.createEntityManagerFactory("tessera", properties);
+
+        final EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        IntStream.range(0, 100)
+                .mapToObj(i -> new MessageHash(UUID.randomUUID().toString().getBytes()))
+                .map(hash -> new EncryptedTransaction(hash, hash.getHashBytes()))
+                .forEach(entityManager::persist);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @After
+    public void onTearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void seekQueryUsesTimestampIndex() {
+        final String plan = explain("EncryptedTransaction.FindAllAfter");
+
+        assertThat(plan).containsIgnoringCase("ENCRYPTED_TRANSACTION_TIMESTAMP_IDX");
+        assertThat(plan).containsIgnoringCase("TIMESTAMP >=");
+    }
+
+    @Test
+    public void firstPageQueryIsReadInIndexOrder() {
+        final String plan = explain("EncryptedTransaction.FindAll");
+
+        assertThat(plan).containsIgnoringCase("ENCRYPTED_TRANSACTION_TIMESTAMP_IDX");
+        assertThat(plan).containsIgnoringCase("index sorted");
+    }
+
+    private String explain(String namedQuery) {
+        final EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            final String sql =
+                    entityManager
+                            .createNamedQuery(namedQuery)
+                            .unwrap(JpaQuery.class)
+                            .getDatabaseQuery()
+                            .getSQLString();
+
+            entityManager.getTransaction().begin();
+            final Object plan = entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult();
+            entityManager.getTransaction().rollback();
+            return plan.toString();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -4,9 +4,14 @@ import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.JdbcConfig;
 import com.quorum.tessera.data.staging.StagingEntityDAO;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -16,6 +21,8 @@ public class EntityManagerDAOFactoryTest {
 
     private static boolean createTables = false;
 
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Before
     public void createInstance() {
 
@@ -43,13 +50,130 @@ public class EntityManagerDAOFactoryTest {
     public void createEncryptedTransactionDAO() {
         EncryptedTransactionDAO encryptedTransactionDAO = entityManagerDAOFactory.createEncryptedTransactionDAO();
         assertThat(encryptedTransactionDAO).isNotNull();
-
     }
 
     @Test
     public void createStagingEntityDAO() {
         StagingEntityDAO stagingEntityDAO = entityManagerDAOFactory.createStagingEntityDAO();
         assertThat(stagingEntityDAO).isNotNull();
+    }
+
+    @Test
+    public void groupCommitSizeWrapsTransactionDAOs() {
+        Config config = mock(Config.class);
+        JdbcConfig jdbcConfig = mock(JdbcConfig.class);
+        when(jdbcConfig.getUsername()).thenReturn("junit");
+        when(jdbcConfig.getPassword()).thenReturn("junit");
+        when(jdbcConfig.getUrl()).thenReturn("jdbc:h2:mem:junit");
+        when(jdbcConfig.getGroupCommitSize()).thenReturn(16);
+        when(config.getJdbcConfig()).thenReturn(jdbcConfig);
+
+        EntityManagerDAOFactory groupCommitFactory = EntityManagerDAOFactory.newFactory(config);
+
+        assertThat(groupCommitFactory.createEncryptedTransactionDAO())
+                .isExactlyInstanceOf(GroupCommitEncryptedTransactionDAO.class);
+        assertThat(groupCommitFactory.createEncryptedRawTransactionDAO())
+                .isExactlyInstanceOf(GroupCommitEncryptedRawTransactionDAO.class);
+    }
+
+    @Test
+    public void closeStopsGroupCommitWriters() throws Exception {
+        Config config = mock(Config.class);
+        JdbcConfig jdbcConfig = mock(JdbcConfig.class);
+        when(jdbcConfig.getUsername()).thenReturn("junit");
+        when(jdbcConfig.getPassword()).thenReturn("junit");
+        when(jdbcConfig.getUrl()).thenReturn("jdbc:h2:mem:closing");
+        when(jdbcConfig.isAutoCreateTables()).thenReturn(true);
+        when(jdbcConfig.getGroupCommitSize()).thenReturn(16);
+        when(config.getJdbcConfig()).thenReturn(jdbcConfig);
+
+        EntityManagerDAOFactory groupCommitFactory = EntityManagerDAOFactory.newFactory(config);
+        EncryptedTransactionDAO encryptedTransactionDAO = groupCommitFactory.createEncryptedTransactionDAO();
+
+        MessageHash stored = new MessageHash("stored".getBytes());
+        encryptedTransactionDAO.save(new EncryptedTransaction(stored, stored.getHashBytes()));
+
+        EncryptedRawTransactionDAO encryptedRawTransactionDAO = groupCommitFactory.createEncryptedRawTransactionDAO();
+        groupCommitFactory.close();
+
+        MessageHash rejected = new MessageHash("rejected".getBytes());
+        Throwable rawThrowable =
+                catchThrowable(
+                        () ->
+                                encryptedRawTransactionDAO.save(
+                                        new EncryptedRawTransaction(
+                                                rejected,
+                                                "payload".getBytes(),
+                                                "key".getBytes(),
+                                                "nonce".getBytes(),
+                                                "sender".getBytes())));
+        assertThat(rawThrowable).isInstanceOf(IllegalStateException.class);
+
+        Throwable throwable =
+                catchThrowable(
+                        () ->
+                                encryptedTransactionDAO.save(
+                                        new EncryptedTransaction(rejected, rejected.getHashBytes())));
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void logStoreDirectoryUsesOneLogStorePerDirectory() throws Exception {
+        Path directory = temporaryFolder.newFolder().toPath();
+
+        Config config = mock(Config.class);
+        JdbcConfig jdbcConfig = mock(JdbcConfig.class);
+        when(jdbcConfig.getUsername()).thenReturn("junit");
+        when(jdbcConfig.getPassword()).thenReturn("junit");
+        when(jdbcConfig.getUrl()).thenReturn("jdbc:h2:mem:junit");
+        when(jdbcConfig.getGroupCommitSize()).thenReturn(16);
+        when(jdbcConfig.getLogStoreDirectory()).thenReturn(directory);
+        when(config.getJdbcConfig()).thenReturn(jdbcConfig);
+
+        EntityManagerDAOFactory logStoreFactory = EntityManagerDAOFactory.newFactory(config);
+        EncryptedTransactionDAO encryptedTransactionDAO = logStoreFactory.createEncryptedTransactionDAO();
+        EncryptedRawTransactionDAO encryptedRawTransactionDAO = logStoreFactory.createEncryptedRawTransactionDAO();
+
+        assertThat(encryptedTransactionDAO).isExactlyInstanceOf(LogEncryptedTransactionDAO.class);
+        assertThat(encryptedRawTransactionDAO).isExactlyInstanceOf(LogEncryptedRawTransactionDAO.class);
+        assertThat(directory.resolve("transactions")).isDirectory();
+        assertThat(directory.resolve("raw-transactions")).isDirectory();
+
+        EntityManagerDAOFactory otherFactory = EntityManagerDAOFactory.newFactory(config);
+        assertThat(otherFactory.createEncryptedTransactionDAO()).isSameAs(encryptedTransactionDAO);
+        assertThat(otherFactory.createEncryptedRawTransactionDAO()).isSameAs(encryptedRawTransactionDAO);
+
+        logStoreFactory.close();
+        otherFactory.close();
+    }
+
+    @Test
+    public void logStoreIsClosedWithTheLastFactoryUsingIt() throws Exception {
+        Config config = mock(Config.class);
+        JdbcConfig jdbcConfig = mock(JdbcConfig.class);
+        when(jdbcConfig.getUsername()).thenReturn("junit");
+        when(jdbcConfig.getPassword()).thenReturn("junit");
+        when(jdbcConfig.getUrl()).thenReturn("jdbc:h2:mem:junit");
+        when(jdbcConfig.getLogStoreDirectory()).thenReturn(temporaryFolder.newFolder().toPath());
+        when(config.getJdbcConfig()).thenReturn(jdbcConfig);
+
+        EntityManagerDAOFactory logStoreFactory = EntityManagerDAOFactory.newFactory(config);
+        EntityManagerDAOFactory otherFactory = EntityManagerDAOFactory.newFactory(config);
+        otherFactory.createEncryptedTransactionDAO();
+        otherFactory.createEncryptedRawTransactionDAO();
+        EncryptedTransactionDAO encryptedTransactionDAO = logStoreFactory.createEncryptedTransactionDAO();
+        EncryptedRawTransactionDAO encryptedRawTransactionDAO = logStoreFactory.createEncryptedRawTransactionDAO();
+
+        logStoreFactory.close();
+        assertThat(encryptedTransactionDAO.upcheck()).isTrue();
+        assertThat(encryptedRawTransactionDAO.upcheck()).isTrue();
+
+        otherFactory.close();
+        assertThat(encryptedTransactionDAO.upcheck()).isFalse();
+        assertThat(encryptedRawTransactionDAO.upcheck()).isFalse();
 
+        EntityManagerDAOFactory reopenedFactory = EntityManagerDAOFactory.newFactory(config);
+        assertThat(reopenedFactory.createEncryptedTransactionDAO()).isNotSameAs(encryptedTransactionDAO);
+        reopenedFactory.close();
     }
 }
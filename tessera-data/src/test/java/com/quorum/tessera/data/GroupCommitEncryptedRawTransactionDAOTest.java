@@ -0,0 +1,146 @@
+package com.quorum.tessera.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class GroupCommitEncryptedRawTransactionDAOTest {
+
+    private static final int THREADS = 16;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void onSetUp() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(
+                "javax.persistence.jdbc.url", "jdbc:h2:file:" + temporaryFolder.newFolder().toPath().resolve("tessera"));
+        properties.put("javax.persistence.jdbc.user", "junit");
+        properties.put("javax.persistence.jdbc.password", "");
+        properties.put("eclipselink.cache.shared.default", "false");
+        properties.put("javax.persistence.schema-generation.database.action", "create");
+        entityManagerFactory = Persistence.createEntityManagerFactory("tessera", properties);
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void onTearDown() {
+        executorService.shutdownNow();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void concurrentSavesAreStoredInFewerCommits() throws Exception {
+        final int perThread = 20;
+        final EncryptedRawTransactionDAO directDAO = new EncryptedRawTransactionDAOImpl(entityManagerFactory);
+        final GroupCommitEncryptedRawTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedRawTransactionDAO(entityManagerFactory, directDAO, 64, 10);
+
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(
+                    executorService.submit(
+                            () -> {
+                                for (int i = 0; i < perThread; i++) {
+                                    groupCommitDAO.save(rawTransaction("raw-" + thread + "-" + i));
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+
+        assertThat(directDAO.retrieveStoredBefore(Long.MAX_VALUE, Integer.MAX_VALUE)).hasSize(THREADS * perThread);
+        assertThat(groupCommitDAO.getCommitCount()).isLessThan(THREADS * perThread);
+
+        final MessageHash hash = new MessageHash("raw-0-0".getBytes());
+        assertThat(groupCommitDAO.retrieveByHash(hash))
+                .hasValueSatisfying(tx -> assertThat(tx.getEncryptedPayload()).isEqualTo(hash.getHashBytes()));
+    }
+
+    @Test
+    public void duplicateInBatchOnlyFailsItsOwnSave() throws Exception {
+        final EncryptedRawTransactionDAO directDAO = new EncryptedRawTransactionDAOImpl(entityManagerFactory);
+        directDAO.save(rawTransaction("existing"));
+
+        // a long delay, so all of these are queued in the same batch
+        final GroupCommitEncryptedRawTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedRawTransactionDAO(entityManagerFactory, directDAO, 100, 500);
+
+        final List<String> names = IntStream.range(0, 9).mapToObj(i -> "new" + i).collect(Collectors.toList());
+        names.add("existing");
+
+        final Map<String, Future<EncryptedRawTransaction>> results = new HashMap<>();
+        for (String name : names) {
+            results.put(name, executorService.submit(() -> groupCommitDAO.save(rawTransaction(name))));
+        }
+
+        final Throwable duplicate = catchThrowable(() -> results.get("existing").get());
+        assertThat(duplicate).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(PersistenceException.class);
+
+        for (String name : names.subList(0, 9)) {
+            assertThat(results.get(name).get().getHash()).isEqualTo(new MessageHash(name.getBytes()));
+            assertThat(directDAO.retrieveByHash(new MessageHash(name.getBytes()))).isPresent();
+        }
+    }
+
+    @Test
+    public void otherOperationsAreDelegated() {
+        final EncryptedRawTransactionDAO delegate = mock(EncryptedRawTransactionDAO.class);
+        final GroupCommitEncryptedRawTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedRawTransactionDAO(entityManagerFactory, delegate, 10, 10);
+
+        final MessageHash hash = new MessageHash("hash".getBytes());
+
+        groupCommitDAO.retrieveByHash(hash);
+        groupCommitDAO.findByHashes(List.of(hash));
+        groupCommitDAO.delete(hash);
+        groupCommitDAO.retrieveStoredBefore(1L, 2);
+        groupCommitDAO.deleteAll(List.of(hash));
+        groupCommitDAO.upcheck();
+
+        verify(delegate).retrieveByHash(hash);
+        verify(delegate).findByHashes(List.of(hash));
+        verify(delegate).delete(hash);
+        verify(delegate).retrieveStoredBefore(1L, 2);
+        verify(delegate).deleteAll(List.of(hash));
+        verify(delegate).upcheck();
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void batchSizeMustBePositive() {
+        final Throwable throwable =
+                catchThrowable(
+                        () ->
+                                new GroupCommitEncryptedRawTransactionDAO(
+                                        entityManagerFactory, mock(EncryptedRawTransactionDAO.class), 0, 10));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static EncryptedRawTransaction rawTransaction(String name) {
+        final MessageHash hash = new MessageHash(name.getBytes());
+        return new EncryptedRawTransaction(
+                hash, hash.getHashBytes(), "KEY".getBytes(), "NONCE".getBytes(), "SENDER".getBytes());
+    }
+}
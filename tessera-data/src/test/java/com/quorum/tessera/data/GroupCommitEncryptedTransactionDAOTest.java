@@ -0,0 +1,249 @@
+package com.quorum.tessera.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.persistence.PersistenceException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@RunWith(Parameterized.class)
+public class GroupCommitEncryptedTransactionDAOTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GroupCommitEncryptedTransactionDAOTest.class);
+
+    private static final int THREADS = 16;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final String urlPrefix;
+
+    private final String urlSuffix;
+
+    private String url;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private ExecutorService executorService;
+
+    public GroupCommitEncryptedTransactionDAOTest(String name, String urlPrefix, String urlSuffix) {
+        this.urlPrefix = urlPrefix;
+        this.urlSuffix = urlSuffix;
+    }
+
+    @Parameterized.Parameters(name = "DB {0}")
+    public static Collection<Object[]> databases() {
+        // SQLite allows a single writer, so concurrent commits need to wait for the lock rather than fail
+        return List.of(
+                new Object[] {"H2", "jdbc:h2:file:", ""},
+                new Object[] {"SQLITE", "jdbc:sqlite:", "?busy_timeout=60000"});
+    }
+
+    @Before
+    public void onSetUp() throws Exception {
+        // file backed, so that every commit is written out as it would be for a node
+        url = urlPrefix + temporaryFolder.newFolder().toPath().resolve("tessera") + urlSuffix;
+        entityManagerFactory = createEntityManagerFactory("create");
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void onTearDown() {
+        executorService.shutdownNow();
+        if (entityManagerFactory.isOpen()) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    public void concurrentSavesAreStoredInFewerCommits() throws Exception {
+        final int perThread = 50;
+        final GroupCommitEncryptedTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedTransactionDAO(entityManagerFactory, 64, 10);
+
+        final long direct =
+                saveConcurrently(new EncryptedTransactionDAOImpl(entityManagerFactory), "direct", perThread);
+        final long grouped = saveConcurrently(groupCommitDAO, "grouped", perThread);
+
+        LOGGER.info(
+                "{} saves from {} threads: one commit each took {}ms, group commit took {}ms in {} commits",
+                THREADS * perThread,
+                THREADS,
+                direct,
+                grouped,
+                groupCommitDAO.getCommitCount());
+
+        assertThat(groupCommitDAO.transactionCount()).isEqualTo(2L * THREADS * perThread);
+        assertThat(groupCommitDAO.getCommitCount()).isLessThan(THREADS * perThread);
+
+        final MessageHash hash = new MessageHash("grouped-0-0".getBytes());
+        assertThat(groupCommitDAO.retrieveByHash(hash))
+                .hasValueSatisfying(tx -> assertThat(tx.getEncodedPayload()).isEqualTo(hash.getHashBytes()));
+    }
+
+    @Test
+    public void duplicateInBatchOnlyFailsItsOwnSave() throws Exception {
+        final EncryptedTransactionDAO directDAO = new EncryptedTransactionDAOImpl(entityManagerFactory);
+        final MessageHash existing = new MessageHash("existing".getBytes());
+        directDAO.save(new EncryptedTransaction(existing, "payload".getBytes()));
+
+        // a long delay, so all of these are queued in the same batch
+        final GroupCommitEncryptedTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedTransactionDAO(entityManagerFactory, 100, 500);
+
+        final List<MessageHash> hashes =
+                IntStream.range(0, 9)
+                        .mapToObj(i -> new MessageHash(("new" + i).getBytes()))
+                        .collect(Collectors.toList());
+        hashes.add(existing);
+
+        final Map<MessageHash, Future<EncryptedTransaction>> results = new HashMap<>();
+        for (MessageHash hash : hashes) {
+            results.put(
+                    hash,
+                    executorService.submit(
+                            () -> groupCommitDAO.save(new EncryptedTransaction(hash, hash.getHashBytes()))));
+        }
+
+        final Throwable duplicate = catchThrowable(() -> results.get(existing).get());
+        assertThat(duplicate).isInstanceOf(ExecutionException.class).hasCauseInstanceOf(PersistenceException.class);
+
+        for (MessageHash hash : hashes.subList(0, 9)) {
+            assertThat(results.get(hash).get().getHash()).isEqualTo(hash);
+            assertThat(directDAO.retrieveByHash(hash)).isPresent();
+        }
+        assertThat(directDAO.retrieveByHash(existing))
+                .hasValueSatisfying(tx -> assertThat(tx.getEncodedPayload()).isEqualTo("payload".getBytes()));
+    }
+
+    @Test
+    public void acknowledgedSavesAreDurableWhenStoppedMidStream() throws Exception {
+        final GroupCommitEncryptedTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedTransactionDAO(entityManagerFactory, 32, 5);
+
+        final Set<MessageHash> acknowledged = ConcurrentHashMap.newKeySet();
+        final Set<MessageHash> failed = ConcurrentHashMap.newKeySet();
+        final CountDownLatch enoughAcknowledged = new CountDownLatch(200);
+
+        final List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            writers.add(
+                    executorService.submit(
+                            () -> {
+                                for (int i = 0; ; i++) {
+                                    final MessageHash hash = new MessageHash(("tx-" + thread + "-" + i).getBytes());
+                                    try {
+                                        groupCommitDAO.save(new EncryptedTransaction(hash, hash.getHashBytes()));
+                                        acknowledged.add(hash);
+                                        enoughAcknowledged.countDown();
+                                    } catch (RuntimeException ex) {
+                                        failed.add(hash);
+                                        return;
+                                    }
+                                }
+                            }));
+        }
+
+        assertThat(enoughAcknowledged.await(30, TimeUnit.SECONDS)).isTrue();
+        // stop the database from underneath the writer while saves are still in flight
+        entityManagerFactory.close();
+        for (Future<?> writer : writers) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+
+        assertThat(failed).hasSize(THREADS);
+
+        entityManagerFactory = createEntityManagerFactory("none");
+        final EncryptedTransactionDAO reopened = new EncryptedTransactionDAOImpl(entityManagerFactory);
+
+        final Set<MessageHash> stored =
+                reopened.retrieveTransactions(0, Integer.MAX_VALUE).stream()
+                        .map(EncryptedTransaction::getHash)
+                        .collect(Collectors.toSet());
+
+        assertThat(stored).containsAll(acknowledged);
+        assertThat(stored).doesNotContainAnyElementsOf(failed);
+    }
+
+    @Test
+    public void closeStoresQueuedSavesAndRejectsLaterOnes() throws Exception {
+        // a batch that never fills and a delay far longer than the test, so only closing can flush it
+        final GroupCommitEncryptedTransactionDAO groupCommitDAO =
+                new GroupCommitEncryptedTransactionDAO(entityManagerFactory, 100, 600000);
+
+        final List<Future<EncryptedTransaction>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final MessageHash hash = new MessageHash(("queued" + i).getBytes());
+            results.add(
+                    executorService.submit(
+                            () -> groupCommitDAO.save(new EncryptedTransaction(hash, hash.getHashBytes()))));
+        }
+
+        groupCommitDAO.close();
+
+        final EncryptedTransactionDAO directDAO = new EncryptedTransactionDAOImpl(entityManagerFactory);
+        for (int i = 0; i < 5; i++) {
+            final MessageHash hash = new MessageHash(("queued" + i).getBytes());
+            try {
+                assertThat(results.get(i).get(30, TimeUnit.SECONDS).getHash()).isEqualTo(hash);
+                assertThat(directDAO.retrieveByHash(hash)).isPresent();
+            } catch (ExecutionException ex) {
+                // submitted after the close
+                assertThat(ex).hasCauseInstanceOf(IllegalStateException.class);
+                assertThat(directDAO.retrieveByHash(hash)).isEmpty();
+            }
+        }
+
+        final MessageHash late = new MessageHash("late".getBytes());
+        final Throwable throwable =
+                catchThrowable(() -> groupCommitDAO.save(new EncryptedTransaction(late, late.getHashBytes())));
+        assertThat(throwable).isInstanceOf(IllegalStateException.class);
+        assertThat(directDAO.retrieveByHash(late)).isEmpty();
+    }
+
+    private long saveConcurrently(EncryptedTransactionDAO dao, String prefix, int perThread) throws Exception {
+        final long start = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(
+                    executorService.submit(
+                            () -> {
+                                for (int i = 0; i < perThread; i++) {
+                                    final MessageHash hash =
+                                            new MessageHash((prefix + "-" + thread + "-" + i).getBytes());
+                                    dao.save(new EncryptedTransaction(hash, hash.getHashBytes()));
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private EntityManagerFactory createEntityManagerFactory(String schemaAction) {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("javax.persistence.jdbc.url", url);
+        properties.put("javax.persistence.jdbc.user", "junit");
+        properties.put("javax.persistence.jdbc.password", "");
+        properties.put("eclipselink.cache.shared.default", "false");
+        properties.put("javax.persistence.schema-generation.database.action", schemaAction);
+        return Persistence.createEntityManagerFactory("tessera", properties);
+    }
+}
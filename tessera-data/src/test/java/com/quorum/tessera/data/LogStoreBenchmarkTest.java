@@ -0,0 +1,112 @@
+package com.quorum.tessera.data;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares storing and reading back transactions from concurrent callers in a file backed H2 database through JPA with
+ * the embedded log store.
+ */
+public class LogStoreBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogStoreBenchmarkTest.class);
+
+    private static final int THREADS = 16;
+
+    private static final int TRANSACTIONS_PER_THREAD = 200;
+
+    private static final int ROUNDS = 3;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+
+    @After
+    public void onTearDown() throws Exception {
+        executorService.shutdownNow();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    @Test
+    public void concurrentSavesAndReadsAgainstJpa() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(
+                "javax.persistence.jdbc.url",
+                "jdbc:h2:file:" + temporaryFolder.newFolder().toPath().resolve("tessera"));
+        properties.put("javax.persistence.jdbc.user", "junit");
+        properties.put("javax.persistence.jdbc.password", "");
+        properties.put("eclipselink.cache.shared.default", "false");
+        properties.put("javax.persistence.schema-generation.database.action", "create");
+        final EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("tessera", properties);
+        resources.add(entityManagerFactory::close);
+        final EncryptedTransactionDAO jpa = new EncryptedTransactionDAOImpl(entityManagerFactory);
+
+        final LogEncryptedTransactionDAO logStore =
+                new LogEncryptedTransactionDAO(temporaryFolder.newFolder().toPath());
+        resources.add(logStore);
+
+        run(jpa, "warmup");
+        run(logStore, "warmup");
+
+        long jpaBest = Long.MAX_VALUE;
+        long logStoreBest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            jpaBest = Math.min(jpaBest, run(jpa, "round" + round));
+            logStoreBest = Math.min(logStoreBest, run(logStore, "round" + round));
+        }
+
+        final int total = THREADS * TRANSACTIONS_PER_THREAD;
+        LOGGER.info(
+                "{} saves and reads from {} threads, best of {}: JPA on H2 {}ms ({}/s), log store {}ms ({}/s)",
+                total,
+                THREADS,
+                ROUNDS,
+                jpaBest,
+                total * 1000L / Math.max(jpaBest, 1),
+                logStoreBest,
+                total * 1000L / Math.max(logStoreBest, 1));
+
+        assertThat(jpa.transactionCount()).isEqualTo((ROUNDS + 1) * total);
+        assertThat(logStore.transactionCount()).isEqualTo((ROUNDS + 1) * total);
+    }
+
+    private long run(EncryptedTransactionDAO dao, String prefix) throws Exception {
+        final long start = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(
+                    executorService.submit(
+                            () -> {
+                                for (int i = 0; i < TRANSACTIONS_PER_THREAD; i++) {
+                                    final MessageHash hash =
+                                            new MessageHash((prefix + "-" + thread + "-" + i).getBytes());
+                                    dao.save(new EncryptedTransaction(hash, Utils.cipherText()), () -> null);
+                                    dao.retrieveByHash(hash).orElseThrow();
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
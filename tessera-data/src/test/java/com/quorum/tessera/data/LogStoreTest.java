@@ -0,0 +1,193 @@
+package com.quorum.tessera.data;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class LogStoreTest {
+
+    private static final long SEGMENT_SIZE = 2048;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+
+    private LogEncryptedTransactionDAO dao;
+
+    @Before
+    public void onSetUp() throws IOException {
+        directory = temporaryFolder.newFolder().toPath();
+        dao = open();
+    }
+
+    @After
+    public void onTearDown() {
+        dao.close();
+    }
+
+    @Test
+    public void reopeningReplaysEveryChange() {
+        final EncryptedTransaction kept = dao.save(transaction());
+        final EncryptedTransaction updated = dao.save(transaction());
+        final EncryptedTransaction deleted = dao.save(transaction());
+        dao.update(new EncryptedTransaction(updated.getHash(), new byte[] {6}));
+        dao.delete(deleted.getHash());
+
+        dao.close();
+        dao = open();
+
+        assertThat(dao.transactionCount()).isEqualTo(2);
+        final EncryptedTransaction replayed = dao.retrieveByHash(kept.getHash()).get();
+        assertThat(replayed.getEncodedPayload()).isEqualTo(kept.getEncodedPayload());
+        assertThat(replayed.getTimestamp()).isEqualTo(kept.getTimestamp());
+        assertThat(dao.retrieveByHash(updated.getHash()).get().getEncodedPayload()).containsExactly(6);
+        assertThat(dao.retrieveByHash(deleted.getHash())).isEmpty();
+    }
+
+    @Test
+    public void incompleteRecordAtEndIsDiscarded() throws IOException {
+        final EncryptedTransaction complete = dao.save(transaction());
+        final EncryptedTransaction incomplete = dao.save(transaction());
+        dao.close();
+
+        // as if the node stopped part way through writing the last record
+        final Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        dao = open();
+
+        assertThat(dao.retrieveByHash(complete.getHash())).isPresent();
+        assertThat(dao.retrieveByHash(incomplete.getHash())).isEmpty();
+
+        final EncryptedTransaction next = dao.save(transaction());
+        dao.close();
+        dao = open();
+
+        assertThat(dao.retrieveHashesAfter(null, 10)).containsExactlyInAnyOrder(complete.getHash(), next.getHash());
+    }
+
+    @Test
+    public void corruptRecordInOlderSegmentFailsToOpen() throws IOException {
+        saveTransactions(50);
+        dao.close();
+
+        final List<Path> segments = segments();
+        assertThat(segments.size()).isGreaterThan(1);
+        try (RandomAccessFile file = new RandomAccessFile(segments.get(0).toFile(), "rw")) {
+            file.seek(20);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        assertThatExceptionOfType(PersistenceException.class)
+                .isThrownBy(this::open)
+                .withMessageContaining("is corrupt at position 0");
+        dao = open(temporaryFolder.newFolder().toPath());
+    }
+
+    @Test
+    public void compactionReclaimsSpaceAndKeepsLiveTransactions() {
+        final List<EncryptedTransaction> transactions = saveTransactions(100);
+        final List<EncryptedTransaction> live = transactions.subList(90, 100);
+        dao.deleteAll(
+                transactions.subList(0, 90).stream().map(EncryptedTransaction::getHash).collect(Collectors.toList()));
+
+        final List<EncryptedTransaction> inOrder = dao.retrieveTransactions(0, 100);
+        assertThat(inOrder).containsExactlyInAnyOrderElementsOf(live);
+
+        final long sizeBefore = dao.getStore().size();
+        dao.getStore().compact();
+
+        assertThat(dao.getStore().size()).isLessThan(sizeBefore / 2);
+        assertThat(dao.retrieveTransactions(0, 100)).containsExactlyElementsOf(inOrder);
+
+        dao.close();
+        dao = open();
+
+        // nothing deleted comes back, and everything live keeps its content and order
+        assertThat(dao.transactionCount()).isEqualTo(10);
+        final List<EncryptedTransaction> replayed = dao.retrieveTransactions(0, 100);
+        assertThat(replayed).containsExactlyElementsOf(inOrder);
+        for (int i = 0; i < inOrder.size(); i++) {
+            assertThat(replayed.get(i).getEncodedPayload()).isEqualTo(inOrder.get(i).getEncodedPayload());
+            assertThat(replayed.get(i).getTimestamp()).isEqualTo(inOrder.get(i).getTimestamp());
+        }
+    }
+
+    @Test
+    public void concurrentSavesAreAllStored() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executorService.submit(() -> saveTransactions(50)));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(dao.transactionCount()).isEqualTo(400);
+
+        dao.close();
+        dao = open();
+
+        assertThat(dao.transactionCount()).isEqualTo(400);
+    }
+
+    @Test
+    public void closedStoreIsNotUp() {
+        dao.close();
+
+        assertThat(dao.upcheck()).isFalse();
+        assertThatExceptionOfType(PersistenceException.class).isThrownBy(() -> dao.save(transaction()));
+
+        dao = open();
+        assertThat(dao.upcheck()).isTrue();
+    }
+
+    private LogEncryptedTransactionDAO open() {
+        return open(directory);
+    }
+
+    private static LogEncryptedTransactionDAO open(Path directory) {
+        return new LogEncryptedTransactionDAO(directory, SEGMENT_SIZE, TimeUnit.HOURS.toMillis(1));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private List<EncryptedTransaction> saveTransactions(int count) {
+        return IntStream.range(0, count).mapToObj(i -> dao.save(transaction())).collect(Collectors.toList());
+    }
+
+    private static EncryptedTransaction transaction() {
+        return new EncryptedTransaction(Utils.createHash(), Utils.cipherText());
+    }
+}
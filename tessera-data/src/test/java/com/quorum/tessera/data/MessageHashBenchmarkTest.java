@@ -0,0 +1,97 @@
+package com.quorum.tessera.data;
+
+import org.bouncycastle.jcajce.provider.digest.SHA3;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hashes, keys and Base64 encodes a stream of cipher texts the way the send and staging paths do, comparing a fresh
+ * digest and defensive copies per hash against the pooled digest and copy-free accessors.
+ */
+public class MessageHashBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageHashBenchmarkTest.class);
+
+    private static final int WARMUP = 50_000;
+
+    private static final int ITERATIONS = 200_000;
+
+    private static final byte[] CIPHER_TEXT = new byte[256];
+
+    private final MessageHashFactory messageHashFactory = new MessageHashFactory() {};
+
+    @Test
+    public void allocationOfFreshAndPooledDigests() {
+        final Result fresh = run(this::freshDigest);
+        final Result pooled = run(this::pooledDigest);
+
+        LOGGER.info(
+                "{} hashes: fresh digest {} ns/op {} bytes/op, pooled digest {} ns/op {} bytes/op",
+                ITERATIONS,
+                fresh.nanosPerOp,
+                fresh.bytesPerOp,
+                pooled.nanosPerOp,
+                pooled.bytesPerOp);
+
+        assertThat(pooledDigest()).isEqualTo(freshDigest());
+    }
+
+    private String freshDigest() {
+        final byte[] digest = new SHA3.Digest512().digest(CIPHER_TEXT);
+        final MessageHash hash = new MessageHash(digest);
+        final Map<MessageHash, Boolean> keyed = new HashMap<>(2);
+        keyed.put(hash, Boolean.TRUE);
+        return Base64.getEncoder().encodeToString(hash.getHashBytes()) + Arrays.hashCode(hash.getHashBytes());
+    }
+
+    private String pooledDigest() {
+        final MessageHash hash = messageHashFactory.createFromCipherText(CIPHER_TEXT);
+        final Map<MessageHash, Boolean> keyed = new HashMap<>(2);
+        keyed.put(hash, Boolean.TRUE);
+        return hash.encodeToBase64() + hash.hashCode();
+    }
+
+    private static Result run(Supplier<String> operation) {
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += operation.get().length();
+        }
+
+        final long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += operation.get().length();
+        }
+        final long nanos = System.nanoTime() - start;
+        final long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        assertThat(sink).isPositive();
+        return new Result(nanos / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    private static class Result {
+
+        private final long nanosPerOp;
+
+        private final long bytesPerOp;
+
+        private Result(long nanosPerOp, long bytesPerOp) {
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.quorum.tessera.data;
 
 import com.quorum.tessera.data.MessageHashFactory;
 import com.quorum.tessera.data.MessageHash;
+import org.bouncycastle.jcajce.provider.digest.SHA3;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.Test;
 
@@ -16,6 +17,17 @@ public class MessageHashFactoryTest {
         assertThat(messageHash).isNotNull();
     }
 
+    @Test
+    public void repeatedHashesMatchFreshDigest() {
+        MessageHashFactory messageHashFactory = new MessageHashFactory() {};
+
+        for (String cipherText : new String[] {"first", "second", "first"}) {
+            byte[] expected = new SHA3.Digest512().digest(cipherText.getBytes());
+            assertThat(messageHashFactory.createFromCipherText(cipherText.getBytes()).getHashBytes())
+                    .isEqualTo(expected);
+        }
+    }
+
     @Test
     public void create() {
         assertThat(MessageHashFactory.create()).isNotNull();
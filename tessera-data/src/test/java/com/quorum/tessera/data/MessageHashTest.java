@@ -65,4 +65,17 @@ public class MessageHashTest {
         hash.setHashBytes("I LOVE SPARROWS".getBytes());
         assertThat(hash).isEqualTo(hash).hasSameHashCodeAs(hash);
     }
+
+    @Test
+    public void base64RoundTrip() {
+        final MessageHash hash = MessageHash.fromBase64("dmFs");
+
+        assertThat(hash).isEqualTo(new MessageHash("val".getBytes()));
+        assertThat(hash.encodeToBase64()).isEqualTo("dmFs");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBase64IsRejected() {
+        MessageHash.fromBase64("not base64!");
+    }
 }
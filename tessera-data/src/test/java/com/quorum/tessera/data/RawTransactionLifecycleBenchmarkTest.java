@@ -0,0 +1,213 @@
+package com.quorum.tessera.data;
+
+import com.quorum.tessera.data.retention.SentRawTransactionReaper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares sustained storeraw/sendsignedtx throughput on a file backed H2 database between a node that keeps every raw
+ * transaction, so has a backlog of already sent rows, and nodes that have raw transactions deleted by a {@link
+ * SentRawTransactionReaper} once they are sent, with and without group commit.
+ *
+ * <p>Each cycle does what the transaction manager does for a signed transaction: store the raw transaction, look it
+ * up, store the encrypted transaction and (when reaping) mark the raw transaction as sent.
+ */
+public class RawTransactionLifecycleBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RawTransactionLifecycleBenchmarkTest.class);
+
+    private static final int THREADS = 16;
+
+    private static final int CYCLES_PER_THREAD = 100;
+
+    private static final int BACKLOG = 50000;
+
+    private static final int ROUNDS = 3;
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<EntityManagerFactory> entityManagerFactories = new ArrayList<>();
+
+    private ExecutorService executorService;
+
+    @Before
+    public void onSetUp() {
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void onTearDown() {
+        executorService.shutdownNow();
+        entityManagerFactories.forEach(EntityManagerFactory::close);
+    }
+
+    @Test
+    public void reapingSentRawTransactionsKeepsTheRawTableEmpty() throws Exception {
+        final EntityManagerFactory keepFactory = createEntityManagerFactory();
+        storeBacklog(keepFactory);
+        final Node keepAll =
+                new Node(
+                        new EncryptedRawTransactionDAOImpl(keepFactory),
+                        new EncryptedTransactionDAOImpl(keepFactory),
+                        false);
+
+        final EntityManagerFactory reapFactory = createEntityManagerFactory();
+        final Node reaping =
+                new Node(
+                        new EncryptedRawTransactionDAOImpl(reapFactory),
+                        new EncryptedTransactionDAOImpl(reapFactory),
+                        true);
+
+        final EntityManagerFactory groupFactory = createEntityManagerFactory();
+        final Node reapingWithGroupCommit =
+                new Node(
+                        new GroupCommitEncryptedRawTransactionDAO(
+                                groupFactory, new EncryptedRawTransactionDAOImpl(groupFactory), THREADS, 1),
+                        new GroupCommitEncryptedTransactionDAO(groupFactory, THREADS, 1),
+                        true);
+
+        final List<Node> nodes = List.of(keepAll, reaping, reapingWithGroupCommit);
+
+        // warm up every path, then measure in a different order each round
+        for (Node node : nodes) {
+            runCycles(node, "warmup");
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < nodes.size(); i++) {
+                final Node node = nodes.get((round + i) % nodes.size());
+                node.best = Math.min(node.best, runCycles(node, "round" + round));
+            }
+        }
+
+        final int total = THREADS * CYCLES_PER_THREAD;
+        for (Node node : nodes) {
+            node.awaitReaped();
+        }
+
+        LOGGER.info(
+                "{} storeraw/sendsignedtx cycles from {} threads, best of {}: keeping all {}ms ({} cycles/s, {} raw rows),"
+                        + " reaping {}ms ({} cycles/s, {} raw rows), reaping with group commit {}ms ({} cycles/s, {}"
+                        + " raw rows)",
+                total,
+                THREADS,
+                ROUNDS,
+                keepAll.best,
+                total * 1000L / Math.max(keepAll.best, 1),
+                keepAll.rawRows(),
+                reaping.best,
+                total * 1000L / Math.max(reaping.best, 1),
+                reaping.rawRows(),
+                reapingWithGroupCommit.best,
+                total * 1000L / Math.max(reapingWithGroupCommit.best, 1),
+                reapingWithGroupCommit.rawRows());
+
+        assertThat(keepAll.rawRows()).isEqualTo(BACKLOG + (ROUNDS + 1) * total);
+        assertThat(reaping.rawRows()).isZero();
+        assertThat(reapingWithGroupCommit.rawRows()).isZero();
+        assertThat(reapingWithGroupCommit.dao.transactionCount()).isEqualTo((ROUNDS + 1) * total);
+    }
+
+    private long runCycles(Node node, String prefix) throws Exception {
+        final long start = System.nanoTime();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(
+                    executorService.submit(
+                            () -> {
+                                for (int i = 0; i < CYCLES_PER_THREAD; i++) {
+                                    final EncryptedRawTransaction raw =
+                                            GroupCommitEncryptedRawTransactionDAOTest.rawTransaction(
+                                                    prefix + "-" + thread + "-" + i);
+                                    node.rawDAO.save(raw);
+
+                                    final EncryptedRawTransaction found =
+                                            node.rawDAO.retrieveByHash(raw.getHash()).orElseThrow();
+                                    node.dao.save(
+                                            new EncryptedTransaction(found.getHash(), found.getEncryptedPayload()));
+                                    if (node.reaper != null) {
+                                        node.reaper.markSent(List.of(found.getHash()));
+                                    }
+                                }
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /** Raw transactions that were sent long ago, which a node that never deletes them still has */
+    private void storeBacklog(EntityManagerFactory entityManagerFactory) {
+        new EntityManagerTemplate(entityManagerFactory)
+                .execute(
+                        entityManager -> {
+                            for (int i = 0; i < BACKLOG; i++) {
+                                entityManager.persist(
+                                        GroupCommitEncryptedRawTransactionDAOTest.rawTransaction("old-" + i));
+                                if (i % 1000 == 999) {
+                                    entityManager.flush();
+                                    entityManager.clear();
+                                }
+                            }
+                            return null;
+                        });
+    }
+
+    private EntityManagerFactory createEntityManagerFactory() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(
+                "javax.persistence.jdbc.url", "jdbc:h2:file:" + temporaryFolder.newFolder().toPath().resolve("tessera"));
+        properties.put("javax.persistence.jdbc.user", "junit");
+        properties.put("javax.persistence.jdbc.password", "");
+        properties.put("eclipselink.cache.shared.default", "false");
+        properties.put("javax.persistence.schema-generation.database.action", "create");
+        final EntityManagerFactory entityManagerFactory = Persistence.createEntityManagerFactory("tessera", properties);
+        entityManagerFactories.add(entityManagerFactory);
+        return entityManagerFactory;
+    }
+
+    private static class Node {
+
+        private final EncryptedRawTransactionDAO rawDAO;
+
+        private final EncryptedTransactionDAO dao;
+
+        private final SentRawTransactionReaper reaper;
+
+        private long best = Long.MAX_VALUE;
+
+        Node(EncryptedRawTransactionDAO rawDAO, EncryptedTransactionDAO dao, boolean reap) {
+            this.rawDAO = rawDAO;
+            this.dao = dao;
+            this.reaper = reap ? new SentRawTransactionReaper(rawDAO) : null;
+        }
+
+        int rawRows() {
+            return rawDAO.retrieveStoredBefore(Long.MAX_VALUE, Integer.MAX_VALUE).size();
+        }
+
+        /** The reaper deletes in the background, so give it a moment to catch up */
+        void awaitReaped() throws InterruptedException {
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (reaper != null && rawRows() > 0 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.quorum.tessera.data.retention;
+
+import com.quorum.tessera.config.RetentionConfig;
+import com.quorum.tessera.data.*;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.encryption.PublicKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RetentionJobTest {
+
+    private static final PublicKey SENDER = PublicKey.from("SENDER".getBytes());
+
+    private static final PublicKey RECIPIENT = PublicKey.from("RECIPIENT".getBytes());
+
+    private static final PublicKey PURGED = PublicKey.from("PURGED".getBytes());
+
+    @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    private PayloadEncoder payloadEncoder;
+
+    private RetentionConfig retentionConfig;
+
+    private AtomicLong clock;
+
+    @Before
+    public void onSetUp() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("javax.persistence.jdbc.url", "jdbc:h2:mem:retention");
+        properties.put("javax.persistence.jdbc.user", "junit");
+        properties.put("javax.persistence.jdbc.password", "");
+        properties.put("eclipselink.cache.shared.default", "false");
+        properties.put("javax.persistence.schema-generation.database.action", "create");
+
+        entityManagerFactory = Persistence.createEntityManagerFactory("tessera", properties);
+        encryptedTransactionDAO = spy(new EncryptedTransactionDAOImpl(entityManagerFactory));
+        encryptedRawTransactionDAO = spy(new EncryptedRawTransactionDAOImpl(entityManagerFactory));
+
+        payloadEncoder = mock(PayloadEncoder.class);
+        when(payloadEncoder.decode(any()))
+                .thenAnswer(
+                        invocation -> {
+                            byte[] data = invocation.getArgument(0);
+                            PublicKey recipient = data[0] == 'p' ? PURGED : RECIPIENT;
+                            return EncodedPayload.Builder.create()
+                                    .withSenderKey(SENDER)
+                                    .withRecipientKey(recipient)
+                                    .build();
+                        });
+
+        retentionConfig = new RetentionConfig();
+        retentionConfig.setBatchDelay(0);
+        clock = new AtomicLong(System.currentTimeMillis());
+    }
+
+    @After
+    public void onTearDown() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createQuery("delete from EncryptedTransaction").executeUpdate();
+        entityManager.createQuery("delete from EncryptedRawTransaction").executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManagerFactory.close();
+    }
+
+    @Test
+    public void noRetentionConfigIsDisabled() {
+        RetentionJob retentionJob =
+                new RetentionJob(null, encryptedTransactionDAO, encryptedRawTransactionDAO, payloadEncoder, clock::get);
+
+        assertThat(retentionJob.isEnabled()).isFalse();
+        assertThat(retentionJob.getInterval()).isEqualTo(3600000L);
+
+        retentionJob.run();
+
+        verifyZeroInteractions(encryptedTransactionDAO, encryptedRawTransactionDAO);
+    }
+
+    @Test
+    public void transactionsOlderThanMaxAgeArePurged() throws Exception {
+        saveTransactions("old", 5);
+        clock.addAndGet(10000);
+        saveTransactions("new", 3);
+        clock.addAndGet(10000);
+
+        retentionConfig.setMaxAge(15000L);
+        RetentionJob retentionJob = createJob();
+
+        assertThat(retentionJob.purgeTransactions()).isEqualTo(5);
+
+        List<MessageHash> old = hashes("old", 5);
+        old.forEach(hash -> assertThat(encryptedTransactionDAO.retrieveByHash(hash)).isEmpty());
+        List<MessageHash> recent = hashes("new", 3);
+        recent.forEach(hash -> assertThat(encryptedTransactionDAO.retrieveByHash(hash)).isPresent());
+    }
+
+    @Test
+    public void transactionsWithPurgedKeyArePurgedRegardlessOfAge() throws Exception {
+        saveTransactions("kept", 4);
+        saveTransactions("purge", 3);
+
+        retentionConfig.setPurgeKeys(List.of(Base64.getEncoder().encodeToString(PURGED.getKeyBytes())));
+        RetentionJob retentionJob = createJob();
+
+        assertThat(retentionJob.purgeTransactions()).isEqualTo(3);
+
+        hashes("purge", 3).forEach(hash -> assertThat(encryptedTransactionDAO.retrieveByHash(hash)).isEmpty());
+        assertThat(encryptedTransactionDAO.retrieveTransactions(0, 100)).hasSize(4);
+    }
+
+    @Test
+    public void purgedTransactionsAreReportedToTheListener() throws Exception {
+        saveTransactions("old", 3);
+        clock.addAndGet(10000);
+        saveTransactions("new", 2);
+
+        retentionConfig.setMaxAge(5000L);
+        List<MessageHash> reported = new ArrayList<>();
+        RetentionJob retentionJob =
+                new RetentionJob(
+                        retentionConfig,
+                        encryptedTransactionDAO,
+                        encryptedRawTransactionDAO,
+                        payloadEncoder,
+                        clock::get,
+                        reported::add);
+
+        assertThat(retentionJob.purgeTransactions()).isEqualTo(3);
+
+        assertThat(reported).containsExactlyInAnyOrderElementsOf(hashes("old", 3));
+    }
+
+    @Test
+    public void deletesAreBatched() throws Exception {
+        saveTransactions("old", 25);
+        clock.addAndGet(10000);
+
+        retentionConfig.setMaxAge(1L);
+        retentionConfig.setBatchSize(10);
+        RetentionJob retentionJob = createJob();
+
+        assertThat(retentionJob.purgeTransactions()).isEqualTo(25);
+
+        verify(encryptedTransactionDAO, times(3)).deleteAll(argThat(hashes -> hashes.size() <= 10));
+        assertThat(encryptedTransactionDAO.retrieveTransactions(0, 100)).isEmpty();
+    }
+
+    @Test
+    public void rawTransactionsOlderThanMaxAgeArePurged() throws Exception {
+        saveRawTransactions("old", 7);
+        clock.addAndGet(10000);
+
+        retentionConfig.setRawTransactionMaxAge(5000L);
+        retentionConfig.setBatchSize(3);
+        RetentionJob retentionJob = createJob();
+
+        assertThat(retentionJob.purgeRawTransactions()).isEqualTo(7);
+
+        hashes("old", 7).forEach(hash -> assertThat(encryptedRawTransactionDAO.retrieveByHash(hash)).isEmpty());
+        verify(encryptedRawTransactionDAO, times(3)).deleteAll(any());
+    }
+
+    @Test
+    public void purgedTransactionsAreArchivedAndCanBeImported() throws Exception {
+        saveTransactions("old", 4);
+        saveRawTransactions("raw", 2);
+        clock.addAndGet(10000);
+
+        Path archiveDirectory = temporaryFolder.getRoot().toPath().resolve("archive");
+        retentionConfig.setMaxAge(1L);
+        retentionConfig.setRawTransactionMaxAge(1L);
+        retentionConfig.setArchiveDirectory(archiveDirectory);
+
+        createJob().run();
+
+        assertThat(encryptedTransactionDAO.retrieveTransactions(0, 100)).isEmpty();
+        assertThat(Files.list(archiveDirectory)).hasSize(2);
+
+        int imported = 0;
+        for (Path archive : Files.list(archiveDirectory).collect(Collectors.toList())) {
+            imported += TransactionArchive.importInto(archive, encryptedTransactionDAO, encryptedRawTransactionDAO);
+        }
+
+        assertThat(imported).isEqualTo(6);
+        List<MessageHash> transactions = hashes("old", 4);
+        transactions.forEach(
+                hash ->
+                        assertThat(encryptedTransactionDAO.retrieveByHash(hash))
+                                .hasValueSatisfying(
+                                        tx -> assertThat(tx.getEncodedPayload()).isEqualTo(hash.getHashBytes())));
+        List<MessageHash> rawTransactions = hashes("raw", 2);
+        rawTransactions.forEach(hash -> assertThat(encryptedRawTransactionDAO.retrieveByHash(hash)).isPresent());
+    }
+
+    @Test
+    public void nothingIsArchivedWhenNothingIsPurged() throws Exception {
+        saveTransactions("new", 2);
+
+        Path archiveDirectory = temporaryFolder.getRoot().toPath().resolve("archive");
+        retentionConfig.setMaxAge(60000L);
+        retentionConfig.setArchiveDirectory(archiveDirectory);
+
+        assertThat(createJob().purgeTransactions()).isZero();
+        assertThat(archiveDirectory).doesNotExist();
+    }
+
+    private RetentionJob createJob() {
+        return new RetentionJob(
+                retentionConfig, encryptedTransactionDAO, encryptedRawTransactionDAO, payloadEncoder, clock::get);
+    }
+
+    /*
+     * Timestamps are assigned on persist from the system clock, so they are rewritten here relative to the test clock.
+     */
+    private void saveTransactions(String prefix, int count) {
+        List<MessageHash> hashes = hashes(prefix, count);
+        for (MessageHash hash : hashes) {
+            encryptedTransactionDAO.save(new EncryptedTransaction(hash, hash.getHashBytes()));
+        }
+        setTimestamps("EncryptedTransaction", hashes);
+    }
+
+    private void saveRawTransactions(String prefix, int count) {
+        List<MessageHash> hashes = hashes(prefix, count);
+        for (MessageHash hash : hashes) {
+            encryptedRawTransactionDAO.save(
+                    new EncryptedRawTransaction(
+                            hash, "payload".getBytes(), "key".getBytes(), "nonce".getBytes(), "sender".getBytes()));
+        }
+        setTimestamps("EncryptedRawTransaction", hashes);
+    }
+
+    /** The hashes of the transactions saved with the given prefix and count */
+    private static List<MessageHash> hashes(String prefix, int count) {
+        List<MessageHash> hashes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            hashes.add(new MessageHash((prefix + i).getBytes()));
+        }
+        return hashes;
+    }
+
+    private void setTimestamps(String entity, List<MessageHash> hashes) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        for (MessageHash hash : hashes) {
+            int updated =
+                    entityManager
+                            .createQuery("update " + entity + " et set et.timestamp = :timestamp where et.hash = :hash")
+                            .setParameter("timestamp", clock.get())
+                            .setParameter("hash", hash)
+                            .executeUpdate();
+            assertThat(updated).isEqualTo(1);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+}
@@ -0,0 +1,71 @@
+package com.quorum.tessera.data.retention;
+
+import com.quorum.tessera.data.EncryptedRawTransactionDAO;
+import com.quorum.tessera.data.MessageHash;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class SentRawTransactionReaperTest {
+
+    private EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    @Before
+    public void onSetUp() {
+        encryptedRawTransactionDAO = mock(EncryptedRawTransactionDAO.class);
+        when(encryptedRawTransactionDAO.deleteAll(anyCollection()))
+                .thenAnswer(invocation -> invocation.getArgument(0, Collection.class).size());
+    }
+
+    @Test
+    public void sentHashesAreDeletedInBatches() {
+        final SentRawTransactionReaper reaper = new SentRawTransactionReaper(encryptedRawTransactionDAO, 10);
+
+        final List<MessageHash> hashes =
+                IntStream.range(0, 95)
+                        .mapToObj(i -> new MessageHash(("hash" + i).getBytes()))
+                        .collect(Collectors.toList());
+
+        reaper.markSent(hashes);
+
+        final ArgumentCaptor<Collection<MessageHash>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(encryptedRawTransactionDAO, timeout(5000).atLeast(10)).deleteAll(captor.capture());
+
+        assertThat(captor.getAllValues()).allSatisfy(batch -> assertThat(batch.size()).isBetween(1, 10));
+        assertThat(captor.getAllValues().stream().flatMap(Collection::stream)).containsExactlyElementsOf(hashes);
+        assertThat(reaper.getDeletedCount()).isEqualTo(95);
+    }
+
+    @Test
+    public void failedDeleteDoesNotStopTheReaper() {
+        final MessageHash first = new MessageHash("first".getBytes());
+        final MessageHash second = new MessageHash("second".getBytes());
+
+        when(encryptedRawTransactionDAO.deleteAll(List.of(first))).thenThrow(new RuntimeException("OUCH"));
+
+        final SentRawTransactionReaper reaper = new SentRawTransactionReaper(encryptedRawTransactionDAO, 1);
+        reaper.markSent(List.of(first));
+        reaper.markSent(List.of(second));
+
+        verify(encryptedRawTransactionDAO, timeout(5000)).deleteAll(List.of(second));
+        verify(encryptedRawTransactionDAO).deleteAll(List.of(first));
+        assertThat(reaper.getDeletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void batchSizeMustBePositive() {
+        final Throwable throwable = catchThrowable(() -> new SentRawTransactionReaper(encryptedRawTransactionDAO, 0));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+}
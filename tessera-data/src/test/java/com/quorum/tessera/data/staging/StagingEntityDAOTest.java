@@ -16,6 +16,7 @@ import javax.persistence.criteria.Root;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -249,6 +250,32 @@ public class StagingEntityDAOTest {
         retrieved.getAffectedContractTransactions().forEach(a -> assertThat(a.getId()).isNotNull());
     }
 
+    @Test
+    public void testSaveAll() {
+
+        final List<StagingTransaction> stagingTransactions =
+                IntStream.range(0, 3)
+                        .mapToObj(
+                                i -> {
+                                    StagingTransaction stagingTransaction = new StagingTransaction();
+                                    stagingTransaction.setHash(Utils.createHashStr());
+                                    stagingTransaction.setPrivacyMode(PrivacyMode.STANDARD_PRIVATE);
+                                    return stagingTransaction;
+                                })
+                        .collect(Collectors.toList());
+
+        final long countBefore = stagingEntityDAO.countAll();
+
+        assertThat(stagingEntityDAO.saveAll(stagingTransactions)).isSameAs(stagingTransactions);
+
+        assertThat(stagingEntityDAO.countAll()).isEqualTo(countBefore + 3);
+        stagingTransactions.forEach(
+                t -> {
+                    assertThat(t.getId()).isNotNull();
+                    assertThat(stagingEntityDAO.retrieveByHash(t.getHash())).isPresent();
+                });
+    }
+
     public Map<String, StagingTransaction> createFixtures() {
 
         final EntityManager entityManager = entityManagerFactory.createEntityManager();
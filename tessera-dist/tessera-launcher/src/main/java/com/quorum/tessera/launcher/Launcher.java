@@ -11,34 +11,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 public enum Launcher {
     NORMAL {
         @Override
-        public void launchServer(Config config) throws Exception {
+        public void launchServer(Config config, StartupPhases startupPhases) throws Exception {
             LOGGER.debug("Creating servers");
-            final List<TesseraServer> servers =
-                    config.getServerConfigs().stream()
-                            .filter(server -> !AppType.ENCLAVE.equals(server.getApp()))
-                            .map(
-                                    conf -> {
-                                        LOGGER.debug("Creating app from {}", conf);
-                                        Object app =
-                                                TesseraAppFactory.create(conf.getCommunicationType(), conf.getApp())
-                                                        .orElseThrow(
-                                                                () ->
-                                                                        new IllegalStateException(
-                                                                                "Cant create app for "
-                                                                                        + conf.getApp()));
-                                        LOGGER.debug("Created APP {} from {}", app, conf);
-                                        return TesseraServerFactory.create(conf.getCommunicationType())
-                                                .createServer(conf, Collections.singleton(app));
-                                    })
-                            .filter(Objects::nonNull)
-                            .collect(Collectors.toList());
+            final List<TesseraServer> servers = startupPhases.call("create-servers", () -> createServers(config));
 
             Runtime.getRuntime()
                     .addShutdownHook(
@@ -53,18 +37,26 @@ public enum Launcher {
                                         }
                                     }));
 
-            for (TesseraServer ts : servers) {
-                LOGGER.debug("Starting server {}", ts);
-                ts.start();
-                LOGGER.debug("Started server {}", ts);
+            // the servers are independent, so bring up their applications and connectors side by side
+            final Map<String, StartupPhases.Phase> serverStarts = new LinkedHashMap<>();
+            for (int i = 0; i < servers.size(); i++) {
+                final TesseraServer ts = servers.get(i);
+                serverStarts.put(
+                        "start-server-" + (i + 1),
+                        () -> {
+                            LOGGER.debug("Starting server {}", ts);
+                            ts.start();
+                            LOGGER.debug("Started server {}", ts);
+                        });
             }
+            startupPhases.runInParallel(serverStarts);
             LOGGER.debug("Created servers");
         }
     },
 
     RECOVERY {
         @Override
-        public void launchServer(Config config) throws Exception {
+        public void launchServer(Config config, StartupPhases startupPhases) throws Exception {
 
             final ServerConfig recoveryP2PServer = config.getP2PServerConfig();
 
@@ -91,11 +83,12 @@ public enum Launcher {
                                     }));
 
             LOGGER.debug("Starting recovery server");
-            recoveryServer.start();
+            startupPhases.run("start-recovery-server", recoveryServer::start);
             LOGGER.debug("Started recovery server");
 
             LOGGER.info("Waiting for nodes to synchronise with peers");
-            Thread.sleep(10000);
+            startupPhases.run("await-peers", PeerReadiness.create(config)::await);
+            startupPhases.logSummary();
 
             final int exitCode = RecoveryFactory.newFactory().create(config).recover();
 
@@ -105,7 +98,32 @@ public enum Launcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Launcher.class);
 
-    public abstract void launchServer(Config config) throws Exception;
+    private static List<TesseraServer> createServers(Config config) {
+        return config.getServerConfigs().stream()
+                .filter(server -> !AppType.ENCLAVE.equals(server.getApp()))
+                .map(
+                        conf -> {
+                            LOGGER.debug("Creating app from {}", conf);
+                            Object app =
+                                    TesseraAppFactory.create(conf.getCommunicationType(), conf.getApp())
+                                            .orElseThrow(
+                                                    () ->
+                                                            new IllegalStateException(
+                                                                    "Cant create app for "
+                                                                            + conf.getApp()));
+                            LOGGER.debug("Created APP {} from {}", app, conf);
+                            return TesseraServerFactory.create(conf.getCommunicationType())
+                                    .createServer(conf, Collections.singleton(app));
+                        })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    public void launchServer(Config config) throws Exception {
+        launchServer(config, new StartupPhases());
+    }
+
+    public abstract void launchServer(Config config, StartupPhases startupPhases) throws Exception;
 
     public static Launcher create(boolean isRecoveryMode) {
         if (isRecoveryMode) {
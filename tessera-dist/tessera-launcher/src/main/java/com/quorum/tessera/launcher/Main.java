@@ -30,11 +30,13 @@ public class Main {
         System.setProperty("javax.xml.bind.JAXBContextFactory", "org.eclipse.persistence.jaxb.JAXBContextFactory");
         System.setProperty("javax.xml.bind.context.factory", "org.eclipse.persistence.jaxb.JAXBContextFactory");
 
+        final StartupPhases startupPhases = new StartupPhases();
+
         try {
 
             PicoCliDelegate picoCliDelegate = new PicoCliDelegate();
             LOGGER.debug("Execute PicoCliDelegate with args [{}]", String.join(",", args));
-            final CliResult cliResult = picoCliDelegate.execute(args);
+            final CliResult cliResult = startupPhases.call("config", () -> picoCliDelegate.execute(args));
             LOGGER.debug("Executed PicoCliDelegate with args [{}].", String.join(",", args));
             CliDelegate.instance().setConfig(cliResult.getConfig().orElse(null));
 
@@ -63,22 +65,27 @@ public class Main {
 
             //Start end spring profile stuff
 
-            final RuntimeContext runtimeContext = RuntimeContextFactory.newFactory().create(config);
+            final RuntimeContext runtimeContext =
+                    startupPhases.call("runtime-context", () -> RuntimeContextFactory.newFactory().create(config));
+
+            // not in parallel with the runtime context, as both unlock the same keys
+            startupPhases.run("enclave", () -> com.quorum.tessera.enclave.EnclaveFactory.create().create(config));
 
-            com.quorum.tessera.enclave.EnclaveFactory.create().create(config);
-            Discovery.getInstance().onCreate();
+            startupPhases.run("discovery", Discovery.getInstance()::onCreate);
 
             LOGGER.debug("Creating service locator");
             ServiceLocator serviceLocator = ServiceLocator.create();
             LOGGER.debug("Created service locator {}", serviceLocator);
 
-            Set<Object> services = serviceLocator.getServices();
+            Set<Object> services = startupPhases.call("services", serviceLocator::getServices);
 
             LOGGER.debug("Created {} services", services.size());
 
             services.forEach(o -> LOGGER.debug("Service : {}", o));
 
-            Launcher.create(runtimeContext.isRecoveryMode()).launchServer(config);
+            Launcher.create(runtimeContext.isRecoveryMode()).launchServer(config, startupPhases);
+
+            startupPhases.logSummary();
 
         } catch (final ConstraintViolationException ex) {
             for (final ConstraintViolation<?> violation : ex.getConstraintViolations()) {
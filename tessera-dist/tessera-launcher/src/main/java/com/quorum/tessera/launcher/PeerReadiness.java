@@ -0,0 +1,125 @@
+package com.quorum.tessera.launcher;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.Peer;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.config.util.IntervalPropertyHelper;
+import com.quorum.tessera.discovery.Discovery;
+import com.quorum.tessera.discovery.NodeUri;
+import com.quorum.tessera.partyinfo.node.NodeInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Waits until the node has exchanged party info with each of its configured peers, so that recovery knows about every
+ * node it should request transactions from. Peers that are down would otherwise hold up recovery for ever, so the wait
+ * gives up after a timeout and recovery goes ahead with the peers that have been reached.
+ *
+ * <p>Unless peer discovery is disabled, the peers also tell the node about the nodes they know, and those are only
+ * learned on a later round of party info. So once every peer has been reached, the wait carries on until the set of
+ * known nodes has stopped growing for one party info interval, still within the same timeout.
+ */
+class PeerReadiness {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PeerReadiness.class);
+
+    static final long DEFAULT_TIMEOUT_MILLIS = 10000L;
+
+    static final long DEFAULT_SETTLE_MILLIS = 5000L;
+
+    static final long POLL_INTERVAL_MILLIS = 100L;
+
+    private final Set<NodeUri> peers;
+
+    private final Supplier<Set<NodeUri>> knownNodes;
+
+    private final long settleMillis;
+
+    private final long timeoutMillis;
+
+    /**
+     * @param peers the configured peers
+     * @param knownNodes the nodes party info has been exchanged with so far
+     * @param settleMillis how long the known nodes must stop growing for once every peer is reached
+     * @param timeoutMillis how long to wait in all
+     */
+    PeerReadiness(Set<NodeUri> peers, Supplier<Set<NodeUri>> knownNodes, long settleMillis, long timeoutMillis) {
+        this.peers = Set.copyOf(peers);
+        this.knownNodes = Objects.requireNonNull(knownNodes);
+        this.settleMillis = settleMillis;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    static PeerReadiness create(Config config) {
+        final Set<NodeUri> peers =
+                Optional.ofNullable(config.getPeers()).orElse(List.of()).stream()
+                        .map(Peer::getUrl)
+                        .map(NodeUri::create)
+                        .collect(Collectors.toSet());
+
+        final long settleMillis;
+        if (config.isDisablePeerDiscovery()) {
+            // without discovery the known nodes are only ever the configured peers
+            settleMillis = 0L;
+        } else {
+            settleMillis =
+                    Optional.ofNullable(config.getP2PServerConfig())
+                            .map(ServerConfig::getProperties)
+                            .map(properties -> new IntervalPropertyHelper(properties).partyInfoInterval())
+                            .orElse(DEFAULT_SETTLE_MILLIS);
+        }
+
+        return new PeerReadiness(
+                peers,
+                () ->
+                        Discovery.getInstance().getRemoteNodeInfos().stream()
+                                .map(NodeInfo::getUrl)
+                                .map(NodeUri::create)
+                                .collect(Collectors.toSet()),
+                settleMillis,
+                DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /** @return true if every peer was reached, false if the wait timed out first */
+    boolean await() throws InterruptedException {
+        if (peers.isEmpty()) {
+            return true;
+        }
+
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        final Set<NodeUri> waitingFor = new HashSet<>(peers);
+        final Set<NodeUri> seen = new HashSet<>();
+        long lastGrewAt = System.currentTimeMillis();
+
+        while (true) {
+            final Set<NodeUri> known = knownNodes.get();
+            waitingFor.removeAll(known);
+            final long now = System.currentTimeMillis();
+            if (seen.addAll(known)) {
+                lastGrewAt = now;
+            }
+
+            if (waitingFor.isEmpty() && now - lastGrewAt >= settleMillis) {
+                LOGGER.info("Reached all {} peers, {} nodes known", peers.size(), seen.size());
+                return true;
+            }
+            if (now >= deadline) {
+                if (waitingFor.isEmpty()) {
+                    LOGGER.info("Reached all {} peers, {} nodes known and still growing", peers.size(), seen.size());
+                    return true;
+                }
+                LOGGER.warn("Timed out waiting for peers {}", waitingFor);
+                return false;
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+    }
+}
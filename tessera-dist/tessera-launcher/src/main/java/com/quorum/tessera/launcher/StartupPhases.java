@@ -0,0 +1,128 @@
+package com.quorum.tessera.launcher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times the phases of node startup, so that a slow restart can be traced to the phase responsible.
+ *
+ * <p>Phases run one after another in the order they are given. Independent phases can be grouped to run in parallel,
+ * in which case the next phase only starts once every phase in the group has finished. Once startup is complete a
+ * summary of every phase is logged.
+ */
+public class StartupPhases {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupPhases.class);
+
+    @FunctionalInterface
+    public interface Phase {
+        void run() throws Exception;
+    }
+
+    private final long startNanos = System.nanoTime();
+
+    private final List<Timing> timings = Collections.synchronizedList(new ArrayList<>());
+
+    public void run(String name, Phase phase) throws Exception {
+        call(
+                name,
+                () -> {
+                    phase.run();
+                    return null;
+                });
+    }
+
+    public <T> T call(String name, Callable<T> phase) throws Exception {
+        LOGGER.debug("Starting phase {}", name);
+        final long start = System.nanoTime();
+        final T result = phase.call();
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        timings.add(new Timing(name, elapsedMillis));
+        LOGGER.debug("Completed phase {} in {} ms", name, elapsedMillis);
+        return result;
+    }
+
+    /**
+     * Runs each phase on its own thread and waits for all of them to finish. If any phase fails, the first failure is
+     * rethrown once the others have finished.
+     *
+     * @param phases the phases to run, by name
+     */
+    public void runInParallel(Map<String, Phase> phases) throws Exception {
+        final List<CompletableFuture<Void>> results = new ArrayList<>();
+        phases.forEach(
+                (name, phase) -> {
+                    final CompletableFuture<Void> result = new CompletableFuture<>();
+                    final Thread thread =
+                            new Thread(
+                                    () -> {
+                                        try {
+                                            run(name, phase);
+                                            result.complete(null);
+                                        } catch (Throwable ex) {
+                                            result.completeExceptionally(ex);
+                                        }
+                                    },
+                                    "startup-" + name);
+                    thread.setDaemon(true);
+                    thread.start();
+                    results.add(result);
+                });
+
+        Throwable failure = null;
+        for (CompletableFuture<Void> result : results) {
+            try {
+                result.join();
+            } catch (CompletionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause();
+                }
+            }
+        }
+
+        if (failure instanceof Exception) {
+            throw (Exception) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+    }
+
+    /** @return the names of the completed phases, in the order they completed */
+    public List<String> getCompletedPhases() {
+        synchronized (timings) {
+            return timings.stream().map(t -> t.name).collect(Collectors.toList());
+        }
+    }
+
+    public void logSummary() {
+        final String phases;
+        synchronized (timings) {
+            phases = timings.stream().map(t -> t.name + "=" + t.elapsedMillis + "ms").collect(Collectors.joining(", "));
+        }
+        LOGGER.info(
+                "Started in {} ms ({})", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), phases);
+    }
+
+    private static class Timing {
+
+        private final String name;
+
+        private final long elapsedMillis;
+
+        private Timing(String name, long elapsedMillis) {
+            this.name = name;
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.Test;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.verify;
 
 public class LauncherTest extends TestConfig {
@@ -34,6 +35,19 @@ public class LauncherTest extends TestConfig {
                 });
     }
 
+    @Test
+    public void normalLaunchCreatesServersBeforeStartingThem() throws Exception {
+        final StartupPhases startupPhases = new StartupPhases();
+
+        Launcher.NORMAL.launchServer(serverConfig(), startupPhases);
+
+        final List<String> phases = startupPhases.getCompletedPhases();
+        assertThat(phases).hasSize(4);
+        assertThat(phases.get(0)).isEqualTo("create-servers");
+        assertThat(phases.subList(1, 4))
+                .containsExactlyInAnyOrder("start-server-1", "start-server-2", "start-server-3");
+    }
+
     @Test
     public void testRecoveryLaunch() throws Exception {
 
@@ -53,6 +67,17 @@ public class LauncherTest extends TestConfig {
         }
     }
 
+    @Test
+    public void recoveryWaitsForPeersAfterStartingTheRecoveryServer() {
+        final StartupPhases startupPhases = new StartupPhases();
+
+        // the mock recovery fails rather than exiting
+        final Throwable throwable = catchThrowable(() -> Launcher.RECOVERY.launchServer(serverConfig(), startupPhases));
+
+        assertThat(throwable).isInstanceOf(RuntimeException.class);
+        assertThat(startupPhases.getCompletedPhases()).containsExactly("start-recovery-server", "await-peers");
+    }
+
     @Test
     public void testInvalidLaunch() {
         try {
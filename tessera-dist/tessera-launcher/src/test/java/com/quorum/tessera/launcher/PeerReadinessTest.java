@@ -0,0 +1,123 @@
+package com.quorum.tessera.launcher;
+
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.Peer;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.discovery.NodeUri;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PeerReadinessTest {
+
+    private static final NodeUri PEER_ONE = NodeUri.create("http://peer1:9001/");
+
+    private static final NodeUri PEER_TWO = NodeUri.create("http://peer2:9001/");
+
+    @Test
+    public void readyOnceEveryPeerIsKnown() throws Exception {
+        final AtomicInteger polls = new AtomicInteger();
+        final PeerReadiness readiness =
+                new PeerReadiness(
+                        Set.of(PEER_ONE, PEER_TWO),
+                        () -> polls.incrementAndGet() < 3 ? Set.of(PEER_ONE) : Set.of(PEER_ONE, PEER_TWO),
+                        0L,
+                        10000L);
+
+        final long start = System.currentTimeMillis();
+        assertThat(readiness.await()).isTrue();
+
+        assertThat(polls.get()).isEqualTo(3);
+        assertThat(System.currentTimeMillis() - start).isLessThan(5000L);
+    }
+
+    @Test
+    public void peersOnlyNeedToBeSeenOnce() throws Exception {
+        final AtomicInteger polls = new AtomicInteger();
+        final PeerReadiness readiness =
+                new PeerReadiness(
+                        Set.of(PEER_ONE, PEER_TWO),
+                        () -> polls.incrementAndGet() == 1 ? Set.of(PEER_ONE) : Set.of(PEER_TWO),
+                        0L,
+                        10000L);
+
+        assertThat(readiness.await()).isTrue();
+        assertThat(polls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void waitsForKnownNodesToStopGrowing() throws Exception {
+        final NodeUri discovered = NodeUri.create("http://discovered:9001/");
+        final AtomicInteger polls = new AtomicInteger();
+        final PeerReadiness readiness =
+                new PeerReadiness(
+                        Set.of(PEER_ONE),
+                        () -> polls.incrementAndGet() < 3 ? Set.of(PEER_ONE) : Set.of(PEER_ONE, discovered),
+                        300L,
+                        10000L);
+
+        assertThat(readiness.await()).isTrue();
+
+        // reached on the first poll, grew on the third, then polled until unchanged for the settle time
+        assertThat(polls.get()).isGreaterThan(3);
+    }
+
+    @Test
+    public void stillGrowingAtTimeoutCountsAsReady() throws Exception {
+        final AtomicInteger polls = new AtomicInteger();
+        final PeerReadiness readiness =
+                new PeerReadiness(
+                        Set.of(PEER_ONE),
+                        () -> Set.of(PEER_ONE, NodeUri.create("http://node" + polls.incrementAndGet() + ":9001/")),
+                        10000L,
+                        300L);
+
+        assertThat(readiness.await()).isTrue();
+    }
+
+    @Test
+    public void givesUpWhenPeerIsNeverReached() throws Exception {
+        final PeerReadiness readiness = new PeerReadiness(Set.of(PEER_ONE, PEER_TWO), () -> Set.of(PEER_ONE), 0L, 300L);
+
+        assertThat(readiness.await()).isFalse();
+    }
+
+    @Test
+    public void noSettleTimeWhenPeerDiscoveryIsDisabled() throws Exception {
+        final Config config = new Config();
+        config.setDisablePeerDiscovery(true);
+        config.setPeers(List.of(new Peer("http://peer1:9001/")));
+
+        final PeerReadiness readiness = PeerReadiness.create(config);
+
+        assertThat(readiness).hasFieldOrPropertyWithValue("settleMillis", 0L);
+    }
+
+    @Test
+    public void settleTimeIsThePartyInfoInterval() {
+        final ServerConfig p2pServerConfig = new ServerConfig();
+        p2pServerConfig.setApp(AppType.P2P);
+        p2pServerConfig.setProperties(Map.of("partyInfoInterval", "2000"));
+        final Config config = new Config();
+        config.setServerConfigs(List.of(p2pServerConfig));
+
+        assertThat(PeerReadiness.create(config)).hasFieldOrPropertyWithValue("settleMillis", 2000L);
+        assertThat(PeerReadiness.create(new Config()))
+                .hasFieldOrPropertyWithValue("settleMillis", PeerReadiness.DEFAULT_SETTLE_MILLIS);
+    }
+
+    @Test
+    public void readyStraightAwayWithoutPeers() throws Exception {
+        final PeerReadiness readiness = PeerReadiness.create(new Config());
+
+        final long start = System.currentTimeMillis();
+        assertThat(readiness.await()).isTrue();
+        assertThat(System.currentTimeMillis() - start).isLessThan(PeerReadiness.DEFAULT_TIMEOUT_MILLIS);
+    }
+}
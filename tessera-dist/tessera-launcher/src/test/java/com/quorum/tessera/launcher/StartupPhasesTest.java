@@ -0,0 +1,107 @@
+package com.quorum.tessera.launcher;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class StartupPhasesTest {
+
+    private final StartupPhases startupPhases = new StartupPhases();
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void phasesRunInOrder() throws Exception {
+        startupPhases.run("first", () -> events.add("first"));
+        final String result = startupPhases.call("second", () -> "done");
+        startupPhases.run("third", () -> events.add("third"));
+
+        assertThat(result).isEqualTo("done");
+        assertThat(events).containsExactly("first", "third");
+        assertThat(startupPhases.getCompletedPhases()).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    public void parallelPhasesAllFinishBeforeTheNextPhaseStarts() throws Exception {
+        // each phase waits for the other to start, so they can only both finish if they run at the same time
+        final CountDownLatch started = new CountDownLatch(2);
+        final Map<String, StartupPhases.Phase> group = new LinkedHashMap<>();
+        group.put("left", () -> runAlongside(started, "left"));
+        group.put("right", () -> runAlongside(started, "right"));
+
+        startupPhases.run("before", () -> events.add("before"));
+        startupPhases.runInParallel(group);
+        startupPhases.run("after", () -> events.add("after"));
+
+        assertThat(events).hasSize(4);
+        assertThat(events.get(0)).isEqualTo("before");
+        assertThat(events.subList(1, 3)).containsExactlyInAnyOrder("left", "right");
+        assertThat(events.get(3)).isEqualTo("after");
+
+        final List<String> completed = startupPhases.getCompletedPhases();
+        assertThat(completed.get(0)).isEqualTo("before");
+        assertThat(completed.subList(1, 3)).containsExactlyInAnyOrder("left", "right");
+        assertThat(completed.get(3)).isEqualTo("after");
+    }
+
+    @Test
+    public void failureInParallelPhaseIsRethrownAfterTheOthersFinish() {
+        final Map<String, StartupPhases.Phase> group = new LinkedHashMap<>();
+        group.put(
+                "failing",
+                () -> {
+                    throw new IllegalStateException("Ouch");
+                });
+        group.put(
+                "slow",
+                () -> {
+                    Thread.sleep(100);
+                    events.add("slow");
+                });
+
+        final Throwable throwable = catchThrowable(() -> startupPhases.runInParallel(group));
+
+        assertThat(throwable).isInstanceOf(IllegalStateException.class).hasMessage("Ouch");
+        assertThat(events).containsExactly("slow");
+        assertThat(startupPhases.getCompletedPhases()).containsExactly("slow");
+    }
+
+    @Test
+    public void failedPhaseIsNotRecorded() {
+        final Throwable throwable =
+                catchThrowable(
+                        () ->
+                                startupPhases.run(
+                                        "failing",
+                                        () -> {
+                                            throw new Exception("Ouch");
+                                        }));
+
+        assertThat(throwable).hasMessage("Ouch");
+        assertThat(startupPhases.getCompletedPhases()).isEmpty();
+    }
+
+    @Test
+    public void logSummary() throws Exception {
+        startupPhases.run("only", () -> {});
+
+        startupPhases.logSummary();
+
+        assertThat(startupPhases.getCompletedPhases()).containsExactly("only");
+    }
+
+    private void runAlongside(CountDownLatch started, String name) throws InterruptedException {
+        started.countDown();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        events.add(name);
+    }
+}
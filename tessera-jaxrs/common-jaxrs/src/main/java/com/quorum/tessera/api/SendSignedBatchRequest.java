@@ -0,0 +1,32 @@
+package com.quorum.tessera.api;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * Model representation of a JSON body on incoming HTTP requests
+ *
+ * <p>Used when several pre-stored transactions are to be distributed together where this node is the sender
+ */
+public class SendSignedBatchRequest {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "pre-stored transactions to distribute, in the order keys are returned"),
+            schema = @Schema(implementation = SendSignedRequest.class))
+    @Size(min = 1)
+    @NotNull
+    @Valid
+    private SendSignedRequest[] transactions;
+
+    public SendSignedRequest[] getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(final SendSignedRequest... transactions) {
+        this.transactions = transactions;
+    }
+}
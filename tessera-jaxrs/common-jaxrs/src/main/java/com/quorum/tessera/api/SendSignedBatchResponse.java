@@ -0,0 +1,31 @@
+package com.quorum.tessera.api;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Model representation of a JSON body on outgoing HTTP responses
+ *
+ * <p>A response to a {@link SendSignedBatchRequest} after all the transactions have been distributed and saved
+ */
+public class SendSignedBatchResponse {
+
+    @ArraySchema(
+            arraySchema = @Schema(description = "encrypted payload hashes, in the same order as the request"),
+            schema = @Schema(format = "base64"))
+    private String[] keys;
+
+    public SendSignedBatchResponse(final String... keys) {
+        this.keys = keys;
+    }
+
+    public SendSignedBatchResponse() {}
+
+    public String[] getKeys() {
+        return keys;
+    }
+
+    public void setKeys(final String... keys) {
+        this.keys = keys;
+    }
+}
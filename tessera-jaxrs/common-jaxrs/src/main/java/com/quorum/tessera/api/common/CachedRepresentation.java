@@ -0,0 +1,120 @@
+package com.quorum.tessera.api.common;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Caches the serialized body of a GET resource that is polled far more often than it changes, together with an ETag.
+ *
+ * <p>The content version is whatever the body is rendered from, such as the set of keys being listed. The body is only
+ * rendered again when a request arrives with a version that is not equal to the cached one, so a change to the keys or
+ * parties invalidates the cache on the next request. The ETag is a digest of the body, so it survives restarts and is
+ * the same on every node serving the same content. Requests whose {@code If-None-Match} header matches the current ETag
+ * get a 304 Not Modified with no body.
+ *
+ * @param <V> the type of the content version
+ */
+public class CachedRepresentation<V> {
+
+    private static final CacheControl NO_CACHE;
+
+    static {
+        NO_CACHE = new CacheControl();
+        NO_CACHE.setNoCache(true);
+    }
+
+    private final Function<V, String> renderer;
+
+    private volatile Snapshot<V> snapshot;
+
+    public CachedRepresentation(Function<V, String> renderer) {
+        this.renderer = Objects.requireNonNull(renderer);
+    }
+
+    /**
+     * @param version the current content version
+     * @param ifNoneMatch the request's {@code If-None-Match} header, or null if there was none
+     * @return a 304 response if the caller already has this version, otherwise a 200 response with the body
+     */
+    public Response respond(V version, String ifNoneMatch) {
+        final Snapshot<V> current = snapshotOf(version);
+
+        if (matches(ifNoneMatch, current.entityTag)) {
+            return Response.notModified(current.entityTag).cacheControl(NO_CACHE).build();
+        }
+
+        return Response.status(Response.Status.OK)
+                .entity(current.body)
+                .tag(current.entityTag)
+                .cacheControl(NO_CACHE)
+                .build();
+    }
+
+    private Snapshot<V> snapshotOf(V version) {
+        final Snapshot<V> cached = snapshot;
+        if (cached != null && Objects.equals(cached.version, version)) {
+            return cached;
+        }
+
+        // concurrent callers may render the same version twice, which is harmless
+        final String body = renderer.apply(version);
+        final Snapshot<V> rendered = new Snapshot<>(version, body, new EntityTag(digest(body)));
+        snapshot = rendered;
+        return rendered;
+    }
+
+    private static boolean matches(String ifNoneMatch, EntityTag entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            // GET uses weak comparison, so a weak tag from an intermediary still matches
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            if (tag.equals(entityTag.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String digest(String body) {
+        try {
+            final byte[] hash =
+                    MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class Snapshot<V> {
+
+        private final V version;
+
+        private final String body;
+
+        private final EntityTag entityTag;
+
+        private Snapshot(V version, String body, EntityTag entityTag) {
+            this.version = version;
+            this.body = body;
+            this.entityTag = entityTag;
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.quorum.tessera.api.constraint;
 
 import com.quorum.tessera.api.SendRequest;
+import com.quorum.tessera.api.SendSignedBatchRequest;
 import com.quorum.tessera.api.SendSignedRequest;
 import com.quorum.tessera.enclave.PrivacyMode;
 
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 public class RequestPrivacyValidator implements ConstraintValidator<PrivacyValid, Object> {
 
     @Override
     public boolean isValid(Object request, ConstraintValidatorContext context) {
+        if (request instanceof SendSignedBatchRequest) {
+            return Stream.ofNullable(((SendSignedBatchRequest) request).getTransactions())
+                    .flatMap(Arrays::stream)
+                    .allMatch(r -> isValid(r, context));
+        }
         PrivacyMode privacyMode;
         String execHash;
         if (request instanceof SendRequest) {
@@ -0,0 +1,215 @@
+package com.quorum.tessera.api.filter;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+
+/**
+ * An immutable set of host names and IP address ranges that a caller can be checked against.
+ *
+ * <p>Addresses and ranges, given either as single addresses or in CIDR notation, are held in a binary prefix trie of
+ * 128-bit IPv6 addresses, IPv4 ones being stored as IPv4-mapped IPv6 addresses. Checking an address is a single walk of
+ * at most 128 steps, whichever form either side is written in. Anything that is not an IP address is treated as a host
+ * name and matched exactly, ignoring case.
+ */
+class IPWhitelist {
+
+    private static final byte[] IPV4_MAPPED_PREFIX = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff};
+
+    private final Set<String> hostNames;
+
+    /** The children of each trie node, a negative value where there is none */
+    private final int[] zeros;
+
+    private final int[] ones;
+
+    /** Whether a range ends at each trie node, so that every address below it is in the whitelist */
+    private final boolean[] terminal;
+
+    private IPWhitelist(Set<String> hostNames, int[] zeros, int[] ones, boolean[] terminal) {
+        this.hostNames = hostNames;
+        this.zeros = zeros;
+        this.ones = ones;
+        this.terminal = terminal;
+    }
+
+    /**
+     * Builds a whitelist from host names, IP addresses and CIDR ranges such as {@code 10.0.0.0/8} or {@code fd00::/8}.
+     * IPv6 addresses may be enclosed in square brackets, as they are in URIs.
+     *
+     * @param entries the entries to allow
+     * @return the whitelist
+     * @throws IllegalArgumentException if an entry has a prefix length that is not valid for its address
+     */
+    static IPWhitelist of(Collection<String> entries) {
+        final Set<String> hostNames = new HashSet<>();
+        final Builder builder = new Builder();
+
+        for (String entry : entries) {
+            if (entry == null) {
+                continue;
+            }
+            final int slash = entry.indexOf('/');
+            final String address = slash < 0 ? entry : entry.substring(0, slash);
+            final byte[] bytes = parseAddress(address);
+            if (bytes == null) {
+                hostNames.add(entry.toLowerCase(Locale.ROOT));
+                continue;
+            }
+
+            int prefixLength = 128;
+            if (slash >= 0) {
+                final int given = Integer.parseInt(entry.substring(slash + 1));
+                final boolean ipv4 = parseIpv4(stripBrackets(address)) != null;
+                if (given < 0 || given > (ipv4 ? 32 : 128)) {
+                    throw new IllegalArgumentException("Invalid prefix length in " + entry);
+                }
+                prefixLength = ipv4 ? 96 + given : given;
+            }
+            builder.add(bytes, prefixLength);
+        }
+
+        return builder.build(Set.copyOf(hostNames));
+    }
+
+    /**
+     * @param value a caller's IP address or host name
+     * @return whether the value is in the whitelist
+     */
+    boolean contains(String value) {
+        if (value == null) {
+            return false;
+        }
+        final byte[] address = parseAddress(value);
+        if (address == null) {
+            return hostNames.contains(value.toLowerCase(Locale.ROOT));
+        }
+
+        int node = 0;
+        for (int bit = 0; bit < 128; bit++) {
+            if (terminal[node]) {
+                return true;
+            }
+            node = isSet(address, bit) ? ones[node] : zeros[node];
+            if (node < 0) {
+                return false;
+            }
+        }
+        return terminal[node];
+    }
+
+    /** @return the address as 16 bytes, or null if the value is not an IP address, without any name lookup */
+    private static byte[] parseAddress(String value) {
+        final String literal = stripZone(stripBrackets(value));
+        final byte[] ipv4 = parseIpv4(literal);
+        if (ipv4 != null) {
+            return mapped(ipv4);
+        }
+        if (literal.indexOf(':') < 0) {
+            return null;
+        }
+
+        final byte[] bytes;
+        try {
+            // in brackets an invalid IPv6 literal fails rather than being looked up as a name
+            bytes = InetAddress.getByName("[" + literal + "]").getAddress();
+        } catch (UnknownHostException ex) {
+            return null;
+        }
+        return bytes.length == 16 ? bytes : mapped(bytes);
+    }
+
+    /** @return the four bytes of a dotted decimal IPv4 address, or null if the value is not one */
+    private static byte[] parseIpv4(String value) {
+        final byte[] bytes = new byte[4];
+        int octet = 0;
+        int digits = 0;
+        int current = 0;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9' && digits < 3) {
+                current = current * 10 + (c - '0');
+                digits++;
+            } else if (c == '.' && digits > 0 && octet < 3 && current <= 255) {
+                bytes[octet++] = (byte) current;
+                current = 0;
+                digits = 0;
+            } else {
+                return null;
+            }
+        }
+        if (octet != 3 || digits == 0 || current > 255) {
+            return null;
+        }
+        bytes[3] = (byte) current;
+        return bytes;
+    }
+
+    private static byte[] mapped(byte[] ipv4) {
+        final byte[] mapped = Arrays.copyOf(IPV4_MAPPED_PREFIX, 16);
+        System.arraycopy(ipv4, 0, mapped, 12, 4);
+        return mapped;
+    }
+
+    private static String stripBrackets(String value) {
+        if (value.length() > 1 && value.charAt(0) == '[' && value.charAt(value.length() - 1) == ']') {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    private static String stripZone(String value) {
+        final int percent = value.indexOf('%');
+        return percent < 0 ? value : value.substring(0, percent);
+    }
+
+    private static boolean isSet(byte[] address, int bit) {
+        return (address[bit >>> 3] & (0x80 >>> (bit & 7))) != 0;
+    }
+
+    private static class Builder {
+
+        private final List<int[]> children = new ArrayList<>();
+
+        private final List<Boolean> terminal = new ArrayList<>();
+
+        private Builder() {
+            newNode();
+        }
+
+        private void add(byte[] address, int prefixLength) {
+            int node = 0;
+            for (int bit = 0; bit < prefixLength; bit++) {
+                if (terminal.get(node)) {
+                    // already covered by a wider range
+                    return;
+                }
+                final int side = isSet(address, bit) ? 1 : 0;
+                if (children.get(node)[side] < 0) {
+                    children.get(node)[side] = newNode();
+                }
+                node = children.get(node)[side];
+            }
+            terminal.set(node, true);
+        }
+
+        private int newNode() {
+            children.add(new int[] {-1, -1});
+            terminal.add(false);
+            return children.size() - 1;
+        }
+
+        private IPWhitelist build(Set<String> hostNames) {
+            final int size = children.size();
+            final int[] zeros = new int[size];
+            final int[] ones = new int[size];
+            final boolean[] terminals = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                zeros[i] = children.get(i)[0];
+                ones[i] = children.get(i)[1];
+                terminals[i] = terminal.get(i);
+            }
+            return new IPWhitelist(hostNames, zeros, ones, terminals);
+        }
+    }
+}
@@ -10,7 +10,7 @@ import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import java.net.URI;
-import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,6 +28,8 @@ public class IPWhitelistFilter implements ContainerRequestFilter {
 
     private HttpServletRequest httpServletRequest;
 
+    private volatile CompiledWhitelist compiled;
+
     /**
      * If the filter is disabled, return immediately Otherwise, extract the callers hostname and address, and check it
      * against the whitelist
@@ -45,22 +47,12 @@ public class IPWhitelistFilter implements ContainerRequestFilter {
             return;
         }
 
-        final Set<String> whitelisted =
-                runtimeContext.getPeers().stream().map(URI::getHost).collect(Collectors.toSet());
-
-        // If local host is whitelisted then ensure all the various forms are allowed, including the IPv6 localhost
-        // as sent by curl
-        if (whitelisted.contains("localhost") || whitelisted.contains("127.0.0.1")) {
-            whitelisted.add("localhost");
-            whitelisted.add("127.0.0.1");
-            whitelisted.add("0:0:0:0:0:0:0:1");
-        }
+        final IPWhitelist whitelist = whitelistFor(runtimeContext.getPeers());
 
         final String remoteAddress = httpServletRequest.getRemoteAddr();
         final String remoteHost = httpServletRequest.getRemoteHost();
 
-        final boolean allowed =
-                whitelisted.stream().anyMatch(v -> Arrays.asList(remoteAddress, remoteHost).contains(v));
+        final boolean allowed = whitelist.contains(remoteAddress) || whitelist.contains(remoteHost);
 
         if (!allowed) {
             LOGGER.warn("Remote host {} with IP {} failed whitelist validation", remoteHost, remoteAddress);
@@ -68,6 +60,31 @@ public class IPWhitelistFilter implements ContainerRequestFilter {
         }
     }
 
+    /**
+     * Returns the whitelist built from the peers, only building a new one when the peers have changed. The runtime
+     * context hands out the same immutable list until its peers change, so this is usually a reference comparison.
+     */
+    private IPWhitelist whitelistFor(final List<URI> peers) {
+        final CompiledWhitelist current = this.compiled;
+        if (current != null && (current.source == peers || current.peers.equals(peers))) {
+            return current.whitelist;
+        }
+
+        final Set<String> whitelisted = peers.stream().map(URI::getHost).collect(Collectors.toSet());
+
+        // If local host is whitelisted then ensure all the various forms are allowed, including the IPv6 localhost
+        // as sent by curl
+        if (whitelisted.contains("localhost") || whitelisted.contains("127.0.0.1")) {
+            whitelisted.add("localhost");
+            whitelisted.add("127.0.0.1");
+            whitelisted.add("0:0:0:0:0:0:0:1");
+        }
+
+        final IPWhitelist whitelist = IPWhitelist.of(whitelisted);
+        this.compiled = new CompiledWhitelist(peers, whitelist);
+        return whitelist;
+    }
+
     /**
      * Apply the current HTTP context to the filter, to check the remote host
      *
@@ -77,4 +94,19 @@ public class IPWhitelistFilter implements ContainerRequestFilter {
     public void setHttpServletRequest(final HttpServletRequest request) {
         this.httpServletRequest = request;
     }
+
+    private static class CompiledWhitelist {
+
+        private final List<URI> source;
+
+        private final List<URI> peers;
+
+        private final IPWhitelist whitelist;
+
+        private CompiledWhitelist(List<URI> source, IPWhitelist whitelist) {
+            this.source = source;
+            this.peers = List.copyOf(source);
+            this.whitelist = whitelist;
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.quorum.tessera.api.common;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachedRepresentationTest {
+
+    private AtomicInteger renderCount;
+
+    private CachedRepresentation<String> cachedRepresentation;
+
+    @Before
+    public void onSetUp() {
+        renderCount = new AtomicInteger();
+        cachedRepresentation =
+                new CachedRepresentation<>(
+                        version -> {
+                            renderCount.incrementAndGet();
+                            return "{\"version\":\"" + version + "\"}";
+                        });
+    }
+
+    @Test
+    public void bodyIsRenderedOncePerVersion() {
+        final Response first = cachedRepresentation.respond("1", null);
+        final Response second = cachedRepresentation.respond("1", null);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getEntity()).isEqualTo("{\"version\":\"1\"}");
+        assertThat(second.getEntity()).isSameAs(first.getEntity());
+        assertThat(second.getEntityTag()).isEqualTo(first.getEntityTag());
+        assertThat(first.getHeaderString(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+        assertThat(renderCount).hasValue(1);
+    }
+
+    @Test
+    public void newVersionIsRenderedWithNewEntityTag() {
+        final Response first = cachedRepresentation.respond("1", null);
+        final Response second = cachedRepresentation.respond("2", first.getEntityTag().toString());
+
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getEntity()).isEqualTo("{\"version\":\"2\"}");
+        assertThat(second.getEntityTag()).isNotEqualTo(first.getEntityTag());
+        assertThat(renderCount).hasValue(2);
+    }
+
+    @Test
+    public void matchingIfNoneMatchIsNotModified() {
+        final String etag = cachedRepresentation.respond("1", null).getEntityTag().toString();
+
+        final Response response = cachedRepresentation.respond("1", etag);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getEntity()).isNull();
+        assertThat(response.getEntityTag().toString()).isEqualTo(etag);
+    }
+
+    @Test
+    public void ifNoneMatchListsAndWeakTagsAreMatched() {
+        final String etag = cachedRepresentation.respond("1", null).getEntityTag().toString();
+
+        assertThat(cachedRepresentation.respond("1", "\"other\", W/" + etag).getStatus()).isEqualTo(304);
+        assertThat(cachedRepresentation.respond("1", "*").getStatus()).isEqualTo(304);
+        assertThat(cachedRepresentation.respond("1", "\"other\"").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void entityTagDependsOnlyOnContent() {
+        final CachedRepresentation<String> other = new CachedRepresentation<>(version -> "{\"version\":\"1\"}");
+
+        assertThat(other.respond("anything", null).getEntityTag())
+                .isEqualTo(cachedRepresentation.respond("1", null).getEntityTag());
+    }
+}
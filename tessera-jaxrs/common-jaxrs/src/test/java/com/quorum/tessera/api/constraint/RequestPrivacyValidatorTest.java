@@ -1,6 +1,7 @@
 package com.quorum.tessera.api.constraint;
 
 import com.quorum.tessera.api.SendRequest;
+import com.quorum.tessera.api.SendSignedBatchRequest;
 import com.quorum.tessera.api.SendSignedRequest;
 import org.junit.After;
 import org.junit.Before;
@@ -84,6 +85,28 @@ public class RequestPrivacyValidatorTest {
         assertThat(validator.isValid(request, context)).isTrue();
     }
 
+    @Test
+    public void testPrivacyValidationOnSendSignedBatchRequest() {
+
+        SendSignedRequest valid = new SendSignedRequest();
+        valid.setPrivacyFlag(1);
+
+        SendSignedRequest missingExecHash = new SendSignedRequest();
+        missingExecHash.setPrivacyFlag(3);
+
+        SendSignedBatchRequest request = new SendSignedBatchRequest();
+        request.setTransactions(valid, valid);
+        assertThat(validator.isValid(request, context)).isTrue();
+
+        request.setTransactions(valid, missingExecHash);
+        assertThat(validator.isValid(request, context)).isFalse();
+        verify(context).buildConstraintViolationWithTemplate("Exec hash missing");
+        verify(builder).addConstraintViolation();
+
+        missingExecHash.setExecHash("execHash");
+        assertThat(validator.isValid(request, context)).isTrue();
+    }
+
     @Test
     public void testWrongUsage() {
         Object someObject = new Object();
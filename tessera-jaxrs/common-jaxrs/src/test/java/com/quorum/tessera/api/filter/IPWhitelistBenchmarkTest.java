@@ -0,0 +1,82 @@
+package com.quorum.tessera.api.filter;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares checking callers against a precompiled whitelist of 100 peers with building the whitelist from the peers and
+ * comparing strings on every request, as {@link IPWhitelistFilter} used to.
+ */
+public class IPWhitelistBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IPWhitelistBenchmarkTest.class);
+
+    private static final int REQUESTS = 200000;
+
+    private static final int ROUNDS = 3;
+
+    private final List<URI> peers =
+            IntStream.range(0, 100)
+                    .mapToObj(i -> URI.create("http://10.0." + i + ".1:9000"))
+                    .collect(Collectors.toUnmodifiableList());
+
+    /** Half the callers are peers, half are not */
+    private final String[] callers = {"10.0.42.1", "203.0.113.7"};
+
+    @Test
+    public void precompiledWhitelistAgainstRebuildingIt() {
+        final IPWhitelist whitelist = IPWhitelist.of(peers.stream().map(URI::getHost).collect(Collectors.toSet()));
+
+        int rebuildingAllowed = 0;
+        int precompiledAllowed = 0;
+        long rebuildingBest = Long.MAX_VALUE;
+        long precompiledBest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                final String caller = callers[i & 1];
+                rebuildingAllowed += rebuildAndCheck(caller, caller) ? 1 : 0;
+            }
+            rebuildingBest = Math.min(rebuildingBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            for (int i = 0; i < REQUESTS; i++) {
+                final String caller = callers[i & 1];
+                precompiledAllowed += whitelist.contains(caller) || whitelist.contains(caller) ? 1 : 0;
+            }
+            precompiledBest = Math.min(precompiledBest, System.nanoTime() - start);
+        }
+
+        LOGGER.info(
+                "{} whitelist checks against {} peers, best of {}: rebuilding per request {}ms, precompiled {}ms",
+                REQUESTS,
+                peers.size(),
+                ROUNDS,
+                TimeUnit.NANOSECONDS.toMillis(rebuildingBest),
+                TimeUnit.NANOSECONDS.toMillis(precompiledBest));
+
+        assertThat(precompiledAllowed).isEqualTo(rebuildingAllowed).isEqualTo(ROUNDS * REQUESTS / 2);
+    }
+
+    /** What the filter used to do for every request */
+    private boolean rebuildAndCheck(String remoteAddress, String remoteHost) {
+        final Set<String> whitelisted = peers.stream().map(URI::getHost).collect(Collectors.toSet());
+        if (whitelisted.contains("localhost") || whitelisted.contains("127.0.0.1")) {
+            whitelisted.add("localhost");
+            whitelisted.add("127.0.0.1");
+            whitelisted.add("0:0:0:0:0:0:0:1");
+        }
+        return whitelisted.stream().anyMatch(v -> Arrays.asList(remoteAddress, remoteHost).contains(v));
+    }
+}
@@ -164,4 +164,46 @@ public class IPWhitelistFilterTest {
         verify(request).getRemoteAddr();
         verifyNoMoreInteractions(ctx);
     }
+
+    @Test
+    public void whitelistFollowsPeerChanges() {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn("10.0.0.5").when(request).getRemoteAddr();
+        filter.setHttpServletRequest(request);
+
+        filter.filter(ctx);
+        verify(ctx).abortWith(any(Response.class));
+
+        when(runtimeContext.getPeers()).thenReturn(singletonList(URI.create("http://10.0.0.5:8080")));
+        filter.filter(ctx);
+        filter.filter(ctx);
+
+        verify(ctx).abortWith(any(Response.class));
+    }
+
+    @Test
+    public void ipv4MappedRemoteAddressMatchesIpv4Peer() {
+        when(runtimeContext.getPeers()).thenReturn(singletonList(URI.create("http://10.0.0.5:8080")));
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn("::ffff:10.0.0.5").when(request).getRemoteAddr();
+        filter.setHttpServletRequest(request);
+
+        filter.filter(ctx);
+
+        verifyNoMoreInteractions(ctx);
+    }
+
+    @Test
+    public void ipv6PeerIsWhitelisted() {
+        when(runtimeContext.getPeers()).thenReturn(singletonList(URI.create("http://[2001:db8::1]:8080")));
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn("2001:db8:0:0:0:0:0:1").when(request).getRemoteAddr();
+        filter.setHttpServletRequest(request);
+
+        filter.filter(ctx);
+
+        verifyNoMoreInteractions(ctx);
+    }
 }
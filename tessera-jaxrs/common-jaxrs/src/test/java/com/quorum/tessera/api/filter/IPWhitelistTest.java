@@ -0,0 +1,111 @@
+package com.quorum.tessera.api.filter;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class IPWhitelistTest {
+
+    @Test
+    public void ipv4AddressesMatchExactly() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("10.1.2.3", "192.168.0.1"));
+
+        assertThat(whitelist.contains("10.1.2.3")).isTrue();
+        assertThat(whitelist.contains("192.168.0.1")).isTrue();
+        assertThat(whitelist.contains("10.1.2.4")).isFalse();
+        assertThat(whitelist.contains("192.168.0.10")).isFalse();
+    }
+
+    @Test
+    public void ipv4RangesMatchEveryAddressInThem() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("10.0.0.0/8", "172.16.4.0/22"));
+
+        assertThat(whitelist.contains("10.0.0.0")).isTrue();
+        assertThat(whitelist.contains("10.255.255.255")).isTrue();
+        assertThat(whitelist.contains("11.0.0.0")).isFalse();
+        assertThat(whitelist.contains("172.16.4.1")).isTrue();
+        assertThat(whitelist.contains("172.16.7.255")).isTrue();
+        assertThat(whitelist.contains("172.16.8.0")).isFalse();
+        assertThat(whitelist.contains("172.16.3.255")).isFalse();
+    }
+
+    @Test
+    public void ipv6AddressesMatchWhicheverWayTheyAreWritten() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("[2001:db8::1]", "0:0:0:0:0:0:0:1"));
+
+        assertThat(whitelist.contains("2001:db8::1")).isTrue();
+        assertThat(whitelist.contains("2001:0db8:0:0:0:0:0:1")).isTrue();
+        assertThat(whitelist.contains("[2001:DB8::1]")).isTrue();
+        assertThat(whitelist.contains("::1")).isTrue();
+        assertThat(whitelist.contains("::1%lo")).isTrue();
+        assertThat(whitelist.contains("2001:db8::2")).isFalse();
+    }
+
+    @Test
+    public void ipv6RangesMatchEveryAddressInThem() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("fd00::/8", "2001:db8:abcd::/48"));
+
+        assertThat(whitelist.contains("fd12:3456::1")).isTrue();
+        assertThat(whitelist.contains("fe80::1")).isFalse();
+        assertThat(whitelist.contains("2001:db8:abcd:ffff::1")).isTrue();
+        assertThat(whitelist.contains("2001:db8:abce::1")).isFalse();
+    }
+
+    @Test
+    public void ipv4MappedAddressesMatchIpv4Entries() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("10.1.2.3", "192.168.0.0/16"));
+
+        assertThat(whitelist.contains("::ffff:10.1.2.3")).isTrue();
+        assertThat(whitelist.contains("::ffff:a01:203")).isTrue();
+        assertThat(whitelist.contains("::ffff:192.168.44.1")).isTrue();
+        assertThat(whitelist.contains("::ffff:10.1.2.4")).isFalse();
+    }
+
+    @Test
+    public void ipv4EntriesDoNotMatchOtherIpv6Addresses() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("0.0.0.0/0"));
+
+        assertThat(whitelist.contains("203.0.113.9")).isTrue();
+        assertThat(whitelist.contains("2001:db8::1")).isFalse();
+    }
+
+    @Test
+    public void hostNamesMatchIgnoringCase() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("Node1.example.com", "localhost"));
+
+        assertThat(whitelist.contains("node1.example.com")).isTrue();
+        assertThat(whitelist.contains("LOCALHOST")).isTrue();
+        assertThat(whitelist.contains("node2.example.com")).isFalse();
+        assertThat(whitelist.contains("127.0.0.1")).isFalse();
+    }
+
+    @Test
+    public void invalidAddressesAreTreatedAsNames() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of("10.0.0.0/8"));
+
+        assertThat(whitelist.contains("10.0.0.256")).isFalse();
+        assertThat(whitelist.contains("not:an:address")).isFalse();
+        assertThat(whitelist.contains(null)).isFalse();
+        assertThat(whitelist.contains("")).isFalse();
+    }
+
+    @Test
+    public void prefixLongerThanAddressIsRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> IPWhitelist.of(List.of("10.0.0.0/33")))
+                .withMessageContaining("10.0.0.0/33");
+        assertThatIllegalArgumentException().isThrownBy(() -> IPWhitelist.of(List.of("fd00::/129")));
+    }
+
+    @Test
+    public void emptyWhitelistMatchesNothing() {
+        final IPWhitelist whitelist = IPWhitelist.of(List.of());
+
+        assertThat(whitelist.contains("10.0.0.1")).isFalse();
+        assertThat(whitelist.contains("::1")).isFalse();
+        assertThat(whitelist.contains("localhost")).isFalse();
+    }
+}
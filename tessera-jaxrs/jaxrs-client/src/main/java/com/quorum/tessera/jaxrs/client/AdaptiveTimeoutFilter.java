@@ -0,0 +1,98 @@
+package com.quorum.tessera.jaxrs.client;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Records how long each peer takes to respond and shortens the read and connect timeouts of later requests to that peer
+ * to match, so that a slow or dead node is given up on long before the configured timeout. The configured timeout is
+ * never exceeded.
+ *
+ * <p>Only peers that already have a circuit breaker, i.e. that have been called through {@link CircuitBreakers}, are
+ * tracked, so the filter should only be registered on clients for the P2P API.
+ *
+ * <p>Only endpoints whose response time does not depend on how much data they return are adapted. Resend and recovery
+ * requests can take far longer than any earlier request to the same peer, so they always keep the configured timeouts.
+ */
+public class AdaptiveTimeoutFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    // Literal values of Jersey's ClientProperties, which isn't a compile time dependency here
+    static final String READ_TIMEOUT = "jersey.config.client.readTimeout";
+
+    static final String CONNECT_TIMEOUT = "jersey.config.client.connectTimeout";
+
+    static final String START_TIME = AdaptiveTimeoutFilter.class.getName() + ".start";
+
+    static final Set<String> ADAPTIVE_PATHS = Set.of("/partyinfo", "/push", "/pushPayloads");
+
+    private final CircuitBreakers circuitBreakers;
+
+    public AdaptiveTimeoutFilter() {
+        this(CircuitBreakers.getInstance());
+    }
+
+    public AdaptiveTimeoutFilter(final CircuitBreakers circuitBreakers) {
+        this.circuitBreakers = Objects.requireNonNull(circuitBreakers);
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) {
+        final String path = endpoint(requestContext);
+        if (!ADAPTIVE_PATHS.contains(path)) {
+            return;
+        }
+
+        requestContext.setProperty(START_TIME, System.nanoTime());
+
+        final OptionalLong adaptiveTimeout =
+                circuitBreakers
+                        .find(requestContext.getUri())
+                        .map(breaker -> breaker.getTimeoutMillis(path))
+                        .orElse(OptionalLong.empty());
+
+        if (!adaptiveTimeout.isPresent()) {
+            return;
+        }
+
+        for (final String property : new String[] {READ_TIMEOUT, CONNECT_TIMEOUT}) {
+            final long configured = configuredTimeout(requestContext.getConfiguration().getProperty(property));
+            final long timeout = configured > 0 ? Math.min(configured, adaptiveTimeout.getAsLong()) : 0;
+            if (timeout > 0) {
+                requestContext.setProperty(property, (int) timeout);
+            }
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext) {
+        final Object start = requestContext.getProperty(START_TIME);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        final long latencyMillis = (System.nanoTime() - (Long) start) / 1_000_000L;
+        circuitBreakers
+                .find(requestContext.getUri())
+                .ifPresent(breaker -> breaker.recordLatency(endpoint(requestContext), latencyMillis));
+    }
+
+    /** The last segment of the request path, so that peers served under a context path are matched too */
+    private static String endpoint(final ClientRequestContext requestContext) {
+        final String path = Optional.ofNullable(requestContext.getUri().getPath()).orElse("");
+        return path.substring(Math.max(0, path.lastIndexOf('/')));
+    }
+
+    /** Timeouts may be configured as numbers or strings; zero means no timeout */
+    private static long configuredTimeout(final Object value) {
+        return Optional.ofNullable(value)
+                .map(Object::toString)
+                .filter(s -> s.matches("\\d+"))
+                .map(Long::parseLong)
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,177 @@
+package com.quorum.tessera.jaxrs.client;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the health of a single peer across every outbound call made to it.
+ *
+ * <p>After a number of consecutive failures the circuit opens and calls fail immediately. Once the open period has
+ * passed, one trial call is let through: if it succeeds the circuit closes, otherwise it opens again.
+ *
+ * <p>Latency is tracked per request path, since different endpoints on the same peer (e.g. partyinfo and resend) have
+ * very different response times.
+ */
+public class CircuitBreaker implements CircuitBreakerMXBean {
+
+    private final String peer;
+
+    private final int failureThreshold;
+
+    private final long openDurationMillis;
+
+    private final long minimumTimeoutMillis;
+
+    private final LongSupplier clock;
+
+    private final LatencyEstimator latency = new LatencyEstimator();
+
+    private final Map<String, LatencyEstimator> latencyByPath = new ConcurrentHashMap<>();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong successes = new AtomicLong();
+
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedAt;
+
+    private boolean trialInProgress;
+
+    public CircuitBreaker(
+            final String peer,
+            final int failureThreshold,
+            final long openDurationMillis,
+            final long minimumTimeoutMillis,
+            final LongSupplier clock) {
+        this.peer = Objects.requireNonNull(peer);
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.minimumTimeoutMillis = minimumTimeoutMillis;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Asks permission to make a call to the peer
+     *
+     * @return whether the call may proceed
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt >= openDurationMillis) {
+                    state = CircuitBreakerState.HALF_OPEN;
+                    trialInProgress = true;
+                    return true;
+                }
+                break;
+            case HALF_OPEN:
+                if (!trialInProgress) {
+                    trialInProgress = true;
+                    return true;
+                }
+                break;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    /** Records that the peer responded to a call */
+    public synchronized void onSuccess() {
+        successes.incrementAndGet();
+        consecutiveFailures = 0;
+        trialInProgress = false;
+        state = CircuitBreakerState.CLOSED;
+    }
+
+    /** Records that the peer could not be reached or did not respond in time, which backs off its timeouts */
+    public synchronized void onFailure() {
+        failures.incrementAndGet();
+        latencyByPath.values().forEach(LatencyEstimator::backOff);
+        consecutiveFailures++;
+        trialInProgress = false;
+        if (state == CircuitBreakerState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = CircuitBreakerState.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Records how long the peer took to respond to a request
+     *
+     * @param path the path of the request, e.g. {@code /push}
+     * @param latencyMillis the time between sending the request and receiving the response
+     */
+    public void recordLatency(final String path, final long latencyMillis) {
+        latency.record(latencyMillis);
+        latencyByPath.computeIfAbsent(path, p -> new LatencyEstimator()).record(latencyMillis);
+    }
+
+    /**
+     * The timeout to use for the next request to the given path, based on the response times seen so far
+     *
+     * @param path the path of the request, e.g. {@code /push}
+     * @return the adaptive timeout, or empty if no responses for the path have been seen yet
+     */
+    public OptionalLong getTimeoutMillis(final String path) {
+        final LatencyEstimator estimator = latencyByPath.get(path);
+        if (estimator == null || !estimator.hasSamples()) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(estimator.getSuggestedTimeoutMillis(minimumTimeoutMillis));
+    }
+
+    @Override
+    public String getPeer() {
+        return peer;
+    }
+
+    public synchronized CircuitBreakerState currentState() {
+        return state;
+    }
+
+    @Override
+    public String getState() {
+        return currentState().name();
+    }
+
+    @Override
+    public int getStateCode() {
+        return currentState().ordinal();
+    }
+
+    @Override
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    @Override
+    public long getSuccessCount() {
+        return successes.get();
+    }
+
+    @Override
+    public long getAverageLatencyMillis() {
+        return latency.getSmoothedLatencyMillis();
+    }
+}
@@ -0,0 +1,22 @@
+package com.quorum.tessera.jaxrs.client;
+
+/** Management view of a single peer's {@link CircuitBreaker} */
+public interface CircuitBreakerMXBean {
+
+    String getPeer();
+
+    String getState();
+
+    /** @return 0 when closed, 1 when open and 2 when half-open */
+    int getStateCode();
+
+    int getConsecutiveFailures();
+
+    long getRejectedCount();
+
+    long getFailureCount();
+
+    long getSuccessCount();
+
+    long getAverageLatencyMillis();
+}
@@ -0,0 +1,15 @@
+package com.quorum.tessera.jaxrs.client;
+
+import javax.ws.rs.ProcessingException;
+
+/**
+ * Thrown instead of contacting a peer whose circuit is open.
+ *
+ * <p>This is a {@link ProcessingException} so that callers treat it in the same way as the peer being unreachable.
+ */
+public class CircuitBreakerOpenException extends ProcessingException {
+
+    public CircuitBreakerOpenException(final String peer) {
+        super("Circuit breaker is open for peer " + peer);
+    }
+}
@@ -0,0 +1,14 @@
+package com.quorum.tessera.jaxrs.client;
+
+/** The states of a {@link CircuitBreaker} */
+public enum CircuitBreakerState {
+
+    /** Calls are allowed through and failures are counted */
+    CLOSED,
+
+    /** Calls fail immediately without contacting the peer */
+    OPEN,
+
+    /** A single trial call is allowed through to decide whether to close or re-open the circuit */
+    HALF_OPEN
+}
@@ -0,0 +1,147 @@
+package com.quorum.tessera.jaxrs.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.ProcessingException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds one {@link CircuitBreaker} per remote peer, shared by every client that talks to that peer, so that a node
+ * found to be down by the partyinfo poller is not then contacted by the resend and push clients as well.
+ *
+ * <p>Each breaker is registered as an MXBean so that its state can be exported alongside the other metrics.
+ */
+public class CircuitBreakers {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreakers.class);
+
+    static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    static final long DEFAULT_OPEN_DURATION_MILLIS = 30_000L;
+
+    /** The lower bound RFC 6298 (section 2.4) puts on the retransmission timeout */
+    static final long DEFAULT_MINIMUM_TIMEOUT_MILLIS = 1_000L;
+
+    public static final String OBJECT_NAME_PREFIX = "com.quorum.tessera:type=CircuitBreaker,peer=";
+
+    private static final CircuitBreakers INSTANCE =
+            new CircuitBreakers(
+                    DEFAULT_FAILURE_THRESHOLD,
+                    DEFAULT_OPEN_DURATION_MILLIS,
+                    DEFAULT_MINIMUM_TIMEOUT_MILLIS,
+                    ManagementFactory.getPlatformMBeanServer());
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+
+    private final long openDurationMillis;
+
+    private final long minimumTimeoutMillis;
+
+    private final MBeanServer mBeanServer;
+
+    /**
+     * @param failureThreshold the number of consecutive failures after which the circuit opens
+     * @param openDurationMillis how long the circuit stays open before a trial call is allowed
+     * @param minimumTimeoutMillis the lower bound on any adaptive timeout
+     * @param mBeanServer the server to register breakers with, or null to not register them
+     */
+    public CircuitBreakers(
+            final int failureThreshold,
+            final long openDurationMillis,
+            final long minimumTimeoutMillis,
+            final MBeanServer mBeanServer) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.minimumTimeoutMillis = minimumTimeoutMillis;
+        this.mBeanServer = mBeanServer;
+    }
+
+    public static CircuitBreakers getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Makes a call to a peer, unless the peer's circuit is open.
+     *
+     * <p>A {@link ProcessingException} from the call is counted as a failure, since it means the peer could not be
+     * reached or did not respond in time. Anything else, including error responses, shows the peer is up.
+     *
+     * @param url any URL on the peer being called
+     * @param call the call to make
+     * @return the result of the call
+     * @throws CircuitBreakerOpenException if the circuit for the peer is open
+     */
+    public <T> T execute(final String url, final Supplier<T> call) {
+        final CircuitBreaker breaker = get(url);
+        if (!breaker.tryAcquire()) {
+            LOGGER.debug("Not contacting {} as its circuit is open", breaker.getPeer());
+            throw new CircuitBreakerOpenException(breaker.getPeer());
+        }
+
+        final T result;
+        try {
+            result = call.get();
+        } catch (final ProcessingException ex) {
+            breaker.onFailure();
+            throw ex;
+        } catch (final RuntimeException ex) {
+            breaker.onSuccess();
+            throw ex;
+        }
+        breaker.onSuccess();
+        return result;
+    }
+
+    /**
+     * @param url any URL on the peer
+     * @return the breaker for the peer, creating it if this is the first time the peer has been seen
+     */
+    public CircuitBreaker get(final String url) {
+        return breakers.computeIfAbsent(peerOf(URI.create(url)), this::create);
+    }
+
+    public Optional<CircuitBreaker> find(final URI uri) {
+        return Optional.ofNullable(breakers.get(peerOf(uri)));
+    }
+
+    public List<CircuitBreaker> getCircuitBreakers() {
+        return new ArrayList<>(breakers.values());
+    }
+
+    private CircuitBreaker create(final String peer) {
+        final CircuitBreaker breaker =
+                new CircuitBreaker(
+                        peer, failureThreshold, openDurationMillis, minimumTimeoutMillis, System::currentTimeMillis);
+        if (mBeanServer != null) {
+            try {
+                mBeanServer.registerMBean(breaker, new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(peer)));
+            } catch (final JMException ex) {
+                LOGGER.warn("Unable to register circuit breaker for {}: {}", peer, ex.getMessage());
+            }
+        }
+        return breaker;
+    }
+
+    static String peerOf(final URI uri) {
+        final String scheme = Optional.ofNullable(uri.getScheme()).orElse("http").toLowerCase();
+        final String host = Optional.ofNullable(uri.getHost()).orElse("").toLowerCase();
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equals(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + host + ":" + port;
+    }
+}
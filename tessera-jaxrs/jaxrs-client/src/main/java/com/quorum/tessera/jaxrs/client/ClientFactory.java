@@ -1,5 +1,6 @@
 package com.quorum.tessera.jaxrs.client;
 
+import com.quorum.tessera.config.AppType;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.context.RestClientFactory;
 import com.quorum.tessera.reflect.ReflectCallback;
@@ -72,6 +73,9 @@ public class ClientFactory implements RestClientFactory {
         clientBuilder.connectTimeout(timeout, TimeUnit.MILLISECONDS);
         clientBuilder.readTimeout(timeout, TimeUnit.MILLISECONDS);
         clientBuilder.register(VersionHeaderDecorator.class);
+        if (config.getApp() == AppType.P2P) {
+            clientBuilder.register(AdaptiveTimeoutFilter.class);
+        }
 
         if (config.isUnixSocket()) {
             Configuration clientConfig = createUnixServerSocketConfig();
@@ -0,0 +1,58 @@
+package com.quorum.tessera.jaxrs.client;
+
+/**
+ * Smoothed round trip time and variance, calculated in the same way as the TCP retransmission timer (RFC 6298).
+ *
+ * <p>The suggested timeout is the smoothed latency plus four times its variance, so that it follows the normal
+ * behaviour of a peer while still allowing for jitter. The first sample sets the smoothed latency to the sample and the
+ * variance to half of it (section 2.2), the timeout is rounded up to a minimum (section 2.4), and it is doubled for
+ * each failed call until the next sample arrives (section 5.5), so a peer that has become slower than the timeout
+ * allows is not given up on for ever.
+ */
+class LatencyEstimator {
+
+    /** The granularity of the samples, and so the smallest margin the timeout allows over the smoothed latency */
+    private static final long GRANULARITY_MILLIS = 1L;
+
+    /** The timeout is doubled at most this many times, i.e. up to 64 times its usual value */
+    static final int MAX_BACKOFFS = 6;
+
+    private double smoothedLatency = -1;
+
+    private double latencyVariance;
+
+    private int backoffs;
+
+    synchronized void record(final long latencyMillis) {
+        backoffs = 0;
+        if (smoothedLatency < 0) {
+            smoothedLatency = latencyMillis;
+            latencyVariance = latencyMillis / 2.0;
+            return;
+        }
+        latencyVariance = 0.75 * latencyVariance + 0.25 * Math.abs(smoothedLatency - latencyMillis);
+        smoothedLatency = 0.875 * smoothedLatency + 0.125 * latencyMillis;
+    }
+
+    /** Doubles the suggested timeout, as a call has failed */
+    synchronized void backOff() {
+        backoffs = Math.min(MAX_BACKOFFS, backoffs + 1);
+    }
+
+    synchronized boolean hasSamples() {
+        return smoothedLatency >= 0;
+    }
+
+    synchronized long getSmoothedLatencyMillis() {
+        return Math.round(Math.max(0, smoothedLatency));
+    }
+
+    /**
+     * @param minimumTimeoutMillis the lower bound on the timeout before it is backed off
+     * @return the timeout to use for the next call
+     */
+    synchronized long getSuggestedTimeoutMillis(final long minimumTimeoutMillis) {
+        final long timeout = Math.round(Math.ceil(smoothedLatency + Math.max(GRANULARITY_MILLIS, 4 * latencyVariance)));
+        return Math.max(minimumTimeoutMillis, timeout) << backoffs;
+    }
+}
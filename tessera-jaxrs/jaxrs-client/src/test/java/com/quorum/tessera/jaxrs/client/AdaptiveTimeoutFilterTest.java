@@ -0,0 +1,131 @@
+package com.quorum.tessera.jaxrs.client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.core.Configuration;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AdaptiveTimeoutFilterTest {
+
+    private static final URI PUSH_URI = URI.create("http://peer:8080/push");
+
+    private CircuitBreakers circuitBreakers;
+
+    private AdaptiveTimeoutFilter filter;
+
+    private ClientRequestContext requestContext;
+
+    private Configuration configuration;
+
+    @Before
+    public void onSetUp() {
+        circuitBreakers = new CircuitBreakers(5, 30000L, 100L, null);
+        filter = new AdaptiveTimeoutFilter(circuitBreakers);
+
+        configuration = mock(Configuration.class);
+        requestContext = mock(ClientRequestContext.class);
+        when(requestContext.getUri()).thenReturn(PUSH_URI);
+        when(requestContext.getConfiguration()).thenReturn(configuration);
+    }
+
+    @Test
+    public void timeoutsAreLeftAloneForUnknownPeer() {
+        filter.filter(requestContext);
+
+        verify(requestContext).setProperty(eq(AdaptiveTimeoutFilter.START_TIME), anyLong());
+        verify(requestContext, never()).setProperty(eq(AdaptiveTimeoutFilter.READ_TIMEOUT), any());
+        verify(requestContext, never()).setProperty(eq(AdaptiveTimeoutFilter.CONNECT_TIMEOUT), any());
+    }
+
+    @Test
+    public void timeoutsAreShortenedOnceLatencyIsKnown() {
+        circuitBreakers.get(PUSH_URI.toString()).recordLatency("/push", 20L);
+        when(configuration.getProperty(AdaptiveTimeoutFilter.READ_TIMEOUT)).thenReturn(15000);
+        when(configuration.getProperty(AdaptiveTimeoutFilter.CONNECT_TIMEOUT)).thenReturn("15000");
+
+        filter.filter(requestContext);
+
+        verify(requestContext).setProperty(AdaptiveTimeoutFilter.READ_TIMEOUT, 100);
+        verify(requestContext).setProperty(AdaptiveTimeoutFilter.CONNECT_TIMEOUT, 100);
+    }
+
+    @Test
+    public void configuredTimeoutIsNeverExceeded() {
+        circuitBreakers.get(PUSH_URI.toString()).recordLatency("/push", 5000L);
+        when(configuration.getProperty(AdaptiveTimeoutFilter.READ_TIMEOUT)).thenReturn(2000);
+
+        filter.filter(requestContext);
+
+        verify(requestContext).setProperty(AdaptiveTimeoutFilter.READ_TIMEOUT, 2000);
+        verify(requestContext, never()).setProperty(eq(AdaptiveTimeoutFilter.CONNECT_TIMEOUT), any());
+    }
+
+    @Test
+    public void timeoutsAreLeftAloneForResendAndRecovery() {
+        for (final String path : new String[] {"/resend", "/resendBatch", "/pushBatch"}) {
+            final URI uri = URI.create("http://peer:8080" + path);
+            circuitBreakers.get(uri.toString()).recordLatency(path, 20L);
+            when(requestContext.getUri()).thenReturn(uri);
+            when(configuration.getProperty(AdaptiveTimeoutFilter.READ_TIMEOUT)).thenReturn(15000);
+
+            filter.filter(requestContext);
+            filter.filter(requestContext, mock(ClientResponseContext.class));
+        }
+
+        verify(requestContext, never()).setProperty(anyString(), any());
+    }
+
+    @Test
+    public void timeoutsAreShortenedForPeerWithContextPath() {
+        final URI uri = URI.create("http://peer:8080/tessera/partyinfo");
+        circuitBreakers.get(uri.toString()).recordLatency("/partyinfo", 20L);
+        when(requestContext.getUri()).thenReturn(uri);
+        when(configuration.getProperty(AdaptiveTimeoutFilter.READ_TIMEOUT)).thenReturn(15000);
+
+        filter.filter(requestContext);
+
+        verify(requestContext).setProperty(AdaptiveTimeoutFilter.READ_TIMEOUT, 100);
+    }
+
+    @Test
+    public void responseRecordsLatencyForPath() {
+        circuitBreakers.get(PUSH_URI.toString());
+        when(requestContext.getProperty(AdaptiveTimeoutFilter.START_TIME)).thenReturn(System.nanoTime());
+
+        filter.filter(requestContext, mock(ClientResponseContext.class));
+
+        assertThat(circuitBreakers.get(PUSH_URI.toString()).getTimeoutMillis("/push")).isPresent();
+        assertThat(circuitBreakers.get(PUSH_URI.toString()).getTimeoutMillis("/resend")).isEmpty();
+    }
+
+    @Test
+    public void responseFromUnknownPeerIsIgnored() {
+        when(requestContext.getProperty(AdaptiveTimeoutFilter.START_TIME)).thenReturn(System.nanoTime());
+
+        filter.filter(requestContext, mock(ClientResponseContext.class));
+
+        assertThat(circuitBreakers.getCircuitBreakers()).isEmpty();
+    }
+
+    @Test
+    public void responseWithoutStartTimeIsIgnored() {
+        filter.filter(requestContext, mock(ClientResponseContext.class));
+
+        assertThat(circuitBreakers.getCircuitBreakers()).isEmpty();
+        verify(requestContext, never()).setProperty(anyString(), any());
+    }
+
+    @Test
+    public void defaultConstructorUsesSharedBreakers() {
+        assertThat(new AdaptiveTimeoutFilter()).isNotNull();
+    }
+}
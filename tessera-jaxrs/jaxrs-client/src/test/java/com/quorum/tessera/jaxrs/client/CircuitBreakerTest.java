@@ -0,0 +1,135 @@
+package com.quorum.tessera.jaxrs.client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+
+    private AtomicLong clock;
+
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void onSetUp() {
+        clock = new AtomicLong(1000L);
+        circuitBreaker = new CircuitBreaker("http://peer:8080", 3, 500L, 100L, clock::get);
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.currentState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.currentState()).isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(circuitBreaker.getStateCode()).isEqualTo(1);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.getRejectedCount()).isEqualTo(1);
+        assertThat(circuitBreaker.getFailureCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void successResetsConsecutiveFailures() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.currentState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(circuitBreaker.getConsecutiveFailures()).isEqualTo(2);
+        assertThat(circuitBreaker.getSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void allowsSingleTrialAfterOpenDuration() {
+        openCircuit();
+
+        clock.addAndGet(499L);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        clock.addAndGet(1L);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo("HALF_OPEN");
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.currentState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void failedTrialReopensCircuit() {
+        openCircuit();
+        clock.addAndGet(500L);
+
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.currentState()).isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+
+        clock.addAndGet(500L);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void noTimeoutUntilLatencyRecordedForPath() {
+        circuitBreaker.recordLatency("/push", 50L);
+
+        assertThat(circuitBreaker.getTimeoutMillis("/resend")).isEmpty();
+        assertThat(circuitBreaker.getTimeoutMillis("/push")).isPresent();
+    }
+
+    @Test
+    public void timeoutFollowsLatencyAndIsNeverBelowMinimum() {
+        circuitBreaker.recordLatency("/push", 10L);
+        assertThat(circuitBreaker.getTimeoutMillis("/push")).hasValue(100L);
+
+        for (int i = 0; i < 50; i++) {
+            circuitBreaker.recordLatency("/resend", 400L);
+        }
+
+        assertThat(circuitBreaker.getTimeoutMillis("/resend").getAsLong()).isBetween(400L, 450L);
+        assertThat(circuitBreaker.getAverageLatencyMillis()).isBetween(300L, 400L);
+    }
+
+    @Test
+    public void failuresBackOffTimeoutUntilNextResponse() {
+        circuitBreaker.recordLatency("/push", 10L);
+
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getTimeoutMillis("/push")).hasValue(200L);
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getTimeoutMillis("/push")).hasValue(400L);
+
+        circuitBreaker.recordLatency("/push", 10L);
+        assertThat(circuitBreaker.getTimeoutMillis("/push")).hasValue(100L);
+    }
+
+    @Test
+    public void backOffIsCapped() {
+        circuitBreaker.recordLatency("/push", 10L);
+
+        for (int i = 0; i < 20; i++) {
+            circuitBreaker.onFailure();
+        }
+
+        assertThat(circuitBreaker.getTimeoutMillis("/push")).hasValue(100L << LatencyEstimator.MAX_BACKOFFS);
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.currentState()).isEqualTo(CircuitBreakerState.OPEN);
+    }
+}
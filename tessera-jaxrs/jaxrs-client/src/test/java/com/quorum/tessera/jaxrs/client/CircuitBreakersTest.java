@@ -0,0 +1,109 @@
+package com.quorum.tessera.jaxrs.client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CircuitBreakersTest {
+
+    private MBeanServer mBeanServer;
+
+    private CircuitBreakers circuitBreakers;
+
+    @Before
+    public void onSetUp() {
+        mBeanServer = MBeanServerFactory.newMBeanServer();
+        circuitBreakers = new CircuitBreakers(2, 60000L, 1000L, mBeanServer);
+    }
+
+    @Test
+    public void sharesBreakerBetweenUrlsOnSamePeer() {
+        final CircuitBreaker push = circuitBreakers.get("http://Peer:8080/push");
+        final CircuitBreaker resend = circuitBreakers.get("http://peer:8080/resend");
+        final CircuitBreaker other = circuitBreakers.get("http://peer:8081/push");
+
+        assertThat(push).isSameAs(resend).isNotSameAs(other);
+        assertThat(push.getPeer()).isEqualTo("http://peer:8080");
+        assertThat(circuitBreakers.getCircuitBreakers()).hasSize(2);
+        assertThat(circuitBreakers.find(URI.create("http://peer:8080/partyinfo"))).containsSame(push);
+        assertThat(circuitBreakers.find(URI.create("http://unknown:8080"))).isEmpty();
+    }
+
+    @Test
+    public void defaultPortsAreNormalised() {
+        assertThat(CircuitBreakers.peerOf(URI.create("http://peer/"))).isEqualTo("http://peer:80");
+        assertThat(CircuitBreakers.peerOf(URI.create("https://peer"))).isEqualTo("https://peer:443");
+    }
+
+    @Test
+    public void failsFastOnceCircuitIsOpen() {
+        for (int i = 0; i < 2; i++) {
+            final Throwable ex =
+                    catchThrowable(
+                            () ->
+                                    circuitBreakers.execute(
+                                            "http://peer:8080",
+                                            () -> {
+                                                throw new ProcessingException("Connection refused");
+                                            }));
+            assertThat(ex).isExactlyInstanceOf(ProcessingException.class);
+        }
+
+        final Throwable ex = catchThrowable(() -> circuitBreakers.execute("http://peer:8080", () -> "never called"));
+
+        assertThat(ex)
+                .isInstanceOf(CircuitBreakerOpenException.class)
+                .isInstanceOf(ProcessingException.class)
+                .hasMessageContaining("http://peer:8080");
+        assertThat(circuitBreakers.get("http://peer:8080").getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void otherExceptionsShowPeerIsUp() {
+        circuitBreakers.get("http://peer:8080").onFailure();
+
+        final Throwable ex =
+                catchThrowable(
+                        () ->
+                                circuitBreakers.execute(
+                                        "http://peer:8080",
+                                        () -> {
+                                            throw new WebApplicationException(500);
+                                        }));
+
+        assertThat(ex).isExactlyInstanceOf(WebApplicationException.class);
+        assertThat(circuitBreakers.get("http://peer:8080").getConsecutiveFailures()).isZero();
+    }
+
+    @Test
+    public void successfulCallReturnsResult() {
+        assertThat(circuitBreakers.execute("http://peer:8080", () -> "result")).isEqualTo("result");
+        assertThat(circuitBreakers.get("http://peer:8080").getSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void breakersAreRegisteredAsMBeans() throws Exception {
+        circuitBreakers.get("http://peer:8080/push").onFailure();
+
+        final ObjectName name =
+                new ObjectName(CircuitBreakers.OBJECT_NAME_PREFIX + ObjectName.quote("http://peer:8080"));
+
+        assertThat(mBeanServer.isRegistered(name)).isTrue();
+        assertThat(mBeanServer.getAttribute(name, "ConsecutiveFailures")).isEqualTo(1);
+        assertThat(mBeanServer.getAttribute(name, "State")).isEqualTo("CLOSED");
+    }
+
+    @Test
+    public void defaultInstanceIsShared() {
+        assertThat(CircuitBreakers.getInstance()).isSameAs(CircuitBreakers.getInstance());
+    }
+}
@@ -75,6 +75,20 @@ public class ClientFactoryTest {
         verify(sslContextFactory).from(serverConfig.getServerUri().toString(), sslConfig);
     }
 
+    @Test
+    public void adaptiveTimeoutsAreOnlyUsedForPeers() {
+        final ServerConfig serverConfig = mock(ServerConfig.class);
+        when(serverConfig.getProperties()).thenReturn(Collections.emptyMap());
+
+        when(serverConfig.getApp()).thenReturn(AppType.P2P);
+        assertThat(factory.buildFrom(serverConfig).getConfiguration().isRegistered(AdaptiveTimeoutFilter.class))
+                .isTrue();
+
+        when(serverConfig.getApp()).thenReturn(AppType.ENCLAVE);
+        assertThat(factory.buildFrom(serverConfig).getConfiguration().isRegistered(AdaptiveTimeoutFilter.class))
+                .isFalse();
+    }
+
     @Test
     public void createUnixSocketClient() {
         ServerConfig serverConfig = new ServerConfig();
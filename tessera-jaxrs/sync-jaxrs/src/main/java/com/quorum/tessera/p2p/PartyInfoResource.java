@@ -1,5 +1,6 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.api.common.CachedRepresentation;
 import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.discovery.NodeUri;
 import com.quorum.tessera.enclave.Enclave;
@@ -32,8 +33,10 @@ import javax.json.JsonArrayBuilder;
 import javax.ws.rs.*;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.net.URI;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -63,6 +66,9 @@ public class PartyInfoResource {
 
     private final PartyStore partyStore;
 
+    private final CachedRepresentation<PartyInfoVersion> partyInfoRepresentation =
+            new CachedRepresentation<>(PartyInfoResource::render);
+
     public PartyInfoResource(
             final Discovery discovery,
             final PartyInfoParser partyInfoParser,
@@ -231,20 +237,31 @@ public class PartyInfoResource {
 
     @Operation(summary = "/partyinfo", description = "fetch network/peer information")
     @ApiResponse(responseCode = "200", description = "server's partyinfo data", content = @Content(schema = @Schema(implementation = GetPartyInfoResponse.class)))
+    @ApiResponse(responseCode = "304", description = "server's partyinfo data has not changed since the given ETag")
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getPartyInfo() {
+    public Response getPartyInfo(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @Parameter(description = "ETag of a previous response")
+                    final String ifNoneMatch) {
 
         final NodeInfo current = this.discovery.getCurrent();
 
+        final PartyInfoVersion version =
+                new PartyInfoVersion(current.getUrl(), partyStore.getParties(), current.getRecipients());
+
+        return partyInfoRepresentation.respond(version, ifNoneMatch);
+    }
+
+    private static String render(PartyInfoVersion version) {
+
         final JsonArrayBuilder peersBuilder = Json.createArrayBuilder();
 
-        partyStore.getParties().stream()
+        version.parties.stream()
                 .map(party -> Json.createObjectBuilder().add("url", party.toString()).build())
                 .forEach(peersBuilder::add);
 
         final JsonArrayBuilder recipientBuilder = Json.createArrayBuilder();
-        current.getRecipients().stream()
+        version.recipients.stream()
                 .map(
                         recipient ->
                                 Json.createObjectBuilder()
@@ -255,15 +272,15 @@ public class PartyInfoResource {
 
         final String output =
                 Json.createObjectBuilder()
-                        .add("url", current.getUrl())
+                        .add("url", version.url)
                         .add("peers", peersBuilder.build())
                         .add("keys", recipientBuilder.build())
                         .build()
                         .toString();
 
-        LOGGER.debug("Sending json {} from {}", output, current);
+        LOGGER.debug("Rendered partyinfo json {}", output);
 
-        return Response.status(Response.Status.OK).entity(output).build();
+        return output;
     }
 
     @Operation(summary = "/partyinfo/validate", operationId = "validateParty", description = "decrypt a UUID payload (used to validate ownership of an asymmetric key pair)")
@@ -295,4 +312,40 @@ public class PartyInfoResource {
         }
         return true;
     }
+
+    /** Everything the partyinfo response is rendered from, so that a change to any of it renders it again */
+    private static class PartyInfoVersion {
+
+        private final String url;
+
+        private final Set<URI> parties;
+
+        private final Set<com.quorum.tessera.partyinfo.node.Recipient> recipients;
+
+        private PartyInfoVersion(
+                String url, Set<URI> parties, Set<com.quorum.tessera.partyinfo.node.Recipient> recipients) {
+            this.url = url;
+            this.parties = parties;
+            this.recipients = recipients;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PartyInfoVersion)) {
+                return false;
+            }
+            final PartyInfoVersion that = (PartyInfoVersion) o;
+            return Objects.equals(url, that.url)
+                    && Objects.equals(parties, that.parties)
+                    && Objects.equals(recipients, that.recipients);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(url, parties, recipients);
+        }
+    }
 }
@@ -20,6 +20,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.core.Response;
+import java.util.List;
 import java.util.Objects;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
@@ -46,7 +47,11 @@ public class RecoveryResource {
         this.payloadEncoder = Objects.requireNonNull(payloadEncoder);
     }
 
-    @Operation(summary = "/pushBatch", operationId = "pushPayloadBatch", description = "store batch of encoded payloads to the server's database (available only when the server is in recovery mode)")
+    @Operation(
+            summary = "/pushBatch",
+            operationId = "pushPayloadBatch",
+            description =
+                    "store batch of encoded payloads to the server's database (available only when the server is in recovery mode)")
     @ApiResponse(responseCode = "200", description = "batch successfully stored")
     @POST
     @Path("pushBatch")
@@ -64,7 +69,9 @@ public class RecoveryResource {
         return Response.status(Response.Status.OK).build();
     }
 
-    // path /push with application/octet-stream is overloaded (RecoveryResource & TransactionResource); swagger annotations cannot handle situations like this so hide this operation and use TransactionResource::push to document both
+    // path /push with application/octet-stream is overloaded (RecoveryResource & TransactionResource); swagger
+    // annotations cannot handle situations like this so hide this operation and use TransactionResource::push to
+    // document both
     @Hidden
     @POST
     @Path("push")
@@ -86,4 +93,27 @@ public class RecoveryResource {
 
         return Response.status(Response.Status.CREATED).entity(Objects.toString(messageHash)).build();
     }
+
+    // path /pushPayloads is overloaded (RecoveryResource & TransactionResource); use TransactionResource::pushPayloads
+    // to document both
+    @Hidden
+    @POST
+    @Path("pushPayloads")
+    @Consumes(APPLICATION_OCTET_STREAM)
+    public Response pushPayloads(final byte[] payloads) {
+
+        LOGGER.debug("Received push payloads request during recovery mode");
+
+        final List<EncodedPayload> encodedPayloads = payloadEncoder.decodeAll(payloads);
+
+        if (encodedPayloads.stream().anyMatch(p -> p.getPrivacyMode() != PrivacyMode.STANDARD_PRIVATE)) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity("Transactions with enhanced privacy are not accepted during recovery mode")
+                    .build();
+        }
+
+        encodedPayloads.forEach(transactionManager::storePayload);
+
+        return Response.status(Response.Status.CREATED).build();
+    }
 }
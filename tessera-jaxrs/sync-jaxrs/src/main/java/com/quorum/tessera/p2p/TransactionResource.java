@@ -2,6 +2,7 @@ package com.quorum.tessera.p2p;
 
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.p2p.recovery.ResendBatchRequest;
+import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.data.MessageHash;
 import com.quorum.tessera.recovery.resend.ResendBatchResponse;
@@ -26,7 +27,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Response;
-import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -82,8 +83,7 @@ public class TransactionResource {
         MessageHash transactionHash =
                 Optional.of(resendRequest)
                         .map(ResendRequest::getKey)
-                        .map(Base64.getDecoder()::decode)
-                        .map(MessageHash::new)
+                        .map(MessageHash::fromBase64)
                         .orElse(null);
 
         com.quorum.tessera.recovery.resend.ResendRequest request =
@@ -145,4 +145,22 @@ public class TransactionResource {
         // TODO: Return the query url not the string of the messageHash
         return Response.status(Response.Status.CREATED).entity(Objects.toString(messageHash)).build();
     }
+
+    // path pushPayloads is overloaded (RecoveryResource & TransactionResource); this operation documents both
+    @Operation(summary = "/pushPayloads", operationId = "pushPayloads", description = "store several encoded payloads, sent as one request, to the server's database")
+    @ApiResponse(responseCode = "201", description = "all encoded payloads stored")
+    @ApiResponse(responseCode = "403", description = "server is in recovery mode and one of the encoded payloads is not a Standard Private transaction")
+    @POST
+    @Path("pushPayloads")
+    @Consumes(APPLICATION_OCTET_STREAM)
+    public Response pushPayloads(@Schema(description = "encoded payloads") final byte[] payloads) {
+
+        final List<EncodedPayload> encodedPayloads = payloadEncoder.decodeAll(payloads);
+
+        LOGGER.debug("Received push request for {} payloads", encodedPayloads.size());
+
+        encodedPayloads.forEach(transactionManager::storePayload);
+
+        return Response.status(Response.Status.CREATED).build();
+    }
 }
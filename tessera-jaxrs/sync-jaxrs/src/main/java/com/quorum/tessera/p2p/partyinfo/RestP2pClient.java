@@ -1,5 +1,6 @@
 package com.quorum.tessera.p2p.partyinfo;
 
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
 import com.quorum.tessera.partyinfo.P2pClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,8 +18,15 @@ public class RestP2pClient implements P2pClient {
 
     private final Client client;
 
+    private final CircuitBreakers circuitBreakers;
+
     public RestP2pClient(final Client client) {
+        this(client, CircuitBreakers.getInstance());
+    }
+
+    public RestP2pClient(final Client client, final CircuitBreakers circuitBreakers) {
         this.client = Objects.requireNonNull(client);
+        this.circuitBreakers = Objects.requireNonNull(circuitBreakers);
     }
 
     @Override
@@ -26,10 +34,13 @@ public class RestP2pClient implements P2pClient {
         LOGGER.debug("Sending PartyInfo to peer {}", targetUrl);
 
         try (Response response =
-                 client.target(targetUrl)
-                     .path("/partyinfo")
-                     .request()
-                     .post(Entity.entity(data, MediaType.APPLICATION_OCTET_STREAM_TYPE))) {
+                 circuitBreakers.execute(
+                     targetUrl,
+                     () ->
+                         client.target(targetUrl)
+                             .path("/partyinfo")
+                             .request()
+                             .post(Entity.entity(data, MediaType.APPLICATION_OCTET_STREAM_TYPE)))) {
 
             final int returnStatusCode = response.getStatus();
             if (Status.OK.getStatusCode() != returnStatusCode
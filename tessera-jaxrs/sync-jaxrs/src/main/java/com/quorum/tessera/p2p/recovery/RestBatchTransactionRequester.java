@@ -8,8 +8,16 @@ import com.quorum.tessera.recovery.resend.BatchTransactionRequester;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public class RestBatchTransactionRequester implements BatchTransactionRequester {
 
@@ -19,12 +27,22 @@ public class RestBatchTransactionRequester implements BatchTransactionRequester
 
     private final RecoveryClient client;
 
+    static final int DEFAULT_MAX_CONCURRENT_KEYS = 4;
+
     private final int batchSize;
 
+    private final int maxConcurrentKeys;
+
     public RestBatchTransactionRequester(final Enclave enclave, final RecoveryClient client, int batchSize) {
+        this(enclave, client, batchSize, DEFAULT_MAX_CONCURRENT_KEYS);
+    }
+
+    public RestBatchTransactionRequester(
+            final Enclave enclave, final RecoveryClient client, int batchSize, int maxConcurrentKeys) {
         this.enclave = Objects.requireNonNull(enclave);
         this.client = Objects.requireNonNull(client);
         this.batchSize = batchSize;
+        this.maxConcurrentKeys = Math.max(1, maxConcurrentKeys);
     }
 
     @Override
@@ -32,9 +50,7 @@ public class RestBatchTransactionRequester implements BatchTransactionRequester
 
         LOGGER.info("Requesting transactions get resent for {}", uri);
 
-        return this.enclave.getPublicKeys().stream()
-                .map(this::createRequestAllEntity)
-                .allMatch(req -> this.makeRequest(uri, req) >= 0);
+        return forEachKey(uri, key -> this.makeRequest(uri, createRequestAllEntity(key)) >= 0);
     }
 
     @Override
@@ -42,9 +58,45 @@ public class RestBatchTransactionRequester implements BatchTransactionRequester
 
         LOGGER.info("Requesting transactions get resent for legacy node {}", uri);
 
-        return this.enclave.getPublicKeys().stream()
-            .map(this::createLegacyRequest)
-            .allMatch(req -> this.makeLegacyRequest(uri, req));
+        return forEachKey(uri, key -> this.makeLegacyRequest(uri, createLegacyRequest(key)));
+    }
+
+    /**
+     * Makes the request for each of our keys, with up to {@link #maxConcurrentKeys} requests to the node in flight at
+     * once. Every key is always requested, even if an earlier one failed, so that as much as possible is recovered.
+     *
+     * @param uri the node being requested from
+     * @param request makes the request for a single key
+     * @return whether the requests for all keys succeeded
+     */
+    private boolean forEachKey(final String uri, final Predicate<PublicKey> request) {
+        final List<PublicKey> keys = new ArrayList<>(this.enclave.getPublicKeys());
+
+        if (keys.size() <= 1 || maxConcurrentKeys == 1) {
+            return keys.stream().map(request::test).reduce(true, Boolean::logicalAnd);
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(maxConcurrentKeys, keys.size()));
+        final AtomicInteger completed = new AtomicInteger();
+        try {
+            final List<CompletableFuture<Boolean>> outcomes =
+                    keys.stream()
+                            .map(
+                                    key ->
+                                            CompletableFuture.supplyAsync(() -> request.test(key), executorService)
+                                                    .whenComplete(
+                                                            (r, ex) ->
+                                                                    LOGGER.debug(
+                                                                            "Requests to {} finished for {} of {} keys",
+                                                                            uri,
+                                                                            completed.incrementAndGet(),
+                                                                            keys.size())))
+                            .collect(Collectors.toList());
+
+            return outcomes.stream().map(CompletableFuture::join).reduce(true, Boolean::logicalAnd);
+        } finally {
+            executorService.shutdownNow();
+        }
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.quorum.tessera.p2p.recovery;
 
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
 import com.quorum.tessera.p2p.resend.ResendRequest;
 
 import javax.ws.rs.client.Client;
@@ -12,15 +13,24 @@ public class RestRecoveryClient implements RecoveryClient {
 
     private final Client client;
 
+    private final CircuitBreakers circuitBreakers;
+
     public RestRecoveryClient(final Client client) {
+        this(client, CircuitBreakers.getInstance());
+    }
+
+    public RestRecoveryClient(final Client client, final CircuitBreakers circuitBreakers) {
         this.client = Objects.requireNonNull(client);
+        this.circuitBreakers = Objects.requireNonNull(circuitBreakers);
     }
 
     @Override
     public boolean makeResendRequest(final String targetUrl, final ResendRequest request) {
         final Entity<ResendRequest> outboundEntity = Entity.entity(request, MediaType.APPLICATION_JSON);
 
-        try (Response response = client.target(targetUrl).path("/resend").request().post(outboundEntity)) {
+        try (Response response =
+                circuitBreakers.execute(
+                        targetUrl, () -> client.target(targetUrl).path("/resend").request().post(outboundEntity))) {
             return Response.Status.OK.getStatusCode() == response.getStatus();
         }
     }
@@ -29,10 +39,13 @@ public class RestRecoveryClient implements RecoveryClient {
     public boolean pushBatch(String targetUrl, PushBatchRequest pushBatchRequest) {
 
         final Response response =
-                client.target(targetUrl)
-                        .path("/pushBatch")
-                        .request()
-                        .post(Entity.entity(pushBatchRequest, MediaType.APPLICATION_JSON));
+                circuitBreakers.execute(
+                        targetUrl,
+                        () ->
+                                client.target(targetUrl)
+                                        .path("/pushBatch")
+                                        .request()
+                                        .post(Entity.entity(pushBatchRequest, MediaType.APPLICATION_JSON)));
 
         return Response.Status.OK.getStatusCode() == response.getStatus();
     }
@@ -40,10 +53,13 @@ public class RestRecoveryClient implements RecoveryClient {
     @Override
     public ResendBatchResponse makeBatchResendRequest(String targetUrl, ResendBatchRequest request) {
         final Response response =
-                client.target(targetUrl)
-                        .path("/resendBatch")
-                        .request()
-                        .post(Entity.entity(request, MediaType.APPLICATION_JSON));
+                circuitBreakers.execute(
+                        targetUrl,
+                        () ->
+                                client.target(targetUrl)
+                                        .path("/resendBatch")
+                                        .request()
+                                        .post(Entity.entity(request, MediaType.APPLICATION_JSON)));
 
         if (Response.Status.OK.getStatusCode() == response.getStatus()) {
             return response.readEntity(ResendBatchResponse.class);
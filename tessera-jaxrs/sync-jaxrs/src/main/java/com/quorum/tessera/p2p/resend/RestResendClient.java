@@ -1,5 +1,7 @@
 package com.quorum.tessera.p2p.resend;
 
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
+
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.MediaType;
@@ -10,15 +12,24 @@ public class RestResendClient implements ResendClient {
 
     private final Client client;
 
+    private final CircuitBreakers circuitBreakers;
+
     public RestResendClient(final Client client) {
+        this(client, CircuitBreakers.getInstance());
+    }
+
+    public RestResendClient(final Client client, final CircuitBreakers circuitBreakers) {
         this.client = Objects.requireNonNull(client);
+        this.circuitBreakers = Objects.requireNonNull(circuitBreakers);
     }
 
     @Override
     public boolean makeResendRequest(final String targetUrl, final ResendRequest request) {
         final Entity<ResendRequest> outboundEntity = Entity.entity(request, MediaType.APPLICATION_JSON);
 
-        try (Response response = client.target(targetUrl).path("/resend").request().post(outboundEntity)) {
+        try (Response response =
+                circuitBreakers.execute(
+                        targetUrl, () -> client.target(targetUrl).path("/resend").request().post(outboundEntity))) {
             return Response.Status.OK.getStatusCode() == response.getStatus();
         }
     }
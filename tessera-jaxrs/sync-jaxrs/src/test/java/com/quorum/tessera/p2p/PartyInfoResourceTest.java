@@ -98,7 +98,7 @@ public class PartyInfoResourceTest {
         when(partyStore.getParties())
                 .thenReturn(Set.of(URI.create("http://localhost:9006/"), URI.create("http://localhost:9005/")));
 
-        final Response response = partyInfoResource.getPartyInfo();
+        final Response response = partyInfoResource.getPartyInfo(null);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(200);
@@ -599,4 +599,67 @@ public class PartyInfoResourceTest {
         verify(payloadEncoder, times(2)).encode(encodedPayload);
         verify(restClient, times(2)).target(url);
     }
+
+    @Test
+    public void getPartyInfoIsNotModifiedUntilPartyStoreChanges() {
+        final NodeInfo current =
+                NodeInfo.Builder.create()
+                        .withUrl("http://localhost:9001/")
+                        .withRecipients(
+                                List.of(
+                                        com.quorum.tessera.partyinfo.node.Recipient.of(
+                                                PublicKey.from("key".getBytes()), "http://localhost:9001/")))
+                        .build();
+        when(discovery.getCurrent()).thenReturn(current);
+        when(partyStore.getParties()).thenReturn(Set.of(URI.create("http://localhost:9005/")));
+
+        final Response first = partyInfoResource.getPartyInfo(null);
+        final String etag = first.getEntityTag().toString();
+
+        final Response unchanged = partyInfoResource.getPartyInfo(etag);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(unchanged.getEntity()).isNull();
+
+        when(partyStore.getParties())
+                .thenReturn(Set.of(URI.create("http://localhost:9005/"), URI.create("http://localhost:9006/")));
+
+        final Response changed = partyInfoResource.getPartyInfo(etag);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getEntityTag().toString()).isNotEqualTo(etag);
+        assertThat(changed.getEntity().toString()).contains("http://localhost:9006/");
+
+        verify(discovery, times(3)).getCurrent();
+    }
+
+    @Test
+    public void getPartyInfoIsRenderedAgainWhenRecipientsChange() {
+        final PublicKey key = PublicKey.from("key".getBytes());
+        when(partyStore.getParties()).thenReturn(Set.of());
+        when(discovery.getCurrent())
+                .thenReturn(
+                        NodeInfo.Builder.create()
+                                .withUrl("http://localhost:9001/")
+                                .withRecipients(
+                                        List.of(
+                                                com.quorum.tessera.partyinfo.node.Recipient.of(
+                                                        key, "http://localhost:9001/")))
+                                .build(),
+                        NodeInfo.Builder.create()
+                                .withUrl("http://localhost:9001/")
+                                .withRecipients(
+                                        List.of(
+                                                com.quorum.tessera.partyinfo.node.Recipient.of(
+                                                        key, "http://localhost:9001/"),
+                                                com.quorum.tessera.partyinfo.node.Recipient.of(
+                                                        PublicKey.from("other".getBytes()), "http://localhost:9002/")))
+                                .build());
+
+        final Response first = partyInfoResource.getPartyInfo(null);
+        final Response second = partyInfoResource.getPartyInfo(first.getEntityTag().toString());
+
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getEntity().toString()).contains("http://localhost:9002/");
+
+        verify(discovery, times(2)).getCurrent();
+    }
 }
@@ -14,6 +14,7 @@ import org.mockito.ArgumentCaptor;
 import javax.ws.rs.core.Response;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -34,7 +35,6 @@ public class RecoveryResourceTest {
         transactionManager = mock(TransactionManager.class);
         payloadEncoder = mock(PayloadEncoder.class);
         recoveryResource = new RecoveryResource(transactionManager, resendManager, payloadEncoder);
-
     }
 
     @After
@@ -84,4 +84,33 @@ public class RecoveryResourceTest {
         assertThat(result.getStatus()).isEqualTo(403);
         verify(payloadEncoder).decode(someData);
     }
+
+    @Test
+    public void pushPayloadsAllowedForStandardPrivate() {
+        final byte[] someData = "SomeData".getBytes();
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+        when(payloadEncoder.decodeAll(someData)).thenReturn(List.of(payload, payload));
+
+        final Response result = recoveryResource.pushPayloads(someData);
+
+        assertThat(result.getStatus()).isEqualTo(201);
+        verify(transactionManager, times(2)).storePayload(payload);
+        verify(payloadEncoder).decodeAll(someData);
+    }
+
+    @Test
+    public void pushPayloadsNotAllowedIfAnyHasEnhancedPrivacy() {
+        final byte[] someData = "SomeData".getBytes();
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+        final EncodedPayload enhancedPayload = mock(EncodedPayload.class);
+        when(enhancedPayload.getPrivacyMode()).thenReturn(PrivacyMode.PARTY_PROTECTION);
+        when(payloadEncoder.decodeAll(someData)).thenReturn(List.of(payload, enhancedPayload));
+
+        final Response result = recoveryResource.pushPayloads(someData);
+
+        assertThat(result.getStatus()).isEqualTo(403);
+        verify(payloadEncoder).decodeAll(someData);
+    }
 }
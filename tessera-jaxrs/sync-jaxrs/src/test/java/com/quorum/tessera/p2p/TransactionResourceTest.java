@@ -17,6 +17,7 @@ import org.mockito.ArgumentCaptor;
 import javax.ws.rs.core.Response;
 
 import java.util.Base64;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -40,8 +41,8 @@ public class TransactionResourceTest {
         payloadEncoder = mock(PayloadEncoder.class);
         legacyResendManager = mock(LegacyResendManager.class);
 
-        transactionResource
-            = new TransactionResource(transactionManager, batchResendManager, payloadEncoder, legacyResendManager);
+        transactionResource =
+                new TransactionResource(transactionManager, batchResendManager, payloadEncoder, legacyResendManager);
     }
 
     @After
@@ -63,6 +64,21 @@ public class TransactionResourceTest {
         verify(payloadEncoder).decode(someData);
     }
 
+    @Test
+    public void pushPayloads() {
+        final byte[] someData = "SomeData".getBytes();
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        final EncodedPayload otherPayload = mock(EncodedPayload.class);
+        when(payloadEncoder.decodeAll(someData)).thenReturn(List.of(payload, otherPayload));
+
+        final Response result = transactionResource.pushPayloads(someData);
+
+        assertThat(result.getStatus()).isEqualTo(201);
+        verify(transactionManager).storePayload(payload);
+        verify(transactionManager).storePayload(otherPayload);
+        verify(payloadEncoder).decodeAll(someData);
+    }
+
     @Test
     public void resend() {
         ResendRequest resendRequest = new ResendRequest();
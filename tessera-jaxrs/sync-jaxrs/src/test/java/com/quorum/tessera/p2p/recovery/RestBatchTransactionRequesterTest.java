@@ -14,6 +14,8 @@ import org.mockito.Mockito;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -154,4 +156,42 @@ public class RestBatchTransactionRequesterTest {
         verify(recoveryClient).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
         verify(enclave).getPublicKeys();
     }
+
+    @Test
+    public void keysAreRequestedConcurrently() {
+        when(enclave.getPublicKeys()).thenReturn(Set.of(KEY_ONE, KEY_TWO));
+
+        final CountDownLatch bothKeysInFlight = new CountDownLatch(2);
+        doAnswer(
+                        invocation -> {
+                            bothKeysInFlight.countDown();
+                            return bothKeysInFlight.await(5, TimeUnit.SECONDS) ? new ResendBatchResponse(1) : null;
+                        })
+                .when(recoveryClient)
+                .makeBatchResendRequest(anyString(), any(ResendBatchRequest.class));
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+        verify(recoveryClient, times(2)).makeBatchResendRequest(eq("fakeurl.com"), any(ResendBatchRequest.class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void failedKeyDoesNotStopOtherKeys() {
+        when(enclave.getPublicKeys()).thenReturn(Set.of(KEY_ONE, KEY_TWO));
+
+        final String encodedKeyOne = Base64.getEncoder().encodeToString(KEY_ONE.getKeyBytes());
+        doReturn(null)
+                .when(recoveryClient)
+                .makeBatchResendRequest(anyString(), argThat(r -> r.getPublicKey().equals(encodedKeyOne)));
+
+        final boolean success =
+                new RestBatchTransactionRequester(enclave, recoveryClient, 100, 1)
+                        .requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isFalse();
+        verify(recoveryClient, times(6)).makeBatchResendRequest(eq("fakeurl.com"), any(ResendBatchRequest.class));
+        verify(enclave).getPublicKeys();
+    }
 }
@@ -1,9 +1,11 @@
 package com.quorum.tessera.thirdparty;
 
+import com.quorum.tessera.api.common.CachedRepresentation;
 import com.quorum.tessera.context.RuntimeContext;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.thirdparty.model.GetPublicKeysResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,8 +15,10 @@ import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Set;
@@ -25,26 +29,31 @@ import java.util.Set;
 @Produces(MediaType.APPLICATION_JSON)
 public class KeyResource {
 
+    private final CachedRepresentation<Set<PublicKey>> publicKeys = new CachedRepresentation<>(KeyResource::render);
+
     @GET
     @Operation(summary = "/keys", description = "get all public keys managed by the server's enclave")
     @ApiResponse(
             responseCode = "200",
             description = "server's public keys",
             content = @Content(schema = @Schema(implementation = GetPublicKeysResponse.class)))
-    public Response getPublicKeys() {
+    @ApiResponse(responseCode = "304", description = "server's public keys have not changed since the given ETag")
+    public Response getPublicKeys(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @Parameter(description = "ETag of a previous response")
+                    final String ifNoneMatch) {
 
         RuntimeContext runtimeContext = RuntimeContext.getInstance();
 
-        Set<PublicKey> publicKeys = runtimeContext.getPublicKeys();
+        return publicKeys.respond(runtimeContext.getPublicKeys(), ifNoneMatch);
+    }
 
+    private static String render(Set<PublicKey> publicKeys) {
         final JsonArrayBuilder keyBuilder = Json.createArrayBuilder();
 
         publicKeys.stream()
                 .map(key -> Json.createObjectBuilder().add("key", key.encodeToBase64()).build())
                 .forEach(keyBuilder::add);
 
-        final String output = Json.createObjectBuilder().add("keys", keyBuilder.build()).build().toString();
-
-        return Response.status(Response.Status.OK).entity(output).build();
+        return Json.createObjectBuilder().add("keys", keyBuilder.build()).build().toString();
     }
 }
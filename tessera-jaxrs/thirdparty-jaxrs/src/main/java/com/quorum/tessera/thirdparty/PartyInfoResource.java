@@ -1,9 +1,12 @@
 package com.quorum.tessera.thirdparty;
 
+import com.quorum.tessera.api.common.CachedRepresentation;
 import com.quorum.tessera.discovery.Discovery;
-import com.quorum.tessera.partyinfo.node.NodeInfo;
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
+import com.quorum.tessera.partyinfo.node.Recipient;
 import com.quorum.tessera.thirdparty.model.GetPublicKeysResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +15,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.Set;
 
 import static java.util.Objects.requireNonNull;
 
@@ -25,25 +31,72 @@ public class PartyInfoResource {
 
     private final Discovery discovery;
 
+    private final CircuitBreakers circuitBreakers;
+
+    private final CachedRepresentation<Set<Recipient>> partyInfoKeys =
+            new CachedRepresentation<>(PartyInfoResource::renderKeys);
+
     public PartyInfoResource(final Discovery discovery) {
+        this(discovery, CircuitBreakers.getInstance());
+    }
+
+    public PartyInfoResource(final Discovery discovery, final CircuitBreakers circuitBreakers) {
         this.discovery = requireNonNull(discovery, "discovery must not be null");
+        this.circuitBreakers = requireNonNull(circuitBreakers, "circuitBreakers must not be null");
     }
 
-    @Operation(summary = "/partyinfo/keys", operationId = "getPartiesPublicKeys", description = "get public keys of all known nodes in the network, including the server's own keys")
-    @ApiResponse(responseCode = "200", description = "known nodes' public keys", content = @Content(schema = @Schema(implementation = GetPublicKeysResponse.class)))
+    @Operation(
+            summary = "/partyinfo/keys",
+            operationId = "getPartiesPublicKeys",
+            description = "get public keys of all known nodes in the network, including the server's own keys")
+    @ApiResponse(
+            responseCode = "200",
+            description = "known nodes' public keys",
+            content = @Content(schema = @Schema(implementation = GetPublicKeysResponse.class)))
+    @ApiResponse(responseCode = "304", description = "known nodes' public keys have not changed since the given ETag")
     @GET
     @Path("/keys")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getPartyInfoKeys() {
-
-        final NodeInfo current = this.discovery.getCurrent();
+    public Response getPartyInfoKeys(
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @Parameter(description = "ETag of a previous response")
+                    final String ifNoneMatch) {
+        return partyInfoKeys.respond(this.discovery.getCurrent().getRecipients(), ifNoneMatch);
+    }
 
+    private static String renderKeys(Set<Recipient> recipients) {
         final JsonArrayBuilder recipientBuilder = Json.createArrayBuilder();
-        current.getRecipients().stream()
+        recipients.stream()
                 .map(recipient -> Json.createObjectBuilder().add("key", recipient.getKey().encodeToBase64()).build())
                 .forEach(recipientBuilder::add);
 
-        final String output = Json.createObjectBuilder().add("keys", recipientBuilder.build()).build().toString();
+        return Json.createObjectBuilder().add("keys", recipientBuilder.build()).build().toString();
+    }
+
+    @Operation(
+            summary = "/partyinfo/circuitbreakers",
+            operationId = "getPeerCircuitBreakers",
+            description =
+                    "get the health of each peer this node has contacted, as seen by its outbound circuit breakers")
+    @ApiResponse(responseCode = "200", description = "circuit breaker state of each contacted peer")
+    @GET
+    @Path("/circuitbreakers")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getCircuitBreakers() {
+
+        final JsonArrayBuilder peerBuilder = Json.createArrayBuilder();
+        circuitBreakers.getCircuitBreakers().stream()
+                .map(
+                        breaker ->
+                                Json.createObjectBuilder()
+                                        .add("url", breaker.getPeer())
+                                        .add("state", breaker.getState())
+                                        .add("consecutiveFailures", breaker.getConsecutiveFailures())
+                                        .add("rejected", breaker.getRejectedCount())
+                                        .add("averageLatencyMillis", breaker.getAverageLatencyMillis())
+                                        .build())
+                .forEach(peerBuilder::add);
+
+        final String output = Json.createObjectBuilder().add("peers", peerBuilder.build()).build().toString();
 
         return Response.status(Response.Status.OK).entity(output).build();
     }
@@ -29,8 +29,9 @@ public class KeyResourceTest {
     public void onSetUp() {
         Config config = mock(Config.class);
         runtimeContext = RuntimeContextFactory.newFactory().create(config);
+        // the factory hands out the same mock to every test
+        reset(runtimeContext);
         keyResource = new KeyResource();
-
     }
 
     @After
@@ -52,7 +53,7 @@ public class KeyResourceTest {
 
         when(runtimeContext.getPublicKeys()).thenReturn(publicKeys);
 
-        Response response = keyResource.getPublicKeys();
+        Response response = keyResource.getPublicKeys(null);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(200);
@@ -65,4 +66,29 @@ public class KeyResourceTest {
 
         verify(runtimeContext).getPublicKeys();
     }
+
+    @Test
+    public void getPublicKeysIsNotModifiedUntilKeysChange() {
+        final PublicKey key = PublicKey.from("key".getBytes());
+        final PublicKey newKey = PublicKey.from("newKey".getBytes());
+
+        when(runtimeContext.getPublicKeys()).thenReturn(Set.of(key));
+
+        final Response first = keyResource.getPublicKeys(null);
+        assertThat(first.getStatus()).isEqualTo(200);
+        final String etag = first.getEntityTag().toString();
+
+        final Response unchanged = keyResource.getPublicKeys(etag);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(unchanged.getEntity()).isNull();
+
+        when(runtimeContext.getPublicKeys()).thenReturn(Set.of(key, newKey));
+
+        final Response changed = keyResource.getPublicKeys(etag);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getEntityTag().toString()).isNotEqualTo(etag);
+        assertThat(changed.getEntity().toString()).contains(newKey.encodeToBase64());
+
+        verify(runtimeContext, times(3)).getPublicKeys();
+    }
 }
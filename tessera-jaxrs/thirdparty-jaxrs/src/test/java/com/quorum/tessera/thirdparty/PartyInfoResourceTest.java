@@ -2,6 +2,7 @@ package com.quorum.tessera.thirdparty;
 
 import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.partyinfo.node.Recipient;
 import org.junit.After;
@@ -23,13 +24,16 @@ public class PartyInfoResourceTest {
 
     private Discovery discovery;
 
+    private CircuitBreakers circuitBreakers;
+
     private PartyInfoResource partyInfoResource;
 
     @Before
     public void onSetup() {
         this.discovery = mock(Discovery.class);
+        this.circuitBreakers = new CircuitBreakers(2, 60000L, 1000L, null);
 
-        this.partyInfoResource = new PartyInfoResource(discovery);
+        this.partyInfoResource = new PartyInfoResource(discovery, circuitBreakers);
     }
 
     @After
@@ -41,28 +45,30 @@ public class PartyInfoResourceTest {
     public void getPartyInfoKeys() {
 
         final String partyInfoJson =
-            "{\"keys\":[{\"key\":\"BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=\"},{\"key\":\"QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=\"}]}";
-
-        final NodeInfo nodeInfo = NodeInfo.Builder.create()
-            .withUrl("http://localhost:9001/")
-            .withRecipients(List.of(
-                Recipient.of(
-                    PublicKey.from(
-                        Base64.getDecoder()
-                            .decode(
-                                "QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=")),
-                    "http://localhost:9002/"),
-                Recipient.of(
-                    PublicKey.from(
-                        Base64.getDecoder()
-                            .decode(
-                                "BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=")),
-                    "http://localhost:9001/")))
-            .build();
+                "{\"keys\":[{\"key\":\"BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=\"},{\"key\":\"QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=\"}]}";
+
+        final NodeInfo nodeInfo =
+                NodeInfo.Builder.create()
+                        .withUrl("http://localhost:9001/")
+                        .withRecipients(
+                                List.of(
+                                        Recipient.of(
+                                                PublicKey.from(
+                                                        Base64.getDecoder()
+                                                                .decode(
+                                                                        "QfeDAys9MPDs2XHExtc84jKGHxZg/aj52DTh0vtA3Xc=")),
+                                                "http://localhost:9002/"),
+                                        Recipient.of(
+                                                PublicKey.from(
+                                                        Base64.getDecoder()
+                                                                .decode(
+                                                                        "BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=")),
+                                                "http://localhost:9001/")))
+                        .build();
 
         when(discovery.getCurrent()).thenReturn(nodeInfo);
 
-        final Response response = partyInfoResource.getPartyInfoKeys();
+        final Response response = partyInfoResource.getPartyInfoKeys(null);
 
         assertThat(response).isNotNull();
         assertThat(response.getStatus()).isEqualTo(200);
@@ -76,8 +82,65 @@ public class PartyInfoResourceTest {
 
         assertThat(actualJsonObject).containsOnlyKeys("keys");
         assertThat(actualJsonObject.getJsonArray("keys"))
-            .containsExactlyInAnyOrderElementsOf(expectedJsonObject.getJsonArray("keys"));
+                .containsExactlyInAnyOrderElementsOf(expectedJsonObject.getJsonArray("keys"));
 
         verify(discovery).getCurrent();
     }
+
+    @Test
+    public void getCircuitBreakers() {
+        circuitBreakers.get("http://localhost:9002/push").onFailure();
+        circuitBreakers.get("http://localhost:9002/resend").onFailure();
+        circuitBreakers.get("http://localhost:9003/").onSuccess();
+
+        final Response response = partyInfoResource.getCircuitBreakers();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final JsonObject output = Json.createReader(new StringReader(response.getEntity().toString())).readObject();
+
+        assertThat(output.getJsonArray("peers")).hasSize(2);
+        assertThat(output.getJsonArray("peers").getValuesAs(JsonObject.class))
+                .anySatisfy(
+                        peer -> {
+                            assertThat(peer.getString("url")).isEqualTo("http://localhost:9002");
+                            assertThat(peer.getString("state")).isEqualTo("OPEN");
+                            assertThat(peer.getInt("consecutiveFailures")).isEqualTo(2);
+                        })
+                .anySatisfy(
+                        peer -> {
+                            assertThat(peer.getString("url")).isEqualTo("http://localhost:9003");
+                            assertThat(peer.getString("state")).isEqualTo("CLOSED");
+                        });
+    }
+
+    @Test
+    public void getPartyInfoKeysIsNotModifiedUntilRecipientsChange() {
+        final Recipient recipient = Recipient.of(PublicKey.from("key".getBytes()), "http://localhost:9001/");
+        final Recipient other = Recipient.of(PublicKey.from("other".getBytes()), "http://localhost:9002/");
+
+        final NodeInfo before =
+                NodeInfo.Builder.create().withUrl("http://localhost:9001/").withRecipients(List.of(recipient)).build();
+        final NodeInfo after =
+                NodeInfo.Builder.create()
+                        .withUrl("http://localhost:9001/")
+                        .withRecipients(List.of(recipient, other))
+                        .build();
+        when(discovery.getCurrent()).thenReturn(before, before, after);
+
+        final Response first = partyInfoResource.getPartyInfoKeys(null);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getEntityTag()).isNotNull();
+        final String etag = first.getEntityTag().toString();
+
+        final Response unchanged = partyInfoResource.getPartyInfoKeys(etag);
+        assertThat(unchanged.getStatus()).isEqualTo(304);
+        assertThat(unchanged.getEntity()).isNull();
+
+        final Response changed = partyInfoResource.getPartyInfoKeys(etag);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getEntityTag().toString()).isNotEqualTo(etag);
+
+        verify(discovery, times(3)).getCurrent();
+    }
 }
@@ -13,7 +13,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
 
 public class AsyncBatchPayloadPublisher implements BatchPayloadPublisher {
 
@@ -76,4 +78,46 @@ public class AsyncBatchPayloadPublisher implements BatchPayloadPublisher {
             throw new BatchPublishPayloadException(e);
         }
     }
+
+    /**
+     * Asynchronously strips and publishes the payloads, with one push to each recipient carrying all the payloads
+     * intended for it.
+     *
+     * <p>This method blocks until all pushes return successfully; if a push fails with an exception, the method exits
+     * immediately and does not wait for the remaining responses.
+     *
+     * @param payloadsByRecipient the payloads to be stripped and pushed, keyed by the public key identifying the node
+     *     each must be pushed to
+     */
+    @Override
+    public void publishPayloads(Map<PublicKey, List<EncodedPayload>> payloadsByRecipient) {
+        if (payloadsByRecipient.isEmpty()) {
+            return;
+        }
+
+        final CancellableCountDownLatch latch = countDownLatchFactory.create(payloadsByRecipient.size());
+
+        payloadsByRecipient.forEach(
+                (recipient, payloads) ->
+                        executor.execute(
+                                () -> {
+                                    try {
+                                        final List<EncodedPayload> outgoing =
+                                                payloads.stream()
+                                                        .map(payload -> encoder.forRecipient(payload, recipient))
+                                                        .collect(Collectors.toList());
+                                        publisher.publishPayloads(outgoing, recipient);
+                                        latch.countDown();
+                                    } catch (RuntimeException e) {
+                                        LOGGER.info("unable to publish payloads in batch: {}", e.getMessage());
+                                        latch.cancelWithException(e);
+                                    }
+                                }));
+
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new BatchPublishPayloadException(e);
+        }
+    }
 }
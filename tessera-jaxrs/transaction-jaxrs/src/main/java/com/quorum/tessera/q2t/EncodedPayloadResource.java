@@ -82,8 +82,7 @@ public class EncodedPayloadResource {
         final Set<MessageHash> affectedTransactions =
                 Stream.ofNullable(sendRequest.getAffectedContractTransactions())
                         .flatMap(Arrays::stream)
-                        .map(Base64.getDecoder()::decode)
-                        .map(MessageHash::new)
+                        .map(MessageHash::fromBase64)
                         .collect(Collectors.toSet());
 
         final byte[] execHash =
@@ -4,12 +4,14 @@ import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.transaction.exception.EnhancedPrivacyNotSupportedException;
 import com.quorum.tessera.partyinfo.node.NodeInfo;
 import com.quorum.tessera.transaction.publish.NodeOfflineException;
 import com.quorum.tessera.transaction.publish.PayloadPublisher;
 import com.quorum.tessera.transaction.publish.PublishPayloadException;
+import com.quorum.tessera.version.BatchPushVersion;
 import com.quorum.tessera.version.EnhancedPrivacyVersion;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +22,7 @@ import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.net.URI;
+import java.util.List;
 
 public class RestPayloadPublisher implements PayloadPublisher {
 
@@ -31,14 +34,22 @@ public class RestPayloadPublisher implements PayloadPublisher {
 
     private final Discovery discovery;
 
+    private final CircuitBreakers circuitBreakers;
+
     public RestPayloadPublisher(Client restclient, Discovery discovery) {
         this(restclient, PayloadEncoder.create(), discovery);
     }
 
     public RestPayloadPublisher(Client restclient, PayloadEncoder payloadEncoder, Discovery discovery) {
+        this(restclient, payloadEncoder, discovery, CircuitBreakers.getInstance());
+    }
+
+    public RestPayloadPublisher(
+            Client restclient, PayloadEncoder payloadEncoder, Discovery discovery, CircuitBreakers circuitBreakers) {
         this.restclient = restclient;
         this.payloadEncoder = payloadEncoder;
         this.discovery = discovery;
+        this.circuitBreakers = circuitBreakers;
     }
 
     @Override
@@ -46,25 +57,53 @@ public class RestPayloadPublisher implements PayloadPublisher {
 
         final NodeInfo remoteNodeInfo = discovery.getRemoteNodeInfo(recipientKey);
 
+        checkEnhancedPrivacySupported(payload, remoteNodeInfo, recipientKey);
+
+        push(remoteNodeInfo.getUrl(), "/push", payloadEncoder.encode(payload));
+    }
+
+    /**
+     * Sends all the payloads in one request if the recipient supports {@link BatchPushVersion#API_VERSION_2_1},
+     * otherwise pushes them one at a time
+     */
+    @Override
+    public void publishPayloads(List<EncodedPayload> payloads, PublicKey recipientKey) {
+
+        final NodeInfo remoteNodeInfo = discovery.getRemoteNodeInfo(recipientKey);
+
+        if (payloads.size() == 1 || !remoteNodeInfo.supportedApiVersions().contains(BatchPushVersion.API_VERSION_2_1)) {
+            payloads.forEach(payload -> publishPayload(payload, recipientKey));
+            return;
+        }
+
+        payloads.forEach(payload -> checkEnhancedPrivacySupported(payload, remoteNodeInfo, recipientKey));
+
+        push(remoteNodeInfo.getUrl(), "/pushPayloads", payloadEncoder.encodeAll(payloads));
+    }
+
+    private static void checkEnhancedPrivacySupported(
+            EncodedPayload payload, NodeInfo remoteNodeInfo, PublicKey recipientKey) {
         if (PrivacyMode.STANDARD_PRIVATE != payload.getPrivacyMode()
                 && !remoteNodeInfo.supportedApiVersions().contains(EnhancedPrivacyVersion.API_VERSION_2)) {
             throw new EnhancedPrivacyNotSupportedException(
                     "Transactions with enhanced privacy is not currently supported on recipient "
                             + recipientKey.encodeToBase64());
         }
+    }
 
-        final String targetUrl = remoteNodeInfo.getUrl();
+    private void push(String targetUrl, String path, byte[] encoded) {
 
         LOGGER.info("Publishing message to {}", targetUrl);
 
-        final byte[] encoded = payloadEncoder.encode(payload);
-
         try (Response response =
-                restclient
-                        .target(targetUrl)
-                        .path("/push")
-                        .request()
-                        .post(Entity.entity(encoded, MediaType.APPLICATION_OCTET_STREAM_TYPE))) {
+                circuitBreakers.execute(
+                        targetUrl,
+                        () ->
+                                restclient
+                                        .target(targetUrl)
+                                        .path(path)
+                                        .request()
+                                        .post(Entity.entity(encoded, MediaType.APPLICATION_OCTET_STREAM_TYPE)))) {
 
             if (Response.Status.OK.getStatusCode() != response.getStatus()
                     && Response.Status.CREATED.getStatusCode() != response.getStatus()) {
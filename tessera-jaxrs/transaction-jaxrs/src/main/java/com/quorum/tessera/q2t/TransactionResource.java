@@ -83,8 +83,7 @@ public class TransactionResource {
         final Set<MessageHash> affectedTransactions =
                 Stream.ofNullable(sendRequest.getAffectedContractTransactions())
                         .flatMap(Arrays::stream)
-                        .map(Base64.getDecoder()::decode)
-                        .map(MessageHash::new)
+                        .map(MessageHash::fromBase64)
                         .collect(Collectors.toSet());
 
         final byte[] execHash =
@@ -156,8 +155,7 @@ public class TransactionResource {
 
         final com.quorum.tessera.transaction.SendResponse response = transactionManager.sendSignedTransaction(request);
 
-        final String encodedTransactionHash =
-                Base64.getEncoder().encodeToString(response.getTransactionHash().getHashBytes());
+        final String encodedTransactionHash = response.getTransactionHash().encodeToBase64();
 
         LOGGER.debug("Encoded key: {}", encodedTransactionHash);
 
@@ -180,34 +178,7 @@ public class TransactionResource {
             @NotNull @Valid @PrivacyValid
                     final SendSignedRequest sendSignedRequest) {
 
-        final List<PublicKey> recipients =
-                Optional.ofNullable(sendSignedRequest.getTo())
-                        .map(Arrays::stream)
-                        .orElse(Stream.empty())
-                        .map(Base64.getDecoder()::decode)
-                        .map(PublicKey::from)
-                        .collect(Collectors.toList());
-
-        final PrivacyMode privacyMode = PrivacyMode.fromFlag(sendSignedRequest.getPrivacyFlag());
-
-        final Set<MessageHash> affectedTransactions =
-                Stream.ofNullable(sendSignedRequest.getAffectedContractTransactions())
-                        .flatMap(Arrays::stream)
-                        .map(Base64.getDecoder()::decode)
-                        .map(MessageHash::new)
-                        .collect(Collectors.toSet());
-
-        final byte[] execHash =
-                Optional.ofNullable(sendSignedRequest.getExecHash()).map(String::getBytes).orElse(new byte[0]);
-
-        final com.quorum.tessera.transaction.SendSignedRequest request =
-                com.quorum.tessera.transaction.SendSignedRequest.Builder.create()
-                        .withSignedData(sendSignedRequest.getHash())
-                        .withRecipients(recipients)
-                        .withPrivacyMode(privacyMode)
-                        .withAffectedContractTransactions(affectedTransactions)
-                        .withExecHash(execHash)
-                        .build();
+        final com.quorum.tessera.transaction.SendSignedRequest request = toSendSignedRequest(sendSignedRequest);
 
         final com.quorum.tessera.transaction.SendResponse response = transactionManager.sendSignedTransaction(request);
 
@@ -231,6 +202,66 @@ public class TransactionResource {
         return Response.status(Status.CREATED).type(APPLICATION_JSON).location(location).entity(sendResponse).build();
     }
 
+    @Operation(operationId = "sendStoredBatch", summary = "/sendsignedtx/batch", description = "re-wraps several pre-stored & pre-encrypted payloads, stores the results in database in a single database transaction, and publishes the results with one push to each recipient")
+    @ApiResponse(responseCode = "201", description = "hashes of rewrapped payloads, in request order", content = @Content(mediaType = APPLICATION_JSON, schema = @Schema(implementation = SendSignedBatchResponse.class, description = "hashes of rewrapped payloads")))
+    @POST
+    @Path("sendsignedtx/batch")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_JSON)
+    public Response sendSignedTransactions(
+            @NotNull @Valid @PrivacyValid final SendSignedBatchRequest sendSignedBatchRequest) {
+
+        final List<com.quorum.tessera.transaction.SendSignedRequest> requests =
+                Arrays.stream(sendSignedBatchRequest.getTransactions())
+                        .map(TransactionResource::toSendSignedRequest)
+                        .collect(Collectors.toList());
+
+        final String[] keys =
+                transactionManager.sendSignedTransactions(requests).stream()
+                        .map(com.quorum.tessera.transaction.SendResponse::getTransactionHash)
+                        .map(MessageHash::getHashBytes)
+                        .map(Base64.getEncoder()::encodeToString)
+                        .toArray(String[]::new);
+
+        LOGGER.debug("Encoded keys: {}", Arrays.toString(keys));
+
+        return Response.status(Status.CREATED)
+                .type(APPLICATION_JSON)
+                .entity(new SendSignedBatchResponse(keys))
+                .build();
+    }
+
+    private static com.quorum.tessera.transaction.SendSignedRequest toSendSignedRequest(
+            final SendSignedRequest sendSignedRequest) {
+
+        final List<PublicKey> recipients =
+                Optional.ofNullable(sendSignedRequest.getTo())
+                        .map(Arrays::stream)
+                        .orElse(Stream.empty())
+                        .map(Base64.getDecoder()::decode)
+                        .map(PublicKey::from)
+                        .collect(Collectors.toList());
+
+        final PrivacyMode privacyMode = PrivacyMode.fromFlag(sendSignedRequest.getPrivacyFlag());
+
+        final Set<MessageHash> affectedTransactions =
+                Stream.ofNullable(sendSignedRequest.getAffectedContractTransactions())
+                        .flatMap(Arrays::stream)
+                        .map(MessageHash::fromBase64)
+                        .collect(Collectors.toSet());
+
+        final byte[] execHash =
+                Optional.ofNullable(sendSignedRequest.getExecHash()).map(String::getBytes).orElse(new byte[0]);
+
+        return com.quorum.tessera.transaction.SendSignedRequest.Builder.create()
+                .withSignedData(sendSignedRequest.getHash())
+                .withRecipients(recipients)
+                .withPrivacyMode(privacyMode)
+                .withAffectedContractTransactions(affectedTransactions)
+                .withExecHash(execHash)
+                .build();
+    }
+
     @Operation(summary = "/sendraw", operationId = "encryptStoreAndSendOctetStream", description = "encrypts a payload, stores result in database, and publishes result to recipients")
     @ApiResponse(responseCode = "200", description = "encrypted payload hash", content = @Content(schema = @Schema(type = "string", format = "base64", description = "encrypted payload hash")))
     @POST
@@ -309,7 +340,7 @@ public class TransactionResource {
                         .map(PublicKey::from)
                         .orElse(null);
 
-        final MessageHash transactionHash = Optional.of(hash).map(base64Decoder::decode).map(MessageHash::new).get();
+        final MessageHash transactionHash = MessageHash.fromBase64(hash);
 
         final com.quorum.tessera.transaction.ReceiveRequest request =
                 com.quorum.tessera.transaction.ReceiveRequest.Builder.create()
@@ -347,8 +378,7 @@ public class TransactionResource {
 
         Base64.Decoder decoder = Base64.getDecoder();
 
-        MessageHash transactionHash =
-                Optional.of(request).map(ReceiveRequest::getKey).map(decoder::decode).map(MessageHash::new).get();
+        MessageHash transactionHash = MessageHash.fromBase64(request.getKey());
 
         PublicKey recipient =
                 Optional.of(request)
@@ -397,7 +427,7 @@ public class TransactionResource {
 
         LOGGER.debug("Received receiveraw request for hash : {}, recipientKey: {}", hash, recipientKey);
 
-        MessageHash transactionHash = Optional.of(hash).map(Base64.getDecoder()::decode).map(MessageHash::new).get();
+        MessageHash transactionHash = MessageHash.fromBase64(hash);
         PublicKey recipient =
                 Optional.ofNullable(recipientKey).map(Base64.getDecoder()::decode).map(PublicKey::from).orElse(null);
         com.quorum.tessera.transaction.ReceiveRequest request =
@@ -427,8 +457,7 @@ public class TransactionResource {
         MessageHash messageHash =
                 Optional.of(deleteRequest)
                         .map(DeleteRequest::getKey)
-                        .map(Base64.getDecoder()::decode)
-                        .map(MessageHash::new)
+                        .map(MessageHash::fromBase64)
                         .get();
 
         transactionManager.delete(messageHash);
@@ -461,7 +490,7 @@ public class TransactionResource {
 
         LOGGER.debug("Received isSender API request for key {}", ptmHash);
 
-        MessageHash transactionHash = Optional.of(ptmHash).map(Base64.getDecoder()::decode).map(MessageHash::new).get();
+        MessageHash transactionHash = MessageHash.fromBase64(ptmHash);
 
         boolean isSender = transactionManager.isSender(transactionHash);
 
@@ -477,7 +506,7 @@ public class TransactionResource {
 
         LOGGER.debug("Received participants list API request for key {}", ptmHash);
 
-        MessageHash transactionHash = Optional.of(ptmHash).map(Base64.getDecoder()::decode).map(MessageHash::new).get();
+        MessageHash transactionHash = MessageHash.fromBase64(ptmHash);
 
         final String participantList =
                 transactionManager.getParticipants(transactionHash).stream()
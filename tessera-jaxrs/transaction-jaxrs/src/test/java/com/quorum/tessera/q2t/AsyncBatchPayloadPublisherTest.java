@@ -16,7 +16,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 
@@ -85,8 +87,7 @@ public class AsyncBatchPayloadPublisherTest {
         final Executor realExecutor = Executors.newSingleThreadExecutor();
         when(executorFactory.createCachedThreadPool()).thenReturn(realExecutor);
 
-        asyncPublisher =
-            new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, publisher, encoder);
+        asyncPublisher = new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, publisher, encoder);
 
         final EncodedPayload payload = mock(EncodedPayload.class);
         final EncodedPayload strippedPayload = mock(EncodedPayload.class);
@@ -157,8 +158,7 @@ public class AsyncBatchPayloadPublisherTest {
         final Executor realExecutor = Executors.newCachedThreadPool();
         when(executorFactory.createCachedThreadPool()).thenReturn(realExecutor);
 
-        asyncPublisher =
-            new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, publisher, encoder);
+        asyncPublisher = new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, publisher, encoder);
 
         final EncodedPayload payload = mock(EncodedPayload.class);
         final EncodedPayload strippedPayload = mock(EncodedPayload.class);
@@ -172,18 +172,16 @@ public class AsyncBatchPayloadPublisherTest {
 
         final PublishPayloadException cause = new PublishPayloadException("some exception");
 
-        doThrow(cause)
-            .doNothing()
-            .when(publisher).publishPayload(any(EncodedPayload.class), any(PublicKey.class));
+        doThrow(cause).doNothing().when(publisher).publishPayload(any(EncodedPayload.class), any(PublicKey.class));
 
         doAnswer(
-            invocation -> {
-                // sleep main thread so publish threads can work
-                Thread.sleep(200);
-                return null;
-            })
-            .when(countDownLatch)
-            .await();
+                        invocation -> {
+                            // sleep main thread so publish threads can work
+                            Thread.sleep(200);
+                            return null;
+                        })
+                .when(countDownLatch)
+                .await();
 
         asyncPublisher.publishPayload(payload, recipients);
 
@@ -197,4 +195,88 @@ public class AsyncBatchPayloadPublisherTest {
         verify(countDownLatch).cancelWithException(cause);
         verify(countDownLatch).await();
     }
+
+    @Test
+    public void publishPayloadsStripsAndPushesOncePerRecipient() throws InterruptedException {
+        final Executor realExecutor = Executors.newSingleThreadExecutor();
+        when(executorFactory.createCachedThreadPool()).thenReturn(realExecutor);
+
+        asyncPublisher = new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, publisher, encoder);
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        final EncodedPayload otherPayload = mock(EncodedPayload.class);
+        final EncodedPayload strippedPayload = mock(EncodedPayload.class);
+
+        final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+        final PublicKey otherRecipient = PublicKey.from("OTHERRECIPIENT".getBytes());
+
+        final Map<PublicKey, List<EncodedPayload>> payloadsByRecipient = new LinkedHashMap<>();
+        payloadsByRecipient.put(recipient, List.of(payload, otherPayload));
+        payloadsByRecipient.put(otherRecipient, List.of(payload));
+
+        when(encoder.forRecipient(any(EncodedPayload.class), any(PublicKey.class))).thenReturn(strippedPayload);
+
+        doAnswer(
+                        invocation -> {
+                            // sleep main thread so publish threads can work
+                            Thread.sleep(200);
+                            return null;
+                        })
+                .when(countDownLatch)
+                .await();
+
+        asyncPublisher.publishPayloads(payloadsByRecipient);
+
+        verify(executorFactory, times(2)).createCachedThreadPool();
+        verify(countDownLatchFactory).create(2);
+        verify(encoder).forRecipient(payload, recipient);
+        verify(encoder).forRecipient(otherPayload, recipient);
+        verify(encoder).forRecipient(payload, otherRecipient);
+        verify(publisher).publishPayloads(List.of(strippedPayload, strippedPayload), recipient);
+        verify(publisher).publishPayloads(List.of(strippedPayload), otherRecipient);
+        verify(countDownLatch, times(2)).countDown();
+        verify(countDownLatch).await();
+    }
+
+    @Test
+    public void publishPayloadsNoRecipientsDoesNothing() {
+        asyncPublisher.publishPayloads(Collections.emptyMap());
+
+        verify(executorFactory).createCachedThreadPool();
+    }
+
+    @Test
+    public void publishPayloadsCancelsCountDownLatchIfOneTaskFails() throws InterruptedException {
+        final Executor realExecutor = Executors.newSingleThreadExecutor();
+        when(executorFactory.createCachedThreadPool()).thenReturn(realExecutor);
+
+        asyncPublisher = new AsyncBatchPayloadPublisher(executorFactory, countDownLatchFactory, publisher, encoder);
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        final EncodedPayload strippedPayload = mock(EncodedPayload.class);
+        final PublicKey recipient = PublicKey.from("RECIPIENT".getBytes());
+
+        when(encoder.forRecipient(payload, recipient)).thenReturn(strippedPayload);
+
+        final PublishPayloadException exception = new PublishPayloadException("msg");
+        doThrow(exception).when(publisher).publishPayloads(List.of(strippedPayload), recipient);
+
+        doAnswer(
+                        invocation -> {
+                            // sleep main thread so publish threads can work
+                            Thread.sleep(200);
+                            return null;
+                        })
+                .when(countDownLatch)
+                .await();
+
+        asyncPublisher.publishPayloads(Map.of(recipient, List.of(payload)));
+
+        verify(executorFactory, times(2)).createCachedThreadPool();
+        verify(countDownLatchFactory).create(1);
+        verify(encoder).forRecipient(payload, recipient);
+        verify(publisher).publishPayloads(List.of(strippedPayload), recipient);
+        verify(countDownLatch).cancelWithException(exception);
+        verify(countDownLatch).await();
+    }
 }
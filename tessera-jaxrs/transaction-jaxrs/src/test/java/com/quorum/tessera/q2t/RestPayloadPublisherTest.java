@@ -4,6 +4,7 @@ import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.PrivacyMode;
+import com.quorum.tessera.jaxrs.client.CircuitBreakers;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.jaxrs.mock.MockClient;
 import com.quorum.tessera.transaction.exception.EnhancedPrivacyNotSupportedException;
@@ -25,6 +26,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -39,12 +41,15 @@ public class RestPayloadPublisherTest {
 
     private Discovery discovery;
 
+    private CircuitBreakers circuitBreakers;
+
     @Before
     public void onSetUp() {
         mockClient = new MockClient();
         encoder = mock(PayloadEncoder.class);
         discovery = mock(Discovery.class);
-        publisher = new RestPayloadPublisher(mockClient, encoder, discovery);
+        circuitBreakers = new CircuitBreakers(1, 60000L, 1000L, null);
+        publisher = new RestPayloadPublisher(mockClient, encoder, discovery, circuitBreakers);
     }
 
     @After
@@ -80,6 +85,7 @@ public class RestPayloadPublisherTest {
         when(recipient.getKey()).thenReturn(recipientKey);
         when(recipient.getUrl()).thenReturn(targetUrl);
         when(nodeInfo.getRecipients()).thenReturn(Set.of(recipient));
+        when(nodeInfo.getUrl()).thenReturn(targetUrl);
         when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
 
         publisher.publishPayload(encodedPayload, recipientKey);
@@ -123,6 +129,7 @@ public class RestPayloadPublisherTest {
         when(recipient.getKey()).thenReturn(recipientKey);
         when(recipient.getUrl()).thenReturn(targetUrl);
         when(nodeInfo.getRecipients()).thenReturn(Set.of(recipient));
+        when(nodeInfo.getUrl()).thenReturn(targetUrl);
         when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
 
         publisher.publishPayload(encodedPayload, recipientKey);
@@ -163,6 +170,7 @@ public class RestPayloadPublisherTest {
         when(recipient.getKey()).thenReturn(recipientKey);
         when(recipient.getUrl()).thenReturn(targetUrl);
         when(nodeInfo.getRecipients()).thenReturn(Set.of(recipient));
+        when(nodeInfo.getUrl()).thenReturn(targetUrl);
         when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
 
         try {
@@ -193,6 +201,7 @@ public class RestPayloadPublisherTest {
         when(recipient.getUrl()).thenReturn(targetUrl);
 
         when(nodeInfo.getRecipients()).thenReturn(Set.of(recipient));
+        when(nodeInfo.getUrl()).thenReturn(targetUrl);
         when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
 
         try {
@@ -241,4 +250,127 @@ public class RestPayloadPublisherTest {
             verify(discovery).getRemoteNodeInfo(eq(recipientKey));
         }
     }
+
+    @Test
+    public void peerWithOpenCircuitIsOffline() {
+
+        final String targetUri = "http://jimmywhite.com";
+        final PublicKey recipientKey = mock(PublicKey.class);
+
+        NodeInfo nodeInfo = mock(NodeInfo.class);
+        when(nodeInfo.getUrl()).thenReturn(targetUri);
+        when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+        when(encoder.encode(payload)).thenReturn("SomeData".getBytes());
+
+        circuitBreakers.get(targetUri).onFailure();
+
+        Invocation.Builder invocationBuilder = mockClient.getWebTarget().getMockInvocationBuilder();
+
+        try {
+            publisher.publishPayload(payload, recipientKey);
+            failBecauseExceptionWasNotThrown(NodeOfflineException.class);
+        } catch (NodeOfflineException ex) {
+            assertThat(ex).hasMessageContaining(targetUri);
+            verify(invocationBuilder, never()).post(any(javax.ws.rs.client.Entity.class));
+            verify(discovery).getRemoteNodeInfo(eq(recipientKey));
+            verify(encoder).encode(payload);
+        }
+    }
+
+    @Test
+    public void publishPayloadsSendsOneRequestToBatchCapableNode() {
+
+        Invocation.Builder invocationBuilder = mockClient.getWebTarget().getMockInvocationBuilder();
+
+        List<javax.ws.rs.client.Entity> postedEntities = new ArrayList<>();
+
+        doAnswer(
+                        (invocation) -> {
+                            postedEntities.add(invocation.getArgument(0));
+                            return Response.status(201).build();
+                        })
+                .when(invocationBuilder)
+                .post(any(javax.ws.rs.client.Entity.class));
+
+        String targetUrl = "http://someplace.com";
+
+        EncodedPayload encodedPayload = mock(EncodedPayload.class);
+        when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+        EncodedPayload otherPayload = mock(EncodedPayload.class);
+        when(otherPayload.getPrivacyMode()).thenReturn(PrivacyMode.PARTY_PROTECTION);
+        List<EncodedPayload> payloads = List.of(encodedPayload, otherPayload);
+
+        byte[] payloadData = "Some Data".getBytes();
+        when(encoder.encodeAll(payloads)).thenReturn(payloadData);
+
+        PublicKey recipientKey = mock(PublicKey.class);
+        NodeInfo nodeInfo = mock(NodeInfo.class);
+        when(nodeInfo.supportedApiVersions()).thenReturn(Set.of("v2", "v2.1"));
+        when(nodeInfo.getUrl()).thenReturn(targetUrl);
+        when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
+
+        publisher.publishPayloads(payloads, recipientKey);
+
+        assertThat(postedEntities).hasSize(1);
+        assertThat(postedEntities.get(0).getEntity()).isSameAs(payloadData);
+
+        verify(encoder).encodeAll(payloads);
+        verify(discovery).getRemoteNodeInfo(eq(recipientKey));
+    }
+
+    @Test
+    public void publishPayloadsFallsBackToSinglePushesForOlderNodes() {
+
+        Invocation.Builder invocationBuilder = mockClient.getWebTarget().getMockInvocationBuilder();
+
+        doAnswer((invocation) -> Response.ok().build())
+                .when(invocationBuilder)
+                .post(any(javax.ws.rs.client.Entity.class));
+
+        String targetUrl = "http://someplace.com";
+
+        EncodedPayload encodedPayload = mock(EncodedPayload.class);
+        when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+        EncodedPayload otherPayload = mock(EncodedPayload.class);
+        when(otherPayload.getPrivacyMode()).thenReturn(PrivacyMode.STANDARD_PRIVATE);
+
+        when(encoder.encode(any(EncodedPayload.class))).thenReturn("Some Data".getBytes());
+
+        PublicKey recipientKey = mock(PublicKey.class);
+        NodeInfo nodeInfo = mock(NodeInfo.class);
+        when(nodeInfo.supportedApiVersions()).thenReturn(Set.of("v1", "v2"));
+        when(nodeInfo.getUrl()).thenReturn(targetUrl);
+        when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
+
+        publisher.publishPayloads(List.of(encodedPayload, otherPayload), recipientKey);
+
+        verify(invocationBuilder, times(2)).post(any(javax.ws.rs.client.Entity.class));
+        verify(encoder).encode(encodedPayload);
+        verify(encoder).encode(otherPayload);
+        verify(discovery, times(3)).getRemoteNodeInfo(eq(recipientKey));
+    }
+
+    @Test
+    public void publishPayloadsWithEnhancedPrivacyToNodeThatDoesNotSupport() {
+
+        EncodedPayload encodedPayload = mock(EncodedPayload.class);
+        when(encodedPayload.getPrivacyMode()).thenReturn(PrivacyMode.PRIVATE_STATE_VALIDATION);
+
+        PublicKey recipientKey = mock(PublicKey.class);
+        when(recipientKey.encodeToBase64()).thenReturn("BASE64");
+        NodeInfo nodeInfo = mock(NodeInfo.class);
+        when(nodeInfo.supportedApiVersions()).thenReturn(Set.of("v2.1"));
+        when(nodeInfo.getUrl()).thenReturn("http://someplace.com");
+        when(discovery.getRemoteNodeInfo(recipientKey)).thenReturn(nodeInfo);
+
+        final Throwable throwable =
+                catchThrowable(() -> publisher.publishPayloads(List.of(encodedPayload, encodedPayload), recipientKey));
+
+        assertThat(throwable).isInstanceOf(EnhancedPrivacyNotSupportedException.class).hasMessageContaining("BASE64");
+
+        verify(discovery).getRemoteNodeInfo(eq(recipientKey));
+    }
 }
@@ -356,8 +356,7 @@ public class TransactionResourceTest {
         byte[] txnData = "KEY".getBytes();
         com.quorum.tessera.transaction.SendResponse sendResponse =
                 mock(com.quorum.tessera.transaction.SendResponse.class);
-        MessageHash messageHash = mock(MessageHash.class);
-        when(messageHash.getHashBytes()).thenReturn(txnData);
+        MessageHash messageHash = new MessageHash(txnData);
         when(sendResponse.getTransactionHash()).thenReturn(messageHash);
 
         String recipentKey =
@@ -395,8 +394,7 @@ public class TransactionResourceTest {
         byte[] txnData = "KEY".getBytes();
         com.quorum.tessera.transaction.SendResponse sendResponse =
                 mock(com.quorum.tessera.transaction.SendResponse.class);
-        MessageHash messageHash = mock(MessageHash.class);
-        when(messageHash.getHashBytes()).thenReturn(txnData);
+        MessageHash messageHash = new MessageHash(txnData);
         when(sendResponse.getTransactionHash()).thenReturn(messageHash);
 
         when(transactionManager.sendSignedTransaction(any(com.quorum.tessera.transaction.SendSignedRequest.class)))
@@ -421,8 +419,7 @@ public class TransactionResourceTest {
         byte[] txnData = "KEY".getBytes();
         com.quorum.tessera.transaction.SendResponse sendResponse =
                 mock(com.quorum.tessera.transaction.SendResponse.class);
-        MessageHash messageHash = mock(MessageHash.class);
-        when(messageHash.getHashBytes()).thenReturn(txnData);
+        MessageHash messageHash = new MessageHash(txnData);
         when(sendResponse.getTransactionHash()).thenReturn(messageHash);
 
         when(transactionManager.sendSignedTransaction(any(com.quorum.tessera.transaction.SendSignedRequest.class)))
@@ -439,6 +436,66 @@ public class TransactionResourceTest {
         verify(transactionManager).sendSignedTransaction(any(com.quorum.tessera.transaction.SendSignedRequest.class));
     }
 
+    @Test
+    public void sendSignedTransactions() {
+
+        final MessageHash transactionHash = new MessageHash("HASH1".getBytes());
+        final MessageHash otherTransactionHash = new MessageHash("HASH2".getBytes());
+
+        final com.quorum.tessera.transaction.SendResponse sendResponse =
+                mock(com.quorum.tessera.transaction.SendResponse.class);
+        when(sendResponse.getTransactionHash()).thenReturn(transactionHash);
+        final com.quorum.tessera.transaction.SendResponse otherSendResponse =
+                mock(com.quorum.tessera.transaction.SendResponse.class);
+        when(otherSendResponse.getTransactionHash()).thenReturn(otherTransactionHash);
+
+        when(transactionManager.sendSignedTransactions(anyList())).thenReturn(List.of(sendResponse, otherSendResponse));
+
+        final SendSignedRequest sendSignedRequest = new SendSignedRequest();
+        sendSignedRequest.setHash("SOMEDATA".getBytes());
+        sendSignedRequest.setTo("BULeR8JyUWhiuuCMU/HLA0Q5pzkYT+cHII3ZKBey3Bo=");
+
+        final SendSignedRequest otherSendSignedRequest = new SendSignedRequest();
+        otherSendSignedRequest.setHash("OTHERDATA".getBytes());
+        otherSendSignedRequest.setPrivacyFlag(PrivacyMode.PARTY_PROTECTION.getPrivacyFlag());
+
+        final SendSignedBatchRequest batchRequest = new SendSignedBatchRequest();
+        batchRequest.setTransactions(sendSignedRequest, otherSendSignedRequest);
+
+        final Response result =
+                jersey.target("sendsignedtx/batch")
+                        .request()
+                        .post(Entity.entity(batchRequest, MediaType.APPLICATION_JSON_TYPE));
+
+        assertThat(result.getStatus()).isEqualTo(201);
+        assertThat(result.readEntity(SendSignedBatchResponse.class).getKeys())
+                .containsExactly(transactionHash.toString(), otherTransactionHash.toString());
+
+        final ArgumentCaptor<List<com.quorum.tessera.transaction.SendSignedRequest>> argumentCaptor =
+                ArgumentCaptor.forClass(List.class);
+        verify(transactionManager).sendSignedTransactions(argumentCaptor.capture());
+
+        final List<com.quorum.tessera.transaction.SendSignedRequest> requests = argumentCaptor.getValue();
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).getSignedData()).isEqualTo("SOMEDATA".getBytes());
+        assertThat(requests.get(0).getRecipients()).hasSize(1);
+        assertThat(requests.get(0).getPrivacyMode()).isEqualTo(PrivacyMode.STANDARD_PRIVATE);
+        assertThat(requests.get(1).getSignedData()).isEqualTo("OTHERDATA".getBytes());
+        assertThat(requests.get(1).getRecipients()).isEmpty();
+        assertThat(requests.get(1).getPrivacyMode()).isEqualTo(PrivacyMode.PARTY_PROTECTION);
+    }
+
+    @Test
+    public void sendSignedTransactionsRejectsEmptyBatch() {
+
+        final Response result =
+                jersey.target("sendsignedtx/batch")
+                        .request()
+                        .post(Entity.entity("{\"transactions\":[]}", MediaType.APPLICATION_JSON_TYPE));
+
+        assertThat(result.getStatus()).isEqualTo(400);
+    }
+
     @Test
     public void sendSignedTransaction() throws Exception {
 
@@ -549,8 +606,7 @@ public class TransactionResourceTest {
         byte[] txnData = "KEY".getBytes();
         com.quorum.tessera.transaction.SendResponse sendResponse =
                 mock(com.quorum.tessera.transaction.SendResponse.class);
-        MessageHash messageHash = mock(MessageHash.class);
-        when(messageHash.getHashBytes()).thenReturn(txnData);
+        MessageHash messageHash = new MessageHash(txnData);
         when(sendResponse.getTransactionHash()).thenReturn(messageHash);
 
         when(transactionManager.defaultPublicKey()).thenReturn(mock(PublicKey.class));
@@ -576,8 +632,7 @@ public class TransactionResourceTest {
         byte[] txnData = "KEY".getBytes();
         com.quorum.tessera.transaction.SendResponse sendResponse =
                 mock(com.quorum.tessera.transaction.SendResponse.class);
-        MessageHash messageHash = mock(MessageHash.class);
-        when(messageHash.getHashBytes()).thenReturn(txnData);
+        MessageHash messageHash = new MessageHash(txnData);
         when(sendResponse.getTransactionHash()).thenReturn(messageHash);
 
         when(transactionManager.defaultPublicKey()).thenReturn(mock(PublicKey.class));
@@ -604,8 +659,7 @@ public class TransactionResourceTest {
         byte[] txnData = "KEY".getBytes();
         com.quorum.tessera.transaction.SendResponse sendResponse =
                 mock(com.quorum.tessera.transaction.SendResponse.class);
-        MessageHash messageHash = mock(MessageHash.class);
-        when(messageHash.getHashBytes()).thenReturn(txnData);
+        MessageHash messageHash = new MessageHash(txnData);
         when(sendResponse.getTransactionHash()).thenReturn(messageHash);
         when(transactionManager.defaultPublicKey()).thenReturn(mock(PublicKey.class));
         when(transactionManager.send(any(com.quorum.tessera.transaction.SendRequest.class))).thenReturn(sendResponse);
@@ -16,9 +16,15 @@ import org.slf4j.LoggerFactory;
 
 import javax.persistence.PersistenceException;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toList;
@@ -29,6 +35,8 @@ public class RecoveryImpl implements Recovery {
 
     private static final int BATCH_SIZE = 10000;
 
+    static final int DEFAULT_MAX_CONCURRENT_PEERS = 8;
+
     private final StagingEntityDAO stagingEntityDAO;
 
     private final Discovery discovery;
@@ -39,39 +47,81 @@ public class RecoveryImpl implements Recovery {
 
     private final PayloadEncoder payloadEncoder;
 
+    private final int maxConcurrentPeers;
+
     public RecoveryImpl(
             StagingEntityDAO stagingEntityDAO,
             Discovery discovery,
             BatchTransactionRequester transactionRequester,
             TransactionManager transactionManager,
             PayloadEncoder payloadEncoder) {
+        this(
+                stagingEntityDAO,
+                discovery,
+                transactionRequester,
+                transactionManager,
+                payloadEncoder,
+                DEFAULT_MAX_CONCURRENT_PEERS);
+    }
+
+    public RecoveryImpl(
+            StagingEntityDAO stagingEntityDAO,
+            Discovery discovery,
+            BatchTransactionRequester transactionRequester,
+            TransactionManager transactionManager,
+            PayloadEncoder payloadEncoder,
+            int maxConcurrentPeers) {
         this.stagingEntityDAO = Objects.requireNonNull(stagingEntityDAO);
         this.discovery = Objects.requireNonNull(discovery);
         this.transactionRequester = Objects.requireNonNull(transactionRequester);
         this.transactionManager = Objects.requireNonNull(transactionManager);
         this.payloadEncoder = Objects.requireNonNull(payloadEncoder);
+        this.maxConcurrentPeers = Math.max(1, maxConcurrentPeers);
     }
 
+    /**
+     * Asks every known peer to resend its transactions for our keys.
+     *
+     * <p>Up to {@link #maxConcurrentPeers} peers are asked at once, and each peer's batches are staged as they arrive,
+     * so a slow or unreachable peer only holds up its own share of the recovery.
+     */
     @Override
     public RecoveryResult request() {
 
         final Set<NodeInfo> remoteNodeInfos = discovery.getRemoteNodeInfos();
 
-        final Predicate<NodeInfo> sendRequestsToNode =
-                nodeInfo ->
-                        nodeInfo.supportedApiVersions().contains(EnhancedPrivacyVersion.API_VERSION_2)
-                                && transactionRequester.requestAllTransactionsFromNode(nodeInfo.getUrl());
+        if (remoteNodeInfos.isEmpty()) {
+            return RecoveryResult.SUCCESS;
+        }
 
-        final Predicate<NodeInfo> sendRequestsToLegacyNode =
-                nodeInfo ->
-                        !nodeInfo.supportedApiVersions().contains(EnhancedPrivacyVersion.API_VERSION_2)
-                                && transactionRequester.requestAllTransactionsFromLegacyNode(nodeInfo.getUrl());
+        final ExecutorService executorService =
+                Executors.newFixedThreadPool(Math.min(maxConcurrentPeers, remoteNodeInfos.size()));
+        final CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executorService);
 
-        final long failures =
-                remoteNodeInfos.stream()
-                        .filter(sendRequestsToNode.or(sendRequestsToLegacyNode).negate())
-                        .peek(p -> LOGGER.warn("Fail resend request to {}", p.getUrl()))
-                        .count();
+        final Map<Future<Boolean>, String> peers = new HashMap<>();
+        for (final NodeInfo nodeInfo : remoteNodeInfos) {
+            peers.put(completionService.submit(() -> requestFromNode(nodeInfo)), nodeInfo.getUrl());
+        }
+
+        long failures = 0;
+        try {
+            for (int completed = 1; completed <= peers.size(); completed++) {
+                final Future<Boolean> outcome = completionService.take();
+                final String url = peers.get(outcome);
+
+                if (!succeeded(outcome, url)) {
+                    LOGGER.warn("Fail resend request to {}", url);
+                    failures++;
+                }
+                LOGGER.info("Resend requests finished for {} of {} peers", completed, peers.size());
+            }
+        } catch (final InterruptedException ex) {
+            LOGGER.warn("Interrupted while waiting for resend requests to complete");
+            Thread.currentThread().interrupt();
+            failures = remoteNodeInfos.size();
+        } finally {
+            executorService.shutdownNow();
+        }
 
         if (failures > 0) {
             if (failures == remoteNodeInfos.size()) {
@@ -82,6 +132,34 @@ public class RecoveryImpl implements Recovery {
         return RecoveryResult.SUCCESS;
     }
 
+    private boolean requestFromNode(final NodeInfo nodeInfo) {
+        final long start = System.nanoTime();
+
+        final boolean success;
+        if (nodeInfo.supportedApiVersions().contains(EnhancedPrivacyVersion.API_VERSION_2)) {
+            success = transactionRequester.requestAllTransactionsFromNode(nodeInfo.getUrl());
+        } else {
+            success = transactionRequester.requestAllTransactionsFromLegacyNode(nodeInfo.getUrl());
+        }
+
+        LOGGER.info(
+                "Resend requests to {} {} after {} ms",
+                nodeInfo.getUrl(),
+                success ? "completed" : "failed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        return success;
+    }
+
+    private static boolean succeeded(final Future<Boolean> outcome, final String url) throws InterruptedException {
+        try {
+            return outcome.get();
+        } catch (final ExecutionException ex) {
+            LOGGER.debug("Resend request to {} failed", url, ex.getCause());
+            return false;
+        }
+    }
+
     @Override
     public RecoveryResult stage() {
 
@@ -1,7 +1,9 @@
 package com.quorum.tessera.recovery.workflow;
 
+import com.quorum.tessera.data.EncryptedTransaction;
 import com.quorum.tessera.data.EncryptedTransactionDAO;
 import com.quorum.tessera.data.staging.StagingEntityDAO;
+import com.quorum.tessera.data.staging.StagingTransaction;
 import com.quorum.tessera.data.staging.StagingTransactionUtils;
 import com.quorum.tessera.discovery.Discovery;
 import com.quorum.tessera.enclave.Enclave;
@@ -14,7 +16,7 @@ import com.quorum.tessera.recovery.resend.ResendBatchResponse;
 import com.quorum.tessera.util.Base64Codec;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.stream.Collectors;
 
 public class BatchResendManagerImpl implements BatchResendManager {
 
@@ -71,10 +73,6 @@ public class BatchResendManagerImpl implements BatchResendManager {
         this.maxResults = maxResults;
     }
 
-    static int calculateBatchCount(long maxResults, long total) {
-        return (int) Math.ceil((double) total / maxResults);
-    }
-
     @Override
     public ResendBatchResponse resendBatch(ResendBatchRequest request) {
 
@@ -83,34 +81,41 @@ public class BatchResendManagerImpl implements BatchResendManager {
         final PublicKey recipientPublicKey = PublicKey.from(publicKeyData);
 
         final long transactionCount = encryptedTransactionDAO.transactionCount();
-        final long batchCount = calculateBatchCount(maxResults, transactionCount);
 
         final BatchWorkflow batchWorkflow =
                 BatchWorkflowFactory.newFactory(
                                 enclave, payloadEncoder, discovery, resendBatchPublisher, transactionCount)
                         .create();
 
-        IntStream.range(0, (int) batchCount)
-                .map(i -> i * maxResults)
-                .mapToObj(offset -> encryptedTransactionDAO.retrieveTransactions(offset, maxResults))
-                .flatMap(List::stream)
-                .forEach(
-                        encryptedTransaction -> {
-                            final BatchWorkflowContext context = new BatchWorkflowContext();
-                            context.setEncryptedTransaction(encryptedTransaction);
-                            context.setRecipientKey(recipientPublicKey);
-                            context.setBatchSize(batchSize);
-                            batchWorkflow.execute(context);
-                        });
+        EncryptedTransaction last = null;
+        List<EncryptedTransaction> page;
+        do {
+            page = encryptedTransactionDAO.retrieveTransactionsAfter(last, maxResults);
+            for (EncryptedTransaction encryptedTransaction : page) {
+                final BatchWorkflowContext context = new BatchWorkflowContext();
+                context.setEncryptedTransaction(encryptedTransaction);
+                context.setRecipientKey(recipientPublicKey);
+                context.setBatchSize(batchSize);
+                batchWorkflow.execute(context);
+                last = encryptedTransaction;
+            }
+        } while (page.size() == maxResults);
 
         return ResendBatchResponse.from(batchWorkflow.getPublishedMessageCount());
     }
 
+    /**
+     * Batches are pushed by every peer being recovered from at the same time, so each batch is decoded on the
+     * request thread and written in its own database transaction, without waiting on batches from other peers.
+     */
     @Override
-    public synchronized void storeResendBatch(PushBatchRequest resendPushBatchRequest) {
-        resendPushBatchRequest.getEncodedPayloads().stream()
-                .map(StagingTransactionUtils::fromRawPayload)
-                .forEach(stagingEntityDAO::save);
+    public void storeResendBatch(PushBatchRequest resendPushBatchRequest) {
+        final List<StagingTransaction> stagingTransactions =
+                resendPushBatchRequest.getEncodedPayloads().stream()
+                        .map(StagingTransactionUtils::fromRawPayload)
+                        .collect(Collectors.toList());
+
+        stagingEntityDAO.saveAll(stagingTransactions);
     }
 
     private int validateRequestBatchSize(int s) {
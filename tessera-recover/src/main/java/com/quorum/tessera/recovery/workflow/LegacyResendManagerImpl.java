@@ -17,7 +17,6 @@ import com.quorum.tessera.transaction.publish.PayloadPublisher;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.IntStream;
 
 public class LegacyResendManagerImpl implements LegacyResendManager {
 
@@ -58,21 +57,19 @@ public class LegacyResendManagerImpl implements LegacyResendManager {
 
         final BatchWorkflow batchWorkflow = batchWorkflowFactory.create();
 
-        final long transactionCount = encryptedTransactionDAO.transactionCount();
-        final long batchCount = calculateBatchCount(resendFetchSize, transactionCount);
-
-        IntStream.range(0, (int) batchCount)
-            .map(i -> i * resendFetchSize)
-            .mapToObj(offset -> encryptedTransactionDAO.retrieveTransactions(offset, resendFetchSize))
-            .flatMap(List::stream)
-            .forEach(
-                encryptedTransaction -> {
-                    final BatchWorkflowContext context = new BatchWorkflowContext();
-                    context.setEncryptedTransaction(encryptedTransaction);
-                    context.setRecipientKey(request.getRecipient());
-                    context.setBatchSize(1);
-                    batchWorkflow.execute(context);
-                });
+        EncryptedTransaction last = null;
+        List<EncryptedTransaction> page;
+        do {
+            page = encryptedTransactionDAO.retrieveTransactionsAfter(last, resendFetchSize);
+            for (EncryptedTransaction encryptedTransaction : page) {
+                final BatchWorkflowContext context = new BatchWorkflowContext();
+                context.setEncryptedTransaction(encryptedTransaction);
+                context.setRecipientKey(request.getRecipient());
+                context.setBatchSize(1);
+                batchWorkflow.execute(context);
+                last = encryptedTransaction;
+            }
+        } while (page.size() == resendFetchSize);
 
         return ResendResponse.Builder.create().build();
     }
@@ -104,8 +101,4 @@ public class LegacyResendManagerImpl implements LegacyResendManager {
         final EncodedPayload formattedPayload = context.getEncodedPayload();
         return ResendResponse.Builder.create().withPayload(formattedPayload).build();
     }
-
-    static int calculateBatchCount(long maxResults, long total) {
-        return (int) Math.ceil((double) total / maxResults);
-    }
 }
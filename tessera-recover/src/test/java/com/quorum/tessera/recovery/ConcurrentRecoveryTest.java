@@ -0,0 +1,181 @@
+package com.quorum.tessera.recovery;
+
+import com.quorum.tessera.data.staging.StagingEntityDAO;
+import com.quorum.tessera.discovery.Discovery;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.partyinfo.node.NodeInfo;
+import com.quorum.tessera.partyinfo.node.Recipient;
+import com.quorum.tessera.recovery.resend.BatchTransactionRequester;
+import com.quorum.tessera.transaction.TransactionManager;
+import com.quorum.tessera.version.BaseVersion;
+import com.quorum.tessera.version.EnhancedPrivacyVersion;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConcurrentRecoveryTest {
+
+    @Test
+    public void allPeersAreRequestedAtOnce() {
+        // each peer only answers once every peer has been asked, so they can only all succeed if asked together
+        final CountDownLatch asked = new CountDownLatch(8);
+        final StubPeers peers = new StubPeers(0L);
+        peers.before =
+                uri -> {
+                    asked.countDown();
+                    await(asked, uri);
+                };
+
+        assertThat(recovery(8, peers, 8).request()).isEqualTo(RecoveryResult.SUCCESS);
+        assertThat(peers.maxInFlight.get()).isEqualTo(8);
+    }
+
+    @Test
+    public void concurrentPeersAreBounded() {
+        final StubPeers peers = new StubPeers(50L);
+
+        assertThat(recovery(8, peers, 2).request()).isEqualTo(RecoveryResult.SUCCESS);
+
+        assertThat(peers.maxInFlight.get()).isEqualTo(2);
+        assertThat(peers.finishedAt).hasSize(8);
+    }
+
+    @Test
+    public void slowPeerDoesNotHoldUpOthers() {
+        // the slow peer only answers once every other peer has finished
+        final CountDownLatch othersFinished = new CountDownLatch(7);
+        final StubPeers peers = new StubPeers(10L);
+        peers.before =
+                uri -> {
+                    if (uri.equals("http://peer0/")) {
+                        await(othersFinished, uri);
+                    }
+                };
+        peers.after =
+                uri -> {
+                    if (!uri.equals("http://peer0/")) {
+                        othersFinished.countDown();
+                    }
+                };
+
+        assertThat(recovery(8, peers, 8).request()).isEqualTo(RecoveryResult.SUCCESS);
+        assertThat(peers.finishedAt).hasSize(8);
+    }
+
+    @Test
+    public void failingPeerGivesPartialSuccess() {
+        final StubPeers peers = new StubPeers(10L);
+        peers.failing.add("http://peer1/");
+
+        assertThat(recovery(3, peers, 8).request()).isEqualTo(RecoveryResult.PARTIAL_SUCCESS);
+        assertThat(peers.finishedAt).hasSize(3);
+    }
+
+    @Test
+    public void exceptionFromPeerCountsAsFailure() {
+        final BatchTransactionRequester requester = mock(BatchTransactionRequester.class);
+        when(requester.requestAllTransactionsFromNode("http://peer0/")).thenThrow(new IllegalStateException());
+
+        assertThat(recovery(1, requester, 8).request()).isEqualTo(RecoveryResult.FAILURE);
+    }
+
+    /** Fails the peer's request if the latch is not released in time */
+    private static void await(CountDownLatch latch, String uri) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting in request to " + uri);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Recovery recovery(int peerCount, BatchTransactionRequester requester, int maxConcurrentPeers) {
+        final Set<NodeInfo> nodeInfos =
+                IntStream.range(0, peerCount)
+                        .mapToObj(
+                                i ->
+                                        NodeInfo.Builder.create()
+                                                .withUrl("http://peer" + i + "/")
+                                                .withRecipients(Set.of(mock(Recipient.class)))
+                                                .withSupportedApiVersions(supportedApiVersions(i))
+                                                .build())
+                        .collect(Collectors.toSet());
+
+        final Discovery discovery = mock(Discovery.class);
+        when(discovery.getRemoteNodeInfos()).thenReturn(nodeInfos);
+
+        return new RecoveryImpl(
+                mock(StagingEntityDAO.class),
+                discovery,
+                requester,
+                mock(TransactionManager.class),
+                mock(PayloadEncoder.class),
+                maxConcurrentPeers);
+    }
+
+    /** Every other peer is a legacy node, which is recovered with the older resend API */
+    private static Set<String> supportedApiVersions(int peer) {
+        if (peer % 2 == 0) {
+            return Set.of(BaseVersion.API_VERSION_1, EnhancedPrivacyVersion.API_VERSION_2);
+        }
+        return Set.of(BaseVersion.API_VERSION_1);
+    }
+
+    /** Stands in for remote nodes that take a while to push back all their transactions */
+    static class StubPeers implements BatchTransactionRequester {
+
+        private final long defaultLatencyMillis;
+
+        final Map<String, Long> finishedAt = new ConcurrentHashMap<>();
+
+        final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+        final AtomicInteger inFlight = new AtomicInteger();
+
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        Consumer<String> before = uri -> {};
+
+        Consumer<String> after = uri -> {};
+
+        StubPeers(long defaultLatencyMillis) {
+            this.defaultLatencyMillis = defaultLatencyMillis;
+        }
+
+        @Override
+        public boolean requestAllTransactionsFromNode(String uri) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                before.accept(uri);
+                Thread.sleep(defaultLatencyMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                inFlight.decrementAndGet();
+                finishedAt.put(uri, System.nanoTime());
+                after.accept(uri);
+            }
+            return !failing.contains(uri);
+        }
+
+        @Override
+        public boolean requestAllTransactionsFromLegacyNode(String uri) {
+            return requestAllTransactionsFromNode(uri);
+        }
+    }
+}
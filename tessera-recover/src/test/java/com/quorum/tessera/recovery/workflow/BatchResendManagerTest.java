@@ -19,9 +19,10 @@ import com.quorum.tessera.util.Base64Codec;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
-import static org.mockito.AdditionalMatchers.gt;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -30,7 +31,6 @@ import java.util.stream.IntStream;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.AdditionalMatchers.lt;
 import static org.mockito.Mockito.*;
 
 public class BatchResendManagerTest {
@@ -111,9 +111,12 @@ public class BatchResendManagerTest {
         when(encryptedTransactionDAO.transactionCount()).thenReturn(101L);
         MockBatchWorkflowFactory.transactionCount = 101L;
 
-        when(encryptedTransactionDAO.retrieveTransactions(lt(100), anyInt())).thenReturn(transactions);
-        when(encryptedTransactionDAO.retrieveTransactions(gt(99), anyInt()))
-                .thenReturn(singletonList(mock(EncryptedTransaction.class)));
+        // twenty full pages of five, then a final partial page
+        final List<List<EncryptedTransaction>> pages = new ArrayList<>(Collections.nCopies(20, transactions));
+        pages.add(singletonList(mock(EncryptedTransaction.class)));
+        final Iterator<List<EncryptedTransaction>> pageIterator = pages.iterator();
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(any(), anyInt()))
+                .then(invocation -> pageIterator.next());
 
         final BatchWorkflow batchWorkflow = MockBatchWorkflowFactory.getWorkflow();
 
@@ -124,7 +127,7 @@ public class BatchResendManagerTest {
 
         assertThat(result.getTotal()).isEqualTo(101L);
 
-        verify(encryptedTransactionDAO, times(21)).retrieveTransactions(anyInt(), anyInt());
+        verify(encryptedTransactionDAO, times(21)).retrieveTransactionsAfter(any(), anyInt());
         verify(encryptedTransactionDAO).transactionCount();
         verify(resendBatchPublisher, times(34)).publishBatch(any(), any());
     }
@@ -142,9 +145,12 @@ public class BatchResendManagerTest {
         when(encryptedTransactionDAO.transactionCount()).thenReturn(101L);
         MockBatchWorkflowFactory.transactionCount = 101L;
 
-        when(encryptedTransactionDAO.retrieveTransactions(lt(100), anyInt())).thenReturn(transactions);
-        when(encryptedTransactionDAO.retrieveTransactions(gt(99), anyInt()))
-                .thenReturn(singletonList(mock(EncryptedTransaction.class)));
+        // twenty full pages of five, then a final partial page
+        final List<List<EncryptedTransaction>> pages = new ArrayList<>(Collections.nCopies(20, transactions));
+        pages.add(singletonList(mock(EncryptedTransaction.class)));
+        final Iterator<List<EncryptedTransaction>> pageIterator = pages.iterator();
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(any(), anyInt()))
+                .then(invocation -> pageIterator.next());
 
         final BatchWorkflow batchWorkflow = MockBatchWorkflowFactory.getWorkflow();
 
@@ -155,7 +161,7 @@ public class BatchResendManagerTest {
 
         assertThat(result.getTotal()).isEqualTo(101L);
 
-        verify(encryptedTransactionDAO, times(21)).retrieveTransactions(anyInt(), anyInt());
+        verify(encryptedTransactionDAO, times(21)).retrieveTransactionsAfter(any(), anyInt());
         verify(encryptedTransactionDAO).transactionCount();
         verify(resendBatchPublisher, times(21)).publishBatch(any(), any());
     }
@@ -174,9 +180,12 @@ public class BatchResendManagerTest {
         when(encryptedTransactionDAO.transactionCount()).thenReturn(101L);
         MockBatchWorkflowFactory.transactionCount = 101L;
 
-        when(encryptedTransactionDAO.retrieveTransactions(lt(100), anyInt())).thenReturn(transactions);
-        when(encryptedTransactionDAO.retrieveTransactions(gt(99), anyInt()))
-                .thenReturn(singletonList(mock(EncryptedTransaction.class)));
+        // twenty full pages of five, then a final partial page
+        final List<List<EncryptedTransaction>> pages = new ArrayList<>(Collections.nCopies(20, transactions));
+        pages.add(singletonList(mock(EncryptedTransaction.class)));
+        final Iterator<List<EncryptedTransaction>> pageIterator = pages.iterator();
+        when(encryptedTransactionDAO.retrieveTransactionsAfter(any(), anyInt()))
+                .then(invocation -> pageIterator.next());
 
         final BatchWorkflow batchWorkflow = MockBatchWorkflowFactory.getWorkflow();
 
@@ -187,7 +196,7 @@ public class BatchResendManagerTest {
 
         assertThat(result.getTotal()).isEqualTo(101L);
 
-        verify(encryptedTransactionDAO, times(21)).retrieveTransactions(anyInt(), anyInt());
+        verify(encryptedTransactionDAO, times(21)).retrieveTransactionsAfter(any(), anyInt());
         verify(encryptedTransactionDAO).transactionCount();
         verify(resendBatchPublisher, times(21)).publishBatch(any(), any());
     }
@@ -200,26 +209,6 @@ public class BatchResendManagerTest {
                 .isNotNull();
     }
 
-    @Test
-    public void calculateBatchCount() {
-        long numberOfRecords = 10;
-        long maxResults = 3;
-
-        int batchCount = BatchResendManagerImpl.calculateBatchCount(maxResults, numberOfRecords);
-
-        assertThat(batchCount).isEqualTo(4);
-    }
-
-    @Test
-    public void calculateBatchCountTotalLowerThanBatchSizeIsSingleBatch() {
-        long numberOfRecords = 100;
-        long maxResults = 10;
-
-        int batchCount = BatchResendManagerImpl.calculateBatchCount(maxResults, numberOfRecords);
-
-        assertThat(batchCount).isEqualTo(10);
-    }
-
     @Test
     public void createBatchResendManager() {
         Config config = mock(Config.class);
@@ -266,6 +255,6 @@ public class BatchResendManagerTest {
 
         manager.storeResendBatch(request);
 
-        verify(stagingEntityDAO).save(any(StagingTransaction.class));
+        verify(stagingEntityDAO).saveAll(argThat(l -> l.size() == 1));
     }
 }
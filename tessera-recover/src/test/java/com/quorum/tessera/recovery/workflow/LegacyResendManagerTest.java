@@ -190,9 +190,11 @@ public class LegacyResendManagerTest {
         //Not bothered about going through the process, just make sure they are all loaded from the database
         //We are not testing the workflow itself, only that the workflow gets the right amount of transactions
 
-        when(dao.transactionCount()).thenReturn(2L);
-        when(dao.retrieveTransactions(0, 1)).thenReturn(List.of(new EncryptedTransaction()));
-        when(dao.retrieveTransactions(1, 1)).thenReturn(List.of(new EncryptedTransaction()));
+        final EncryptedTransaction first = new EncryptedTransaction(new MessageHash("first".getBytes()), null);
+        final EncryptedTransaction second = new EncryptedTransaction(new MessageHash("second".getBytes()), null);
+        when(dao.retrieveTransactionsAfter(null, 1)).thenReturn(List.of(first));
+        when(dao.retrieveTransactionsAfter(first, 1)).thenReturn(List.of(second));
+        when(dao.retrieveTransactionsAfter(second, 1)).thenReturn(List.of());
 
         final ResendResponse response = resendManager.resend(request);
         assertThat(response).isNotNull();
@@ -200,9 +202,9 @@ public class LegacyResendManagerTest {
 
         verify(enclave, times(2)).status();
         verify(encoder, times(2)).decode(any());
-        verify(dao).transactionCount();
-        verify(dao).retrieveTransactions(0, 1);
-        verify(dao).retrieveTransactions(1, 1);
+        verify(dao).retrieveTransactionsAfter(null, 1);
+        verify(dao).retrieveTransactionsAfter(first, 1);
+        verify(dao).retrieveTransactionsAfter(second, 1);
     }
 
     @Test
@@ -0,0 +1,177 @@
+package com.quorum.tessera.test.load;
+
+import com.quorum.tessera.cli.CliDelegate;
+import com.quorum.tessera.config.*;
+import com.quorum.tessera.config.apps.TesseraAppFactory;
+import com.quorum.tessera.context.RuntimeContextFactory;
+import com.quorum.tessera.discovery.Discovery;
+import com.quorum.tessera.enclave.EnclaveFactory;
+import com.quorum.tessera.encryption.Encryptor;
+import com.quorum.tessera.encryption.EncryptorFactory;
+import com.quorum.tessera.encryption.KeyPair;
+import com.quorum.tessera.jaxrs.client.ClientFactory;
+import com.quorum.tessera.partyinfo.node.NodeInfo;
+import com.quorum.tessera.partyinfo.node.Recipient;
+import com.quorum.tessera.server.TesseraServer;
+import com.quorum.tessera.server.TesseraServerFactory;
+import com.quorum.tessera.service.locator.ServiceLocator;
+import com.quorum.tessera.version.ApiVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.client.Client;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a real Tessera node inside the current JVM, wired to a set of {@link StubPeer}s.
+ *
+ * <p>The runtime context, discovery and service locator are JVM wide singletons, so only one node can be started per
+ * JVM. The rest of the network is made up of stub peers instead, which is enough to exercise the whole send path of the
+ * node under test.
+ */
+public class InProcessNode {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InProcessNode.class);
+
+    private final Encryptor encryptor = EncryptorFactory.newFactory("NACL").create();
+
+    private final List<TesseraServer> servers = new ArrayList<>();
+
+    private ServerConfig q2tServerConfig;
+
+    private String publicKey;
+
+    private Client client;
+
+    public void start(List<StubPeer> peers, boolean unixSocket) throws Exception {
+        System.setProperty("javax.xml.bind.JAXBContextFactory", "org.eclipse.persistence.jaxb.JAXBContextFactory");
+        System.setProperty("javax.xml.bind.context.factory", "org.eclipse.persistence.jaxb.JAXBContextFactory");
+
+        final Config config = createConfig(peers, unixSocket);
+
+        CliDelegate.instance().setConfig(config);
+        RuntimeContextFactory.newFactory().create(config);
+        EnclaveFactory.create().create(config);
+        Discovery.getInstance().onCreate();
+        ServiceLocator.create().getServices();
+
+        for (ServerConfig serverConfig : config.getServerConfigs()) {
+            final Object app =
+                    TesseraAppFactory.create(serverConfig.getCommunicationType(), serverConfig.getApp())
+                            .orElseThrow(
+                                    () -> new IllegalStateException("Cant create app for " + serverConfig.getApp()));
+            final TesseraServer server =
+                    TesseraServerFactory.create(serverConfig.getCommunicationType())
+                            .createServer(serverConfig, Collections.singleton(app));
+            server.start();
+            servers.add(server);
+        }
+
+        final List<String> versions = ApiVersion.versions();
+        for (StubPeer peer : peers) {
+            final String url = peer.getUri().toString();
+            Discovery.getInstance()
+                    .onUpdate(
+                            NodeInfo.Builder.create()
+                                    .withUrl(url)
+                                    .withRecipients(List.of(Recipient.of(peer.getPublicKey(), url)))
+                                    .withSupportedApiVersions(versions)
+                                    .build());
+        }
+
+        this.client = new ClientFactory().buildFrom(q2tServerConfig);
+        LOGGER.info("Started node at {} with {} stub peers", q2tServerConfig.getServerUri(), peers.size());
+    }
+
+    public void stop() {
+        if (client != null) {
+            client.close();
+        }
+        for (TesseraServer server : servers) {
+            try {
+                server.stop();
+            } catch (Exception ex) {
+                LOGGER.warn("Unable to stop server {}", server, ex);
+            }
+        }
+        servers.clear();
+    }
+
+    public Client getQ2TClient() {
+        return client;
+    }
+
+    public URI getQ2TUri() {
+        return q2tServerConfig.getServerUri();
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    private Config createConfig(List<StubPeer> peers, boolean unixSocket) {
+        final Config config = new Config();
+        config.setEncryptor(EncryptorConfig.getDefault());
+
+        final JdbcConfig jdbcConfig =
+                new JdbcConfig("sa", "", "jdbc:h2:mem:load-test-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcConfig.setAutoCreateTables(true);
+        config.setJdbcConfig(jdbcConfig);
+
+        q2tServerConfig = new ServerConfig();
+        q2tServerConfig.setApp(AppType.Q2T);
+        q2tServerConfig.setCommunicationType(CommunicationType.REST);
+        if (unixSocket) {
+            q2tServerConfig.setServerAddress("unix:/tmp/load-test-" + UUID.randomUUID() + ".ipc");
+        } else {
+            final int port = freePort();
+            q2tServerConfig.setServerAddress("http://localhost:" + port);
+            q2tServerConfig.setBindingAddress("http://localhost:" + port);
+        }
+
+        final int p2pPort = freePort();
+        final ServerConfig p2pServerConfig = new ServerConfig();
+        p2pServerConfig.setApp(AppType.P2P);
+        p2pServerConfig.setCommunicationType(CommunicationType.REST);
+        p2pServerConfig.setServerAddress("http://localhost:" + p2pPort);
+        p2pServerConfig.setBindingAddress("http://localhost:" + p2pPort);
+
+        config.setServerConfigs(new ArrayList<>(List.of(q2tServerConfig, p2pServerConfig)));
+
+        config.setPeers(peers.stream().map(p -> new Peer(p.getUri().toString())).collect(Collectors.toList()));
+        config.setDisablePeerDiscovery(true);
+
+        final KeyPair keyPair = encryptor.generateNewKeys();
+        this.publicKey = keyPair.getPublicKey().encodeToBase64();
+
+        final KeyData keyData = new KeyData();
+        keyData.setPublicKey(publicKey);
+        keyData.setPrivateKey(keyPair.getPrivateKey().encodeToBase64());
+        final KeyConfiguration keyConfiguration = new KeyConfiguration();
+        keyConfiguration.setKeyData(new ArrayList<>(List.of(keyData)));
+        config.setKeys(keyConfiguration);
+
+        return config;
+    }
+
+    /** Creates a stub peer with a freshly generated public key, ready to be passed to {@link #start} */
+    public static StubPeer createStubPeer() {
+        final KeyPair keyPair = EncryptorFactory.newFactory("NACL").create().generateNewKeys();
+        final StubPeer peer = new StubPeer(keyPair.getPublicKey());
+        peer.start();
+        return peer;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
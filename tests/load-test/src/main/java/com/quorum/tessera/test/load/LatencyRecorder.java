@@ -0,0 +1,66 @@
+package com.quorum.tessera.test.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Collects the outcome of every operation in a run.
+ *
+ * <p>All samples are kept so that percentiles are exact; a run of a few minutes at a few thousand operations per
+ * second is only a few megabytes.
+ */
+public class LatencyRecorder {
+
+    private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+    public LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+    }
+
+    public void record(Operation operation, long latencyNanos, boolean success) {
+        samples.get(operation).add(latencyNanos, success);
+    }
+
+    /** Records an operation that could not be started because every worker was busy */
+    public void recordDropped(Operation operation) {
+        samples.get(operation).drop();
+    }
+
+    public OperationStats snapshot(Operation operation) {
+        return samples.get(operation).snapshot(operation);
+    }
+
+    private static class Samples {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private int errors;
+
+        private int dropped;
+
+        synchronized void add(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized void drop() {
+            dropped++;
+        }
+
+        synchronized OperationStats snapshot(Operation operation) {
+            final long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new OperationStats(operation, count, errors, dropped, sorted);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.quorum.tessera.test.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a node's Q2T API at a fixed rate.
+ *
+ * <p>Operations are scheduled open loop: each one has an intended start time derived from the configured rate, and its
+ * latency is measured from that time rather than from when a worker got round to it. A node that stalls therefore
+ * shows up as high latency for every operation that was due during the stall, instead of silently lowering the rate.
+ * If every worker is busy when an operation is due it is counted as dropped rather than queued.
+ */
+public class LoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final int MAX_RECEIVABLE_HASHES = 10_000;
+
+    private final Client client;
+
+    private final URI q2tUri;
+
+    private final String sender;
+
+    private final List<String> recipients;
+
+    private final AtomicReferenceArray<String> sentHashes = new AtomicReferenceArray<>(MAX_RECEIVABLE_HASHES);
+
+    private final AtomicInteger sentHashCount = new AtomicInteger();
+
+    public LoadGenerator(Client client, URI q2tUri, String sender, List<String> recipients) {
+        this.client = Objects.requireNonNull(client);
+        this.q2tUri = Objects.requireNonNull(q2tUri);
+        this.sender = Objects.requireNonNull(sender);
+        this.recipients = List.copyOf(recipients);
+    }
+
+    public LoadReport run(LoadProfile profile) throws InterruptedException {
+        final byte[] payload = new byte[profile.getPayloadSize()];
+        new Random().nextBytes(payload);
+
+        if (sentHashCount.get() == 0 && profile.getMix().containsKey(Operation.RECEIVE)) {
+            if (!send(payload)) {
+                throw new IllegalStateException("Unable to send the transaction that receives will read back");
+            }
+        }
+
+        final LatencyRecorder recorder = new LatencyRecorder();
+        final ThreadPoolExecutor workers =
+                new ThreadPoolExecutor(
+                        profile.getWorkers(),
+                        profile.getWorkers(),
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new SynchronousQueue<>(),
+                        new ThreadPoolExecutor.AbortPolicy());
+
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond();
+        final long start = System.nanoTime();
+        final long end = start + profile.getDuration().toNanos();
+
+        LOGGER.info(
+                "Running {} ops/s for {}s with {} workers",
+                profile.getRatePerSecond(),
+                profile.getDuration().getSeconds(),
+                profile.getWorkers());
+
+        try {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                final long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                final Operation operation = profile.nextOperation();
+                final long intendedStart = intended;
+                try {
+                    workers.execute(() -> execute(operation, payload, intendedStart, recorder));
+                } catch (RejectedExecutionException ex) {
+                    recorder.recordDropped(operation);
+                }
+            }
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        final List<OperationStats> stats = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            stats.add(recorder.snapshot(operation));
+        }
+        return new LoadReport(elapsed, stats);
+    }
+
+    private void execute(Operation operation, byte[] payload, long intendedStart, LatencyRecorder recorder) {
+        boolean success;
+        try {
+            switch (operation) {
+                case SEND:
+                    success = send(payload);
+                    break;
+                case SEND_RAW:
+                    success = sendRaw(payload);
+                    break;
+                case RECEIVE:
+                    success = receive();
+                    break;
+                default:
+                    throw new UnsupportedOperationException(operation.name());
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.debug("{} failed", operation, ex);
+            success = false;
+        }
+        recorder.record(operation, System.nanoTime() - intendedStart, success);
+    }
+
+    private boolean send(byte[] payload) {
+        final JsonArrayBuilder to = Json.createArrayBuilder();
+        recipients.forEach(to::add);
+
+        final JsonObject request =
+                Json.createObjectBuilder()
+                        .add("payload", Base64.getEncoder().encodeToString(payload))
+                        .add("from", sender)
+                        .add("to", to)
+                        .build();
+
+        try (Response response =
+                client.target(q2tUri)
+                        .path("send")
+                        .request(MediaType.APPLICATION_JSON)
+                        .post(Entity.entity(request.toString(), MediaType.APPLICATION_JSON))) {
+            if (response.getStatus() != Response.Status.CREATED.getStatusCode()) {
+                return false;
+            }
+            final String body = response.readEntity(String.class);
+            final String key = Json.createReader(new StringReader(body)).readObject().getString("key");
+            remember(key);
+            return true;
+        }
+    }
+
+    private boolean sendRaw(byte[] payload) {
+        try (Response response =
+                client.target(q2tUri)
+                        .path("sendraw")
+                        .request()
+                        .header("c11n-from", sender)
+                        .header("c11n-to", String.join(",", recipients))
+                        .post(Entity.entity(payload, MediaType.APPLICATION_OCTET_STREAM))) {
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                return false;
+            }
+            remember(response.readEntity(String.class));
+            return true;
+        }
+    }
+
+    private boolean receive() {
+        final int available = Math.min(sentHashCount.get(), MAX_RECEIVABLE_HASHES);
+        final String picked = sentHashes.get(ThreadLocalRandom.current().nextInt(available));
+        // a slot can be claimed but not yet written, the seed transaction is always there
+        final String hash = picked != null ? picked : sentHashes.get(0);
+        try (Response response =
+                client.target(q2tUri)
+                        .path("transaction")
+                        .path(URLEncoder.encode(hash, StandardCharsets.UTF_8))
+                        .request(MediaType.APPLICATION_JSON)
+                        .get()) {
+            response.readEntity(String.class);
+            return response.getStatus() == Response.Status.OK.getStatusCode();
+        }
+    }
+
+    /** Keeps the hash for later receives, overwriting the oldest once the buffer is full */
+    private void remember(String hash) {
+        sentHashes.set(Math.floorMod(sentHashCount.getAndIncrement(), MAX_RECEIVABLE_HASHES), hash);
+    }
+}
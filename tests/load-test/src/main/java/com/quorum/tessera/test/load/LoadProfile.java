@@ -0,0 +1,127 @@
+package com.quorum.tessera.test.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Describes the load to generate: how fast, for how long, and in what mix of operations */
+public class LoadProfile {
+
+    private final int ratePerSecond;
+
+    private final Duration duration;
+
+    private final int workers;
+
+    private final int payloadSize;
+
+    private final Map<Operation, Integer> mix;
+
+    private final int totalWeight;
+
+    private LoadProfile(
+            int ratePerSecond, Duration duration, int workers, int payloadSize, Map<Operation, Integer> mix) {
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.workers = workers;
+        this.payloadSize = payloadSize;
+        this.mix = Collections.unmodifiableMap(new EnumMap<>(mix));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    /** @return an operation picked at random, in proportion to its weight in the mix */
+    public Operation nextOperation() {
+        int remaining = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            remaining -= entry.getValue();
+            if (remaining < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation mix is empty");
+    }
+
+    public static class Builder {
+
+        private int ratePerSecond = 100;
+
+        private Duration duration = Duration.ofSeconds(30);
+
+        private int workers = 32;
+
+        private int payloadSize = 1024;
+
+        private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+        private Builder() {}
+
+        public static Builder create() {
+            return new Builder();
+        }
+
+        public Builder withRatePerSecond(int ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+            return this;
+        }
+
+        public Builder withDuration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder withWorkers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Builder withPayloadSize(int payloadSize) {
+            this.payloadSize = payloadSize;
+            return this;
+        }
+
+        public Builder withOperation(Operation operation, int weight) {
+            this.mix.put(Objects.requireNonNull(operation), weight);
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (ratePerSecond < 1) {
+                throw new IllegalArgumentException("Rate must be at least 1 operation per second");
+            }
+            if (workers < 1) {
+                throw new IllegalArgumentException("At least one worker is required");
+            }
+            if (mix.values().stream().anyMatch(w -> w < 0)) {
+                throw new IllegalArgumentException("Operation weights cannot be negative");
+            }
+            mix.values().removeIf(w -> w == 0);
+            if (mix.isEmpty()) {
+                mix.put(Operation.SEND, 1);
+            }
+            return new LoadProfile(ratePerSecond, Objects.requireNonNull(duration), workers, payloadSize, mix);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.quorum.tessera.test.load;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/** The outcome of a load test run */
+public class LoadReport {
+
+    private final Duration elapsed;
+
+    private final List<OperationStats> operations;
+
+    public LoadReport(Duration elapsed, List<OperationStats> operations) {
+        this.elapsed = elapsed;
+        this.operations = Collections.unmodifiableList(operations);
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public List<OperationStats> getOperations() {
+        return operations;
+    }
+
+    public OperationStats get(Operation operation) {
+        return operations.stream()
+                .filter(o -> o.getOperation() == operation)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No results for " + operation));
+    }
+
+    public int getTotalCount() {
+        return operations.stream().mapToInt(OperationStats::getCount).sum();
+    }
+
+    public int getTotalErrors() {
+        return operations.stream().mapToInt(OperationStats::getErrors).sum();
+    }
+
+    /** @return successful operations per second */
+    public double getThroughput() {
+        final double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0 : (getTotalCount() - getTotalErrors()) / seconds;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder report = new StringBuilder();
+        report.append(
+                String.format(
+                        "Completed %d operations in %.1fs: %.1f successful ops/s%n",
+                        getTotalCount(), elapsed.toMillis() / 1000.0, getThroughput()));
+        report.append(
+                String.format(
+                        "%-10s %8s %8s %8s %10s %10s %10s %10s%n",
+                        "operation", "count", "errors", "dropped", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)"));
+        for (OperationStats stats : operations) {
+            if (stats.getCount() + stats.getDropped() == 0) {
+                continue;
+            }
+            report.append(
+                    String.format(
+                            "%-10s %8d %8d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                            stats.getOperation(),
+                            stats.getCount(),
+                            stats.getErrors(),
+                            stats.getDropped(),
+                            stats.getPercentileMillis(50),
+                            stats.getPercentileMillis(90),
+                            stats.getPercentileMillis(99),
+                            stats.getMaxMillis()));
+        }
+        return report.toString();
+    }
+}
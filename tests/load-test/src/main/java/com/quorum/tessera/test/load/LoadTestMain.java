@@ -0,0 +1,100 @@
+package com.quorum.tessera.test.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Starts a node with stub peers, runs a load profile against it and prints the report.
+ *
+ * <pre>
+ * --rate 200 --duration 60 --workers 64 --payload-size 1024 --peers 3
+ * --mix SEND=6,SEND_RAW=2,RECEIVE=2 --peer-latency 5 --peer-failure-rate 0.01 --unix-socket
+ * </pre>
+ */
+public class LoadTestMain {
+
+    public static void main(String... args) throws Exception {
+        final LoadProfile.Builder profile = LoadProfile.Builder.create();
+        int peerCount = 2;
+        long peerLatency = 0;
+        double peerFailureRate = 0;
+        boolean unixSocket = false;
+        boolean mixSet = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rate":
+                    profile.withRatePerSecond(Integer.parseInt(args[++i]));
+                    break;
+                case "--duration":
+                    profile.withDuration(Duration.ofSeconds(Long.parseLong(args[++i])));
+                    break;
+                case "--workers":
+                    profile.withWorkers(Integer.parseInt(args[++i]));
+                    break;
+                case "--payload-size":
+                    profile.withPayloadSize(Integer.parseInt(args[++i]));
+                    break;
+                case "--peers":
+                    peerCount = Integer.parseInt(args[++i]);
+                    break;
+                case "--mix":
+                    for (String entry : args[++i].split(",")) {
+                        final String[] parts = entry.split("=");
+                        profile.withOperation(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+                    }
+                    mixSet = true;
+                    break;
+                case "--peer-latency":
+                    peerLatency = Long.parseLong(args[++i]);
+                    break;
+                case "--peer-failure-rate":
+                    peerFailureRate = Double.parseDouble(args[++i]);
+                    break;
+                case "--unix-socket":
+                    unixSocket = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        if (!mixSet) {
+            profile.withOperation(Operation.SEND, 1);
+        }
+
+        final List<StubPeer> peers = new ArrayList<>();
+        for (int i = 0; i < peerCount; i++) {
+            final StubPeer peer = InProcessNode.createStubPeer();
+            peer.setLatencyMillis(peerLatency);
+            peer.setFailureRate(peerFailureRate);
+            peers.add(peer);
+        }
+
+        final InProcessNode node = new InProcessNode();
+        try {
+            node.start(peers, unixSocket);
+
+            final List<String> recipients =
+                    peers.stream().map(p -> p.getPublicKey().encodeToBase64()).collect(Collectors.toList());
+
+            final LoadGenerator generator =
+                    new LoadGenerator(node.getQ2TClient(), node.getQ2TUri(), node.getPublicKey(), recipients);
+
+            final LoadReport report = generator.run(profile.build());
+            System.out.println(report);
+
+            for (StubPeer peer : peers) {
+                System.out.printf(
+                        "peer %s received %d pushes (%d failed)%n",
+                        peer.getUri(), peer.getPushCount(), peer.getFailureCount());
+            }
+        } finally {
+            node.stop();
+            peers.forEach(StubPeer::stop);
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,14 @@
+package com.quorum.tessera.test.load;
+
+/** The client facing calls that a load test can make against a node */
+public enum Operation {
+
+    /** POST /send with a JSON body */
+    SEND,
+
+    /** GET /transaction/{hash} for a transaction sent earlier in the run */
+    RECEIVE,
+
+    /** POST /sendraw with an octet-stream body */
+    SEND_RAW
+}
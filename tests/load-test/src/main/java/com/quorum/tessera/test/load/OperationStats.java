@@ -0,0 +1,63 @@
+package com.quorum.tessera.test.load;
+
+import java.util.concurrent.TimeUnit;
+
+/** Counts and latency percentiles for one kind of operation */
+public class OperationStats {
+
+    private final Operation operation;
+
+    private final int count;
+
+    private final int errors;
+
+    private final int dropped;
+
+    private final long[] sortedLatencies;
+
+    OperationStats(Operation operation, int count, int errors, int dropped, long[] sortedLatencies) {
+        this.operation = operation;
+        this.count = count;
+        this.errors = errors;
+        this.dropped = dropped;
+        this.sortedLatencies = sortedLatencies;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /** @return the number of operations that completed, successfully or not */
+    public int getCount() {
+        return count;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    /** @return the number of operations that were due but could not be started */
+    public int getDropped() {
+        return dropped;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency in milliseconds below which the given percentage of operations completed
+     */
+    public double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return toMillis(sortedLatencies[Math.max(0, Math.min(count - 1, index))]);
+    }
+
+    public double getMaxMillis() {
+        return count == 0 ? 0 : toMillis(sortedLatencies[count - 1]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
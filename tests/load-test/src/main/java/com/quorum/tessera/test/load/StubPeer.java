@@ -0,0 +1,154 @@
+package com.quorum.tessera.test.load;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal stand-in for a remote Tessera node's P2P server.
+ *
+ * <p>It accepts party info and pushed transactions without doing any work, so that the node under test can be driven
+ * at a rate that is not limited by the rest of the network. Latency and failures can be injected on the push endpoint
+ * to see how the node under test behaves when a peer is slow or unhealthy.
+ */
+public class StubPeer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StubPeer.class);
+
+    public enum FailureMode {
+        /** Respond with a 500 status */
+        ERROR,
+
+        /** Close the connection without sending a response */
+        DISCONNECT
+    }
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    private final PublicKey publicKey;
+
+    private final AtomicLong pushCount = new AtomicLong();
+
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private volatile long latencyMillis;
+
+    private volatile double failureRate;
+
+    private volatile FailureMode failureMode = FailureMode.ERROR;
+
+    public StubPeer(PublicKey publicKey) {
+        this.publicKey = publicKey;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext(
+                "/partyinfo",
+                exchange -> {
+                    drain(exchange);
+                    respond(exchange, 200, new byte[0]);
+                });
+        server.createContext("/upcheck", exchange -> respond(exchange, 200, "I'm up!".getBytes()));
+        server.createContext("/push", this::push);
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.debug("Started stub peer {}", getUri());
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public URI getUri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    /** @return the number of pushes received, including those that were failed on purpose */
+    public long getPushCount() {
+        return pushCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /** @param failureRate the fraction of pushes, between 0 and 1, that should fail */
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public void setFailureMode(FailureMode failureMode) {
+        this.failureMode = failureMode;
+    }
+
+    private void push(HttpExchange exchange) throws IOException {
+        pushCount.incrementAndGet();
+        drain(exchange);
+
+        final long latency = latencyMillis;
+        if (latency > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latency);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            failureCount.incrementAndGet();
+            if (failureMode == FailureMode.DISCONNECT) {
+                exchange.close();
+            } else {
+                respond(exchange, 500, new byte[0]);
+            }
+            return;
+        }
+
+        respond(exchange, 201, new byte[0]);
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            exchange.getResponseBody().write(body);
+        }
+        exchange.close();
+    }
+}
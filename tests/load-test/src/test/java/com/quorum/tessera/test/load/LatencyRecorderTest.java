@@ -0,0 +1,51 @@
+package com.quorum.tessera.test.load;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void percentilesAreTakenFromRecordedSamples() {
+        final LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 1; i <= 100; i++) {
+            recorder.record(Operation.SEND, TimeUnit.MILLISECONDS.toNanos(i), i % 10 != 0);
+        }
+        recorder.recordDropped(Operation.SEND);
+
+        final OperationStats stats = recorder.snapshot(Operation.SEND);
+
+        assertThat(stats.getCount()).isEqualTo(100);
+        assertThat(stats.getErrors()).isEqualTo(10);
+        assertThat(stats.getDropped()).isEqualTo(1);
+        assertThat(stats.getPercentileMillis(50)).isCloseTo(50, within(0.001));
+        assertThat(stats.getPercentileMillis(99)).isCloseTo(99, within(0.001));
+        assertThat(stats.getMaxMillis()).isCloseTo(100, within(0.001));
+    }
+
+    @Test
+    public void noSamplesGivesZeroLatency() {
+        final OperationStats stats = new LatencyRecorder().snapshot(Operation.RECEIVE);
+
+        assertThat(stats.getCount()).isZero();
+        assertThat(stats.getPercentileMillis(99)).isZero();
+        assertThat(stats.getMaxMillis()).isZero();
+    }
+
+    @Test
+    public void operationsArePickedFromTheMix() {
+        final LoadProfile profile =
+                LoadProfile.Builder.create()
+                        .withOperation(Operation.SEND, 1)
+                        .withOperation(Operation.RECEIVE, 0)
+                        .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(profile.nextOperation()).isEqualTo(Operation.SEND);
+        }
+    }
+}
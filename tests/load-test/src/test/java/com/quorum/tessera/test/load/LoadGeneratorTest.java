@@ -0,0 +1,95 @@
+package com.quorum.tessera.test.load;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadGeneratorTest {
+
+    private static InProcessNode node;
+
+    private static List<StubPeer> peers;
+
+    private static StubPeer failingPeer;
+
+    private static LoadGenerator generator;
+
+    @BeforeClass
+    public static void onSetUp() throws Exception {
+        peers = List.of(InProcessNode.createStubPeer(), InProcessNode.createStubPeer());
+        // kept apart so that its circuit breaker opening does not affect the other tests
+        failingPeer = InProcessNode.createStubPeer();
+        node = new InProcessNode();
+        node.start(List.of(peers.get(0), peers.get(1), failingPeer), false);
+
+        final List<String> recipients =
+                peers.stream().map(p -> p.getPublicKey().encodeToBase64()).collect(Collectors.toList());
+        generator = new LoadGenerator(node.getQ2TClient(), node.getQ2TUri(), node.getPublicKey(), recipients);
+    }
+
+    @AfterClass
+    public static void onTearDown() {
+        node.stop();
+        peers.forEach(StubPeer::stop);
+        failingPeer.stop();
+    }
+
+    @Test
+    public void mixedLoadIsSentToEveryPeer() throws Exception {
+        final long pushesBefore = peers.get(0).getPushCount();
+
+        final LoadProfile profile =
+                LoadProfile.Builder.create()
+                        .withRatePerSecond(50)
+                        .withDuration(Duration.ofSeconds(2))
+                        .withWorkers(8)
+                        .withPayloadSize(256)
+                        .withOperation(Operation.SEND, 2)
+                        .withOperation(Operation.SEND_RAW, 1)
+                        .withOperation(Operation.RECEIVE, 1)
+                        .build();
+
+        final LoadReport report = generator.run(profile);
+
+        assertThat(report.getTotalCount()).isGreaterThan(50);
+        assertThat(report.getTotalErrors()).isZero();
+        assertThat(report.get(Operation.SEND).getCount()).isPositive();
+        assertThat(report.get(Operation.RECEIVE).getCount()).isPositive();
+        assertThat(report.toString()).contains("SEND", "RECEIVE", "p99");
+
+        // raw sends are only stored locally, everything else is pushed to both peers
+        final long sends = report.get(Operation.SEND).getCount();
+        assertThat(peers.get(0).getPushCount() - pushesBefore).isGreaterThanOrEqualTo(sends);
+    }
+
+    @Test
+    public void failingPeerIsReportedAsErrors() throws Exception {
+        failingPeer.setFailureRate(1);
+
+        final LoadGenerator failingGenerator =
+                new LoadGenerator(
+                        node.getQ2TClient(),
+                        node.getQ2TUri(),
+                        node.getPublicKey(),
+                        List.of(failingPeer.getPublicKey().encodeToBase64()));
+
+        final LoadProfile profile =
+                LoadProfile.Builder.create()
+                        .withRatePerSecond(20)
+                        .withDuration(Duration.ofSeconds(1))
+                        .withWorkers(4)
+                        .withOperation(Operation.SEND, 1)
+                        .build();
+
+        final LoadReport report = failingGenerator.run(profile);
+
+        assertThat(report.get(Operation.SEND).getErrors()).isEqualTo(report.get(Operation.SEND).getCount());
+        assertThat(failingPeer.getFailureCount()).isPositive();
+    }
+}